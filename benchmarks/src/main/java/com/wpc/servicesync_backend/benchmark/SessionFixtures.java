@@ -0,0 +1,142 @@
+package com.wpc.servicesync_backend.benchmark;
+
+import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.EmployeeRole;
+import com.wpc.servicesync_backend.model.entity.Hospital;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.Ward;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Sessions as the benchmarks' code under test receives them: detached entities with
+ * their employee, ward and hospital attached, spread over every workflow step. The
+ * same seed always yields the same sessions, so runs compare like with like.
+ */
+public final class SessionFixtures {
+
+    public static final Hospital HOSPITAL = Hospital.builder()
+            .id(UUID.fromString("7f000001-0000-4000-8000-000000000001"))
+            .code("CTGH")
+            .name("Cape Town General Hospital")
+            .build();
+
+    public static final Employee HOSTESS = Employee.builder()
+            .id(UUID.fromString("7f000001-0000-4000-8000-000000000002"))
+            .employeeId("H001")
+            .name("Maria Gonzalez")
+            .role(EmployeeRole.HOSTESS)
+            .hospital(HOSPITAL)
+            .build();
+
+    private static final int WARDS = 12;
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 3, 6, 0);
+    private static final long SEED = 20250303L;
+
+    private SessionFixtures() {
+    }
+
+    /**
+     * Sessions at every step from awaiting kitchen exit to completed, with their
+     * derived metrics materialised as they are once loaded from the database.
+     */
+    public static List<ServiceSession> sessions(int count) {
+        return generate(count, false);
+    }
+
+    /** Completed sessions, as the performance reports load them. */
+    public static List<ServiceSession> completedSessions(int count) {
+        return generate(count, true);
+    }
+
+    /** The same session as built in memory, before a flush materialises its metrics. */
+    public static ServiceSession withoutDerivedMetrics(ServiceSession session) {
+        return session.toBuilder()
+                .step(null)
+                .travelTimeMillis(null)
+                .nurseResponseMillis(null)
+                .servingTimeMillis(null)
+                .totalDurationMillis(null)
+                .completionRate(null)
+                .servingRate(null)
+                .efficiencyRating(null)
+                .build();
+    }
+
+    private static List<ServiceSession> generate(int count, boolean completedOnly) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Ward> wards = new ArrayList<>(WARDS);
+        for (int i = 0; i < WARDS; i++) {
+            wards.add(Ward.builder()
+                    .id(new UUID(SEED, i))
+                    .hospital(HOSPITAL)
+                    .name("Ward " + (char) ('A' + i))
+                    .floorNumber(1 + i / 4)
+                    .capacity(30)
+                    .build());
+        }
+
+        MealType[] mealTypes = MealType.values();
+        List<ServiceSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int mealCount = random.nextInt(5, 41);
+            // Steps reached: 0 waits in the kitchen, 6 is completed
+            int reached = completedOnly ? 6 : random.nextInt(7);
+            LocalDateTime created = DAY.plusMinutes(random.nextInt(14 * 60));
+
+            ServiceSession.ServiceSessionBuilder builder = ServiceSession.builder()
+                    .id(new UUID(SEED + 1, i))
+                    .sessionId("SS-H001-" + i)
+                    .employee(HOSTESS)
+                    .ward(wards.get(random.nextInt(WARDS)))
+                    .hospitalId(HOSPITAL.getId())
+                    .mealType(mealTypes[random.nextInt(mealTypes.length)])
+                    .mealCount(mealCount)
+                    .status(reached == 0 ? SessionStatus.ACTIVE : SessionStatus.IN_TRANSIT)
+                    .version(0L)
+                    .createdAt(created)
+                    .updatedAt(created);
+
+            LocalDateTime at = created.plusMinutes(random.nextInt(2, 15));
+            if (reached >= 1) {
+                builder.kitchenExitTime(at);
+            }
+            if (reached >= 2) {
+                at = at.plusSeconds(random.nextInt(120, 1200));
+                builder.wardArrivalTime(at).status(SessionStatus.ACTIVE);
+            }
+            if (reached >= 3) {
+                at = at.plusSeconds(random.nextInt(30, 180));
+                builder.dietSheetDocumented(true).dietSheetNotes("2 diabetic, 1 soft diet").nurseAlertTime(at);
+            }
+            if (reached >= 4) {
+                at = at.plusSeconds(random.nextInt(15, 600));
+                builder.nurseResponseTime(at).nurseName("Sister Dlamini");
+            }
+            if (reached >= 5) {
+                at = at.plusSeconds(random.nextInt(30, 240));
+                builder.serviceStartTime(at).mealsServed(random.nextInt(mealCount + 1));
+            }
+            if (reached == 6) {
+                at = at.plusSeconds(random.nextInt(300, 3600));
+                builder.serviceCompleteTime(at)
+                        .mealsServed(mealCount - random.nextInt(Math.max(1, mealCount / 5)))
+                        .status(SessionStatus.COMPLETED)
+                        .comments(random.nextInt(4) == 0 ? "Two patients in theatre, trays kept warm" : null)
+                        .updatedAt(at);
+            }
+
+            ServiceSession session = builder.build();
+            session.refreshDerivedMetrics();
+            session.setStep(session.getStep());
+            sessions.add(session);
+        }
+        return sessions;
+    }
+}
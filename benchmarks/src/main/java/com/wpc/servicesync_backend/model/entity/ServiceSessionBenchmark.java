@@ -0,0 +1,67 @@
+package com.wpc.servicesync_backend.model.entity;
+
+import com.wpc.servicesync_backend.benchmark.SessionFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The entity's display accessors, called for every session in list responses, DTOs
+ * and reports. Each call takes the next of 1024 sessions at mixed workflow steps.
+ * {@code materialised=false} is a session as built in memory, before a flush stores
+ * its metrics and step, so the accessors compute them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ServiceSessionBenchmark {
+
+    private static final int SESSIONS = 1024;
+
+    @Param({"true", "false"})
+    boolean materialised;
+
+    private ServiceSession[] sessions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<ServiceSession> generated = SessionFixtures.sessions(SESSIONS);
+        sessions = generated.stream()
+                .map(session -> materialised ? session : SessionFixtures.withoutDerivedMetrics(session))
+                .toArray(ServiceSession[]::new);
+    }
+
+    private ServiceSession nextSession() {
+        return sessions[next++ & (SESSIONS - 1)];
+    }
+
+    @Benchmark
+    public String getSummary() {
+        return nextSession().getSummary();
+    }
+
+    @Benchmark
+    public String getEfficiencyRating() {
+        return nextSession().getEfficiencyRating();
+    }
+
+    @Benchmark
+    public String getCurrentStep() {
+        return nextSession().getCurrentStep();
+    }
+}
@@ -0,0 +1,71 @@
+package com.wpc.servicesync_backend.security;
+
+import com.wpc.servicesync_backend.benchmark.SessionFixtures;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.util.ReflectionUtils.findField;
+import static org.springframework.util.ReflectionUtils.makeAccessible;
+import static org.springframework.util.ReflectionUtils.setField;
+
+/**
+ * What every authenticated request pays for its token: JwtAuthenticationFilter parses
+ * and verifies it once, then checks subject and expiry on those claims. Issuing a
+ * token, and validating one from its string on refresh, are measured alongside.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    // Same key as the h2 test profile
+    private static final String SECRET = "c2VydmljZXN5bmMtc2VjcmV0LWtleS1mb3ItcHJvZHVjdGlvbi11c2U=";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        set("jwtSecret", SECRET);
+        set("jwtExpiration", 3_600_000L);
+        set("refreshExpiration", 86_400_000L);
+        token = jwtService.generateToken(SessionFixtures.HOSTESS);
+    }
+
+    private void set(String name, Object value) {
+        Field field = findField(JwtService.class, name);
+        makeAccessible(field);
+        setField(field, jwtService, value);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, SessionFixtures.HOSTESS);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(SessionFixtures.HOSTESS);
+    }
+}
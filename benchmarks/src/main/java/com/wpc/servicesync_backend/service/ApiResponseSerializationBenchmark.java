@@ -0,0 +1,58 @@
+package com.wpc.servicesync_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wpc.servicesync_backend.benchmark.SessionFixtures;
+import com.wpc.servicesync_backend.dto.ApiResponse;
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a completed session's response envelope as the HTTP message converter
+ * does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private ApiResponse<ServiceSessionResponse> response;
+
+    @Setup
+    public void setUp() {
+        // What JacksonAutoConfiguration builds, as application.yml sets no spring.jackson properties
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writer();
+
+        ServiceSession session = SessionFixtures.completedSessions(1).get(0);
+        response = ApiResponse.success("Service session completed successfully",
+                ServiceSessionService.mapToResponse(session));
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
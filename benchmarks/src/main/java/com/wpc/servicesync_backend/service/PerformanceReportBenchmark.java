@@ -0,0 +1,57 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.benchmark.SessionFixtures;
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.model.dto.PerformanceReportDto;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregating a period's completed sessions into a performance report, after the
+ * repository has loaded them and picked the five top and problematic ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PerformanceReportBenchmark {
+
+    private static final LocalDateTime REPORT_DATE = LocalDateTime.of(2025, 3, 3, 0, 0);
+
+    @Param({"1000", "10000", "100000"})
+    int sessionCount;
+
+    private PerformanceService performanceService;
+    private List<ServiceSession> sessions;
+    private List<ServiceSession> topPerforming;
+    private List<ServiceSession> problematic;
+
+    @Setup
+    public void setUp() {
+        performanceService = new PerformanceService(null, new ApplicationProperties());
+        sessions = SessionFixtures.completedSessions(sessionCount);
+        topPerforming = sessions.subList(0, 5);
+        problematic = sessions.subList(5, 10);
+    }
+
+    @Benchmark
+    public PerformanceReportDto buildPerformanceReport() {
+        return performanceService.buildPerformanceReport(sessions, "Daily", REPORT_DATE, topPerforming, problematic);
+    }
+}
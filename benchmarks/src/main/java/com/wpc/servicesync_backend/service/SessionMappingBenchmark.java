@@ -0,0 +1,45 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.benchmark.SessionFixtures;
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a loaded session to the response every session endpoint returns, one of
+ * 1024 sessions at mixed workflow steps per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionMappingBenchmark {
+
+    private static final int SESSIONS = 1024;
+
+    private ServiceSession[] sessions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        sessions = SessionFixtures.sessions(SESSIONS).toArray(ServiceSession[]::new);
+    }
+
+    @Benchmark
+    public ServiceSessionResponse mapToResponse() {
+        return ServiceSessionService.mapToResponse(sessions[next++ & (SESSIONS - 1)]);
+    }
+}
@@ -3,6 +3,7 @@ package com.wpc.servicesync_backend.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Data
 @Configuration
@@ -18,6 +19,14 @@ public class ApplicationProperties {
     private Storage storage = new Storage();
     private Email email = new Email();
     private Business business = new Business();
+    private Idempotency idempotency = new Idempotency();
+    private Concurrency concurrency = new Concurrency();
+    private Partitioning partitioning = new Partitioning();
+    private Replica replica = new Replica();
+    private Persistence persistence = new Persistence();
+    private ReadModel readModel = new ReadModel();
+    private Tracing tracing = new Tracing();
+    private Logging logging = new Logging();
 
     @Data
     public static class Features {
@@ -31,14 +40,19 @@ public class ApplicationProperties {
     @Data
     public static class Storage {
         private String type = "local";
+        private long downloadCacheMaxAgeSeconds = 31536000; // uploads are never rewritten in place
+        private DataSize maxUploadSize = DataSize.ofMegabytes(10); // enforced while the upload streams in
+        private DataSize maxRequestSize = DataSize.ofMegabytes(11); // the whole multipart body, file included
         private Local local = new Local();
         private S3 s3 = new S3();
+        private Processing processing = new Processing();
+        private Sweeper sweeper = new Sweeper();
 
         @Data
         public static class Local {
             private String uploadDir = "./uploads";
-            private String dietSheetDir = "./uploads/diet-sheets";
-            private String maxFileSize = "5MB";
+            private String dietSheetDir = "./uploads/diet-sheets"; // pre content-addressing uploads, read only
+            private String objectDir = "./uploads/objects";
         }
 
         @Data
@@ -47,6 +61,27 @@ public class ApplicationProperties {
             private String region;
             private String accessKey;
             private String secretKey;
+            private String endpoint; // S3-compatible store, e.g. MinIO
+            private boolean pathStyleAccess = false;
+            private String keyPrefix = "photos/";
+        }
+
+        @Data
+        public static class Processing {
+            private int threads = 2;
+            private int queueCapacity = 32; // decoded photos are large; a full queue runs work on the uploader
+            private int thumbnailSize = 320; // longest edge, pixels
+            private int webSize = 1600;
+            private float jpegQuality = 0.8f;
+            private long recoveryIntervalMillis = 300000;
+        }
+
+        @Data
+        public static class Sweeper {
+            private boolean enabled = true;
+            private int graceHours = 24; // files younger than this may belong to uploads still in flight
+            private int batchSize = 1000;
+            private double falsePositiveRate = 0.01; // an orphan the filter misses waits for a later sweep
         }
     }
 
@@ -92,6 +127,74 @@ public class ApplicationProperties {
             private int travelTimeThreshold = 900; // seconds
             private int nurseResponseThreshold = 300; // seconds
             private int completionRateThreshold = 75; // percentage
+            private Detector detector = new Detector();
+
+            @Data
+            public static class Detector {
+                private boolean enabled = true;
+                private long tickMillis = 1000;
+                private int ticksPerWheel = 512;
+            }
         }
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class Idempotency {
+        private boolean enabled = true;
+        private int cacheSize = 10000;
+        private int ttlHours = 24;
+        private int maxKeyLength = 255;
+    }
+
+    @Data
+    public static class Concurrency {
+        private int maxAttempts = 4;
+        private long backoffMillis = 20;
+    }
+
+    @Data
+    public static class Partitioning {
+        private boolean enabled = false;
+        private int monthsAhead = 2;
+        private int retainMonths = 12;
+        private String archiveDir = "./archive/service-sessions";
+        private int archiveRowGroupSize = 10000;
+    }
+
+    @Data
+    public static class Replica {
+        private String url; // routing is enabled only when set
+        private String username; // defaults to spring.datasource.username
+        private String password; // defaults to spring.datasource.password
+        private int maxPoolSize = 10;
+        private long maxLagMillis = 5000; // also the read-your-writes pinning window
+        private long lagCheckIntervalMillis = 2000;
+    }
+
+    @Data
+    public static class Persistence {
+        private boolean derivePoolSize = false; // size the primary pool from the core count
+        private int spindleCount = 1; // effective_spindle_count in (cores * 2) + spindles
+    }
+
+    @Data
+    public static class ReadModel {
+        private int queueCapacity = 10000; // pending change events; overflow is left to the reconciler
+        private int batchSize = 500;
+        private long reconcileIntervalMillis = 60000;
+        private long counterResyncIntervalMillis = 300000; // bounds drift of the per-hospital counters
+        private boolean rebuildOnStartup = false; // re-check every session, not just those since the stored mark
+    }
+
+    @Data
+    public static class Tracing {
+        private boolean logSpans = false; // export sampled spans to the log as well as over OTLP
+    }
+
+    // Bound for completeness; logback-spring.xml reads these before the context starts
+    @Data
+    public static class Logging {
+        private String samplingRates = ""; // package=N pairs, one in N INFO-and-below lines kept
+        private int asyncQueueSize = 8192;
+    }
+}
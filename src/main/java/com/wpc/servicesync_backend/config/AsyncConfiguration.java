@@ -1,14 +1,19 @@
 package com.wpc.servicesync_backend.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
+@Slf4j
 public class AsyncConfiguration {
 
     @Bean(name = "taskExecutor")
@@ -18,7 +23,74 @@ public class AsyncConfiguration {
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("ServiceSync-");
+        executor.setTaskDecorator(AsyncConfiguration::withCallerMdc);
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // One thread so session_view projections apply in order without racing each other
+    @Bean(name = "sessionViewExecutor")
+    public Executor sessionViewExecutor(ApplicationProperties applicationProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(applicationProperties.getReadModel().getQueueCapacity());
+        executor.setThreadNamePrefix("SessionView-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("session_view queue is full; the change will be picked up by the next reconcile"));
+        executor.initialize();
+        return executor;
+    }
+
+    // Breach checks handed off by the SLA deadline wheel; when full, the wheel thread runs them rather than drop an alert
+    @Bean(name = "slaAlertExecutor")
+    public Executor slaAlertExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("SlaAlert-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Bounded so decoded photos cannot pile up in memory. When full the work is dropped rather than run on
+    // the caller (an upload's after-commit callback or the scheduler thread); the backlog pass picks it up
+    @Bean(name = "photoProcessingExecutor")
+    public Executor photoProcessingExecutor(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Storage.Processing properties = applicationProperties.getStorage().getProcessing();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("PhotoProcessing-");
+        executor.setTaskDecorator(AsyncConfiguration::withCallerMdc);
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Photo processing queue is full; the photo will be picked up by the backlog pass"));
+        executor.initialize();
+        return executor;
+    }
+
+    // Work handed off by a request keeps logging under its request id, employee and hospital.
+    // Restores rather than clears, in case a caller-runs policy runs the task on the request thread
+    private static Runnable withCallerMdc(Runnable task) {
+        Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+        if (callerMdc == null) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(callerMdc);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.wpc.servicesync_backend.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Observes service and repository calls as {@code servicesync.service} and
+ * {@code servicesync.repository}, so a sampled request's trace nests controller,
+ * service, repository and JDBC spans. They must be observations rather than bare
+ * spans: a JDBC observation takes its parent span from the enclosing observation.
+ * <p>
+ * Calls without a sampled span around them (most requests, scheduled work) run
+ * unobserved, as nothing would be exported. Their meters are denied in
+ * {@link TracingConfiguration}: latency is measured by
+ * {@code servicesync.session.operation} and {@code spring.data.repository.invocations},
+ * which see every call. Ordered inside {@code SessionOperationMetrics}, so an
+ * operation's timer includes its span.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class LayerObservationAspect {
+
+    static final String SERVICE_OBSERVATION = "servicesync.service";
+    static final String REPOSITORY_OBSERVATION = "servicesync.repository";
+
+    private final ObservationRegistry observationRegistry;
+    private final ObjectProvider<Tracer> tracer;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(com.wpc.servicesync_backend.service..*) && @within(org.springframework.stereotype.Service)")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(SERVICE_OBSERVATION, joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(REPOSITORY_OBSERVATION, repositoryName(joinPoint.getTarget()), joinPoint);
+    }
+
+    private Object observe(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Span parent = tracer.getIfAvailable(() -> Tracer.NOOP).currentSpan();
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        return Observation.createNotStarted(name, observationRegistry)
+                .contextualName(className + "." + method)
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(() -> joinPoint.proceed());
+    }
+
+    // The target is Spring Data's proxy; its first interface is the declared repository
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.wpc.servicesync_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Sizes the primary connection pool as {@code (cores * 2) + effective spindles}, the
+ * PostgreSQL rule of thumb, when {@code app.persistence.derive-pool-size} is on. A
+ * pool much larger than that only adds lock and context-switch contention on the
+ * database. An explicit {@code spring.datasource.hikari.maximum-pool-size} wins, and
+ * the replica pool keeps its own setting.
+ */
+@Component
+@Slf4j
+public class PoolSizingPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Set<String> PRIMARY_POOL_BEANS = Set.of("dataSource", "primaryDataSource");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource dataSource) || !PRIMARY_POOL_BEANS.contains(beanName)
+                || environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            return bean;
+        }
+
+        ApplicationProperties.Persistence persistence = Binder.get(environment)
+                .bind("app.persistence", ApplicationProperties.Persistence.class)
+                .orElseGet(ApplicationProperties.Persistence::new);
+        if (persistence.isDerivePoolSize()) {
+            int poolSize = poolSize(Runtime.getRuntime().availableProcessors(), persistence.getSpindleCount());
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setMinimumIdle(poolSize);
+            log.info("Sized connection pool {} to {} connections", beanName, poolSize);
+        }
+        return bean;
+    }
+
+    static int poolSize(int cores, int spindles) {
+        return cores * 2 + Math.max(spindles, 0);
+    }
+}
@@ -0,0 +1,102 @@
+package com.wpc.servicesync_backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pins a user's reads to the primary for a short window after they commit a write,
+ * so a hostess who just scanned a QR code never reads the session back from a replica
+ * that has not replayed it yet. The window matches the maximum replica lag tolerated
+ * for routing, after which any usable replica is guaranteed to have the write.
+ * Unauthenticated callers are never pinned.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public boolean isPinned() {
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(principal);
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    public void recordWrite() {
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWriteNanos.put(principal, now);
+        if (lastWriteNanos.size() > PRUNE_THRESHOLD) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+
+    /**
+     * Wraps the primary so that every read-write transaction using it records a write
+     * for the current user once it commits.
+     */
+    public DataSource trackWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                registerIfWriting();
+                return super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                registerIfWriting();
+                return super.getConnection(username, password);
+            }
+        };
+    }
+
+    private void registerIfWriting() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+                if (status == STATUS_COMMITTED) {
+                    recordWrite();
+                }
+            }
+        });
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,88 @@
+package com.wpc.servicesync_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Periodically measures how far the read replica trails the primary. Reads are only
+ * routed to the replica while the last check succeeded and the lag was within
+ * {@code app.replica.max-lag-millis}; until the first check the replica is treated
+ * as unusable.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // A replica that has replayed everything it received is current, however long ago
+    // the last write was; otherwise measure the age of the last replayed transaction
+    private static final String POSTGRES_LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final long maxLagMillis;
+
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMillis) {
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * @return lag measured by the last successful check, or -1 if it failed
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.replica.lag-check-interval-millis:2000}")
+    public void checkLag() {
+        boolean wasUsable = usable;
+        try {
+            lagMillis = measureLag();
+            usable = lagMillis <= maxLagMillis;
+        } catch (SQLException e) {
+            lagMillis = -1;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica lag check failed; routing reads to primary", e);
+            }
+            return;
+        }
+
+        if (wasUsable && !usable) {
+            log.warn("Replica lag {} ms exceeds {} ms; routing reads to primary", lagMillis, maxLagMillis);
+        } else if (!wasUsable && usable) {
+            log.info("Replica available (lag {} ms); routing read-only transactions to it", lagMillis);
+        }
+    }
+
+    private long measureLag() throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            // Non-PostgreSQL stand-ins (tests, local runs) have no replication to measure
+            if (!"PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Replica connection is not valid");
+                }
+                return 0;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(POSTGRES_LAG_SQL)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.wpc.servicesync_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sends read-only transactions to a streaming replica when {@code app.replica.url} is
+ * set. The application DataSource is a lazy proxy: the physical connection is only
+ * fetched at the first statement, after the transaction manager has marked it read
+ * only, so {@code @Transactional(readOnly = true)} services go to the replica and
+ * everything else to the primary. Flyway always migrates the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.replica", name = "url")
+@Slf4j
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties,
+                                              ApplicationProperties applicationProperties) {
+        ApplicationProperties.Replica replica = applicationProperties.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(StringUtils.hasText(replica.getUsername())
+                        ? replica.getUsername() : primaryProperties.determineUsername())
+                .password(StringUtils.hasText(replica.getPassword())
+                        ? replica.getPassword() : primaryProperties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getMaxPoolSize());
+        dataSource.setReadOnly(true);
+        log.info("Routing read-only transactions to replica {}", replica.getUrl());
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ApplicationProperties applicationProperties) {
+        return new ReplicaLagMonitor(replicaDataSource, applicationProperties.getReplica().getMaxLagMillis());
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ApplicationProperties applicationProperties) {
+        return new ReadYourWritesTracker(Duration.ofMillis(applicationProperties.getReplica().getMaxLagMillis()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor lagMonitor,
+                                 ReadYourWritesTracker writesTracker) {
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(writesTracker.trackWrites(primaryDataSource));
+        dataSource.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor, writesTracker));
+        return dataSource;
+    }
+}
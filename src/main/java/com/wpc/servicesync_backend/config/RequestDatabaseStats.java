@@ -0,0 +1,153 @@
+package com.wpc.servicesync_backend.config;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import net.ttddyy.observation.tracing.QueryContext;
+import net.ttddyy.observation.tracing.ResultSetContext;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JDBC statements executed, rows read and entities hydrated while serving one HTTP
+ * request, added to its {@code http.server.requests} span as {@code db.statements},
+ * {@code db.rows} and {@code hibernate.entities.loaded}. A request whose span shows
+ * many statements for few rows is loading lazily, one association at a time.
+ * <p>
+ * The totals hang off the request's observation context, and JDBC and Hibernate
+ * callbacks find them by walking up from the current observation, so work on other
+ * threads is not counted. They are high-cardinality key values: they reach the
+ * trace, never a metric tag.
+ */
+public final class RequestDatabaseStats {
+
+    static final String STATEMENTS = "db.statements";
+    static final String ROWS = "db.rows";
+    static final String ENTITIES_LOADED = "hibernate.entities.loaded";
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger rows = new AtomicInteger();
+    private final AtomicInteger entitiesLoaded = new AtomicInteger();
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public int getRows() {
+        return rows.get();
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded.get();
+    }
+
+    /**
+     * @return the totals of the request {@code observation} belongs to, or null
+     * outside an HTTP request
+     */
+    static RequestDatabaseStats of(ObservationView observation) {
+        while (observation != null) {
+            Observation.ContextView context = observation.getContextView();
+            if (context instanceof ServerRequestObservationContext) {
+                return context.get(RequestDatabaseStats.class);
+            }
+            observation = context.getParentObservation();
+        }
+        return null;
+    }
+
+    /**
+     * Starts the totals with each request, counts the JDBC observations beneath it
+     * and writes the totals onto the request as it stops. Filters run before the
+     * handlers' stop callbacks, so the tracing handler sees the key values.
+     */
+    static final class Recorder implements ObservationHandler<Observation.Context>, ObservationFilter {
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return context instanceof ServerRequestObservationContext
+                    || context instanceof QueryContext
+                    || context instanceof ResultSetContext;
+        }
+
+        @Override
+        public void onStart(Observation.Context context) {
+            if (context instanceof ServerRequestObservationContext) {
+                context.put(RequestDatabaseStats.class, new RequestDatabaseStats());
+            }
+        }
+
+        @Override
+        public void onStop(Observation.Context context) {
+            RequestDatabaseStats stats = of(context.getParentObservation());
+            if (stats == null) {
+                return;
+            }
+            if (context instanceof QueryContext) {
+                stats.statements.incrementAndGet();
+            } else if (context instanceof ResultSetContext resultSet) {
+                stats.rows.addAndGet(resultSet.getCount());
+            }
+        }
+
+        @Override
+        public Observation.Context map(Observation.Context context) {
+            if (context instanceof ServerRequestObservationContext) {
+                RequestDatabaseStats stats = context.get(RequestDatabaseStats.class);
+                if (stats != null) {
+                    context.addHighCardinalityKeyValues(KeyValues.of(
+                            STATEMENTS, String.valueOf(stats.getStatements()),
+                            ROWS, String.valueOf(stats.getRows()),
+                            ENTITIES_LOADED, String.valueOf(stats.getEntitiesLoaded())));
+                }
+            }
+            return context;
+        }
+    }
+
+    /**
+     * Counts every entity Hibernate hydrates, whether by query, by id or by a lazy
+     * association, against the request in progress.
+     */
+    static final class EntityLoadCounter implements Integrator, PostLoadEventListener {
+
+        private final ObservationRegistry observationRegistry;
+
+        EntityLoadCounter(ObservationRegistry observationRegistry) {
+            this.observationRegistry = observationRegistry;
+        }
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, this);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                 SessionFactoryServiceRegistry serviceRegistry) {
+        }
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            RequestDatabaseStats stats = of(observationRegistry.getCurrentObservation());
+            if (stats != null) {
+                stats.entitiesLoaded.incrementAndGet();
+            }
+        }
+    }
+}
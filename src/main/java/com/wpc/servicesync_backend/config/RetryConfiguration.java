@@ -0,0 +1,47 @@
+package com.wpc.servicesync_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Retry advice is ordered ahead of the transaction advice (EnableRetry's default
+ * order), so each attempt runs in a fresh transaction against a fresh read.
+ */
+@Configuration
+@EnableRetry
+public class RetryConfiguration {
+
+    /**
+     * Counts failed attempts per retried method as {@code servicesync.retry.attempt.failures},
+     * including the last one when retries run out. Picked up by every {@code @Retryable}.
+     */
+    @Bean
+    public RetryListener retryMetricsListener(MeterRegistry meterRegistry) {
+        return new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                         Throwable throwable) {
+                meterRegistry.counter("servicesync.retry.attempt.failures",
+                        "method", methodName(context),
+                        "exception", throwable.getClass().getSimpleName()).increment();
+            }
+        };
+    }
+
+    // The annotation label defaults to the method's generic signature
+    private static String methodName(RetryContext context) {
+        Object label = context.getAttribute(RetryContext.NAME);
+        if (label == null) {
+            return "unknown";
+        }
+        String signature = label.toString();
+        int paren = signature.indexOf('(');
+        String qualified = paren >= 0 ? signature.substring(0, paren) : signature;
+        return qualified.substring(qualified.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.wpc.servicesync_backend.config;
+
+import com.wpc.servicesync_backend.service.ServiceSessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialises the derived metric columns on sessions written before they existed.
+ * Each batch commits on its own so a large history does not sit in one transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionMetricsBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ServiceSessionService sessionService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        int updated;
+        do {
+            updated = sessionService.backfillDerivedMetrics(BATCH_SIZE);
+            total += updated;
+        } while (updated == BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Backfilled derived metrics on {} sessions", total);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.wpc.servicesync_backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+
+/**
+ * S3 client for the S3 photo storage backend. Static credentials are used when
+ * configured, otherwise the default AWS provider chain (environment, instance
+ * profile). Setting an endpoint points the client at an S3-compatible store such
+ * as MinIO for local runs.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.storage", name = "type", havingValue = "s3")
+public class StorageConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public S3Client s3Client(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Storage.S3 properties = applicationProperties.getStorage().getS3();
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(properties.getRegion()))
+                .forcePathStyle(properties.isPathStyleAccess());
+
+        if (StringUtils.hasText(properties.getAccessKey())) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(properties.getAccessKey(), properties.getSecretKey())));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.builder().build());
+        }
+        if (StringUtils.hasText(properties.getEndpoint())) {
+            builder.endpointOverride(URI.create(properties.getEndpoint()));
+        }
+        return builder.build();
+    }
+}
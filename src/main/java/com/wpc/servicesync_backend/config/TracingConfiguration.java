@@ -0,0 +1,47 @@
+package com.wpc.servicesync_backend.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Request tracing through the OpenTelemetry bridge. Spans are sampled at
+ * {@code management.tracing.sampling.probability} and exported over OTLP when
+ * {@code management.otlp.tracing.endpoint} is set, and to the log when
+ * {@code app.tracing.log-spans} is. Each request span carries its
+ * {@link RequestDatabaseStats}.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public RequestDatabaseStats.Recorder requestDatabaseStatsRecorder() {
+        return new RequestDatabaseStats.Recorder();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCounter(ObservationRegistry observationRegistry) {
+        IntegratorProvider integrators = () -> List.of(new RequestDatabaseStats.EntityLoadCounter(observationRegistry));
+        return properties -> properties.put("hibernate.integrator_provider", integrators);
+    }
+
+    // Layer observations only run under sampled spans, so their timers would hold a sample of calls
+    @Bean
+    public MeterFilter layerObservationMeterFilter() {
+        return MeterFilter.deny(id -> id.getName().startsWith(LayerObservationAspect.SERVICE_OBSERVATION)
+                || id.getName().startsWith(LayerObservationAspect.REPOSITORY_OBSERVATION));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -27,7 +27,7 @@ public class DashboardController {
     @GetMapping("/stats")
     @Operation(summary = "Get dashboard statistics", description = "Get comprehensive dashboard statistics")
     public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats() {
-        log.info("Fetching dashboard statistics");
+        log.debug("Fetching dashboard statistics");
 
         try {
             DashboardStatsResponse stats = dashboardService.getDashboardStats();
@@ -1,21 +1,37 @@
 // File: src/main/java/com/wpc/servicesync_backend/controller/FileUploadController.java
 package com.wpc.servicesync_backend.controller;
 
+import com.wpc.servicesync_backend.config.ApplicationProperties;
 import com.wpc.servicesync_backend.dto.ApiResponse;
+import com.wpc.servicesync_backend.exception.ServiceException;
 import com.wpc.servicesync_backend.service.FileUploadService;
+import com.wpc.servicesync_backend.web.MultipartStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.SchemaProperty;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/files")
@@ -26,17 +42,27 @@ import java.util.Map;
 public class FileUploadController {
 
     private final FileUploadService fileUploadService;
+    private final ApplicationProperties applicationProperties;
 
-    @PostMapping("/diet-sheet/{sessionId}")
-    @Operation(summary = "Upload diet sheet photo", description = "Upload diet sheet photo for a session")
+    private static final String FILE_PART = "file";
+
+    @PostMapping(value = "/diet-sheet/{sessionId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload diet sheet photo",
+            description = "Upload diet sheet photo for a session, attach it and mark the diet sheet documented",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+                    mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
+                    schemaProperties = @SchemaProperty(name = FILE_PART,
+                            schema = @Schema(type = "string", format = "binary", description = "Diet sheet image file")))))
     @PreAuthorize("hasRole('HOSTESS') or hasRole('SUPERVISOR') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> uploadDietSheetPhoto(
-            @Parameter(description = "Session ID") @PathVariable String sessionId,
-            @Parameter(description = "Diet sheet image file") @RequestParam("file") MultipartFile file) {
-        log.info("Uploading diet sheet photo for session: {}", sessionId);
+            @Parameter(description = "Session ID") @PathVariable UUID sessionId,
+            HttpServletRequest request) throws IOException {
+        log.debug("Uploading diet sheet photo for session: {}", sessionId);
 
+        MultipartStream parts = openMultipart(request);
         try {
-            Map<String, Object> result = fileUploadService.uploadDietSheetPhoto(file, sessionId);
+            Map<String, Object> result = streamFilePart(parts,
+                    content -> fileUploadService.uploadDietSheetPhoto(content, sessionId));
             return ResponseEntity.ok(ApiResponse.success("Diet sheet photo uploaded successfully", result));
         } catch (Exception e) {
             log.error("Error uploading diet sheet photo for session: {}", sessionId, e);
@@ -45,16 +71,22 @@ public class FileUploadController {
         }
     }
 
-    @PostMapping("/profile/{employeeId}")
-    @Operation(summary = "Upload profile photo", description = "Upload profile photo for an employee")
+    @PostMapping(value = "/profile/{employeeId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload profile photo", description = "Upload profile photo for an employee",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+                    mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
+                    schemaProperties = @SchemaProperty(name = FILE_PART,
+                            schema = @Schema(type = "string", format = "binary", description = "Profile image file")))))
     @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> uploadProfilePhoto(
             @Parameter(description = "Employee ID") @PathVariable String employeeId,
-            @Parameter(description = "Profile image file") @RequestParam("file") MultipartFile file) {
-        log.info("Uploading profile photo for employee: {}", employeeId);
+            HttpServletRequest request) throws IOException {
+        log.debug("Uploading profile photo for employee: {}", employeeId);
 
+        MultipartStream parts = openMultipart(request);
         try {
-            Map<String, Object> result = fileUploadService.uploadProfilePhoto(file, employeeId);
+            Map<String, Object> result = streamFilePart(parts,
+                    content -> fileUploadService.uploadProfilePhoto(content, employeeId));
             return ResponseEntity.ok(ApiResponse.success("Profile photo uploaded successfully", result));
         } catch (Exception e) {
             log.error("Error uploading profile photo for employee: {}", employeeId, e);
@@ -63,22 +95,44 @@ public class FileUploadController {
         }
     }
 
+    /**
+     * Streams the file straight from disk. Spring answers conditional requests against
+     * the ETag and Last-Modified headers with 304, and Range requests with 206 partial
+     * content. A name never refers to different content (new uploads are named by
+     * their content hash), so clients may cache them for good. List views should ask
+     * for {@code ?variant=thumb} and detail views for {@code ?variant=web}; until a
+     * variant has been generated the original is served with a revalidating policy.
+     */
     @GetMapping("/{fileType}/{fileName}")
     @Operation(summary = "Get file", description = "Download file by name and type")
-    public ResponseEntity<byte[]> getFile(
+    public ResponseEntity<Resource> getFile(
             @Parameter(description = "File type (diet-sheet, profile)") @PathVariable String fileType,
-            @Parameter(description = "File name") @PathVariable String fileName) {
-        log.info("Retrieving file: {} of type: {}", fileName, fileType);
+            @Parameter(description = "File name") @PathVariable String fileName,
+            @Parameter(description = "Downscaled variant (thumb, web)") @RequestParam(required = false) String variant) {
+        log.debug("Retrieving file: {} of type: {}", fileName, fileType);
 
         try {
-            byte[] fileData = fileUploadService.getFile(fileName, fileType);
+            FileUploadService.StoredFile file = fileUploadService.getFile(fileName, fileType, variant);
 
             return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .contentType(MediaType.IMAGE_JPEG)
-                    .body(fileData);
-        } catch (Exception e) {
-            log.error("Error retrieving file: {}", fileName, e);
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(fileName).build().toString())
+                    .contentType(file.contentType())
+                    .eTag(file.eTag())
+                    .lastModified(file.lastModified())
+                    .cacheControl(file.immutable()
+                            ? CacheControl.maxAge(Duration.ofSeconds(
+                                            applicationProperties.getStorage().getDownloadCacheMaxAgeSeconds()))
+                                    .cachePrivate()
+                                    .immutable()
+                            : CacheControl.noCache().cachePrivate())
+                    .body(file.resource());
+        } catch (ServiceException e) {
+            // A bad file type or variant (400) or a failed read (500) goes to GlobalExceptionHandler
+            if (e.getStatus() != HttpStatus.NOT_FOUND) {
+                throw e;
+            }
+            log.debug("File not found: {}", fileName);
             return ResponseEntity.notFound().build();
         }
     }
@@ -88,11 +142,13 @@ public class FileUploadController {
     @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<String>> deleteFile(
             @Parameter(description = "File type") @PathVariable String fileType,
-            @Parameter(description = "File name") @PathVariable String fileName) {
+            @Parameter(description = "File name") @PathVariable String fileName,
+            @Parameter(description = "Session to detach a shared diet sheet photo from")
+            @RequestParam(required = false) UUID sessionId) {
         log.info("Deleting file: {} of type: {}", fileName, fileType);
 
         try {
-            boolean deleted = fileUploadService.deleteFile(fileName, fileType);
+            boolean deleted = fileUploadService.deleteFile(fileName, fileType, sessionId);
             if (deleted) {
                 return ResponseEntity.ok(ApiResponse.success("File deleted successfully"));
             } else {
@@ -104,4 +160,28 @@ public class FileUploadController {
                     .body(ApiResponse.error("Failed to delete file", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Fails before the upload is read when the request declares a body over
+     * {@code app.storage.max-request-size}, which the global handler answers with 413.
+     */
+    private MultipartStream openMultipart(HttpServletRequest request) throws IOException {
+        return MultipartStream.of(request, applicationProperties.getStorage().getMaxRequestSize().toBytes());
+    }
+
+    /**
+     * Hands the {@code file} part to {@code consumer} as it arrives off the socket.
+     * Nothing is buffered whole or spooled to disk first; parts after the file are
+     * not read.
+     */
+    private <T> T streamFilePart(MultipartStream parts, Function<InputStream, T> consumer) throws IOException {
+        for (Optional<MultipartStream.Part> part = parts.next(); part.isPresent(); part = parts.next()) {
+            if (part.get().isFile() && FILE_PART.equals(part.get().name())) {
+                try (InputStream content = part.get().content()) {
+                    return consumer.apply(content);
+                }
+            }
+        }
+        throw ServiceException.badRequest("File cannot be empty");
+    }
+}
@@ -29,7 +29,7 @@ public class HospitalController {
     @GetMapping
     @Operation(summary = "Get all active hospitals", description = "Retrieve all active hospitals")
     public ResponseEntity<ApiResponse<List<HospitalResponse>>> getAllActiveHospitals() {
-        log.info("Fetching all active hospitals");
+        log.debug("Fetching all active hospitals");
 
         try {
             List<HospitalResponse> hospitals = hospitalService.getAllActiveHospitals();
@@ -45,7 +45,7 @@ public class HospitalController {
     @Operation(summary = "Get hospital by ID", description = "Retrieve hospital details by ID")
     public ResponseEntity<ApiResponse<HospitalResponse>> getHospitalById(
             @Parameter(description = "Hospital ID") @PathVariable UUID id) {
-        log.info("Fetching hospital with ID: {}", id);
+        log.debug("Fetching hospital with ID: {}", id);
 
         try {
             HospitalResponse hospital = hospitalService.getHospitalById(id);
@@ -65,7 +65,7 @@ public class HospitalController {
     @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Object>> getHospitalStats(
             @Parameter(description = "Hospital ID") @PathVariable UUID id) {
-        log.info("Fetching statistics for hospital: {}", id);
+        log.debug("Fetching statistics for hospital: {}", id);
 
         // Placeholder for hospital statistics
         Object stats = hospitalService.getHospitalStats(id);
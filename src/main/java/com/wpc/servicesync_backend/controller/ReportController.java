@@ -33,7 +33,7 @@ public class ReportController {
     public ResponseEntity<ApiResponse<PerformanceReportDto>> getDailyReport(
             @Parameter(description = "Report date")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
-        log.info("Generating daily performance report for date: {}", date);
+        log.debug("Generating daily performance report for date: {}", date);
 
         try {
             PerformanceReportDto report = performanceService.generateDailyReport(date);
@@ -50,7 +50,7 @@ public class ReportController {
     public ResponseEntity<ApiResponse<PerformanceReportDto>> getWeeklyReport(
             @Parameter(description = "Week start date")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime weekStart) {
-        log.info("Generating weekly performance report for week starting: {}", weekStart);
+        log.debug("Generating weekly performance report for week starting: {}", weekStart);
 
         try {
             PerformanceReportDto report = performanceService.generateWeeklyReport(weekStart);
@@ -67,7 +67,7 @@ public class ReportController {
     public ResponseEntity<ApiResponse<PerformanceReportDto>> getMonthlyReport(
             @Parameter(description = "Month start date")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime monthStart) {
-        log.info("Generating monthly performance report for month starting: {}", monthStart);
+        log.debug("Generating monthly performance report for month starting: {}", monthStart);
 
         try {
             PerformanceReportDto report = performanceService.generateMonthlyReport(monthStart);
@@ -85,7 +85,7 @@ public class ReportController {
             @Parameter(description = "Hospital ID") @PathVariable UUID hospitalId,
             @Parameter(description = "From date")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate) {
-        log.info("Generating hospital performance report for hospital: {} from date: {}", hospitalId, fromDate);
+        log.debug("Generating hospital performance report for hospital: {} from date: {}", hospitalId, fromDate);
 
         try {
             PerformanceReportDto report = performanceService.generateHospitalReport(hospitalId, fromDate);
@@ -5,8 +5,12 @@ import com.wpc.servicesync_backend.dto.ApiResponse;
 import com.wpc.servicesync_backend.dto.QRScanRequest;
 import com.wpc.servicesync_backend.dto.ServiceSessionRequest;
 import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.dto.ServiceSessionView;
+import com.wpc.servicesync_backend.dto.SessionEventBatchRequest;
+import com.wpc.servicesync_backend.dto.SessionEventBatchResponse;
 import com.wpc.servicesync_backend.model.dto.SessionUpdateRequest;
 import com.wpc.servicesync_backend.service.ServiceSessionService;
+import com.wpc.servicesync_backend.service.SessionEventIngestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -41,14 +45,12 @@ import java.util.UUID;
 public class ServiceSessionController {
 
     private final ServiceSessionService sessionService;
+    private final SessionEventIngestService eventIngestService;
 
     @PostMapping
     @Operation(summary = "Create service session", description = "Create a new meal delivery session")
     public ResponseEntity<ApiResponse<ServiceSessionResponse>> createSession(
             @Valid @RequestBody ServiceSessionRequest request) {
-        log.info("Creating new service session for employee: {} and ward: {}",
-                request.getEmployeeId(), request.getWardId());
-
         try {
             ServiceSessionResponse session = sessionService.createSession(request);
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -65,8 +67,6 @@ public class ServiceSessionController {
     public ResponseEntity<ApiResponse<ServiceSessionResponse>> scanQR(
             @PathVariable UUID sessionId,
             @Valid @RequestBody QRScanRequest request) {
-        log.info("Processing QR scan for session: {}", sessionId);
-
         try {
             request.setSessionId(sessionId);
             ServiceSessionResponse session = sessionService.scanQR(request);
@@ -82,8 +82,6 @@ public class ServiceSessionController {
     @PostMapping("/{sessionId}/alert-nurse")
     @Operation(summary = "Alert nurse", description = "Send alert to nurse for meal delivery")
     public ResponseEntity<ApiResponse<ServiceSessionResponse>> alertNurse(@PathVariable UUID sessionId) {
-        log.info("Alerting nurse for session: {}", sessionId);
-
         try {
             ServiceSessionResponse session = sessionService.alertNurse(sessionId);
             return ResponseEntity.ok(
@@ -100,8 +98,6 @@ public class ServiceSessionController {
     public ResponseEntity<ApiResponse<ServiceSessionResponse>> nurseResponse(
             @PathVariable UUID sessionId,
             @RequestParam String nurseName) {
-        log.info("Recording nurse response for session: {} by nurse: {}", sessionId, nurseName);
-
         try {
             ServiceSessionResponse session = sessionService.nurseResponse(sessionId, nurseName);
             return ResponseEntity.ok(
@@ -118,8 +114,6 @@ public class ServiceSessionController {
     public ResponseEntity<ApiResponse<ServiceSessionResponse>> updateSession(
             @PathVariable UUID sessionId,
             @Valid @RequestBody SessionUpdateRequest request) {
-        log.info("Updating session: {}", sessionId);
-
         try {
             request.setSessionId(sessionId);
             ServiceSessionResponse session = sessionService.updateSession(request);
@@ -135,8 +129,6 @@ public class ServiceSessionController {
     @PostMapping("/{sessionId}/complete")
     @Operation(summary = "Complete session", description = "Mark session as completed")
     public ResponseEntity<ApiResponse<ServiceSessionResponse>> completeSession(@PathVariable UUID sessionId) {
-        log.info("Completing session: {}", sessionId);
-
         try {
             ServiceSessionResponse session = sessionService.completeSession(sessionId);
             return ResponseEntity.ok(
@@ -148,10 +140,24 @@ public class ServiceSessionController {
         }
     }
 
+    @PostMapping("/events/batch")
+    @Operation(summary = "Ingest offline events",
+            description = "Apply a batch of timestamped session events replayed by a tablet after reconnecting")
+    public ResponseEntity<ApiResponse<SessionEventBatchResponse>> ingestEvents(
+            @Valid @RequestBody SessionEventBatchRequest request) {
+        log.debug("Ingesting batch of {} session events", request.getEvents().size());
+
+        SessionEventBatchResponse result = eventIngestService.ingest(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Processed %d events (%d applied, %d duplicates, %d rejected)",
+                        result.getResults().size(), result.getApplied(), result.getDuplicates(), result.getRejected()),
+                result));
+    }
+
     @GetMapping("/{sessionId}")
     @Operation(summary = "Get session by ID", description = "Retrieve session details by session ID")
     public ResponseEntity<ApiResponse<ServiceSessionResponse>> getSession(@PathVariable String sessionId) {
-        log.info("Fetching session: {}", sessionId);
+        log.debug("Fetching session: {}", sessionId);
 
         return sessionService.findBySessionId(sessionId)
                 .map(session -> ResponseEntity.ok(ApiResponse.success(session)))
@@ -162,7 +168,7 @@ public class ServiceSessionController {
     @Operation(summary = "Get active sessions by employee", description = "Get all active sessions for an employee")
     public ResponseEntity<ApiResponse<List<ServiceSessionResponse>>> getActiveSessionsByEmployee(
             @PathVariable UUID employeeId) {
-        log.info("Fetching active sessions for employee: {}", employeeId);
+        log.debug("Fetching active sessions for employee: {}", employeeId);
 
         List<ServiceSessionResponse> sessions = sessionService.findActiveSessionsByEmployee(employeeId);
         return ResponseEntity.ok(ApiResponse.success(sessions));
@@ -170,13 +176,13 @@ public class ServiceSessionController {
 
     @GetMapping("/employee/{employeeId}/recent")
     @Operation(summary = "Get recent sessions by employee", description = "Get recent sessions for an employee")
-    public ResponseEntity<ApiResponse<List<ServiceSessionResponse>>> getRecentSessionsByEmployee(
+    public ResponseEntity<ApiResponse<List<ServiceSessionView>>> getRecentSessionsByEmployee(
             @PathVariable UUID employeeId,
             @RequestParam(defaultValue = "24") int hours) {
-        log.info("Fetching recent sessions for employee: {} within {} hours", employeeId, hours);
+        log.debug("Fetching recent sessions for employee: {} within {} hours", employeeId, hours);
 
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        List<ServiceSessionResponse> sessions = sessionService.findRecentSessionsByEmployee(employeeId, since);
+        List<ServiceSessionView> sessions = sessionService.findRecentSessionsByEmployee(employeeId, since);
         return ResponseEntity.ok(ApiResponse.success(sessions));
     }
 
@@ -187,7 +193,7 @@ public class ServiceSessionController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
             @RequestParam(defaultValue = "desc") String direction) {
-        log.info("Fetching completed sessions - page: {}, size: {}", page, size);
+        log.debug("Fetching completed sessions - page: {}, size: {}", page, size);
 
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc")
                 ? Sort.Direction.DESC : Sort.Direction.ASC;
@@ -199,10 +205,10 @@ public class ServiceSessionController {
 
     @GetMapping("/active")
     @Operation(summary = "Get all active sessions", description = "Get all currently active sessions")
-    public ResponseEntity<ApiResponse<List<ServiceSessionResponse>>> getAllActiveSessions() {
-        log.info("Fetching all active sessions");
+    public ResponseEntity<ApiResponse<List<ServiceSessionView>>> getAllActiveSessions() {
+        log.debug("Fetching all active sessions");
 
-        List<ServiceSessionResponse> sessions = sessionService.findAllActiveSessions();
+        List<ServiceSessionView> sessions = sessionService.findAllActiveSessions();
         return ResponseEntity.ok(ApiResponse.success(sessions));
     }
 }
\ No newline at end of file
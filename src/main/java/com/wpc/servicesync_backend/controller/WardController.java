@@ -29,7 +29,7 @@ public class WardController {
     @Operation(summary = "Get wards by hospital", description = "Retrieve all active wards for a specific hospital")
     public ResponseEntity<ApiResponse<List<WardResponse>>> getWardsByHospital(
             @Parameter(description = "Hospital ID") @PathVariable UUID hospitalId) {
-        log.info("Fetching wards for hospital: {}", hospitalId);
+        log.debug("Fetching wards for hospital: {}", hospitalId);
 
         try {
             List<WardResponse> wards = wardService.getWardsByHospital(hospitalId);
@@ -45,7 +45,7 @@ public class WardController {
     @Operation(summary = "Get ward by ID", description = "Retrieve ward details by ID")
     public ResponseEntity<ApiResponse<WardResponse>> getWardById(
             @Parameter(description = "Ward ID") @PathVariable UUID id) {
-        log.info("Fetching ward with ID: {}", id);
+        log.debug("Fetching ward with ID: {}", id);
 
         try {
             WardResponse ward = wardService.getWardById(id);
@@ -63,7 +63,7 @@ public class WardController {
     @GetMapping
     @Operation(summary = "Get all active wards", description = "Retrieve all active wards across all hospitals")
     public ResponseEntity<ApiResponse<List<WardResponse>>> getAllActiveWards() {
-        log.info("Fetching all active wards");
+        log.debug("Fetching all active wards");
 
         try {
             List<WardResponse> wards = wardService.getAllActiveWards();
@@ -79,7 +79,7 @@ public class WardController {
     @Operation(summary = "Get ward sessions", description = "Get current sessions for a specific ward")
     public ResponseEntity<ApiResponse<Object>> getWardSessions(
             @Parameter(description = "Ward ID") @PathVariable UUID id) {
-        log.info("Fetching sessions for ward: {}", id);
+        log.debug("Fetching sessions for ward: {}", id);
 
         try {
             Object sessions = wardService.getWardSessions(id);
@@ -0,0 +1,50 @@
+package com.wpc.servicesync_backend.dto;
+
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a session for list endpoints, mapped straight from SQL
+ * rows by {@link com.wpc.servicesync_backend.repository.SessionReadRepository}.
+ * Serialises to the same JSON as {@link ServiceSessionResponse}.
+ */
+public record ServiceSessionView(
+        UUID id,
+        String sessionId,
+        String employeeName,
+        String employeeId,
+        String wardName,
+        String hospitalName,
+        MealType mealType,
+        Integer mealCount,
+        Integer mealsServed,
+        SessionStatus status,
+        Double completionRate,
+        String currentStep,
+        String efficiencyRating,
+
+        // Timestamps
+        LocalDateTime kitchenExitTime,
+        LocalDateTime wardArrivalTime,
+        LocalDateTime nurseAlertTime,
+        LocalDateTime nurseResponseTime,
+        LocalDateTime serviceStartTime,
+        LocalDateTime serviceCompleteTime,
+
+        // Duration calculations (in seconds)
+        Long travelTimeSeconds,
+        Long nurseResponseTimeSeconds,
+        Long servingTimeSeconds,
+        Long totalDurationSeconds,
+
+        // Additional fields
+        String comments,
+        String nurseName,
+        Boolean dietSheetDocumented,
+        String dietSheetNotes,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
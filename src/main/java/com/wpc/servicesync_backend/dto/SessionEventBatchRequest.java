@@ -0,0 +1,16 @@
+package com.wpc.servicesync_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SessionEventBatchRequest {
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 events")
+    @Valid
+    private List<SessionEventRequest> events;
+}
@@ -0,0 +1,21 @@
+package com.wpc.servicesync_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionEventBatchResponse {
+    private int applied;
+    private int duplicates;
+    private int rejected;
+    private List<SessionEventResult> results;
+    // Final state of every session touched by the batch, for client reconciliation
+    private List<ServiceSessionResponse> sessions;
+}
@@ -0,0 +1,37 @@
+package com.wpc.servicesync_backend.dto;
+
+import com.wpc.servicesync_backend.model.entity.QRLocationType;
+import com.wpc.servicesync_backend.model.entity.SessionEventType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class SessionEventRequest {
+    @NotBlank(message = "Client event ID is required")
+    @Size(max = 100, message = "Client event ID cannot exceed 100 characters")
+    private String clientEventId;
+
+    @NotNull(message = "Session ID is required")
+    private UUID sessionId;
+
+    @NotNull(message = "Event type is required")
+    private SessionEventType type;
+
+    // Device clock time of the event; server time is used when absent
+    private LocalDateTime occurredAt;
+
+    // QR_SCAN only
+    private QRLocationType locationType;
+
+    @Size(max = 200, message = "QR code content cannot exceed 200 characters")
+    private String qrCodeContent;
+
+    // NURSE_RESPONSE only
+    @Size(max = 255, message = "Nurse name cannot exceed 255 characters")
+    private String nurseName;
+}
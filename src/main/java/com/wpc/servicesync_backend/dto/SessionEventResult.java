@@ -0,0 +1,47 @@
+package com.wpc.servicesync_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionEventResult {
+
+    public enum Outcome {
+        APPLIED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    private String clientEventId;
+    private UUID sessionId;
+    private Outcome outcome;
+    private String message;
+
+    public static SessionEventResult applied(SessionEventRequest event) {
+        return of(event, Outcome.APPLIED, null);
+    }
+
+    public static SessionEventResult duplicate(SessionEventRequest event) {
+        return of(event, Outcome.DUPLICATE, "Event already processed");
+    }
+
+    public static SessionEventResult rejected(SessionEventRequest event, String message) {
+        return of(event, Outcome.REJECTED, message);
+    }
+
+    private static SessionEventResult of(SessionEventRequest event, Outcome outcome, String message) {
+        return SessionEventResult.builder()
+                .clientEventId(event.getClientEventId())
+                .sessionId(event.getSessionId())
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.wpc.servicesync_backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets one in N INFO-and-below events through for loggers under a configured
+ * package, given as {@code com.example.web=10, com.example.service=5}; the longest
+ * matching prefix wins, so {@code com.example.web.AuthController=1} exempts one
+ * class, and WARN and ERROR always pass. As a turbo filter it runs before the event
+ * or its message is built, so a dropped line costs a map lookup.
+ * <p>
+ * The draw is made from the per-request sample value RequestLoggingFilter puts in
+ * the MDC, not from the request id, which the caller may choose. A sampled request
+ * keeps every line it writes and an unsampled one writes none. Events logged outside
+ * a request (scheduled jobs, startup, audit) carry no sample value and always pass.
+ */
+public class PackageSamplingTurboFilter extends TurboFilter {
+
+    private record Rule(String prefix, int rate) {
+    }
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final Map<String, Integer> ratesByLogger = new ConcurrentHashMap<>();
+    private String mdcKey = "sample";
+
+    public void setRates(String rates) {
+        rules.clear();
+        ratesByLogger.clear();
+        if (rates == null) {
+            return;
+        }
+        for (String entry : rates.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                if (!entry.isBlank()) {
+                    addWarn("Ignoring sampling rate '" + entry.trim() + "'; expected package=N");
+                }
+                continue;
+            }
+            rules.add(new Rule(parts[0].trim(), Integer.parseInt(parts[1].trim())));
+        }
+        rules.sort(Comparator.comparingInt((Rule rule) -> rule.prefix().length()).reversed());
+    }
+
+    public void setMdcKey(String mdcKey) {
+        this.mdcKey = mdcKey;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (!isStarted() || rules.isEmpty() || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        int rate = ratesByLogger.computeIfAbsent(logger.getName(), this::rateFor);
+        String sample = rate > 1 ? MDC.get(mdcKey) : null;
+        if (sample == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return Math.floorMod(draw(sample), rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private int rateFor(String loggerName) {
+        for (Rule rule : rules) {
+            String prefix = rule.prefix();
+            if (loggerName.startsWith(prefix)
+                    && (loggerName.length() == prefix.length() || loggerName.charAt(prefix.length()) == '.')) {
+                return rule.rate();
+            }
+        }
+        return 1;
+    }
+
+    private static int draw(String sample) {
+        int hash = sample.hashCode();
+        return hash ^ (hash >>> 16); // Spread the high bits, as small rates only see the low ones
+    }
+}
@@ -13,9 +13,6 @@ import java.util.UUID;
 public class SessionUpdateRequest {
     private UUID sessionId;
 
-    @Size(max = 500, message = "Diet sheet photo path cannot exceed 500 characters")
-    private String dietSheetPhotoPath;
-
     private SessionStatus status;
 
     // Timestamp fields with validation
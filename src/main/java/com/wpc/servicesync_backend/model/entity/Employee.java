@@ -3,11 +3,15 @@
 package com.wpc.servicesync_backend.model.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wpc.servicesync_backend.service.HospitalMembershipListener;
+import com.wpc.servicesync_backend.service.NameChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -18,11 +22,12 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "employees")
+@EntityListeners({HospitalMembershipListener.class, NameChangeListener.class})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Employee {
+public class Employee implements HospitalMembershipListener.Member, NameChangeListener.Named {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -69,6 +74,18 @@ public class Employee {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt; // 🔄 Last update time
 
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private HospitalMembershipListener.Membership loadedMembership; // 🔍 Hospital and status as loaded
+
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedName; // 🔍 Name as loaded
+
     // Business Methods 🏥
 
     /**
@@ -1,6 +1,8 @@
 // src/main/java/com/wpc/servicesync_backend/model/entity/Hospital.java
 package com.wpc.servicesync_backend.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wpc.servicesync_backend.service.NameChangeListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,12 +13,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -27,12 +32,12 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "hospitals")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, NameChangeListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Hospital {
+public class Hospital implements NameChangeListener.Named {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -73,4 +78,11 @@ public class Hospital {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    // Name as loaded, so only renames are copied into session_view
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedName;
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.wpc.servicesync_backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored photo blob, identified by the SHA-256 of its content. Identical uploads
+ * share one blob and bump {@code refCount}; the blob is removed from storage when
+ * the last reference is released. Downscaled variants are generated in the
+ * background; {@code variantsProcessedAt} is null until that has run.
+ */
+@Entity
+@Table(name = "photo_objects")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PhotoObject {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "variants_processed_at")
+    private LocalDateTime variantsProcessedAt;
+
+    @Column(name = "has_variants", nullable = false)
+    private boolean hasVariants;
+}
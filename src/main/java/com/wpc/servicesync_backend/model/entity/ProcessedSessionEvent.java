@@ -0,0 +1,55 @@
+package com.wpc.servicesync_backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record of a client-generated session event that has already been applied.
+ * Tablets replay their offline queue on reconnect, so the client event ID is
+ * the deduplication key for batch ingestion.
+ */
+@Entity
+@Table(name = "processed_session_events",
+        indexes = {
+                @Index(name = "idx_processed_event_session", columnList = "service_session_id, occurred_at")
+        })
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedSessionEvent {
+
+    @Id
+    @Column(name = "client_event_id", length = 100)
+    private String clientEventId;
+
+    @Column(name = "service_session_id", nullable = false)
+    private UUID serviceSessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private SessionEventType eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @CreatedDate
+    @Column(name = "processed_at", nullable = false, updatable = false)
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,39 @@
+package com.wpc.servicesync_backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * High-water mark of a read model's catch-up pass over {@code service_sessions}:
+ * the key ({@code createdAt}, {@code id}) of the last session it checked.
+ */
+@Entity
+@Table(name = "read_model_marks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReadModelMark {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "last_created_at", nullable = false)
+    private LocalDateTime lastCreatedAt;
+
+    @Column(name = "last_session_id", nullable = false)
+    private UUID lastSessionId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.wpc.servicesync_backend.model.entity;
 
+import com.wpc.servicesync_backend.service.SessionChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -12,7 +13,10 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -21,6 +25,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -30,13 +37,21 @@ import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
+// Schema is owned by db/migration; these mirror it for generated test schemas, minus
+// the partial indexes on open sessions which JPA cannot express
 @Table(name = "service_sessions",
         indexes = {
-                @Index(name = "idx_session_id", columnList = "session_id"),
-                @Index(name = "idx_employee_ward", columnList = "employee_id, ward_id"),
-                @Index(name = "idx_status_created", columnList = "status, created_at")
+                @Index(name = "idx_status_created", columnList = "status, created_at"),
+                @Index(name = "idx_sessions_created", columnList = "created_at"),
+                @Index(name = "idx_sessions_hospital_created", columnList = "hospital_id, created_at DESC"),
+                @Index(name = "idx_sessions_ward_status_created", columnList = "ward_id, status, created_at DESC"),
+                @Index(name = "idx_sessions_employee_created", columnList = "employee_id, created_at DESC"),
+                @Index(name = "idx_completion_rate", columnList = "completion_rate"),
+                @Index(name = "idx_travel_time", columnList = "travel_time_ms"),
+                @Index(name = "idx_nurse_response_time", columnList = "nurse_response_ms")
         })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, SessionChangeListener.class})
+@DynamicUpdate // hostess and nurse update different columns of the same row concurrently
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -61,6 +76,10 @@ public class ServiceSession {
     @NotNull(message = "Ward is required")
     private Ward ward;
 
+    // Copy of ward.hospital.id so hospital-wide queries don't join through wards
+    @Column(name = "hospital_id", nullable = false)
+    private UUID hospitalId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "meal_type", nullable = false)
     @NotNull(message = "Meal type is required")
@@ -81,6 +100,11 @@ public class ServiceSession {
     @Builder.Default
     private SessionStatus status = SessionStatus.ACTIVE;
 
+    // Workflow position, advanced only through SessionStateMachine; null on rows written before it existed
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_step", length = 50)
+    private SessionStep step;
+
     // Timestamp fields
     @Column(name = "kitchen_exit_time")
     private LocalDateTime kitchenExitTime;
@@ -118,6 +142,36 @@ public class ServiceSession {
     @Builder.Default
     private Boolean dietSheetDocumented = false;
 
+    // Derived metrics, materialised so reports can filter and sort on them in SQL.
+    // Durations stay null until both of their timestamps are known.
+    @Column(name = "travel_time_ms")
+    private Long travelTimeMillis;
+
+    @Column(name = "nurse_response_ms")
+    private Long nurseResponseMillis;
+
+    @Column(name = "serving_time_ms")
+    private Long servingTimeMillis;
+
+    @Column(name = "total_duration_ms")
+    private Long totalDurationMillis;
+
+    @Column(name = "completion_rate")
+    private Double completionRate;
+
+    @Column(name = "serving_rate")
+    private Double servingRate;
+
+    @Column(name = "efficiency_rating", length = 20)
+    private String efficiencyRating;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Added to UPDATE and DELETE so they touch only this row's partition
+    @PartitionKey
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -126,38 +180,62 @@ public class ServiceSession {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Recomputes the materialised metrics from the workflow timestamps. Runs on every
+     * insert and update, and is also called by the service before mapping a freshly
+     * mutated session so responses never see values from the previous flush.
+     */
+    @PrePersist
+    @PreUpdate
+    public void refreshDerivedMetrics() {
+        travelTimeMillis = millisBetween(kitchenExitTime, wardArrivalTime);
+        nurseResponseMillis = millisBetween(nurseAlertTime, nurseResponseTime);
+        servingTimeMillis = millisBetween(serviceStartTime, serviceCompleteTime);
+        totalDurationMillis = millisBetween(kitchenExitTime, serviceCompleteTime);
+        completionRate = computeCompletionRate();
+        servingRate = computeServingRate();
+        efficiencyRating = computeEfficiencyRating(completionRate, servingRate);
+    }
+
     // Business logic methods using Java 21 features
     public long getTravelTime() {
-        if (kitchenExitTime != null && wardArrivalTime != null) {
-            return ChronoUnit.MILLIS.between(kitchenExitTime, wardArrivalTime);
+        if (travelTimeMillis != null) {
+            return travelTimeMillis;
         }
-        return 0L;
+        Long millis = millisBetween(kitchenExitTime, wardArrivalTime);
+        return millis != null ? millis : 0L;
     }
 
     public long getNurseResponseTime() {
-        if (nurseAlertTime != null && nurseResponseTime != null) {
-            return ChronoUnit.MILLIS.between(nurseAlertTime, nurseResponseTime);
-        }
-        return 0L;
+        return getNurseResponseDuration();
+    }
+
+    // getNurseResponseTime() predates the timestamp column and returns a duration
+    public LocalDateTime getNurseRespondedAt() {
+        return nurseResponseTime;
     }
 
     // Duration in millis
     public long getNurseResponseDuration() {
-        if (nurseAlertTime != null && nurseResponseTime != null) {
-            return ChronoUnit.MILLIS.between(nurseAlertTime, nurseResponseTime);
+        if (nurseResponseMillis != null) {
+            return nurseResponseMillis;
         }
-        return 0L;
+        Long millis = millisBetween(nurseAlertTime, nurseResponseTime);
+        return millis != null ? millis : 0L;
     }
 
     public long getServingTime() {
-        if (serviceStartTime != null && serviceCompleteTime != null) {
-            return ChronoUnit.MILLIS.between(serviceStartTime, serviceCompleteTime);
+        if (servingTimeMillis != null) {
+            return servingTimeMillis;
         }
-        return 0L;
+        Long millis = millisBetween(serviceStartTime, serviceCompleteTime);
+        return millis != null ? millis : 0L;
     }
 
     public long getElapsedTime() {
-        if (kitchenExitTime != null && serviceCompleteTime != null) {
+        if (totalDurationMillis != null) {
+            return totalDurationMillis;
+        } else if (kitchenExitTime != null && serviceCompleteTime != null) {
             return ChronoUnit.MILLIS.between(kitchenExitTime, serviceCompleteTime);
         } else if (kitchenExitTime != null) {
             return ChronoUnit.MILLIS.between(kitchenExitTime, LocalDateTime.now());
@@ -166,19 +244,11 @@ public class ServiceSession {
     }
 
     public double getCompletionRate() {
-        if (mealCount == null || mealCount == 0) {
-            return 0.0;
-        }
-        return (double) mealsServed / mealCount * 100.0;
+        return completionRate != null ? completionRate : computeCompletionRate();
     }
 
     public double getAverageServingRate() {
-        long servingMillis = getServingTime();
-        if (servingMillis > 0 && mealsServed > 0) {
-            double minutes = servingMillis / 60000.0;
-            return mealsServed / minutes;
-        }
-        return 0.0;
+        return servingRate != null ? servingRate : computeServingRate();
     }
 
     public boolean isCompleted() {
@@ -190,9 +260,32 @@ public class ServiceSession {
     }
 
     public String getEfficiencyRating() {
-        double completionRate = getCompletionRate();
-        double servingRate = getAverageServingRate();
+        return efficiencyRating != null
+                ? efficiencyRating
+                : computeEfficiencyRating(getCompletionRate(), getAverageServingRate());
+    }
+
+    private static Long millisBetween(LocalDateTime from, LocalDateTime to) {
+        return from != null && to != null ? ChronoUnit.MILLIS.between(from, to) : null;
+    }
+
+    private double computeCompletionRate() {
+        if (mealCount == null || mealCount == 0) {
+            return 0.0;
+        }
+        return (double) mealsServed / mealCount * 100.0;
+    }
+
+    private double computeServingRate() {
+        Long servingMillis = millisBetween(serviceStartTime, serviceCompleteTime);
+        if (servingMillis != null && servingMillis > 0 && mealsServed > 0) {
+            double minutes = servingMillis / 60000.0;
+            return mealsServed / minutes;
+        }
+        return 0.0;
+    }
 
+    private static String computeEfficiencyRating(double completionRate, double servingRate) {
         // Fixed: Removed guard condition that's not allowed
         int ratingLevel = (int) completionRate / 25;
         return switch (ratingLevel) {
@@ -203,20 +296,27 @@ public class ServiceSession {
         };
     }
 
+    public SessionStep getStep() {
+        return step != null ? step : deriveStep();
+    }
+
     public String getCurrentStep() {
+        return getStep().getDisplayName();
+    }
+
+    private SessionStep deriveStep() {
         return switch (status) {
-            case ACTIVE -> {
-                if (kitchenExitTime == null) yield "Kitchen Exit";
-                if (wardArrivalTime == null) yield "Ward Arrival";
-                if (!dietSheetDocumented) yield "Diet Sheet Documentation";
-                if (nurseAlertTime == null) yield "Nurse Alert";
-                if (nurseResponseTime == null) yield "Awaiting Nurse Response";
-                if (serviceStartTime == null) yield "Nurse Station";
-                yield "Service in Progress";
+            case COMPLETED -> SessionStep.COMPLETED;
+            case CANCELLED -> SessionStep.CANCELLED;
+            case ACTIVE, IN_TRANSIT -> {
+                if (kitchenExitTime == null) yield SessionStep.AWAITING_KITCHEN_EXIT;
+                if (wardArrivalTime == null) yield SessionStep.IN_TRANSIT;
+                if (!isDocumentationComplete()) yield SessionStep.DIET_SHEET_DOCUMENTATION;
+                if (nurseAlertTime == null) yield SessionStep.NURSE_ALERT;
+                if (nurseResponseTime == null) yield SessionStep.AWAITING_NURSE_RESPONSE;
+                if (serviceStartTime == null) yield SessionStep.NURSE_STATION;
+                yield SessionStep.SERVICE_IN_PROGRESS;
             }
-            case COMPLETED -> "Service Complete";
-            case CANCELLED -> "Service Cancelled";
-            case IN_TRANSIT -> "In Transit";
         };
     }
 
@@ -0,0 +1,18 @@
+package com.wpc.servicesync_backend.model.entity;
+
+public enum SessionEventType {
+    QR_SCAN("QR Scan"),
+    ALERT_NURSE("Nurse Alert"),
+    NURSE_RESPONSE("Nurse Response"),
+    COMPLETE("Session Complete");
+
+    private final String displayName;
+
+    SessionEventType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
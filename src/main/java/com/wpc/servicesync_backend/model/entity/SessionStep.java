@@ -0,0 +1,33 @@
+package com.wpc.servicesync_backend.model.entity;
+
+public enum SessionStep {
+    AWAITING_KITCHEN_EXIT("Kitchen Exit", SessionStatus.ACTIVE),
+    IN_TRANSIT("In Transit", SessionStatus.IN_TRANSIT),
+    DIET_SHEET_DOCUMENTATION("Diet Sheet Documentation", SessionStatus.ACTIVE),
+    NURSE_ALERT("Nurse Alert", SessionStatus.ACTIVE),
+    AWAITING_NURSE_RESPONSE("Awaiting Nurse Response", SessionStatus.ACTIVE),
+    NURSE_STATION("Nurse Station", SessionStatus.ACTIVE),
+    SERVICE_IN_PROGRESS("Service in Progress", SessionStatus.ACTIVE),
+    COMPLETED("Service Complete", SessionStatus.COMPLETED),
+    CANCELLED("Service Cancelled", SessionStatus.CANCELLED);
+
+    private final String displayName;
+    private final SessionStatus status;
+
+    SessionStep(String displayName, SessionStatus status) {
+        this.displayName = displayName;
+        this.status = status;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public SessionStatus getStatus() {
+        return status;
+    }
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == CANCELLED;
+    }
+}
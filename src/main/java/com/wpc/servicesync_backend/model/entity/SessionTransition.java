@@ -0,0 +1,65 @@
+package com.wpc.servicesync_backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only log of workflow step changes. {@code occurredAt} is the business
+ * time of the trigger (device time for replayed events), {@code recordedAt} is
+ * when the server persisted it.
+ */
+@Entity
+@Table(name = "session_transitions",
+        indexes = {
+                @Index(name = "idx_transition_session", columnList = "service_session_id, occurred_at")
+        })
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "service_session_id", nullable = false)
+    private UUID serviceSessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_step", nullable = false, length = 50)
+    private SessionStep fromStep;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_step", nullable = false, length = 50)
+    private SessionStep toStep;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trigger_type", nullable = false, length = 50)
+    private SessionTrigger trigger;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @CreatedDate
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+}
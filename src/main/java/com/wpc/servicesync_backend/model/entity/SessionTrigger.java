@@ -0,0 +1,22 @@
+package com.wpc.servicesync_backend.model.entity;
+
+public enum SessionTrigger {
+    KITCHEN_EXIT("Kitchen Exit Scan"),
+    WARD_ARRIVAL("Ward Arrival Scan"),
+    DIET_SHEET_DOCUMENTED("Diet Sheet Documented"),
+    NURSE_ALERTED("Nurse Alerted"),
+    NURSE_RESPONDED("Nurse Responded"),
+    SERVICE_STARTED("Nurse Station Scan"),
+    COMPLETE("Complete"),
+    CANCEL("Cancel");
+
+    private final String displayName;
+
+    SessionTrigger(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,162 @@
+package com.wpc.servicesync_backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Denormalised read model for supervisor screens: one wide row per session with
+ * employee, ward and hospital names copied in and derived metrics precomputed, so
+ * dashboard, ward and hospital queries are single-table index scans that never
+ * touch the tables hostesses write to. Maintained asynchronously by
+ * {@code SessionViewProjector}; {@code sourceVersion} is the session version the
+ * row was projected from.
+ */
+@Entity
+@Table(name = "session_view",
+        indexes = {
+                @Index(name = "idx_session_view_status_created", columnList = "status, created_at"),
+                @Index(name = "idx_session_view_created", columnList = "created_at"),
+                @Index(name = "idx_session_view_step_created", columnList = "current_step, created_at"),
+                @Index(name = "idx_session_view_ward_status_created", columnList = "ward_id, status, created_at DESC"),
+                @Index(name = "idx_session_view_ward_step", columnList = "ward_id, current_step"),
+                @Index(name = "idx_session_view_hospital_created", columnList = "hospital_id, created_at")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionView {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "session_id", nullable = false, length = 100)
+    private String sessionId;
+
+    @Column(name = "hospital_id", nullable = false)
+    private UUID hospitalId;
+
+    @Column(name = "hospital_name", nullable = false)
+    private String hospitalName;
+
+    @Column(name = "ward_id", nullable = false)
+    private UUID wardId;
+
+    @Column(name = "ward_name", nullable = false, length = 100)
+    private String wardName;
+
+    @Column(name = "employee_id", nullable = false)
+    private UUID employeeId;
+
+    @Column(name = "employee_code", nullable = false, length = 50)
+    private String employeeCode;
+
+    @Column(name = "employee_name", nullable = false)
+    private String employeeName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "meal_type", nullable = false)
+    private MealType mealType;
+
+    @Column(name = "meal_count", nullable = false)
+    private Integer mealCount;
+
+    @Column(name = "meals_served", nullable = false)
+    private Integer mealsServed;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SessionStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_step", nullable = false, length = 50)
+    private SessionStep step;
+
+    @Column(name = "kitchen_exit_time")
+    private LocalDateTime kitchenExitTime;
+
+    @Column(name = "ward_arrival_time")
+    private LocalDateTime wardArrivalTime;
+
+    @Column(name = "nurse_alert_time")
+    private LocalDateTime nurseAlertTime;
+
+    @Column(name = "nurse_response_time")
+    private LocalDateTime nurseResponseTime;
+
+    @Column(name = "service_start_time")
+    private LocalDateTime serviceStartTime;
+
+    @Column(name = "service_complete_time")
+    private LocalDateTime serviceCompleteTime;
+
+    @Column(name = "travel_time_ms")
+    private Long travelTimeMillis;
+
+    @Column(name = "nurse_response_ms")
+    private Long nurseResponseMillis;
+
+    @Column(name = "serving_time_ms")
+    private Long servingTimeMillis;
+
+    @Column(name = "total_duration_ms")
+    private Long totalDurationMillis;
+
+    @Column(name = "completion_rate", nullable = false)
+    private Double completionRate;
+
+    @Column(name = "serving_rate", nullable = false)
+    private Double servingRate;
+
+    @Column(name = "efficiency_rating", nullable = false, length = 20)
+    private String efficiencyRating;
+
+    @Column(columnDefinition = "TEXT")
+    private String comments;
+
+    @Column(name = "nurse_name")
+    private String nurseName;
+
+    @Column(name = "diet_sheet_documented", nullable = false)
+    private Boolean dietSheetDocumented;
+
+    @Column(name = "diet_sheet_notes", columnDefinition = "TEXT")
+    private String dietSheetNotes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "source_version", nullable = false)
+    private Long sourceVersion;
+
+    @Column(name = "projected_at", nullable = false)
+    private LocalDateTime projectedAt;
+
+    public String getCurrentStep() {
+        return step.getDisplayName();
+    }
+
+    // Sessions still running report time since kitchen exit, like ServiceSession#getElapsedTime
+    public long getElapsedTime() {
+        if (totalDurationMillis != null) {
+            return totalDurationMillis;
+        }
+        return kitchenExitTime != null ? ChronoUnit.MILLIS.between(kitchenExitTime, LocalDateTime.now()) : 0L;
+    }
+}
@@ -1,6 +1,9 @@
 // src/main/java/com/wpc/servicesync_backend/model/entity/Ward.java
 package com.wpc.servicesync_backend.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wpc.servicesync_backend.service.HospitalMembershipListener;
+import com.wpc.servicesync_backend.service.NameChangeListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -13,12 +16,15 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -29,12 +35,12 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "wards")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, HospitalMembershipListener.class, NameChangeListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Ward {
+public class Ward implements HospitalMembershipListener.Member, NameChangeListener.Named {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -70,6 +76,20 @@ public class Ward {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Hospital and status as loaded, so updates that change neither are not announced
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private HospitalMembershipListener.Membership loadedMembership;
+
+    // Name as loaded, so only renames are copied into session_view
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedName;
+
     // Fixed: Replace Java 21 string template with String.format()
     public String getDisplayName() {
         return String.format("%s (Floor %s)",
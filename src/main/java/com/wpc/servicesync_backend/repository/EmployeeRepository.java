@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -40,4 +41,8 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
 
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.hospital.id = :hospitalId AND e.role = :role AND e.isActive = true")
     long countActiveEmployeesByHospitalAndRole(@Param("hospitalId") UUID hospitalId, @Param("role") EmployeeRole role);
+
+    @Query("SELECT e.hospital.id, COUNT(e) FROM Employee e WHERE e.hospital.id IN :hospitalIds AND e.isActive = true " +
+            "GROUP BY e.hospital.id")
+    List<Object[]> countActiveEmployeesByHospitalIn(@Param("hospitalIds") Collection<UUID> hospitalIds);
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.PhotoObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PhotoObjectRepository extends JpaRepository<PhotoObject, String> {
+
+    // Both updates take the row lock, which serialises uploads against the release of the last reference
+    @Modifying
+    @Query("UPDATE PhotoObject p SET p.refCount = p.refCount + 1, p.updatedAt = :now WHERE p.contentHash = :hash")
+    int incrementRefCount(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PhotoObject p SET p.refCount = p.refCount - 1, p.updatedAt = :now " +
+            "WHERE p.contentHash = :hash AND p.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // A plain INSERT: save() would merge, and could overwrite a row committed since the increment missed it
+    @Modifying
+    @Query(value = "INSERT INTO photo_objects (content_hash, content_type, size_bytes, ref_count, created_at, updated_at) " +
+            "VALUES (:hash, :contentType, :size, :refCount, :now, :now)", nativeQuery = true)
+    int insert(@Param("hash") String hash, @Param("contentType") String contentType, @Param("size") long size,
+               @Param("refCount") int refCount, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.refCount FROM PhotoObject p WHERE p.contentHash = :hash")
+    Integer findRefCount(@Param("hash") String hash);
+
+    @Modifying
+    @Query("UPDATE PhotoObject p SET p.variantsProcessedAt = :now, p.hasVariants = :hasVariants " +
+            "WHERE p.contentHash = :hash")
+    int markVariantsProcessed(@Param("hash") String hash, @Param("hasVariants") boolean hasVariants,
+                              @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.contentHash FROM PhotoObject p WHERE p.variantsProcessedAt IS NULL AND p.createdAt < :before " +
+            "ORDER BY p.createdAt")
+    List<String> findUnprocessed(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query("SELECT p.contentHash FROM PhotoObject p WHERE p.contentHash > :after ORDER BY p.contentHash")
+    List<String> findContentHashesAfter(@Param("after") String after, Pageable pageable);
+}
@@ -0,0 +1,17 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.ProcessedSessionEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+@Repository
+public interface ProcessedSessionEventRepository extends JpaRepository<ProcessedSessionEvent, String> {
+
+    @Query("SELECT e.clientEventId FROM ProcessedSessionEvent e WHERE e.clientEventId IN :clientEventIds")
+    Set<String> findExistingClientEventIds(@Param("clientEventIds") Collection<String> clientEventIds);
+}
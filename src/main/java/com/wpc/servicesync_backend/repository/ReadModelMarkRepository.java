@@ -0,0 +1,9 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.ReadModelMark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReadModelMarkRepository extends JpaRepository<ReadModelMark, String> {
+}
@@ -5,6 +5,7 @@ import com.wpc.servicesync_backend.model.entity.ServiceSession;
 import com.wpc.servicesync_backend.model.entity.Employee;
 import com.wpc.servicesync_backend.model.entity.Ward;
 import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
 import com.wpc.servicesync_backend.model.entity.MealType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,15 +14,38 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ServiceSessionRepository extends JpaRepository<ServiceSession, UUID> {
+public interface ServiceSessionRepository extends JpaRepository<ServiceSession, UUID>, SessionKeyLookup {
 
-    Optional<ServiceSession> findBySessionId(String sessionId);
+    // Open sessions are auto-cancelled after a day, so live queries bound created_at by this
+    // window; on a partitioned table that prunes them to the newest partitions
+    Duration OPEN_SESSION_WINDOW = Duration.ofHours(48);
+
+    interface SessionMetrics {
+        long getTotalSessions();
+
+        Double getAverageCompletionRate();
+
+        Double getAverageTravelMillis();
+
+        Double getAverageNurseResponseMillis();
+
+        Double getAverageServingMillis();
+
+        Double getAverageServingRate();
+    }
+
+    // Served by SessionKeyLookupImpl; redeclared so calls are not ambiguous with CrudRepository's
+    @Override
+    Optional<ServiceSession> findById(UUID id);
 
     List<ServiceSession> findByEmployeeAndStatusOrderByCreatedAtDesc(Employee employee, SessionStatus status);
 
@@ -36,7 +60,7 @@ public interface ServiceSessionRepository extends JpaRepository<ServiceSession,
     @Query("SELECT s FROM ServiceSession s WHERE s.employee.id = :employeeId AND s.createdAt >= :since ORDER BY s.createdAt DESC")
     List<ServiceSession> findRecentSessionsByEmployee(@Param("employeeId") UUID employeeId, @Param("since") LocalDateTime since);
 
-    @Query("SELECT s FROM ServiceSession s WHERE s.ward.hospital.id = :hospitalId AND s.createdAt >= :since ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM ServiceSession s WHERE s.hospitalId = :hospitalId AND s.createdAt >= :since ORDER BY s.createdAt DESC")
     List<ServiceSession> findRecentSessionsByHospital(@Param("hospitalId") UUID hospitalId, @Param("since") LocalDateTime since);
 
     Page<ServiceSession> findByStatusOrderByCreatedAtDesc(SessionStatus status, Pageable pageable);
@@ -61,14 +85,73 @@ public interface ServiceSessionRepository extends JpaRepository<ServiceSession,
     Page<ServiceSession> findCompletedSessionsByWard(@Param("wardId") UUID wardId, Pageable pageable);
 
     // Real-time monitoring queries
-    @Query("SELECT s FROM ServiceSession s WHERE s.status IN ('ACTIVE', 'IN_TRANSIT') ORDER BY s.createdAt DESC")
-    List<ServiceSession> findAllActiveSessions();
-
-    @Query("SELECT s FROM ServiceSession s WHERE s.status = 'ACTIVE' AND s.kitchenExitTime IS NOT NULL AND s.serviceCompleteTime IS NULL")
-    List<ServiceSession> findSessionsInProgress();
-
-    @Query("SELECT s FROM ServiceSession s WHERE s.status = 'ACTIVE' AND s.nurseAlertTime IS NOT NULL AND s.nurseResponseTime IS NULL")
-    List<ServiceSession> findSessionsAwaitingNurseResponse();
+    @Query("SELECT s FROM ServiceSession s WHERE s.status IN ('ACTIVE', 'IN_TRANSIT') AND s.createdAt >= :since " +
+            "ORDER BY s.createdAt DESC")
+    List<ServiceSession> findActiveSessionsCreatedSince(@Param("since") LocalDateTime since);
+
+    default List<ServiceSession> findAllActiveSessions() {
+        return findActiveSessionsCreatedSince(LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    // Step lookups repeat the open-status predicate so they can use the partial indexes
+    // idx_sessions_open_step and idx_sessions_open_ward_step
+    @Query("SELECT s FROM ServiceSession s WHERE s.status IN ('ACTIVE', 'IN_TRANSIT') AND s.step IN :steps " +
+            "AND s.createdAt >= :since ORDER BY s.createdAt DESC")
+    List<ServiceSession> findOpenSessionsByStep(@Param("steps") Collection<SessionStep> steps,
+                                                @Param("since") LocalDateTime since);
+
+    @Query("SELECT s FROM ServiceSession s WHERE s.status IN ('ACTIVE', 'IN_TRANSIT') AND s.ward.id = :wardId " +
+            "AND s.step = :step AND s.createdAt >= :since ORDER BY s.createdAt DESC")
+    List<ServiceSession> findOpenSessionsByStepAndWard(@Param("step") SessionStep step, @Param("wardId") UUID wardId,
+                                                       @Param("since") LocalDateTime since);
+
+    default List<ServiceSession> findSessionsAwaitingNurseResponseByWard(UUID wardId) {
+        return findOpenSessionsByStepAndWard(SessionStep.AWAITING_NURSE_RESPONSE, wardId,
+                LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    default List<ServiceSession> findSessionsInProgress() {
+        return findOpenSessionsByStep(EnumSet.of(SessionStep.IN_TRANSIT,
+                SessionStep.DIET_SHEET_DOCUMENTATION, SessionStep.NURSE_ALERT, SessionStep.AWAITING_NURSE_RESPONSE,
+                SessionStep.NURSE_STATION, SessionStep.SERVICE_IN_PROGRESS), LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    default List<ServiceSession> findSessionsAwaitingNurseResponse() {
+        return findOpenSessionsByStep(EnumSet.of(SessionStep.AWAITING_NURSE_RESPONSE),
+                LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    // Threshold queries over the materialised metric columns
+    @Query("SELECT s FROM ServiceSession s WHERE s.status = 'COMPLETED' AND s.createdAt BETWEEN :start AND :end " +
+            "AND (s.completionRate < :minCompletionRate OR s.travelTimeMillis > :maxTravelMillis " +
+            "OR s.nurseResponseMillis > :maxNurseResponseMillis) ORDER BY s.completionRate ASC")
+    List<ServiceSession> findProblematicSessionsBetween(@Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end,
+                                                       @Param("minCompletionRate") double minCompletionRate,
+                                                       @Param("maxTravelMillis") long maxTravelMillis,
+                                                       @Param("maxNurseResponseMillis") long maxNurseResponseMillis,
+                                                       Pageable pageable);
+
+    @Query("SELECT s FROM ServiceSession s WHERE s.status = 'COMPLETED' AND s.createdAt BETWEEN :start AND :end " +
+            "AND s.completionRate >= :minCompletionRate AND s.servingRate >= :minServingRate ORDER BY s.servingRate DESC")
+    List<ServiceSession> findTopPerformingSessionsBetween(@Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end,
+                                                         @Param("minCompletionRate") double minCompletionRate,
+                                                         @Param("minServingRate") double minServingRate,
+                                                         Pageable pageable);
+
+    // Report aggregates over the materialised metric columns; the duration and serving rate
+    // averages leave out sessions where the metric is zero, and all averages are null when none match
+    @Query("SELECT COUNT(s) AS totalSessions, AVG(s.completionRate) AS averageCompletionRate, " +
+            "AVG(CASE WHEN s.travelTimeMillis > 0 THEN s.travelTimeMillis END) AS averageTravelMillis, " +
+            "AVG(CASE WHEN s.nurseResponseMillis > 0 THEN s.nurseResponseMillis END) AS averageNurseResponseMillis, " +
+            "AVG(CASE WHEN s.servingTimeMillis > 0 THEN s.servingTimeMillis END) AS averageServingMillis, " +
+            "AVG(CASE WHEN s.servingRate > 0 THEN s.servingRate END) AS averageServingRate " +
+            "FROM ServiceSession s WHERE s.status = 'COMPLETED' AND s.createdAt BETWEEN :start AND :end")
+    SessionMetrics getCompletedSessionMetricsBetween(@Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
+
+    List<ServiceSession> findByCompletionRateIsNull(Pageable pageable);
 
     // Statistics queries
     @Query("SELECT s.mealType, COUNT(s) FROM ServiceSession s WHERE s.createdAt >= :since GROUP BY s.mealType")
@@ -83,6 +166,17 @@ public interface ServiceSessionRepository extends JpaRepository<ServiceSession,
     @Query("SELECT s FROM ServiceSession s WHERE s.createdAt BETWEEN :start AND :end AND s.status = 'COMPLETED' ORDER BY s.createdAt DESC")
     List<ServiceSession> findCompletedSessionsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-    @Query("SELECT s FROM ServiceSession s WHERE s.status = 'ACTIVE' AND s.createdAt < :cutoff")
+    @Query("SELECT s FROM ServiceSession s WHERE s.status IN ('ACTIVE', 'IN_TRANSIT') AND s.createdAt < :cutoff")
     List<ServiceSession> findStaleActiveSessions(@Param("cutoff") LocalDateTime cutoff);
-}
\ No newline at end of file
+
+    long countByDietSheetPhotoPathIsNotNull();
+
+    // Keyset pages of (id, diet sheet photo path), for building the orphan sweep's reference filter
+    @Query("SELECT s.id, s.dietSheetPhotoPath FROM ServiceSession s " +
+            "WHERE s.dietSheetPhotoPath IS NOT NULL AND s.id > :after ORDER BY s.id")
+    List<Object[]> findDietSheetPhotoPathsAfter(@Param("after") UUID after, Pageable pageable);
+
+    boolean existsByDietSheetPhotoPathEndingWith(String fileName);
+
+    List<ServiceSession> findByDietSheetPhotoPath(String dietSheetPhotoPath);
+}
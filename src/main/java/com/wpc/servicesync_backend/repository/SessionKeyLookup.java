@@ -0,0 +1,23 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Session lookups by key that read only the session's own partition once
+ * {@code service_sessions} is partitioned. Part of {@link ServiceSessionRepository};
+ * {@code findById} here replaces the default implementation.
+ */
+public interface SessionKeyLookup {
+
+    Optional<ServiceSession> findById(UUID id);
+
+    Optional<ServiceSession> findBySessionId(String sessionId);
+
+    // Sessions with the employee, ward and hospital they are projected with, in one select
+    List<ServiceSession> findWithAssociationsByIdIn(Collection<UUID> ids);
+}
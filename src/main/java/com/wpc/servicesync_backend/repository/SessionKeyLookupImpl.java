@@ -0,0 +1,100 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads created_at from {@code service_session_keys} and adds it to the query, so
+ * PostgreSQL prunes to the one partition holding the session instead of probing
+ * every partition's index. Until the key table is in place (partitioning off, or
+ * H2) and for keys it does not hold yet (a session persisted but not flushed in
+ * the current transaction), these are the plain lookups. {@code findById} answers
+ * from the persistence context when the transaction already manages the session.
+ */
+@RequiredArgsConstructor
+class SessionKeyLookupImpl implements SessionKeyLookup {
+
+    private static final String WITH_ASSOCIATIONS =
+            "SELECT s FROM ServiceSession s JOIN FETCH s.employee JOIN FETCH s.ward w JOIN FETCH w.hospital ";
+
+    private final EntityManager entityManager;
+    private final SessionPartitionRepository partitionRepository;
+
+    @Override
+    public Optional<ServiceSession> findById(UUID id) {
+        Optional<LocalDateTime> createdAt = partitionRepository.isSessionKeysReady() && !isManaged(id)
+                ? partitionRepository.findCreatedAt(id) : Optional.empty();
+        if (createdAt.isEmpty()) {
+            return Optional.ofNullable(entityManager.find(ServiceSession.class, id));
+        }
+        // Not managed here, so there is nothing pending for this row that a flush would have to write first
+        return entityManager.createQuery(
+                        "SELECT s FROM ServiceSession s WHERE s.id = :id AND s.createdAt = :createdAt",
+                        ServiceSession.class)
+                .setParameter("id", id)
+                .setParameter("createdAt", createdAt.get())
+                .setFlushMode(FlushModeType.COMMIT)
+                .getResultList().stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<ServiceSession> findBySessionId(String sessionId) {
+        Optional<LocalDateTime> createdAt = partitionRepository.isSessionKeysReady()
+                ? partitionRepository.findCreatedAtBySessionId(sessionId) : Optional.empty();
+        if (createdAt.isEmpty()) {
+            return entityManager.createQuery("SELECT s FROM ServiceSession s WHERE s.sessionId = :sessionId",
+                            ServiceSession.class)
+                    .setParameter("sessionId", sessionId)
+                    .getResultList().stream()
+                    .findFirst();
+        }
+        return entityManager.createQuery(
+                        "SELECT s FROM ServiceSession s WHERE s.sessionId = :sessionId AND s.createdAt = :createdAt",
+                        ServiceSession.class)
+                .setParameter("sessionId", sessionId)
+                .setParameter("createdAt", createdAt.get())
+                .getResultList().stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<ServiceSession> findWithAssociationsByIdIn(Collection<UUID> ids) {
+        Map<UUID, LocalDateTime> createdAt = partitionRepository.isSessionKeysReady()
+                ? partitionRepository.findCreatedAt(ids) : Map.of();
+        if (!createdAt.keySet().containsAll(ids)) {
+            return entityManager.createQuery(WITH_ASSOCIATIONS + "WHERE s.id IN :ids", ServiceSession.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        }
+        return entityManager.createQuery(WITH_ASSOCIATIONS + "WHERE s.id IN :ids AND s.createdAt IN :createdAt",
+                        ServiceSession.class)
+                .setParameter("ids", ids)
+                .setParameter("createdAt", new HashSet<>(createdAt.values()))
+                .getResultList();
+    }
+
+    // Whether the current transaction's persistence context holds the session, including one removed
+    // in it; entityManager.find answers for those without going to the database
+    private boolean isManaged(UUID id) {
+        if (!entityManager.isJoinedToTransaction()) {
+            return false;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(ServiceSession.class);
+        return session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister)) != null;
+    }
+}
@@ -0,0 +1,339 @@
+package com.wpc.servicesync_backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL DDL for the monthly range partitions of {@code service_sessions}.
+ * Partition names are always generated here from a {@link YearMonth}, so they
+ * are safe to splice into statements that cannot take bind parameters.
+ * <p>
+ * A partitioned table can only enforce uniqueness per partition, so
+ * {@code service_session_keys} holds every session's id, session_id and
+ * created_at under global unique keys. A trigger fills it on insert, which also
+ * rejects a duplicate id or session_id, and lookups by id read created_at from
+ * it so they touch only the partition holding the session.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class SessionPartitionRepository {
+
+    public static final String PARENT_TABLE = "service_sessions";
+    public static final String KEY_TABLE = "service_session_keys";
+    public static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT_TABLE + "_p\\d{6}");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    // Arbitrary, but shared by every instance: ties the advisory lock to this job
+    private static final long MAINTENANCE_LOCK_ID = 0x5e55_1011_9a27L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private volatile boolean sessionKeysReady;
+
+    public static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    public static YearMonth partitionMonth(String partitionName) {
+        return YearMonth.parse(checkedName(partitionName).substring(PARENT_TABLE.length() + 2), PARTITION_SUFFIX);
+    }
+
+    /**
+     * @return {@code 'p'} for a partitioned table, {@code 'r'} for a plain one, empty if it does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Character> findTableKind() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE n.nspname = current_schema() AND c.relname = ?", String.class, PARENT_TABLE);
+        return kinds.stream().findFirst().map(kind -> kind.charAt(0));
+    }
+
+    /**
+     * Runs {@code work} holding a session-level advisory lock, taken on a connection
+     * set aside for it, so instances starting together convert, create, detach and
+     * archive partitions one after another instead of racing on the same DDL.
+     */
+    public void withMaintenanceLock(Runnable work) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + MAINTENANCE_LOCK_ID + ")");
+                try {
+                    work.run();
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + MAINTENANCE_LOCK_ID + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Whether {@code service_session_keys} has been found or created by this
+     * process, so lookups may go through it. Stays false when partitioning is off.
+     */
+    public boolean isSessionKeysReady() {
+        return sessionKeysReady;
+    }
+
+    /**
+     * Creates {@code service_session_keys} and its trigger for a table partitioned
+     * before they existed, filling it from the sessions already stored. The trigger
+     * is created first, in the same transaction, so no insert is missed.
+     */
+    @Transactional
+    public void ensureSessionKeys() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, KEY_TABLE);
+        if (!Boolean.TRUE.equals(exists)) {
+            createSessionKeys();
+            int filled = jdbcTemplate.update("INSERT INTO " + KEY_TABLE +
+                    " (id, session_id, created_at) SELECT id, session_id, created_at FROM " + PARENT_TABLE);
+            log.info("Created {} for {} existing sessions", KEY_TABLE, filled);
+        }
+        markSessionKeysReadyAfterCommit();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findCreatedAt(UUID id) {
+        return jdbcTemplate.queryForList("SELECT created_at FROM " + KEY_TABLE + " WHERE id = ?",
+                LocalDateTime.class, id).stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findCreatedAtBySessionId(String sessionId) {
+        return jdbcTemplate.queryForList("SELECT created_at FROM " + KEY_TABLE + " WHERE session_id = ?",
+                LocalDateTime.class, sessionId).stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, LocalDateTime> findCreatedAt(Collection<UUID> ids) {
+        Map<UUID, LocalDateTime> createdAt = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, created_at FROM " + KEY_TABLE + " WHERE id IN (:ids)", Map.of("ids", ids),
+                rs -> {
+                    createdAt.put(rs.getObject("id", UUID.class), rs.getObject("created_at", LocalDateTime.class));
+                });
+        return createdAt;
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findAttachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                        "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                        "WHERE n.nspname = current_schema() AND p.relname = ? ORDER BY c.relname",
+                String.class, PARENT_TABLE).stream()
+                .filter(name -> PARTITION_NAME.matcher(name).matches())
+                .toList();
+    }
+
+    /**
+     * Partition tables that were detached but never archived, e.g. because the
+     * export failed part way. They are picked up again on the next run.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findDetachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE n.nspname = current_schema() AND c.relkind = 'r' AND NOT c.relispartition " +
+                        "AND c.relname LIKE ? ORDER BY c.relname",
+                String.class, PARENT_TABLE + "\\_p%").stream()
+                .filter(name -> PARTITION_NAME.matcher(name).matches())
+                .toList();
+    }
+
+    /** Adds the default partition to a table partitioned before it had one. */
+    @Transactional
+    public void ensureDefaultPartition() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + PARENT_TABLE + " DEFAULT");
+    }
+
+    /**
+     * Creates the month's partition. Sessions already in the default partition for
+     * that month (created_at outside every partition when written) are moved into
+     * it, since PostgreSQL refuses a partition whose range the default still holds.
+     */
+    @Transactional
+    public void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        String range = String.format("FROM ('%s') TO ('%s')", month.atDay(1), month.plusMonths(1).atDay(1));
+        String inRange = String.format("created_at >= '%s' AND created_at < '%s'", month.atDay(1), month.plusMonths(1).atDay(1));
+
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        Boolean stranded = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION +
+                " WHERE " + inRange + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(stranded)) {
+            jdbcTemplate.execute(String.format("CREATE TABLE %s PARTITION OF %s FOR VALUES %s",
+                    partition, PARENT_TABLE, range));
+            return;
+        }
+
+        // Keys stay as they are: the rows keep their id and created_at, and no insert trigger fires on a plain table
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + PARENT_TABLE +
+                " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE " + inRange +
+                " RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition + " FOR VALUES " + range);
+        log.warn("Moved {} sessions from {} into new partition {}", moved, DEFAULT_PARTITION, partition);
+    }
+
+    /**
+     * Rebuilds an existing plain {@code service_sessions} table as a table range
+     * partitioned on {@code created_at}, in a single transaction. Primary and unique
+     * keys gain {@code created_at} because PostgreSQL requires the partition key in
+     * every unique constraint, and {@code service_session_keys} keeps id and
+     * session_id unique across partitions. Secondary indexes and foreign keys are
+     * recreated on the parent and cascade to each partition. A default partition
+     * catches rows outside every month, e.g. a clock far off, instead of failing
+     * the insert. Callers hold {@link #withMaintenanceLock}, so only one instance
+     * converts.
+     */
+    @Transactional
+    public void convertToPartitioned(YearMonth lastMonth) {
+        jdbcTemplate.execute("LOCK TABLE " + PARENT_TABLE + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.update("UPDATE " + PARENT_TABLE + " SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL");
+
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT min(created_at) FROM " + PARENT_TABLE, Timestamp.class);
+        YearMonth firstMonth = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+
+        List<String> indexDefinitions = jdbcTemplate.queryForList(
+                "SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ? " +
+                        "AND indexdef NOT LIKE 'CREATE UNIQUE%' " +
+                        "AND indexname NOT IN (SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass)",
+                String.class, PARENT_TABLE, PARENT_TABLE);
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint " +
+                        "WHERE conrelid = ?::regclass AND contype = 'f'", PARENT_TABLE);
+
+        String staging = PARENT_TABLE + "_partitioned";
+        jdbcTemplate.execute("CREATE TABLE " + staging + " (LIKE " + PARENT_TABLE +
+                " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at)");
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            jdbcTemplate.execute(String.format("CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), staging, month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + staging + " DEFAULT");
+
+        int copied = jdbcTemplate.update("INSERT INTO " + staging + " SELECT * FROM " + PARENT_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + PARENT_TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + staging + " RENAME TO " + PARENT_TABLE);
+
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ADD PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE +
+                " ADD CONSTRAINT uk_service_sessions_session_id UNIQUE (session_id, created_at)");
+        indexDefinitions.forEach(jdbcTemplate::execute);
+        foreignKeys.forEach(fk -> jdbcTemplate.execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s %s",
+                PARENT_TABLE, fk.get("conname"), fk.get("definition"))));
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + KEY_TABLE);
+        createSessionKeys();
+        jdbcTemplate.update("INSERT INTO " + KEY_TABLE + " (id, session_id, created_at) " +
+                "SELECT id, session_id, created_at FROM " + PARENT_TABLE);
+        markSessionKeysReadyAfterCommit();
+
+        log.info("Converted {} to monthly partitions from {} to {} ({} rows, {} indexes, {} foreign keys)",
+                PARENT_TABLE, firstMonth, lastMonth, copied, indexDefinitions.size(), foreignKeys.size());
+    }
+
+    @Transactional
+    public void detachPartition(String partitionName) {
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + checkedName(partitionName));
+    }
+
+    @Transactional(readOnly = true)
+    public long countRows(String partitionName) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + checkedName(partitionName), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Streams a partition through a server-side cursor so archiving a month does
+     * not load it into memory. Runs in a transaction because the PostgreSQL driver
+     * only honours the fetch size with autocommit off.
+     */
+    @Transactional(readOnly = true)
+    public <T> T streamPartition(String partitionName, ResultSetExtractor<T> extractor) {
+        String sql = "SELECT * FROM " + checkedName(partitionName) + " ORDER BY created_at";
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        }, extractor);
+    }
+
+    /** One entry per session in the partition with a diet sheet photo attached. */
+    @Transactional(readOnly = true)
+    public List<String> findDietSheetPhotoPaths(String partitionName) {
+        return jdbcTemplate.queryForList("SELECT diet_sheet_photo_path FROM " + checkedName(partitionName) +
+                " WHERE diet_sheet_photo_path IS NOT NULL", String.class);
+    }
+
+    /** Removes the keys of a detached partition's sessions, before it is dropped. */
+    @Transactional
+    public int deleteSessionKeys(String partitionName) {
+        return jdbcTemplate.update("DELETE FROM " + KEY_TABLE + " k USING " + checkedName(partitionName) +
+                " p WHERE k.id = p.id");
+    }
+
+    @Transactional
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.execute("DROP TABLE " + checkedName(partitionName));
+    }
+
+    private static String checkedName(String partitionName) {
+        if (!PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("Not a session partition: " + partitionName);
+        }
+        return partitionName;
+    }
+
+    private void createSessionKeys() {
+        jdbcTemplate.execute("CREATE TABLE " + KEY_TABLE + " (" +
+                "id UUID PRIMARY KEY, " +
+                "session_id VARCHAR(100) NOT NULL UNIQUE, " +
+                "created_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION " + KEY_TABLE + "_insert() RETURNS trigger AS $$ " +
+                "BEGIN INSERT INTO " + KEY_TABLE + " (id, session_id, created_at) " +
+                "VALUES (NEW.id, NEW.session_id, NEW.created_at); RETURN NULL; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE OR REPLACE TRIGGER " + KEY_TABLE + "_insert AFTER INSERT ON " + PARENT_TABLE +
+                " FOR EACH ROW EXECUTE FUNCTION " + KEY_TABLE + "_insert()");
+    }
+
+    private void markSessionKeysReadyAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionKeysReady = true;
+            }
+        });
+    }
+}
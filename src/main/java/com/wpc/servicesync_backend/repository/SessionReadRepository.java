@@ -0,0 +1,158 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.dto.ServiceSessionView;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC read path for the high-volume session list endpoints. Rows are mapped
+ * straight into {@link ServiceSessionView} records with the employee, ward and
+ * hospital names joined in, so these reads never touch the persistence context:
+ * no entity snapshots, no lazy proxies and no follow-up selects per row.
+ * Predicates mirror the JPQL queries in {@link ServiceSessionRepository} so both
+ * paths use the same indexes.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SessionReadRepository {
+
+    private static final String SELECT_VIEW = """
+            SELECT s.id, s.session_id, e.name AS employee_name, e.employee_id AS employee_code,
+                   w.name AS ward_name, h.name AS hospital_name, s.meal_type, s.meal_count, s.meals_served,
+                   s.status, s.current_step, s.kitchen_exit_time, s.ward_arrival_time, s.nurse_alert_time,
+                   s.nurse_response_time, s.service_start_time, s.service_complete_time,
+                   s.travel_time_ms, s.nurse_response_ms, s.serving_time_ms, s.total_duration_ms,
+                   s.completion_rate, s.efficiency_rating, s.comments, s.nurse_name,
+                   s.diet_sheet_documented, s.diet_sheet_notes, s.diet_sheet_photo_path, s.created_at, s.updated_at
+            FROM service_sessions s
+            JOIN employees e ON e.id = s.employee_id
+            JOIN wards w ON w.id = s.ward_id
+            JOIN hospitals h ON h.id = s.hospital_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ServiceSessionView> findActiveSessionsCreatedSince(LocalDateTime since) {
+        return jdbcTemplate.query(SELECT_VIEW +
+                        "WHERE s.status IN ('ACTIVE', 'IN_TRANSIT') AND s.created_at >= ? ORDER BY s.created_at DESC",
+                SessionReadRepository::mapRow, since);
+    }
+
+    public List<ServiceSessionView> findAllActiveSessions() {
+        return findActiveSessionsCreatedSince(
+                LocalDateTime.now().minus(ServiceSessionRepository.OPEN_SESSION_WINDOW));
+    }
+
+    public List<ServiceSessionView> findRecentSessionsByEmployee(UUID employeeId, LocalDateTime since) {
+        return jdbcTemplate.query(SELECT_VIEW +
+                        "WHERE s.employee_id = ? AND s.created_at >= ? ORDER BY s.created_at DESC",
+                SessionReadRepository::mapRow, employeeId, since);
+    }
+
+    /**
+     * Maps one row the same way {@code ServiceSessionService} maps an entity. Rows
+     * written before the step and metric columns existed (and not yet backfilled)
+     * are rare, so their values are derived by the entity's own logic on a
+     * transient instance rather than duplicated here.
+     */
+    static ServiceSessionView mapRow(ResultSet rs, int rowNum) throws SQLException {
+        SessionStatus status = SessionStatus.valueOf(rs.getString("status"));
+        int mealCount = rs.getInt("meal_count");
+        int mealsServed = rs.getInt("meals_served");
+        LocalDateTime kitchenExitTime = rs.getObject("kitchen_exit_time", LocalDateTime.class);
+        LocalDateTime wardArrivalTime = rs.getObject("ward_arrival_time", LocalDateTime.class);
+        LocalDateTime nurseAlertTime = rs.getObject("nurse_alert_time", LocalDateTime.class);
+        LocalDateTime nurseResponseTime = rs.getObject("nurse_response_time", LocalDateTime.class);
+        LocalDateTime serviceStartTime = rs.getObject("service_start_time", LocalDateTime.class);
+        LocalDateTime serviceCompleteTime = rs.getObject("service_complete_time", LocalDateTime.class);
+        boolean dietSheetDocumented = rs.getBoolean("diet_sheet_documented");
+
+        String step = rs.getString("current_step");
+        Double completionRate = rs.getObject("completion_rate", Double.class);
+        String efficiencyRating = rs.getString("efficiency_rating");
+        long travelMillis = orZero(rs.getObject("travel_time_ms", Long.class));
+        long nurseResponseMillis = orZero(rs.getObject("nurse_response_ms", Long.class));
+        long servingMillis = orZero(rs.getObject("serving_time_ms", Long.class));
+        Long totalMillis = rs.getObject("total_duration_ms", Long.class);
+
+        String currentStep;
+        long elapsedMillis;
+        if (step != null && completionRate != null) {
+            currentStep = SessionStep.valueOf(step).getDisplayName();
+            // Still running sessions report time since kitchen exit, like ServiceSession#getElapsedTime
+            elapsedMillis = totalMillis != null ? totalMillis
+                    : kitchenExitTime != null ? ChronoUnit.MILLIS.between(kitchenExitTime, LocalDateTime.now()) : 0L;
+        } else {
+            ServiceSession legacy = ServiceSession.builder()
+                    .status(status)
+                    .step(step != null ? SessionStep.valueOf(step) : null)
+                    .mealCount(mealCount)
+                    .mealsServed(mealsServed)
+                    .kitchenExitTime(kitchenExitTime)
+                    .wardArrivalTime(wardArrivalTime)
+                    .nurseAlertTime(nurseAlertTime)
+                    .nurseResponseTime(nurseResponseTime)
+                    .serviceStartTime(serviceStartTime)
+                    .serviceCompleteTime(serviceCompleteTime)
+                    .dietSheetDocumented(dietSheetDocumented)
+                    .dietSheetPhotoPath(rs.getString("diet_sheet_photo_path"))
+                    .build();
+            currentStep = legacy.getCurrentStep();
+            completionRate = legacy.getCompletionRate();
+            efficiencyRating = legacy.getEfficiencyRating();
+            travelMillis = legacy.getTravelTime();
+            nurseResponseMillis = legacy.getNurseResponseDuration();
+            servingMillis = legacy.getServingTime();
+            elapsedMillis = legacy.getElapsedTime();
+        }
+
+        return new ServiceSessionView(
+                rs.getObject("id", UUID.class),
+                rs.getString("session_id"),
+                rs.getString("employee_name"),
+                rs.getString("employee_code"),
+                rs.getString("ward_name"),
+                rs.getString("hospital_name"),
+                MealType.valueOf(rs.getString("meal_type")),
+                mealCount,
+                mealsServed,
+                status,
+                completionRate,
+                currentStep,
+                efficiencyRating,
+                kitchenExitTime,
+                wardArrivalTime,
+                nurseAlertTime,
+                nurseResponseTime,
+                serviceStartTime,
+                serviceCompleteTime,
+                travelMillis / 1000,
+                nurseResponseMillis / 1000,
+                servingMillis / 1000,
+                elapsedMillis / 1000,
+                rs.getString("comments"),
+                rs.getString("nurse_name"),
+                dietSheetDocumented,
+                rs.getString("diet_sheet_notes"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class));
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,14 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.SessionTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SessionTransitionRepository extends JpaRepository<SessionTransition, UUID> {
+
+    List<SessionTransition> findByServiceSessionIdOrderByOccurredAtAsc(UUID serviceSessionId);
+}
@@ -0,0 +1,132 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.model.entity.SessionView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static com.wpc.servicesync_backend.repository.ServiceSessionRepository.OPEN_SESSION_WINDOW;
+
+/**
+ * Supervisor queries against the {@code session_view} read model. Each one reads
+ * a single table; the open-session step lookups repeat the status predicate so they
+ * can use the partial indexes from V5__session_view.sql.
+ */
+@Repository
+public interface SessionViewRepository extends JpaRepository<SessionView, UUID> {
+
+    interface HospitalSessionStats {
+        UUID getHospitalId();
+
+        long getTotalSessions();
+
+        Long getCompletedSessions();
+
+        Long getMealsServed();
+
+        Double getCompletionRateSum();
+    }
+
+    @Query("SELECT COUNT(v) FROM SessionView v WHERE v.status IN ('ACTIVE', 'IN_TRANSIT') AND v.createdAt >= :since")
+    long countOpenSessionsCreatedSince(@Param("since") LocalDateTime since);
+
+    default long countAllActiveSessions() {
+        return countOpenSessionsCreatedSince(LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    @Query("SELECT COUNT(v) FROM SessionView v WHERE v.status = 'COMPLETED' AND v.createdAt >= :since")
+    long getCompletedSessionsCountSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT AVG(v.mealsServed) FROM SessionView v WHERE v.status = 'COMPLETED' AND v.createdAt >= :since")
+    Double getAverageMealsServedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT v.mealType, COUNT(v) FROM SessionView v WHERE v.createdAt >= :since GROUP BY v.mealType")
+    List<Object[]> getMealTypeStatisticsSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT v.wardName, COUNT(v) FROM SessionView v WHERE v.createdAt >= :since " +
+            "GROUP BY v.wardName ORDER BY COUNT(v) DESC")
+    List<Object[]> getWardActivityStatisticsSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT v FROM SessionView v WHERE v.status IN ('ACTIVE', 'IN_TRANSIT') AND v.step IN :steps " +
+            "AND v.createdAt >= :since ORDER BY v.createdAt DESC")
+    List<SessionView> findOpenSessionsByStep(@Param("steps") Collection<SessionStep> steps,
+                                             @Param("since") LocalDateTime since);
+
+    @Query("SELECT v FROM SessionView v WHERE v.status IN ('ACTIVE', 'IN_TRANSIT') AND v.wardId = :wardId " +
+            "AND v.step = :step AND v.createdAt >= :since ORDER BY v.createdAt DESC")
+    List<SessionView> findOpenSessionsByStepAndWard(@Param("step") SessionStep step, @Param("wardId") UUID wardId,
+                                                    @Param("since") LocalDateTime since);
+
+    default List<SessionView> findSessionsInProgress() {
+        return findOpenSessionsByStep(EnumSet.of(SessionStep.IN_TRANSIT,
+                SessionStep.DIET_SHEET_DOCUMENTATION, SessionStep.NURSE_ALERT, SessionStep.AWAITING_NURSE_RESPONSE,
+                SessionStep.NURSE_STATION, SessionStep.SERVICE_IN_PROGRESS), LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    default List<SessionView> findSessionsAwaitingNurseResponse() {
+        return findOpenSessionsByStep(EnumSet.of(SessionStep.AWAITING_NURSE_RESPONSE),
+                LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    default List<SessionView> findSessionsAwaitingNurseResponseByWard(UUID wardId) {
+        return findOpenSessionsByStepAndWard(SessionStep.AWAITING_NURSE_RESPONSE, wardId,
+                LocalDateTime.now().minus(OPEN_SESSION_WINDOW));
+    }
+
+    @Query("SELECT v FROM SessionView v WHERE v.wardId = :wardId AND v.status = :status ORDER BY v.createdAt DESC")
+    List<SessionView> findByWardIdAndStatus(@Param("wardId") UUID wardId, @Param("status") SessionStatus status);
+
+    long countByWardIdAndStatus(UUID wardId, SessionStatus status);
+
+    @Query("SELECT v.hospitalId AS hospitalId, COUNT(v) AS totalSessions, " +
+            "SUM(CASE WHEN v.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedSessions, " +
+            "SUM(CASE WHEN v.status = 'COMPLETED' THEN v.mealsServed ELSE 0 END) AS mealsServed, " +
+            "SUM(CASE WHEN v.status = 'COMPLETED' THEN v.completionRate ELSE 0 END) AS completionRateSum " +
+            "FROM SessionView v WHERE v.hospitalId IN :hospitalIds AND v.createdAt >= :since GROUP BY v.hospitalId")
+    List<HospitalSessionStats> getHospitalStatsSince(@Param("hospitalIds") Collection<UUID> hospitalIds,
+                                                     @Param("since") LocalDateTime since);
+
+    // Maintenance: the next sessions after (createdAt, id) in key order, as [id, createdAt, version].
+    // The leading createdAt bound keeps it an index range scan that prunes partitions
+    @Query("SELECT s.id, s.createdAt, s.version FROM ServiceSession s WHERE s.createdAt >= :createdAt " +
+            "AND (s.createdAt > :createdAt OR s.id > :id) ORDER BY s.createdAt, s.id")
+    List<Object[]> findSessionKeysAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+                                        Pageable pageable);
+
+    // Maintenance: [id, sourceVersion] of the given rows
+    @Query("SELECT v.id, v.sourceVersion FROM SessionView v WHERE v.id IN :ids")
+    List<Object[]> findSourceVersions(@Param("ids") Collection<UUID> ids);
+
+    // Maintenance: sessions whose row is missing or was projected from an older version
+    @Query("SELECT s.id FROM ServiceSession s WHERE s.createdAt >= :since AND NOT EXISTS " +
+            "(SELECT v.id FROM SessionView v WHERE v.id = s.id AND v.sourceVersion = s.version) ORDER BY s.createdAt")
+    List<UUID> findOutOfDateSessionIds(@Param("since") LocalDateTime since, Pageable pageable);
+
+    // Maintenance: names copied in from a renamed employee, ward or hospital
+    @Modifying
+    @Query("UPDATE SessionView v SET v.employeeName = :name WHERE v.employeeId = :id AND v.employeeName <> :name")
+    int renameEmployee(@Param("id") UUID id, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE SessionView v SET v.wardName = :name WHERE v.wardId = :id AND v.wardName <> :name")
+    int renameWard(@Param("id") UUID id, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE SessionView v SET v.hospitalName = :name WHERE v.hospitalId = :id AND v.hospitalName <> :name")
+    int renameHospital(@Param("id") UUID id, @Param("name") String name);
+
+    @Modifying
+    @Query("DELETE FROM SessionView v WHERE NOT EXISTS (SELECT s.id FROM ServiceSession s WHERE s.id = v.id)")
+    int deleteOrphanedRows();
+}
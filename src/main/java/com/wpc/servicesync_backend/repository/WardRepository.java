@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,4 +32,8 @@ public interface WardRepository extends JpaRepository<Ward, UUID> {
 
     @Query("SELECT COUNT(w) FROM Ward w WHERE w.hospital.id = :hospitalId AND w.isActive = true")
     long countActiveWardsByHospital(@Param("hospitalId") UUID hospitalId);
+
+    @Query("SELECT w.hospital.id, COUNT(w) FROM Ward w WHERE w.hospital.id IN :hospitalIds AND w.isActive = true " +
+            "GROUP BY w.hospital.id")
+    List<Object[]> countActiveWardsByHospitalIn(@Param("hospitalIds") Collection<UUID> hospitalIds);
 }
\ No newline at end of file
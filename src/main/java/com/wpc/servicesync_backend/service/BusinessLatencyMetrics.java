@@ -0,0 +1,77 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Live travel, nurse response and serving time per hospital and ward, recorded as
+ * each is completed by a state transition. Micrometer keeps the percentiles in a
+ * rolling HdrHistogram, configured under {@code management.metrics.distribution}.
+ * Spans over their {@code app.business.alerts} threshold are also counted as
+ * {@code servicesync.session.latency.breaches}: Prometheus exports a timer as
+ * either quantiles or buckets, so the thresholds cannot be SLO boundaries here.
+ * <p>
+ * Transitions that roll back, including conflict retries, are never recorded.
+ */
+@Component
+public class BusinessLatencyMetrics {
+
+    static final String BREACH_COUNTER = "servicesync.session.latency.breaches";
+
+    public enum Latency {
+        TRAVEL("servicesync.session.latency.travel", "Kitchen exit to ward arrival"),
+        NURSE_RESPONSE("servicesync.session.latency.nurse.response", "Nurse alert to nurse response"),
+        SERVING("servicesync.session.latency.serving", "Service start to service complete");
+
+        private final String metricName;
+        private final String description;
+
+        Latency(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Latency, Duration> thresholds = new EnumMap<>(Latency.class);
+
+    public BusinessLatencyMetrics(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.meterRegistry = meterRegistry;
+        ApplicationProperties.Business.Alerts alerts = applicationProperties.getBusiness().getAlerts();
+        thresholds.put(Latency.TRAVEL, Duration.ofSeconds(alerts.getTravelTimeThreshold()));
+        thresholds.put(Latency.NURSE_RESPONSE, Duration.ofSeconds(alerts.getNurseResponseThreshold()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLatency(SessionLatencyEvent event) {
+        Latency latency = event.latency();
+        Timer.builder(latency.getMetricName())
+                .description(latency.description)
+                .tags("hospital", event.hospital(), "ward", event.ward())
+                .percentilePrecision(2) // Within 1%; the default of one digit is off by minutes at these spans
+                .register(meterRegistry)
+                .record(event.duration());
+
+        Duration threshold = thresholds.get(latency);
+        if (threshold != null && event.duration().compareTo(threshold) > 0) {
+            Counter.builder(BREACH_COUNTER)
+                    .description("Spans over their app.business.alerts threshold")
+                    .tags("latency", latency.name().toLowerCase(), "hospital", event.hospital(), "ward", event.ward())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
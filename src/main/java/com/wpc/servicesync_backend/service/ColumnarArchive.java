@@ -0,0 +1,359 @@
+package com.wpc.servicesync_backend.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact column-oriented file format for archived session partitions. Rows are
+ * buffered into row groups and each group is written column by column: timestamps
+ * and integers as zig-zag varint deltas, decimals as their exact unscaled value
+ * and scale, strings dictionary-encoded, nulls as a bitmap. The whole stream is
+ * gzipped. It keeps the layout benefits of Parquet for low-cardinality,
+ * time-ordered data without pulling in the Hadoop stack.
+ */
+public final class ColumnarArchive {
+
+    private static final byte[] MAGIC = "SSCOL1".getBytes(StandardCharsets.US_ASCII);
+
+    // Stored by ordinal: add new types at the end so older archives still read
+    public enum ColumnType { LONG, DOUBLE, BOOLEAN, TIMESTAMP, UUID, STRING, DECIMAL }
+
+    public record Column(String name, ColumnType type) {
+    }
+
+    private ColumnarArchive() {
+    }
+
+    public static Writer writer(Path file, List<Column> columns, int rowGroupSize) throws IOException {
+        return new Writer(file, columns, rowGroupSize);
+    }
+
+    /**
+     * Reads an archive back into rows, keyed by column name. Intended for restores
+     * and verification, so everything is materialised in memory.
+     */
+    public static List<Map<String, Object>> read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a columnar session archive: " + file);
+            }
+            int columnCount = readVarInt(in);
+            List<Column> columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                columns.add(new Column(in.readUTF(), ColumnType.values()[in.readByte()]));
+            }
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            int groupSize;
+            while ((groupSize = readVarInt(in)) > 0) {
+                List<Map<String, Object>> group = new ArrayList<>(groupSize);
+                for (int r = 0; r < groupSize; r++) {
+                    group.add(new LinkedHashMap<>());
+                }
+                for (Column column : columns) {
+                    Object[] values = readColumn(in, column.type(), groupSize);
+                    for (int r = 0; r < groupSize; r++) {
+                        group.get(r).put(column.name(), values[r]);
+                    }
+                }
+                rows.addAll(group);
+            }
+            return rows;
+        }
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final List<Column> columns;
+        private final int rowGroupSize;
+        private final MessageDigest digest;
+        private final DataOutputStream out;
+        private final List<Object[]> buffer;
+        private long rowCount;
+        private int rowGroups;
+
+        private Writer(Path file, List<Column> columns, int rowGroupSize) throws IOException {
+            this.columns = List.copyOf(columns);
+            this.rowGroupSize = rowGroupSize;
+            this.buffer = new ArrayList<>(rowGroupSize);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+            OutputStream fileOut = new DigestOutputStream(Files.newOutputStream(file), digest);
+            this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(fileOut, 64 * 1024)));
+
+            out.write(MAGIC);
+            writeVarInt(out, columns.size());
+            for (Column column : columns) {
+                out.writeUTF(column.name());
+                out.writeByte(column.type().ordinal());
+            }
+        }
+
+        public void append(Object[] row) throws IOException {
+            if (row.length != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + row.length);
+            }
+            buffer.add(row);
+            rowCount++;
+            if (buffer.size() >= rowGroupSize) {
+                flushRowGroup();
+            }
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public int getRowGroups() {
+            return rowGroups;
+        }
+
+        /**
+         * Hex SHA-256 of the compressed file; only meaningful after {@link #close()}.
+         */
+        public String getSha256() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushRowGroup();
+            writeVarInt(out, 0);
+            out.close();
+        }
+
+        private void flushRowGroup() throws IOException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            writeVarInt(out, buffer.size());
+            for (int c = 0; c < columns.size(); c++) {
+                writeColumn(out, columns.get(c).type(), buffer, c);
+            }
+            buffer.clear();
+            rowGroups++;
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, ColumnType type, List<Object[]> rows, int c)
+            throws IOException {
+        BitSet nulls = new BitSet(rows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            if (rows.get(r)[c] == null) {
+                nulls.set(r);
+            }
+        }
+        byte[] bitmap = nulls.toByteArray();
+        writeVarInt(out, bitmap.length);
+        out.write(bitmap);
+
+        switch (type) {
+            case LONG, TIMESTAMP -> {
+                long previous = 0;
+                for (Object[] row : rows) {
+                    if (row[c] != null) {
+                        long value = type == ColumnType.TIMESTAMP ? toEpochMicros((LocalDateTime) row[c])
+                                : ((Number) row[c]).longValue();
+                        writeVarLong(out, zigZag(value - previous));
+                        previous = value;
+                    }
+                }
+            }
+            case DOUBLE -> {
+                for (Object[] row : rows) {
+                    if (row[c] != null) {
+                        out.writeDouble(((Number) row[c]).doubleValue());
+                    }
+                }
+            }
+            case DECIMAL -> {
+                for (Object[] row : rows) {
+                    if (row[c] != null) {
+                        BigDecimal value = (BigDecimal) row[c];
+                        writeVarLong(out, zigZag(value.scale()));
+                        byte[] unscaled = value.unscaledValue().toByteArray();
+                        writeVarInt(out, unscaled.length);
+                        out.write(unscaled);
+                    }
+                }
+            }
+            case BOOLEAN -> {
+                BitSet values = new BitSet(rows.size());
+                for (int r = 0; r < rows.size(); r++) {
+                    if (Boolean.TRUE.equals(rows.get(r)[c])) {
+                        values.set(r);
+                    }
+                }
+                byte[] bytes = values.toByteArray();
+                writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+            case UUID -> {
+                for (Object[] row : rows) {
+                    if (row[c] != null) {
+                        UUID uuid = (UUID) row[c];
+                        out.writeLong(uuid.getMostSignificantBits());
+                        out.writeLong(uuid.getLeastSignificantBits());
+                    }
+                }
+            }
+            case STRING -> {
+                Map<String, Integer> dictionary = new LinkedHashMap<>();
+                for (Object[] row : rows) {
+                    if (row[c] != null) {
+                        dictionary.putIfAbsent(row[c].toString(), dictionary.size());
+                    }
+                }
+                writeVarInt(out, dictionary.size());
+                for (String entry : dictionary.keySet()) {
+                    byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(out, bytes.length);
+                    out.write(bytes);
+                }
+                for (Object[] row : rows) {
+                    if (row[c] != null) {
+                        writeVarInt(out, dictionary.get(row[c].toString()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static Object[] readColumn(DataInputStream in, ColumnType type, int rows) throws IOException {
+        BitSet nulls = BitSet.valueOf(in.readNBytes(readVarInt(in)));
+        Object[] values = new Object[rows];
+
+        switch (type) {
+            case LONG, TIMESTAMP -> {
+                long previous = 0;
+                for (int r = 0; r < rows; r++) {
+                    if (!nulls.get(r)) {
+                        previous += unZigZag(readVarLong(in));
+                        values[r] = type == ColumnType.TIMESTAMP ? fromEpochMicros(previous) : previous;
+                    }
+                }
+            }
+            case DOUBLE -> {
+                for (int r = 0; r < rows; r++) {
+                    if (!nulls.get(r)) {
+                        values[r] = in.readDouble();
+                    }
+                }
+            }
+            case DECIMAL -> {
+                for (int r = 0; r < rows; r++) {
+                    if (!nulls.get(r)) {
+                        int scale = (int) unZigZag(readVarLong(in));
+                        values[r] = new BigDecimal(new BigInteger(in.readNBytes(readVarInt(in))), scale);
+                    }
+                }
+            }
+            case BOOLEAN -> {
+                BitSet bits = BitSet.valueOf(in.readNBytes(readVarInt(in)));
+                for (int r = 0; r < rows; r++) {
+                    if (!nulls.get(r)) {
+                        values[r] = bits.get(r);
+                    }
+                }
+            }
+            case UUID -> {
+                for (int r = 0; r < rows; r++) {
+                    if (!nulls.get(r)) {
+                        values[r] = new UUID(in.readLong(), in.readLong());
+                    }
+                }
+            }
+            case STRING -> {
+                String[] dictionary = new String[readVarInt(in)];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = new String(in.readNBytes(readVarInt(in)), StandardCharsets.UTF_8);
+                }
+                for (int r = 0; r < rows; r++) {
+                    if (!nulls.get(r)) {
+                        values[r] = dictionary[readVarInt(in)];
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), value);
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Truncated archive");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in archive");
+    }
+}
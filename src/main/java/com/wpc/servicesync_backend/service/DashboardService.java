@@ -4,8 +4,8 @@ package com.wpc.servicesync_backend.service;
 import com.wpc.servicesync_backend.dto.DashboardStatsResponse;
 import com.wpc.servicesync_backend.dto.SessionAwaitingResponse;
 import com.wpc.servicesync_backend.dto.SessionInProgressResponse;
-import com.wpc.servicesync_backend.model.entity.ServiceSession;
-import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.model.entity.SessionView;
+import com.wpc.servicesync_backend.repository.SessionViewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,41 +17,45 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Supervisor dashboard, served from the {@code session_view} read model. Figures
+ * trail session writes by the projection delay, usually a few milliseconds.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class DashboardService {
 
-    private final ServiceSessionRepository sessionRepository;
+    private final SessionViewRepository sessionViewRepository;
 
     public DashboardStatsResponse getDashboardStats() {
         LocalDateTime startOfDay = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
 
         // Get basic counts
-        int activeSessions = sessionRepository.findAllActiveSessions().size();
-        long completedToday = sessionRepository.getCompletedSessionsCountSince(startOfDay);
+        int activeSessions = (int) sessionViewRepository.countAllActiveSessions();
+        long completedToday = sessionViewRepository.getCompletedSessionsCountSince(startOfDay);
 
         // Get sessions in progress
         List<SessionInProgressResponse> sessionsInProgress =
-                sessionRepository.findSessionsInProgress()
+                sessionViewRepository.findSessionsInProgress()
                         .stream()
                         .map(this::mapToInProgressResponse)
                         .toList();
 
         // Get sessions awaiting nurse response
         List<SessionAwaitingResponse> sessionsAwaitingNurse =
-                sessionRepository.findSessionsAwaitingNurseResponse()
+                sessionViewRepository.findSessionsAwaitingNurseResponse()
                         .stream()
                         .map(this::mapToAwaitingResponse)
                         .toList();
 
         // Get statistics
-        Double avgMealsServed = sessionRepository.getAverageMealsServedSince(startOfDay);
+        Double avgMealsServed = sessionViewRepository.getAverageMealsServedSince(startOfDay);
 
         // Get meal type breakdown
         Map<String, Integer> mealTypeBreakdown =
-                sessionRepository.getMealTypeStatisticsSince(startOfDay)
+                sessionViewRepository.getMealTypeStatisticsSince(startOfDay)
                         .stream()
                         .collect(Collectors.toMap(
                                 result -> result[0].toString(),
@@ -60,7 +64,7 @@ public class DashboardService {
 
         // Get ward activity breakdown
         Map<String, Integer> wardActivityBreakdown =
-                sessionRepository.getWardActivityStatisticsSince(startOfDay)
+                sessionViewRepository.getWardActivityStatisticsSince(startOfDay)
                         .stream()
                         .collect(Collectors.toMap(
                                 result -> result[0].toString(),
@@ -80,15 +84,15 @@ public class DashboardService {
                 .build();
     }
 
-    private SessionInProgressResponse mapToInProgressResponse(ServiceSession session) {
+    private SessionInProgressResponse mapToInProgressResponse(SessionView session) {
         long elapsedMinutes = session.getKitchenExitTime() != null ?
                 ChronoUnit.MINUTES.between(session.getKitchenExitTime(), LocalDateTime.now()) : 0;
 
         return SessionInProgressResponse.builder()
                 .sessionId(session.getId())
                 .sessionIdString(session.getSessionId())
-                .employeeName(session.getEmployee().getName())
-                .wardName(session.getWard().getName())
+                .employeeName(session.getEmployeeName())
+                .wardName(session.getWardName())
                 .mealType(session.getMealType())
                 .mealCount(session.getMealCount())
                 .mealsServed(session.getMealsServed())
@@ -99,15 +103,15 @@ public class DashboardService {
                 .build();
     }
 
-    private SessionAwaitingResponse mapToAwaitingResponse(ServiceSession session) {
+    private SessionAwaitingResponse mapToAwaitingResponse(SessionView session) {
         long waitingMinutes = session.getNurseAlertTime() != null ?
                 ChronoUnit.MINUTES.between(session.getNurseAlertTime(), LocalDateTime.now()) : 0;
 
         return SessionAwaitingResponse.builder()
                 .sessionId(session.getId())
                 .sessionIdString(session.getSessionId())
-                .employeeName(session.getEmployee().getName())
-                .wardName(session.getWard().getName())
+                .employeeName(session.getEmployeeName())
+                .wardName(session.getWardName())
                 .mealType(session.getMealType())
                 .mealCount(session.getMealCount())
                 .nurseAlertTime(session.getNurseAlertTime())
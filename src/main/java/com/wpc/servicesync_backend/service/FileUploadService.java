@@ -3,111 +3,158 @@ package com.wpc.servicesync_backend.service;
 
 import com.wpc.servicesync_backend.config.ApplicationProperties;
 import com.wpc.servicesync_backend.exception.ServiceException;
+import com.wpc.servicesync_backend.model.entity.PhotoObject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-
+import java.util.function.BiFunction;
+
+/**
+ * Photo uploads and downloads. New uploads go to the content-addressed
+ * {@link PhotoStore} and are named {@code <sha256>.<ext>}, with thumbnail and web
+ * variants generated in the background; files uploaded before that, with
+ * timestamped names in the flat per-type directories, are still served and
+ * deleted from there (originals only).
+ * <p>
+ * Uploads arrive as a stream and are never buffered whole: the format is checked
+ * against the leading bytes, the size limit is enforced as bytes arrive, and the
+ * content is hashed while it is written to the staging file it is committed from.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FileUploadService {
 
     private final ApplicationProperties applicationProperties;
+    private final PhotoStore photoStore;
+    private final PhotoStorage photoStorage;
+    private final ServiceSessionService serviceSessionService;
+
+    private static final String FILES_PATH = "/api/files/";
+    static final String DIET_SHEET_PATH = FILES_PATH + "diet-sheet/";
+
+    /**
+     * Stores the photo and attaches it to the session in one transaction, replacing
+     * any earlier diet sheet photo and marking the diet sheet documented.
+     */
+    public Map<String, Object> uploadDietSheetPhoto(InputStream content, UUID sessionId) {
+        log.debug("Uploading diet sheet photo for session: {}", sessionId);
+
+        Map<String, Object> result = storePhoto(content, "diet-sheet",
+                (staged, format) -> serviceSessionService.attachDietSheetPhoto(sessionId, staged, format));
+        log.info("Diet sheet photo for session {} stored as {}", sessionId, result.get("fileName"));
+        return result;
+    }
 
-    private static final List<String> ALLOWED_IMAGE_TYPES = List.of(
-            "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
-    );
-
-    private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
-
-    public Map<String, Object> uploadDietSheetPhoto(MultipartFile file, String sessionId) {
-        log.info("Uploading diet sheet photo for session: {}", sessionId);
-
-        validateFile(file);
+    public Map<String, Object> uploadProfilePhoto(InputStream content, String employeeId) {
+        log.debug("Uploading profile photo for employee: {}", employeeId);
 
-        try {
-            String fileName = generateFileName(file, sessionId);
-            String filePath = saveDietSheetFile(file, fileName);
-
-            log.info("Diet sheet photo uploaded successfully: {}", filePath);
-
-            return Map.of(
-                    "success", true,
-                    "fileName", fileName,
-                    "filePath", filePath,
-                    "fileSize", file.getSize(),
-                    "contentType", file.getContentType(),
-                    "uploadTime", LocalDateTime.now()
-            );
-        } catch (IOException e) {
-            log.error("Failed to upload diet sheet photo for session: {}", sessionId, e);
-            throw ServiceException.internalError("Failed to upload file: " + e.getMessage());
-        }
+        Map<String, Object> result = storePhoto(content, "profile",
+                (staged, format) -> photoStore.addReference(staged, format.getContentType()));
+        log.info("Profile photo for employee {} stored as {}", employeeId, result.get("fileName"));
+        return result;
     }
 
-    public Map<String, Object> uploadProfilePhoto(MultipartFile file, String employeeId) {
-        log.info("Uploading profile photo for employee: {}", employeeId);
-
-        validateFile(file);
+    /**
+     * A stored file ready to be streamed. The resource is only opened when the
+     * response is written, so downloads never hold the file on the heap. The ETag
+     * changes whenever the content does. {@code immutable} is false when the
+     * original stands in for a variant that has not been generated yet, so clients
+     * revalidate instead of caching the full-size photo under the variant's URL.
+     */
+    public record StoredFile(Resource resource, MediaType contentType, String eTag, Instant lastModified,
+                             boolean immutable) {
+    }
 
-        try {
-            String fileName = generateProfileFileName(file, employeeId);
-            String filePath = saveProfileFile(file, fileName);
-
-            log.info("Profile photo uploaded successfully: {}", filePath);
-
-            return Map.of(
-                    "success", true,
-                    "fileName", fileName,
-                    "filePath", filePath,
-                    "fileSize", file.getSize(),
-                    "contentType", file.getContentType(),
-                    "uploadTime", LocalDateTime.now()
-            );
-        } catch (IOException e) {
-            log.error("Failed to upload profile photo for employee: {}", employeeId, e);
-            throw ServiceException.internalError("Failed to upload file: " + e.getMessage());
-        }
+    public StoredFile getFile(String fileName, String fileType) {
+        return getFile(fileName, fileType, null);
     }
 
-    public byte[] getFile(String fileName, String fileType) {
+    /**
+     * @param variant a {@link PhotoVariant} suffix, or null for the original
+     */
+    public StoredFile getFile(String fileName, String fileType, String variant) {
+        String hash = contentHash(fileName, fileType);
+        MediaType contentType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        PhotoVariant photoVariant = variant == null ? null : PhotoVariant.fromSuffix(variant)
+                .orElseThrow(() -> ServiceException.badRequest("Invalid variant: " + variant));
+
         try {
-            Path filePath = switch (fileType.toLowerCase()) {
-                case "diet-sheet" -> Paths.get(applicationProperties.getStorage().getLocal().getDietSheetDir(), fileName);
-                case "profile" -> Paths.get(applicationProperties.getStorage().getLocal().getUploadDir(), "profiles", fileName);
-                default -> throw ServiceException.badRequest("Invalid file type: " + fileType);
-            };
-
-            if (!Files.exists(filePath)) {
-                throw ServiceException.notFound("File not found: " + fileName);
+            if (hash != null) {
+                if (photoVariant != null) {
+                    Optional<Resource> rendition = photoStorage.openVariant(hash, photoVariant);
+                    if (rendition.isPresent()) {
+                        return new StoredFile(rendition.get(), MediaType.IMAGE_JPEG,
+                                "\"" + hash + "-" + photoVariant.getSuffix() + "\"",
+                                Instant.ofEpochMilli(rendition.get().lastModified()), true);
+                    }
+                }
+                Resource resource = photoStorage.open(hash)
+                        .orElseThrow(() -> ServiceException.notFound("File not found: " + fileName));
+                return new StoredFile(resource, contentType, "\"" + hash + "\"",
+                        Instant.ofEpochMilli(resource.lastModified()), photoVariant == null);
             }
 
-            return Files.readAllBytes(filePath);
+            Path filePath = resolveLegacyFile(fileName, fileType);
+            BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+
+            return new StoredFile(
+                    new FileSystemResource(filePath),
+                    contentType,
+                    "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"",
+                    Instant.ofEpochMilli(lastModified), true);
+        } catch (NoSuchFileException e) {
+            throw ServiceException.notFound("File not found: " + fileName);
         } catch (IOException e) {
             log.error("Failed to read file: {}", fileName, e);
             throw ServiceException.internalError("Failed to read file: " + e.getMessage());
         }
     }
 
-    public boolean deleteFile(String fileName, String fileType) {
+    /**
+     * Deletes a legacy file, or detaches a diet sheet photo from its session and drops
+     * that session's reference; the content goes once nothing refers to it.
+     * Profile photos are not recorded against an employee, so there is no single
+     * reference a delete could drop.
+     *
+     * @param sessionId the session to detach a diet sheet photo from, needed when
+     *                  several sessions share the same content
+     */
+    public boolean deleteFile(String fileName, String fileType, UUID sessionId) {
+        String hash = contentHash(fileName, fileType);
+        if (hash != null) {
+            if (!fileType.equalsIgnoreCase("diet-sheet")) {
+                throw ServiceException.badRequest("Profile photos are shared by content and cannot be deleted");
+            }
+            boolean detached = serviceSessionService.detachDietSheetPhoto(DIET_SHEET_PATH + fileName, sessionId);
+            if (!detached) {
+                log.warn("File not found for deletion: {}", fileName);
+            }
+            return detached;
+        }
+
         try {
-            Path filePath = switch (fileType.toLowerCase()) {
-                case "diet-sheet" -> Paths.get(applicationProperties.getStorage().getLocal().getDietSheetDir(), fileName);
-                case "profile" -> Paths.get(applicationProperties.getStorage().getLocal().getUploadDir(), "profiles", fileName);
-                default -> throw ServiceException.badRequest("Invalid file type: " + fileType);
-            };
+            Path filePath = resolveLegacyFile(fileName, fileType);
 
             if (Files.exists(filePath)) {
                 Files.delete(filePath);
@@ -123,64 +170,108 @@ public class FileUploadService {
         }
     }
 
-    private void validateFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw ServiceException.badRequest("File cannot be empty");
-        }
+    private Map<String, Object> storePhoto(InputStream content, String fileType,
+                                           BiFunction<PhotoStorage.StagedPhoto, ImageFormat, PhotoObject> reference) {
+        long maxSize = applicationProperties.getStorage().getMaxUploadSize().toBytes();
+        PushbackInputStream upload = new PushbackInputStream(content, ImageFormat.SIGNATURE_LENGTH);
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw ServiceException.badRequest("File size exceeds maximum allowed size of 5MB");
+        ImageFormat format;
+        try {
+            byte[] head = upload.readNBytes(ImageFormat.SIGNATURE_LENGTH);
+            if (head.length == 0) {
+                throw ServiceException.badRequest("File cannot be empty");
+            }
+            format = ImageFormat.detect(head).orElseThrow(() -> ServiceException.badRequest(
+                    "Invalid file type. Only JPEG, PNG, GIF, and WebP images are allowed"));
+            upload.unread(head);
+        } catch (IOException e) {
+            log.error("Failed to read upload", e);
+            throw ServiceException.internalError("Failed to upload file: " + e.getMessage());
         }
 
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_IMAGE_TYPES.contains(contentType.toLowerCase())) {
-            throw ServiceException.badRequest("Invalid file type. Only JPEG, PNG, GIF, and WebP images are allowed");
+        PhotoStorage.StagedPhoto staged = photoStore.stage(new SizeLimitedInputStream(upload, maxSize));
+        PhotoObject photo;
+        try {
+            photo = reference.apply(staged, format);
+        } finally {
+            photoStore.discard(staged);
         }
-    }
 
-    private String generateFileName(MultipartFile file, String sessionId) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String extension = getFileExtension(file.getOriginalFilename());
-        return String.format("diet_sheet_%s_%s_%s.%s", sessionId, timestamp, UUID.randomUUID().toString().substring(0, 8), extension);
+        String fileName = photo.getContentHash() + "." + format.getExtension();
+        return Map.of(
+                "success", true,
+                "fileName", fileName,
+                "filePath", FILES_PATH + fileType + "/" + fileName,
+                "contentHash", photo.getContentHash(),
+                "deduplicated", photo.getRefCount() > 1,
+                "fileSize", photo.getSizeBytes(),
+                "contentType", format.getContentType(),
+                "uploadTime", LocalDateTime.now()
+        );
     }
 
-    private String generateProfileFileName(MultipartFile file, String employeeId) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String extension = getFileExtension(file.getOriginalFilename());
-        return String.format("profile_%s_%s.%s", employeeId, timestamp, extension);
+    /**
+     * @return the content hash for a {@code <sha256>.<ext>} name, or null for a legacy file name
+     */
+    private String contentHash(String fileName, String fileType) {
+        if (!fileType.equalsIgnoreCase("diet-sheet") && !fileType.equalsIgnoreCase("profile")) {
+            throw ServiceException.badRequest("Invalid file type: " + fileType);
+        }
+        return PhotoStorage.hashOf(fileName).orElse(null);
     }
 
-    private String getFileExtension(String fileName) {
-        if (fileName == null || !fileName.contains(".")) {
-            return "jpg"; // Default extension
+    private Path resolveLegacyFile(String fileName, String fileType) {
+        Path directory = switch (fileType.toLowerCase()) {
+            case "diet-sheet" -> Paths.get(applicationProperties.getStorage().getLocal().getDietSheetDir());
+            case "profile" -> Paths.get(applicationProperties.getStorage().getLocal().getUploadDir(), "profiles");
+            default -> throw ServiceException.badRequest("Invalid file type: " + fileType);
+        };
+
+        Path filePath = directory.resolve(fileName).normalize();
+        if (!filePath.getParent().equals(directory.normalize())) {
+            throw ServiceException.badRequest("Invalid file name: " + fileName);
         }
-        return fileName.substring(fileName.lastIndexOf(".") + 1).toLowerCase();
+        return filePath;
     }
 
-    private String saveDietSheetFile(MultipartFile file, String fileName) throws IOException {
-        Path uploadDir = Paths.get(applicationProperties.getStorage().getLocal().getDietSheetDir());
-        createDirectoryIfNotExists(uploadDir);
+    /**
+     * Fails the read that takes the content past {@code maxSize}, so an oversized
+     * upload is abandoned (and its staging file deleted) without reading the rest.
+     */
+    private static final class SizeLimitedInputStream extends FilterInputStream {
 
-        Path filePath = uploadDir.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        private final long maxSize;
+        private long count;
 
-        return filePath.toString();
-    }
-
-    private String saveProfileFile(MultipartFile file, String fileName) throws IOException {
-        Path uploadDir = Paths.get(applicationProperties.getStorage().getLocal().getUploadDir(), "profiles");
-        createDirectoryIfNotExists(uploadDir);
+        SizeLimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
 
-        Path filePath = uploadDir.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
 
-        return filePath.toString();
-    }
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
 
-    private void createDirectoryIfNotExists(Path directory) throws IOException {
-        if (!Files.exists(directory)) {
-            Files.createDirectories(directory);
-            log.info("Created upload directory: {}", directory);
+        private void count(int n) {
+            count += n;
+            if (count > maxSize) {
+                throw ServiceException.badRequest("File size exceeds maximum allowed size of "
+                        + (maxSize / (1024 * 1024)) + "MB");
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.SessionViewRepository;
+import com.wpc.servicesync_backend.repository.WardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-hospital counters behind the hospital list and stats endpoints: active wards
+ * and employees, and today's sessions, completions and meals served. A hospital's
+ * entry is loaded with grouped aggregate queries the first time it is read each day
+ * and then kept current from {@link SessionViewChangedEvent} deltas, so reads cost a
+ * map lookup instead of loading the hospital's ward and employee collections.
+ * <p>
+ * Ward or employee changes drop the hospital's entry so it is reloaded on next read.
+ * A delta that lands while an entry is being loaded can be counted twice or not at
+ * all; the periodic resync discards every entry, which bounds that drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HospitalCounters {
+
+    private final WardRepository wardRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SessionViewRepository sessionViewRepository;
+
+    private final Map<UUID, HospitalCounts> counts = new ConcurrentHashMap<>();
+
+    public record HospitalCounts(LocalDate day, long activeWards, long activeEmployees, long sessionsToday,
+                                 long completedToday, long mealsServedToday, double completionRateSum) {
+
+        public double averageCompletionRate() {
+            return completedToday > 0 ? completionRateSum / completedToday : 0.0;
+        }
+
+        HospitalCounts plus(SessionViewChangedEvent.Tally tally, int sign) {
+            if (tally == null || tally.createdAt() == null || !day.equals(tally.createdAt().toLocalDate())) {
+                return this;
+            }
+            return new HospitalCounts(day, activeWards, activeEmployees,
+                    sessionsToday + sign,
+                    completedToday + (tally.completed() ? sign : 0),
+                    mealsServedToday + (tally.completed() ? (long) sign * tally.mealsServed() : 0),
+                    completionRateSum + (tally.completed() ? sign * tally.completionRate() : 0));
+        }
+    }
+
+    public HospitalCounts get(UUID hospitalId) {
+        return getAll(List.of(hospitalId)).get(hospitalId);
+    }
+
+    /**
+     * Counters for each of the given hospitals. Missing or stale entries are loaded
+     * together, with one grouped query per source table.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, HospitalCounts> getAll(Collection<UUID> hospitalIds) {
+        LocalDate today = LocalDate.now();
+        Map<UUID, HospitalCounts> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID hospitalId : hospitalIds) {
+            HospitalCounts current = counts.get(hospitalId);
+            if (current != null && current.day().equals(today)) {
+                result.put(hospitalId, current);
+            } else {
+                missing.add(hospitalId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<UUID, HospitalCounts> loaded = load(missing, today);
+            counts.putAll(loaded);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionViewChanged(SessionViewChangedEvent event) {
+        if (event.before() != null) {
+            counts.computeIfPresent(event.before().hospitalId(), (id, current) -> current.plus(event.before(), -1));
+        }
+        if (event.after() != null) {
+            counts.computeIfPresent(event.after().hospitalId(), (id, current) -> current.plus(event.after(), 1));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMembershipChanged(HospitalMembershipChangedEvent event) {
+        counts.remove(event.hospitalId());
+    }
+
+    @Scheduled(initialDelayString = "${app.read-model.counter-resync-interval-millis:300000}",
+            fixedDelayString = "${app.read-model.counter-resync-interval-millis:300000}")
+    public void resync() {
+        log.debug("Discarding {} cached hospital counters", counts.size());
+        counts.clear();
+    }
+
+    private Map<UUID, HospitalCounts> load(List<UUID> hospitalIds, LocalDate today) {
+        Map<UUID, Long> wards = toCountMap(wardRepository.countActiveWardsByHospitalIn(hospitalIds));
+        Map<UUID, Long> employees = toCountMap(employeeRepository.countActiveEmployeesByHospitalIn(hospitalIds));
+        Map<UUID, SessionViewRepository.HospitalSessionStats> sessions = new HashMap<>();
+        for (SessionViewRepository.HospitalSessionStats stats :
+                sessionViewRepository.getHospitalStatsSince(hospitalIds, today.atStartOfDay())) {
+            sessions.put(stats.getHospitalId(), stats);
+        }
+
+        Map<UUID, HospitalCounts> loaded = new HashMap<>();
+        for (UUID hospitalId : hospitalIds) {
+            SessionViewRepository.HospitalSessionStats stats = sessions.get(hospitalId);
+            loaded.put(hospitalId, new HospitalCounts(today,
+                    wards.getOrDefault(hospitalId, 0L),
+                    employees.getOrDefault(hospitalId, 0L),
+                    stats != null ? stats.getTotalSessions() : 0L,
+                    stats != null && stats.getCompletedSessions() != null ? stats.getCompletedSessions() : 0L,
+                    stats != null && stats.getMealsServed() != null ? stats.getMealsServed() : 0L,
+                    stats != null && stats.getCompletionRateSum() != null ? stats.getCompletionRateSum() : 0.0));
+        }
+        return loaded;
+    }
+
+    private static Map<UUID, Long> toCountMap(List<Object[]> rows) {
+        Map<UUID, Long> map = new HashMap<>();
+        for (Object[] row : rows) {
+            map.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return map;
+    }
+}
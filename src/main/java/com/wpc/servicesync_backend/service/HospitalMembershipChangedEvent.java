@@ -0,0 +1,10 @@
+package com.wpc.servicesync_backend.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a ward or employee of a hospital is inserted, updated or deleted,
+ * so cached active ward and employee counts for that hospital can be refreshed.
+ */
+public record HospitalMembershipChangedEvent(UUID hospitalId) {
+}
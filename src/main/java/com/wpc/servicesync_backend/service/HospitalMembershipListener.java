@@ -0,0 +1,89 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.Hospital;
+import com.wpc.servicesync_backend.model.entity.Ward;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * JPA entity listener on {@link Ward} and {@link Employee} that publishes a
+ * {@link HospitalMembershipChangedEvent} when one is added to or removed from a
+ * hospital, moves to another, or is activated or deactivated. Updates that leave
+ * both alone (a login stamping {@code lastLogin}, a renamed ward) publish nothing;
+ * they are told apart by the {@link Membership} recorded when the entity loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class HospitalMembershipListener {
+
+    /** An entity counted towards a hospital's wards or staff. */
+    public interface Member {
+
+        Hospital getHospital();
+
+        Boolean getIsActive();
+
+        Membership getLoadedMembership();
+
+        void setLoadedMembership(Membership membership);
+    }
+
+    public record Membership(UUID hospitalId, boolean active) {
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Member member) {
+            member.setLoadedMembership(membershipOf(member));
+        }
+    }
+
+    @PostPersist
+    @PostRemove
+    public void onAddOrRemove(Object entity) {
+        if (entity instanceof Member member) {
+            publish(membershipOf(member));
+            member.setLoadedMembership(membershipOf(member));
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (!(entity instanceof Member member)) {
+            return;
+        }
+        Membership loaded = member.getLoadedMembership();
+        Membership current = membershipOf(member);
+        if (current.equals(loaded)) {
+            return;
+        }
+        publish(current);
+        if (loaded != null && !Objects.equals(loaded.hospitalId(), current.hospitalId())) {
+            publish(loaded);
+        }
+        member.setLoadedMembership(current);
+    }
+
+    private void publish(Membership membership) {
+        if (membership.hospitalId() != null) {
+            eventPublisher.publishEvent(new HospitalMembershipChangedEvent(membership.hospitalId()));
+        }
+    }
+
+    private static Membership membershipOf(Member member) {
+        // A lazy hospital proxy answers getId() without being initialized
+        Hospital hospital = member.getHospital();
+        return new Membership(hospital != null ? hospital.getId() : null, Boolean.TRUE.equals(member.getIsActive()));
+    }
+}
@@ -5,9 +5,9 @@ import com.wpc.servicesync_backend.dto.HospitalResponse;
 import com.wpc.servicesync_backend.dto.WardResponse;
 import com.wpc.servicesync_backend.exception.ServiceException;
 import com.wpc.servicesync_backend.model.entity.Hospital;
-import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.Ward;
 import com.wpc.servicesync_backend.repository.HospitalRepository;
-import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.WardRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -27,83 +27,70 @@ import java.util.stream.Collectors;
 public class HospitalService {
 
     private final HospitalRepository hospitalRepository;
-    private final ServiceSessionRepository sessionRepository;
+    private final WardRepository wardRepository;
+    private final HospitalCounters hospitalCounters;
 
     @Cacheable("hospitals")
     public List<HospitalResponse> getAllActiveHospitals() {
-        log.info("Fetching all active hospitals");
-        return hospitalRepository.findActiveHospitalsOrderByName()
+        log.debug("Fetching all active hospitals");
+        List<Hospital> hospitals = hospitalRepository.findActiveHospitalsOrderByName();
+        Map<UUID, List<Ward>> wardsByHospital = wardRepository.findAllActiveWardsOrderByHospitalAndName()
                 .stream()
-                .map(this::mapToResponse)
+                .collect(Collectors.groupingBy(ward -> ward.getHospital().getId()));
+        Map<UUID, HospitalCounters.HospitalCounts> counts = hospitalCounters.getAll(
+                hospitals.stream().map(Hospital::getId).toList());
+
+        return hospitals.stream()
+                .map(hospital -> mapToResponse(hospital,
+                        wardsByHospital.getOrDefault(hospital.getId(), List.of()),
+                        counts.get(hospital.getId())))
                 .collect(Collectors.toList());
     }
 
     public HospitalResponse getHospitalById(UUID id) {
-        log.info("Fetching hospital by ID: {}", id);
+        log.debug("Fetching hospital by ID: {}", id);
         Hospital hospital = hospitalRepository.findById(id)
                 .orElseThrow(() -> ServiceException.notFound("Hospital not found with id: " + id));
-        return mapToResponse(hospital);
+        return mapToResponse(hospital, wardRepository.findActiveWardsByHospitalOrderByName(id),
+                hospitalCounters.get(id));
     }
 
     public Map<String, Object> getHospitalStats(UUID hospitalId) {
-        log.info("Fetching statistics for hospital: {}", hospitalId);
+        log.debug("Fetching statistics for hospital: {}", hospitalId);
 
         Hospital hospital = hospitalRepository.findById(hospitalId)
                 .orElseThrow(() -> ServiceException.notFound("Hospital not found with id: " + hospitalId));
 
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-
-        // Get recent sessions for this hospital
-        var recentSessions = sessionRepository.findRecentSessionsByHospital(hospitalId, startOfDay);
-
-        // Calculate statistics
-        int totalSessionsToday = recentSessions.size();
-        long completedSessionsToday = recentSessions.stream()
-                .filter(s -> s.getStatus() == SessionStatus.COMPLETED)
-                .count();
-
-        int totalMealsServedToday = recentSessions.stream()
-                .filter(s -> s.getStatus() == SessionStatus.COMPLETED)
-                .mapToInt(s -> s.getMealsServed())
-                .sum();
-
-        double averageCompletionRate = recentSessions.stream()
-                .filter(s -> s.getStatus() == SessionStatus.COMPLETED)
-                .mapToDouble(s -> s.getCompletionRate())
-                .average()
-                .orElse(0.0);
+        HospitalCounters.HospitalCounts counts = hospitalCounters.get(hospitalId);
 
         return Map.of(
                 "hospitalName", hospital.getName(),
                 "hospitalCode", hospital.getCode(),
                 "date", LocalDateTime.now(),
-                "totalSessionsToday", totalSessionsToday,
-                "completedSessionsToday", completedSessionsToday,
-                "totalMealsServedToday", totalMealsServedToday,
-                "averageCompletionRate", Math.round(averageCompletionRate * 100) / 100.0,
-                "activeWards", hospital.getWards() != null ?
-                        hospital.getWards().stream().filter(w -> w.getIsActive()).count() : 0,
-                "activeEmployees", hospital.getEmployees() != null ?
-                        hospital.getEmployees().stream().filter(e -> e.getIsActive()).count() : 0
+                "totalSessionsToday", (int) counts.sessionsToday(),
+                "completedSessionsToday", counts.completedToday(),
+                "totalMealsServedToday", (int) counts.mealsServedToday(),
+                "averageCompletionRate", Math.round(counts.averageCompletionRate() * 100) / 100.0,
+                "activeWards", counts.activeWards(),
+                "activeEmployees", counts.activeEmployees()
         );
     }
 
-    private HospitalResponse mapToResponse(Hospital hospital) {
-        List<WardResponse> wards = hospital.getWards() != null ?
-                hospital.getWards().stream()
-                        .filter(ward -> ward.getIsActive())
-                        .map(ward -> WardResponse.builder()
-                                .id(ward.getId())
-                                .name(ward.getName())
-                                .floorNumber(ward.getFloorNumber())
-                                .capacity(ward.getCapacity())
-                                .hospitalName(hospital.getName())
-                                .hospitalCode(hospital.getCode())
-                                .displayName(ward.getDisplayName())
-                                .isActive(ward.getIsActive())
-                                .activeSessionsCount(0) // Could be calculated if needed
-                                .build())
-                        .collect(Collectors.toList()) : List.of();
+    private HospitalResponse mapToResponse(Hospital hospital, List<Ward> activeWards,
+                                           HospitalCounters.HospitalCounts counts) {
+        List<WardResponse> wards = activeWards.stream()
+                .map(ward -> WardResponse.builder()
+                        .id(ward.getId())
+                        .name(ward.getName())
+                        .floorNumber(ward.getFloorNumber())
+                        .capacity(ward.getCapacity())
+                        .hospitalName(hospital.getName())
+                        .hospitalCode(hospital.getCode())
+                        .displayName(ward.getDisplayName())
+                        .isActive(ward.getIsActive())
+                        .activeSessionsCount(0) // Could be calculated if needed
+                        .build())
+                .collect(Collectors.toList());
 
         return HospitalResponse.builder()
                 .id(hospital.getId())
@@ -114,9 +101,8 @@ public class HospitalService {
                 .contactPhone(hospital.getContactPhone())
                 .isActive(hospital.getIsActive())
                 .activeWardsCount(wards.size())
-                .activeEmployeesCount(hospital.getEmployees() != null ?
-                        (int) hospital.getEmployees().stream().filter(e -> e.getIsActive()).count() : 0)
+                .activeEmployeesCount((int) counts.activeEmployees())
                 .wards(wards)
                 .build();
     }
-}
\ No newline at end of file
+}
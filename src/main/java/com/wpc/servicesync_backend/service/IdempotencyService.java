@@ -0,0 +1,141 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.model.entity.IdempotencyRecord;
+import com.wpc.servicesync_backend.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response store for Idempotency-Key requests. Recent responses are served
+ * from a bounded in-memory LRU so retries never reach the database; the
+ * database copy survives restarts and covers keys evicted from memory.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ApplicationProperties.Idempotency properties;
+    private final Map<String, IdempotencyRecord> cache;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ApplicationProperties applicationProperties) {
+        this.recordRepository = recordRepository;
+        this.properties = applicationProperties.getIdempotency();
+        int maxEntries = properties.getCacheSize();
+        this.cache = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static String scopeKey(String employeeId, String idempotencyKey) {
+        return employeeId + ":" + idempotencyKey;
+    }
+
+    /**
+     * Claims a key for processing, or reports why it cannot be. The claim is
+     * taken before the stored response is looked up, so a retry either finds
+     * the first request still in flight or finds the response it stored;
+     * it can never slip in between and run the mutation a second time.
+     */
+    public Claim claim(String scopeKey) {
+        if (!inFlight.add(scopeKey)) {
+            return Claim.busy();
+        }
+        Optional<IdempotencyRecord> stored = find(scopeKey);
+        if (stored.isPresent()) {
+            inFlight.remove(scopeKey);
+            return Claim.replay(stored.get());
+        }
+        return Claim.granted();
+    }
+
+    public Optional<IdempotencyRecord> find(String scopeKey) {
+        IdempotencyRecord cached;
+        synchronized (cache) {
+            cached = cache.get(scopeKey);
+        }
+        if (cached != null) {
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
+
+        Optional<IdempotencyRecord> stored = recordRepository.findById(scopeKey)
+                .filter(record -> !record.isExpired());
+        stored.ifPresent(record -> {
+            synchronized (cache) {
+                cache.put(scopeKey, record);
+            }
+        });
+        return stored;
+    }
+
+    public void release(String scopeKey) {
+        inFlight.remove(scopeKey);
+    }
+
+    @Transactional
+    public void store(String scopeKey, String fingerprint, int status, String contentType, String body) {
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .scopeKey(scopeKey)
+                .requestFingerprint(fingerprint)
+                .responseStatus(status)
+                .contentType(contentType)
+                .responseBody(body)
+                .expiresAt(LocalDateTime.now().plusHours(properties.getTtlHours()))
+                .build();
+
+        recordRepository.save(record);
+        synchronized (cache) {
+            cache.put(scopeKey, record);
+        }
+    }
+
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    @Transactional
+    public void purgeExpired() {
+        int removed = recordRepository.deleteExpiredBefore(LocalDateTime.now());
+        synchronized (cache) {
+            cache.values().removeIf(IdempotencyRecord::isExpired);
+        }
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency records", removed);
+        }
+    }
+
+    /**
+     * Outcome of {@link #claim}: the caller holds the key, a response is
+     * already stored for it, or another request with the key is executing.
+     */
+    public record Claim(boolean acquired, IdempotencyRecord stored) {
+
+        static Claim granted() {
+            return new Claim(true, null);
+        }
+
+        static Claim replay(IdempotencyRecord record) {
+            return new Claim(false, record);
+        }
+
+        static Claim busy() {
+            return new Claim(false, null);
+        }
+
+        public boolean isInFlight() {
+            return !acquired && stored == null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link PhotoStorage} on the local filesystem. Uploads are staged in a {@code tmp}
+ * directory under the object root, on the same filesystem, so committing is a
+ * single atomic rename and readers never see a partially written blob.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.storage", name = "type", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalPhotoStorage implements PhotoStorage {
+
+    private final Path root;
+    private final Path staging;
+
+    public LocalPhotoStorage(ApplicationProperties applicationProperties) {
+        this.root = Path.of(applicationProperties.getStorage().getLocal().getObjectDir());
+        this.staging = root.resolve("tmp");
+    }
+
+    @Override
+    public Path stagingDirectory() {
+        return staging;
+    }
+
+    @Override
+    public void commit(StagedPhoto staged) throws IOException {
+        Path target = path(staged.hash());
+        if (Files.exists(target)) {
+            discard(staged);
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(staged.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Atomic move not supported under {}; falling back to a plain move", root);
+            try {
+                Files.move(staged.tempFile(), target);
+            } catch (FileAlreadyExistsException exists) {
+                discard(staged); // committed concurrently with identical content
+            }
+        }
+    }
+
+    @Override
+    public void commitVariant(String hash, PhotoVariant variant, Path file) throws IOException {
+        Path target = root.resolve(PhotoStorage.shardedPath(hash, variant));
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public Optional<Resource> open(String hash) {
+        return open(path(hash));
+    }
+
+    @Override
+    public Optional<Resource> openVariant(String hash, PhotoVariant variant) {
+        return open(root.resolve(PhotoStorage.shardedPath(hash, variant)));
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        for (PhotoVariant variant : PhotoVariant.values()) {
+            Files.deleteIfExists(root.resolve(PhotoStorage.shardedPath(hash, variant)));
+        }
+        Files.deleteIfExists(path(hash));
+    }
+
+    @Override
+    public Stream<StoredObject> listObjects() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        // Blobs and variants sit at ab/cd/<name>; the staging directory is not part of the store
+        return Files.walk(root, 3)
+                .filter(path -> !path.startsWith(staging) && Files.isRegularFile(path))
+                .flatMap(path -> PhotoStorage.hashOf(path.getFileName().toString())
+                        .map(hash -> new StoredObject(hash, lastModified(path)))
+                        .stream());
+    }
+
+    private static Instant lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Optional<Resource> open(Path path) {
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    Path path(String hash) {
+        return root.resolve(PhotoStorage.shardedPath(hash));
+    }
+}
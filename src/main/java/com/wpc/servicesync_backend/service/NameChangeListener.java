@@ -0,0 +1,65 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.Hospital;
+import com.wpc.servicesync_backend.model.entity.Ward;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * JPA entity listener on {@link Employee}, {@link Ward} and {@link Hospital} that
+ * publishes a {@link NameChangedEvent} when one is renamed, so the copies of its
+ * name in {@code session_view} can follow. Other updates (a login stamping
+ * {@code lastLogin}, a deactivation) publish nothing; they are told apart by the
+ * name recorded when the entity loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class NameChangeListener {
+
+    /** An entity whose name is copied into {@code session_view} rows. */
+    public interface Named {
+
+        UUID getId();
+
+        String getName();
+
+        String getLoadedName();
+
+        void setLoadedName(String name);
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    @PostPersist
+    public void onLoad(Object entity) {
+        if (entity instanceof Named named) {
+            named.setLoadedName(named.getName());
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (!(entity instanceof Named named) || Objects.equals(named.getLoadedName(), named.getName())) {
+            return;
+        }
+        NameChangedEvent.Source source = switch (named) {
+            case Employee ignored -> NameChangedEvent.Source.EMPLOYEE;
+            case Ward ignored -> NameChangedEvent.Source.WARD;
+            case Hospital ignored -> NameChangedEvent.Source.HOSPITAL;
+            default -> null;
+        };
+        if (source != null) {
+            eventPublisher.publishEvent(new NameChangedEvent(source, named.getId(), named.getName()));
+        }
+        named.setLoadedName(named.getName());
+    }
+}
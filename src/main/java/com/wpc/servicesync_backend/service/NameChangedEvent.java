@@ -0,0 +1,14 @@
+package com.wpc.servicesync_backend.service;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link NameChangeListener} when an employee, ward or hospital is
+ * renamed; {@code name} is the new name.
+ */
+public record NameChangedEvent(Source source, UUID id, String name) {
+
+    public enum Source {
+        EMPLOYEE, WARD, HOSPITAL
+    }
+}
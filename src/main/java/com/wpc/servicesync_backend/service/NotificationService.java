@@ -39,7 +39,7 @@ public class NotificationService {
                     response
             );
 
-            log.info("Session update notification sent for session: {}", session.getSessionId());
+            log.debug("Session update notification sent for session: {}", session.getSessionId());
         } catch (Exception e) {
             log.error("Failed to send session update notification", e);
         }
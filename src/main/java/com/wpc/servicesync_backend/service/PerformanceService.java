@@ -1,5 +1,6 @@
 package com.wpc.servicesync_backend.service;
 
+import com.wpc.servicesync_backend.config.ApplicationProperties;
 import com.wpc.servicesync_backend.model.dto.PerformanceReportDto;
 import com.wpc.servicesync_backend.model.dto.SessionSummaryDto;
 import com.wpc.servicesync_backend.model.entity.ServiceSession;
@@ -7,10 +8,13 @@ import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -21,7 +25,12 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class PerformanceService {
 
+    private static final int REPORT_LIST_SIZE = 5;
+    private static final double TOP_COMPLETION_RATE = 95.0;
+    private static final double TOP_SERVING_RATE = 0.8;
+
     private final ServiceSessionRepository sessionRepository;
+    private final ApplicationProperties applicationProperties;
 
     @Cacheable(value = "performance-reports", key = "#date.toString() + '_daily'")
     public PerformanceReportDto generateDailyReport(LocalDateTime date) {
@@ -59,16 +68,63 @@ public class PerformanceService {
 
         List<ServiceSession> sessions = sessionRepository.findRecentSessionsByHospital(hospitalId, fromDate);
 
-        return buildPerformanceReport(sessions, "Hospital-specific", fromDate);
+        // Mixed-status list that is already in memory, so rank it here rather than re-query
+        List<ServiceSession> topPerforming = sessions.stream()
+                .filter(this::isTopPerforming)
+                .sorted(Comparator.comparingDouble(ServiceSession::getAverageServingRate).reversed())
+                .limit(REPORT_LIST_SIZE)
+                .toList();
+        List<ServiceSession> problematic = sessions.stream()
+                .filter(this::isProblematic)
+                .sorted(Comparator.comparingDouble(ServiceSession::getCompletionRate))
+                .limit(REPORT_LIST_SIZE)
+                .toList();
+
+        return buildPerformanceReport(sessions, "Hospital-specific", fromDate, topPerforming, problematic);
     }
 
     private PerformanceReportDto generateReportForPeriod(LocalDateTime start, LocalDateTime end, String period) {
-        List<ServiceSession> sessions = sessionRepository.findCompletedSessionsBetween(start, end);
-        return buildPerformanceReport(sessions, period, start);
+        ServiceSessionRepository.SessionMetrics metrics = sessionRepository.getCompletedSessionMetricsBetween(start, end);
+        if (metrics.getTotalSessions() == 0) {
+            return buildPerformanceReport(ReportMetrics.NONE, period, start, List.of(), List.of());
+        }
+
+        ApplicationProperties.Business.Alerts alerts = applicationProperties.getBusiness().getAlerts();
+        Pageable firstPage = PageRequest.of(0, REPORT_LIST_SIZE);
+        List<ServiceSession> topPerforming = sessionRepository.findTopPerformingSessionsBetween(
+                start, end, TOP_COMPLETION_RATE, TOP_SERVING_RATE, firstPage);
+        List<ServiceSession> problematic = sessionRepository.findProblematicSessionsBetween(
+                start, end, alerts.getCompletionRateThreshold(),
+                alerts.getTravelTimeThreshold() * 1000L, alerts.getNurseResponseThreshold() * 1000L, firstPage);
+
+        return buildPerformanceReport(ReportMetrics.of(metrics), period, start, topPerforming, problematic);
+    }
+
+    private boolean isTopPerforming(ServiceSession session) {
+        return session.getCompletionRate() >= TOP_COMPLETION_RATE && session.getAverageServingRate() >= TOP_SERVING_RATE;
+    }
+
+    private boolean isProblematic(ServiceSession session) {
+        ApplicationProperties.Business.Alerts alerts = applicationProperties.getBusiness().getAlerts();
+        return session.getCompletionRate() < alerts.getCompletionRateThreshold()
+                || session.getTravelTime() > alerts.getTravelTimeThreshold() * 1000L
+                || session.getNurseResponseTime() > alerts.getNurseResponseThreshold() * 1000L;
+    }
+
+    // Package-private for the benchmarks module
+    PerformanceReportDto buildPerformanceReport(List<ServiceSession> sessions, String period,
+                                                LocalDateTime reportDate,
+                                                List<ServiceSession> topPerformingSessions,
+                                                List<ServiceSession> problematicSessions) {
+        return buildPerformanceReport(ReportMetrics.of(sessions), period, reportDate,
+                topPerformingSessions, problematicSessions);
     }
 
-    private PerformanceReportDto buildPerformanceReport(List<ServiceSession> sessions, String period, LocalDateTime reportDate) {
-        if (sessions.isEmpty()) {
+    private PerformanceReportDto buildPerformanceReport(ReportMetrics metrics, String period,
+                                                        LocalDateTime reportDate,
+                                                        List<ServiceSession> topPerformingSessions,
+                                                        List<ServiceSession> problematicSessions) {
+        if (metrics.totalSessions() == 0) {
             return PerformanceReportDto.builder()
                     .reportDate(reportDate)
                     .reportPeriod(period)
@@ -85,72 +141,72 @@ public class PerformanceService {
                     .build();
         }
 
-        int totalSessions = sessions.size();
-        int completedSessions = (int) sessions.stream()
-                .filter(ServiceSession::isCompleted)
-                .count();
-
-        double averageCompletionRate = sessions.stream()
-                .mapToDouble(ServiceSession::getCompletionRate)
-                .average()
-                .orElse(0.0);
-
-        long averageTravelTime = (long) sessions.stream()
-                .mapToLong(ServiceSession::getTravelTime)
-                .filter(time -> time > 0)
-                .average()
-                .orElse(0.0) / 60000; // Convert to minutes
-
-        long averageNurseResponseTime = (long) sessions.stream()
-                .mapToLong(ServiceSession::getNurseResponseTime)
-                .filter(time -> time > 0)
-                .average()
-                .orElse(0.0) / 60000; // Convert to minutes
-
-        long averageServingTime = (long) sessions.stream()
-                .mapToLong(ServiceSession::getServingTime)
-                .filter(time -> time > 0)
-                .average()
-                .orElse(0.0) / 60000; // Convert to minutes
-
-        double averageServingRate = sessions.stream()
-                .mapToDouble(ServiceSession::getAverageServingRate)
-                .filter(rate -> rate > 0)
-                .average()
-                .orElse(0.0);
-
-        String efficiencyRating = calculateOverallEfficiency(averageCompletionRate, averageServingRate);
-
-        List<SessionSummaryDto> topPerforming = sessions.stream()
-                .filter(s -> s.getCompletionRate() >= 95.0 && s.getAverageServingRate() >= 0.8)
-                .sorted((a, b) -> Double.compare(b.getAverageServingRate(), a.getAverageServingRate())) // Fixed: Use Double.compare
-                .limit(5)
+        String efficiencyRating = calculateOverallEfficiency(metrics.averageCompletionRate(), metrics.averageServingRate());
+
+        List<SessionSummaryDto> topPerforming = topPerformingSessions.stream()
                 .map(this::convertToSummaryDto)
                 .collect(Collectors.toList());
 
-        List<SessionSummaryDto> problematic = sessions.stream()
-                .filter(s -> s.getCompletionRate() < 75.0 || s.getTravelTime() > 900000 || s.getNurseResponseTime() > 300000)
-                .sorted((a, b) -> Double.compare(a.getCompletionRate(), b.getCompletionRate())) // Fixed: Use Double.compare
-                .limit(5)
+        List<SessionSummaryDto> problematic = problematicSessions.stream()
                 .map(this::convertToSummaryDto)
                 .collect(Collectors.toList());
 
         return PerformanceReportDto.builder()
                 .reportDate(reportDate)
                 .reportPeriod(period)
-                .totalSessions(totalSessions)
-                .completedSessions(completedSessions)
-                .averageCompletionRate(averageCompletionRate)
-                .averageTravelTimeMinutes(averageTravelTime)
-                .averageNurseResponseTimeMinutes(averageNurseResponseTime)
-                .averageServingTimeMinutes(averageServingTime)
-                .averageServingRate(averageServingRate)
+                .totalSessions((int) metrics.totalSessions())
+                .completedSessions((int) metrics.completedSessions())
+                .averageCompletionRate(metrics.averageCompletionRate())
+                .averageTravelTimeMinutes((long) metrics.averageTravelMillis() / 60000) // Convert to minutes
+                .averageNurseResponseTimeMinutes((long) metrics.averageNurseResponseMillis() / 60000)
+                .averageServingTimeMinutes((long) metrics.averageServingMillis() / 60000)
+                .averageServingRate(metrics.averageServingRate())
                 .efficiencyRating(efficiencyRating)
                 .topPerformingSessions(topPerforming)
                 .problematicSessions(problematic)
                 .build();
     }
 
+    /**
+     * The report's aggregates, computed in SQL for the period reports and from the loaded
+     * sessions for the hospital report. Durations and serving rates of zero are left out
+     * of their averages.
+     */
+    private record ReportMetrics(long totalSessions, long completedSessions, double averageCompletionRate,
+                                 double averageTravelMillis, double averageNurseResponseMillis,
+                                 double averageServingMillis, double averageServingRate) {
+
+        static final ReportMetrics NONE = new ReportMetrics(0, 0, 0.0, 0.0, 0.0, 0.0, 0.0);
+
+        // The period queries only match completed sessions
+        static ReportMetrics of(ServiceSessionRepository.SessionMetrics metrics) {
+            return new ReportMetrics(metrics.getTotalSessions(), metrics.getTotalSessions(),
+                    orZero(metrics.getAverageCompletionRate()),
+                    orZero(metrics.getAverageTravelMillis()),
+                    orZero(metrics.getAverageNurseResponseMillis()),
+                    orZero(metrics.getAverageServingMillis()),
+                    orZero(metrics.getAverageServingRate()));
+        }
+
+        static ReportMetrics of(List<ServiceSession> sessions) {
+            return new ReportMetrics(sessions.size(),
+                    sessions.stream().filter(ServiceSession::isCompleted).count(),
+                    sessions.stream().mapToDouble(ServiceSession::getCompletionRate).average().orElse(0.0),
+                    sessions.stream().mapToLong(ServiceSession::getTravelTime).filter(time -> time > 0)
+                            .average().orElse(0.0),
+                    sessions.stream().mapToLong(ServiceSession::getNurseResponseTime).filter(time -> time > 0)
+                            .average().orElse(0.0),
+                    sessions.stream().mapToLong(ServiceSession::getServingTime).filter(time -> time > 0)
+                            .average().orElse(0.0),
+                    sessions.stream().mapToDouble(ServiceSession::getAverageServingRate).filter(rate -> rate > 0)
+                            .average().orElse(0.0));
+        }
+
+        private static double orZero(Double value) {
+            return value != null ? value : 0.0;
+        }
+    }
+
     private String calculateOverallEfficiency(double completionRate, double servingRate) {
         if (completionRate >= 95.0 && servingRate >= 0.8) {
             return "Excellent";
@@ -0,0 +1,187 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.repository.PhotoObjectRepository;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Removes stored photos nothing refers to: blobs without a {@code photo_objects}
+ * row (an upload whose transaction rolled back after the blob was written),
+ * pre content-addressing diet sheet files no session points at, and staging files
+ * of uploads that never finished.
+ * <p>
+ * The referenced keys are loaded page by page into a {@link BloomFilter} and the
+ * store is then walked once, so a sweep costs one pass over the rows and one over
+ * the files, and memory stays at about 10 bits per reference. A key the filter
+ * does not contain is certainly unreferenced; a false positive only leaves an
+ * orphan for a later sweep. Files younger than the grace period are skipped, as
+ * their uploads may still be in flight.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.storage.sweeper", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PhotoOrphanSweeper {
+
+    private final PhotoStorage storage;
+    private final PhotoStore photoStore;
+    private final PhotoObjectRepository photoObjectRepository;
+    private final ServiceSessionRepository sessionRepository;
+    private final ApplicationProperties.Storage.Sweeper properties;
+    private final Path legacyDietSheetDir;
+
+    public PhotoOrphanSweeper(PhotoStorage storage, PhotoStore photoStore,
+                              PhotoObjectRepository photoObjectRepository,
+                              ServiceSessionRepository sessionRepository,
+                              ApplicationProperties applicationProperties) {
+        this.storage = storage;
+        this.photoStore = photoStore;
+        this.photoObjectRepository = photoObjectRepository;
+        this.sessionRepository = sessionRepository;
+        this.properties = applicationProperties.getStorage().getSweeper();
+        this.legacyDietSheetDir = Path.of(applicationProperties.getStorage().getLocal().getDietSheetDir());
+    }
+
+    public record SweepResult(int orphanedObjects, int orphanedLegacyFiles, int staleStagingFiles) {
+    }
+
+    @Scheduled(cron = "0 0 3 * * *") // Nightly, after partition maintenance
+    public void scheduledSweep() {
+        try {
+            SweepResult result = sweep();
+            log.info("Photo sweep removed {} orphaned objects, {} legacy files and {} staging files",
+                    result.orphanedObjects(), result.orphanedLegacyFiles(), result.staleStagingFiles());
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Photo sweep failed; it will run again tomorrow", e);
+        }
+    }
+
+    public SweepResult sweep() throws IOException {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(properties.getGraceHours()));
+        BloomFilter referenced = loadReferences();
+
+        int objects = sweepObjects(referenced, cutoff);
+        int legacy = sweepLegacyFiles(referenced, cutoff);
+        int staging = storage.purgeStaging(cutoff);
+        return new SweepResult(objects, legacy, staging);
+    }
+
+    /**
+     * Content hashes of every photo object, and the file names of every diet sheet
+     * photo path (legacy uploads are only referenced from sessions).
+     */
+    private BloomFilter loadReferences() {
+        long expected = photoObjectRepository.count() + sessionRepository.countByDietSheetPhotoPathIsNotNull();
+        BloomFilter filter = BloomFilter.create(expected, properties.getFalsePositiveRate());
+        PageRequest page = PageRequest.of(0, properties.getBatchSize());
+
+        String afterHash = "";
+        List<String> hashes;
+        do {
+            hashes = photoObjectRepository.findContentHashesAfter(afterHash, page);
+            hashes.forEach(filter::put);
+            afterHash = hashes.isEmpty() ? afterHash : hashes.get(hashes.size() - 1);
+        } while (hashes.size() == page.getPageSize());
+
+        UUID afterId = new UUID(0, 0);
+        List<Object[]> paths;
+        do {
+            paths = sessionRepository.findDietSheetPhotoPathsAfter(afterId, page);
+            for (Object[] row : paths) {
+                filter.put(fileName((String) row[1]));
+            }
+            afterId = paths.isEmpty() ? afterId : (UUID) paths.get(paths.size() - 1)[0];
+        } while (paths.size() == page.getPageSize());
+
+        log.debug("Loaded {} photo references into a {} byte filter", expected, filter.sizeInBytes());
+        return filter;
+    }
+
+    private int sweepObjects(BloomFilter referenced, Instant cutoff) throws IOException {
+        int deleted = 0;
+        Set<String> batch = new LinkedHashSet<>();
+        try (Stream<PhotoStorage.StoredObject> objects = storage.listObjects()) {
+            for (PhotoStorage.StoredObject object : (Iterable<PhotoStorage.StoredObject>) objects::iterator) {
+                if (object.lastModified().isBefore(cutoff) && !referenced.mightContain(object.hash())) {
+                    batch.add(object.hash()); // a blob and its variants list separately but are deleted together
+                }
+                if (batch.size() >= properties.getBatchSize()) {
+                    deleted += deleteOrphans(batch);
+                    batch.clear();
+                }
+            }
+        }
+        return deleted + deleteOrphans(batch);
+    }
+
+    private int deleteOrphans(Set<String> hashes) {
+        int deleted = 0;
+        for (String hash : hashes) {
+            try {
+                if (photoStore.deleteOrphan(hash)) {
+                    deleted++;
+                }
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Photo {} was uploaded again during the sweep; keeping it", hash);
+            }
+        }
+        return deleted;
+    }
+
+    private int sweepLegacyFiles(BloomFilter referenced, Instant cutoff) throws IOException {
+        if (!Files.isDirectory(legacyDietSheetDir)) {
+            return 0;
+        }
+
+        List<Path> candidates = new ArrayList<>();
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(legacyDietSheetDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)
+                        && !referenced.mightContain(file.getFileName().toString())) {
+                    candidates.add(file);
+                }
+                if (candidates.size() >= properties.getBatchSize()) {
+                    deleted += deleteLegacyFiles(candidates);
+                    candidates.clear();
+                }
+            }
+        }
+        return deleted + deleteLegacyFiles(candidates);
+    }
+
+    private int deleteLegacyFiles(List<Path> files) throws IOException {
+        int deleted = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            // Confirmed against the table, in case a session was pointed at the file since the filter was built
+            if (!sessionRepository.existsByDietSheetPhotoPathEndingWith(name) && Files.deleteIfExists(file)) {
+                log.info("Deleted unreferenced diet sheet photo {}", name);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,155 @@
+package com.wpc.servicesync_backend.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed blob store for uploaded photos. Blobs are keyed by the hex
+ * SHA-256 of their bytes and laid out in two levels of shard directories
+ * ({@code ab/cd/abcd...}), so no directory grows past a few thousand entries and
+ * identical uploads are stored once. Reference counts live in {@code photo_objects};
+ * backends only move bytes. Selected by {@code app.storage.type}.
+ */
+public interface PhotoStorage {
+
+    Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * Content hashed into a temporary file, ready to be committed under its hash.
+     */
+    record StagedPhoto(String hash, long size, Path tempFile) {
+    }
+
+    /**
+     * A blob or one of its variants, as listed for the orphan sweep.
+     */
+    record StoredObject(String hash, Instant lastModified) {
+    }
+
+    /**
+     * Where uploads and generated variants are written before being committed. For
+     * the local backend this is on the object filesystem, so commits are renames.
+     */
+    Path stagingDirectory();
+
+    /**
+     * Copies the content to a temporary file while hashing it, so memory use does
+     * not depend on the upload size.
+     */
+    default StagedPhoto stage(InputStream content) throws IOException {
+        return stageTo(content, stagingDirectory());
+    }
+
+    /**
+     * Makes a staged photo readable under its hash. Idempotent: if the blob already
+     * exists the staged copy is dropped.
+     */
+    void commit(StagedPhoto staged) throws IOException;
+
+    /**
+     * Removes the temporary file of a photo that was not (or was already) committed.
+     */
+    default void discard(StagedPhoto staged) {
+        try {
+            Files.deleteIfExists(staged.tempFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stores a generated variant of an existing blob, replacing any earlier one. The
+     * file is consumed.
+     */
+    void commitVariant(String hash, PhotoVariant variant, Path file) throws IOException;
+
+    Optional<Resource> open(String hash);
+
+    Optional<Resource> openVariant(String hash, PhotoVariant variant);
+
+    /**
+     * Deletes a blob together with its variants.
+     */
+    void delete(String hash) throws IOException;
+
+    /**
+     * Every blob and variant in the store, read lazily (a directory walk or a paged
+     * bucket listing) so the listing never has to fit in memory. Must be closed.
+     */
+    Stream<StoredObject> listObjects() throws IOException;
+
+    /**
+     * Deletes staging files last written before {@code cutoff}, left behind by
+     * uploads that never finished.
+     *
+     * @return the number of files deleted
+     */
+    default int purgeStaging(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(stagingDirectory())) {
+            return 0;
+        }
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(stagingDirectory())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)
+                        && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @return the content hash a blob or variant file is stored under, if the name is one
+     */
+    static Optional<String> hashOf(String fileName) {
+        int dot = fileName.indexOf('.');
+        String baseName = dot >= 0 ? fileName.substring(0, dot) : fileName;
+        return HASH.matcher(baseName).matches() ? Optional.of(baseName) : Optional.empty();
+    }
+
+    static String shardedPath(String hash) {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a content hash: " + hash);
+        }
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    static String shardedPath(String hash, PhotoVariant variant) {
+        return shardedPath(hash) + "." + variant.getSuffix();
+    }
+
+    static StagedPhoto stageTo(InputStream content, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "upload-", ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = content.transferTo(out);
+            }
+            return new StagedPhoto(HexFormat.of().formatHex(digest.digest()), size, temp);
+        } catch (NoSuchAlgorithmException e) {
+            Files.deleteIfExists(temp);
+            throw new IllegalStateException("SHA-256 not available", e);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+}
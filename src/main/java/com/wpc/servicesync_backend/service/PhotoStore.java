@@ -0,0 +1,171 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.exception.ServiceException;
+import com.wpc.servicesync_backend.model.entity.PhotoObject;
+import com.wpc.servicesync_backend.repository.PhotoObjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reference-counted photo objects on top of {@link PhotoStorage}. The blob is
+ * committed while the {@code photo_objects} row lock is held. Releasing the last
+ * reference deletes the row, and the blob only once that has committed, under a
+ * placeholder row claiming the hash, so neither a rollback nor an upload of the
+ * same content in between is left without its blob.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PhotoStore {
+
+    private final PhotoStorage storage;
+    private final PhotoObjectRepository photoObjectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    public PhotoStorage.StagedPhoto stage(InputStream content) {
+        try {
+            return storage.stage(content);
+        } catch (IOException e) {
+            throw ServiceException.internalError("Failed to store upload: " + e.getMessage());
+        }
+    }
+
+    public void discard(PhotoStorage.StagedPhoto staged) {
+        storage.discard(staged);
+    }
+
+    /**
+     * Adds a reference to the staged content, creating the object on first use. Two
+     * first uploads of the same content race on the primary key; the loser retries
+     * and takes the increment path.
+     */
+    @Retryable(retryFor = DataIntegrityViolationException.class, maxAttempts = 3)
+    @Transactional
+    public PhotoObject addReference(PhotoStorage.StagedPhoto staged, String contentType) {
+        return addReferenceInTransaction(staged, contentType);
+    }
+
+    /**
+     * {@link #addReference} as part of the caller's transaction, so the reference
+     * commits or rolls back with whatever holds it. The caller must retry a
+     * {@link DataIntegrityViolationException} in a fresh transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PhotoObject addReferenceInTransaction(PhotoStorage.StagedPhoto staged, String contentType) {
+        LocalDateTime now = LocalDateTime.now();
+        if (photoObjectRepository.incrementRefCount(staged.hash(), now) == 0) {
+            photoObjectRepository.insert(staged.hash(), contentType, staged.size(), 1, now);
+            eventPublisher.publishEvent(new PhotoStoredEvent(staged.hash()));
+        }
+        PhotoObject photo = photoObjectRepository.findById(staged.hash()).orElseThrow();
+
+        try {
+            storage.commit(staged);
+        } catch (IOException e) {
+            throw ServiceException.internalError("Failed to store photo: " + e.getMessage());
+        }
+        return photo;
+    }
+
+    // Its own transaction: the event path may run inside an upload's completed after-commit callback
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markVariantsProcessed(String hash, boolean hasVariants) {
+        photoObjectRepository.markVariantsProcessed(hash, hasVariants, LocalDateTime.now());
+    }
+
+    /**
+     * Photos created before {@code before} whose variants were never generated,
+     * e.g. because the process stopped with work still queued.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findUnprocessed(LocalDateTime before, int limit) {
+        return photoObjectRepository.findUnprocessed(before, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Drops one reference. The row goes with the last one, and its blob once the
+     * caller's transaction commits.
+     *
+     * @return false if there was no reference to release
+     */
+    @Transactional
+    public boolean release(String hash) {
+        if (photoObjectRepository.decrementRefCount(hash, LocalDateTime.now()) == 0) {
+            return false;
+        }
+
+        Integer remaining = photoObjectRepository.findRefCount(hash);
+        if (remaining != null && remaining == 0) {
+            photoObjectRepository.deleteById(hash);
+            deleteBlobAfterCommit(hash);
+        }
+        return true;
+    }
+
+    // A blob left behind by a failure here has no row, so the orphan sweep removes it
+    private void deleteBlobAfterCommit(String hash) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The committed transaction's resources are still bound, so this needs a new one
+                TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+                transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> claimAndDelete(hash)))) {
+                        log.info("Deleted photo object {} after its last reference was released", hash);
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("Photo {} was uploaded again before its blob was deleted; keeping it", hash);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to delete photo {}; the orphan sweep will remove it", hash, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes a blob that has no {@code photo_objects} row. The hash is claimed by
+     * inserting a placeholder row first: an upload of the same content either
+     * committed its row already (the insert fails and the blob is kept) or waits on
+     * the primary key until the blob is gone, and then writes it again.
+     *
+     * @throws DataIntegrityViolationException if the photo is referenced after all
+     */
+    @Transactional
+    public boolean deleteOrphan(String hash) {
+        return claimAndDelete(hash);
+    }
+
+    private boolean claimAndDelete(String hash) {
+        if (photoObjectRepository.existsById(hash)) {
+            return false;
+        }
+
+        photoObjectRepository.insert(hash, "application/octet-stream", 0, 0, LocalDateTime.now());
+        try {
+            storage.delete(hash);
+        } catch (IOException e) {
+            throw ServiceException.internalError("Failed to delete photo: " + e.getMessage());
+        }
+        photoObjectRepository.deleteById(hash);
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package com.wpc.servicesync_backend.service;
+
+/**
+ * Published by {@link PhotoStore} when a new photo object is created, so its
+ * variants are generated once the upload commits.
+ */
+public record PhotoStoredEvent(String contentHash) {
+}
@@ -0,0 +1,27 @@
+package com.wpc.servicesync_backend.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Downscaled JPEG renditions generated for every stored photo. Stored next to the
+ * original as {@code <hash>.<suffix>}; requested with {@code ?variant=<suffix>}.
+ */
+public enum PhotoVariant {
+    THUMBNAIL("thumb"),
+    WEB("web");
+
+    private final String suffix;
+
+    PhotoVariant(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public static Optional<PhotoVariant> fromSuffix(String suffix) {
+        return Arrays.stream(values()).filter(variant -> variant.suffix.equalsIgnoreCase(suffix)).findFirst();
+    }
+}
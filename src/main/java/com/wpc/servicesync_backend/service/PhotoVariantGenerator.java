@@ -0,0 +1,269 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Renders the downscaled JPEG variants of a stored photo. The original is decoded
+ * with source subsampling, so a 12MP phone photo is never fully materialised;
+ * the EXIF orientation is applied to the pixels and all metadata (including GPS
+ * position) is left out of the variants. The original is kept byte for byte, as
+ * it is the content-addressed record of the upload.
+ */
+@Service
+@Slf4j
+public class PhotoVariantGenerator {
+
+    private static final int EXIF_SCAN_LIMIT = 64 * 1024;
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L; // refuse decompression bombs
+
+    private final PhotoStorage storage;
+    private final PhotoStore photoStore;
+    private final ApplicationProperties.Storage.Processing properties;
+
+    public PhotoVariantGenerator(PhotoStorage storage, PhotoStore photoStore,
+                                 ApplicationProperties applicationProperties) {
+        this.storage = storage;
+        this.photoStore = photoStore;
+        this.properties = applicationProperties.getStorage().getProcessing();
+    }
+
+    /**
+     * Generates and stores every variant of a photo and records the outcome. A photo
+     * that cannot be decoded is marked as having no variants and is served as is;
+     * a storage failure leaves it unprocessed for the recovery pass to retry.
+     */
+    public void generate(String hash) {
+        Optional<Resource> original = storage.open(hash);
+        if (original.isEmpty()) {
+            log.debug("Photo {} was deleted before its variants were generated", hash);
+            return;
+        }
+
+        try {
+            boolean hasVariants = render(hash, original.get());
+            photoStore.markVariantsProcessed(hash, hasVariants);
+        } catch (IOException e) {
+            log.warn("Failed to generate variants of photo {}; will retry", hash, e);
+        }
+    }
+
+    private boolean render(String hash, Resource original) throws IOException {
+        byte[] head;
+        BufferedImage image;
+        try (InputStream in = new BufferedInputStream(original.getInputStream(), EXIF_SCAN_LIMIT)) {
+            in.mark(EXIF_SCAN_LIMIT);
+            head = in.readNBytes(EXIF_SCAN_LIMIT);
+            in.reset();
+            image = decode(hash, in, Math.max(properties.getWebSize(), properties.getThumbnailSize()));
+        }
+        if (image == null) {
+            return false;
+        }
+
+        int orientation = exifOrientation(head);
+        for (PhotoVariant variant : PhotoVariant.values()) {
+            int size = variant == PhotoVariant.THUMBNAIL ? properties.getThumbnailSize() : properties.getWebSize();
+            storage.commitVariant(hash, variant, writeJpeg(hash, orient(scale(image, size), orientation)));
+        }
+        log.debug("Generated variants of photo {} ({}x{}, orientation {})",
+                hash, image.getWidth(), image.getHeight(), orientation);
+        return true;
+    }
+
+    private static BufferedImage decode(String hash, InputStream in, int maxEdge) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.info("Photo {} is in a format that cannot be decoded; serving the original only", hash);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    log.warn("Photo {} is {}x{}; too large to decode", hash, width, height);
+                    return null;
+                }
+
+                // Decode at no less than twice the largest variant, so downscaling still has detail to work with
+                int step = Math.max(1, Math.max(width, height) / (maxEdge * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Photo {} could not be decoded; serving the original only", hash, e);
+            return null;
+        }
+    }
+
+    /**
+     * Downscales to fit {@code maxEdge} (never upscales), halving in steps so large
+     * reductions stay smooth with bilinear sampling. Transparency is flattened on
+     * white, as the output is JPEG.
+     */
+    static BufferedImage scale(BufferedImage source, int maxEdge) {
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (current.getWidth() > targetWidth || current.getHeight() > targetHeight);
+        return current;
+    }
+
+    /**
+     * Applies an EXIF orientation (1-8) so the pixels are upright without the tag.
+     */
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirrored
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // rotated 180
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // flipped
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transposed
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // rotated 90 clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transversed
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // rotated 90 counter-clockwise
+            default -> null;
+        };
+        if (transform == null) {
+            return image;
+        }
+
+        boolean swap = orientation >= 5;
+        BufferedImage rotated = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rotated.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rotated;
+    }
+
+    /**
+     * Reads the orientation tag from the EXIF block of a JPEG, given its first bytes.
+     *
+     * @return 1 (upright) when absent or unreadable
+     */
+    static int exifOrientation(byte[] jpeg) {
+        if (jpeg.length < 4 || (jpeg[0] & 0xFF) != 0xFF || (jpeg[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+
+        int pos = 2;
+        while (pos + 4 <= jpeg.length && (jpeg[pos] & 0xFF) == 0xFF) {
+            int marker = jpeg[pos + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                return 1; // image data starts; EXIF always precedes it
+            }
+            int length = readShort(jpeg, pos + 2, false);
+            int end = Math.min(jpeg.length, pos + 2 + length);
+            if (marker == 0xE1 && end - pos >= 18
+                    && jpeg[pos + 4] == 'E' && jpeg[pos + 5] == 'x' && jpeg[pos + 6] == 'i' && jpeg[pos + 7] == 'f') {
+                return tiffOrientation(jpeg, pos + 10, end);
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int tiffOrientation(byte[] data, int tiff, int end) {
+        boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+        long ifdOffset = readInt(data, tiff + 4, littleEndian) & 0xFFFFFFFFL;
+        if (ifdOffset < 8 || tiff + ifdOffset + 2 > end) {
+            return 1;
+        }
+
+        int ifd = tiff + (int) ifdOffset;
+        int entries = readShort(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return 1;
+            }
+            if (readShort(data, entry, littleEndian) == 0x0112) {
+                int orientation = readShort(data, entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private Path writeJpeg(String hash, BufferedImage image) throws IOException {
+        Files.createDirectories(storage.stagingDirectory());
+        Path file = Files.createTempFile(storage.stagingDirectory(), hash.substring(0, 12) + "-", ".jpg");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(properties.getJpegQuality());
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        return file;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int first = readShort(data, offset, littleEndian);
+        int second = readShort(data, offset + 2, littleEndian);
+        return littleEndian ? (second << 16) | first : (first << 16) | second;
+    }
+}
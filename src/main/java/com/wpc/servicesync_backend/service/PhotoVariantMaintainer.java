@@ -0,0 +1,47 @@
+package com.wpc.servicesync_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Generates photo variants off the request path, on the bounded
+ * {@code photoProcessingExecutor}. New photos are processed once their upload
+ * commits; a periodic pass picks up any that were missed (work queued when the
+ * process stopped or turned away by a full queue, transient storage failures).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PhotoVariantMaintainer {
+
+    private static final int RECOVERY_BATCH_SIZE = 20;
+
+    private final PhotoVariantGenerator generator;
+    private final PhotoStore photoStore;
+
+    @Async("photoProcessingExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPhotoStored(PhotoStoredEvent event) {
+        generator.generate(event.contentHash());
+    }
+
+    @Async("photoProcessingExecutor")
+    @Scheduled(initialDelayString = "${app.storage.processing.recovery-interval-millis:300000}",
+            fixedDelayString = "${app.storage.processing.recovery-interval-millis:300000}")
+    public void processBacklog() {
+        // Leave recent uploads to the event path
+        List<String> hashes = photoStore.findUnprocessed(LocalDateTime.now().minusMinutes(1), RECOVERY_BATCH_SIZE);
+        if (!hashes.isEmpty()) {
+            log.info("Generating variants for {} photos missed by the upload path", hashes.size());
+            hashes.forEach(generator::generate);
+        }
+    }
+}
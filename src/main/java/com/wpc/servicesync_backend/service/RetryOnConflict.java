@@ -0,0 +1,27 @@
+package com.wpc.servicesync_backend.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a session mutation when its optimistic version check loses a race.
+ * Attempts are bounded; the final conflict surfaces as a 409 through the
+ * global exception handler.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${app.concurrency.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${app.concurrency.backoff-millis:20}", multiplier = 2, random = true)
+)
+public @interface RetryOnConflict {
+}
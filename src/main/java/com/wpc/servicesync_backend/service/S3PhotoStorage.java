@@ -0,0 +1,174 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link PhotoStorage} on S3 (or any S3-compatible endpoint). Uploads are staged in
+ * the JVM temp directory to get the content hash before the key is known; the
+ * single PUT that follows is atomic on the S3 side.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.storage", name = "type", havingValue = "s3")
+public class S3PhotoStorage implements PhotoStorage {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String keyPrefix;
+    private final Path staging = Path.of(System.getProperty("java.io.tmpdir"), "servicesync-photos");
+
+    public S3PhotoStorage(S3Client s3, ApplicationProperties applicationProperties) {
+        this.s3 = s3;
+        this.bucket = applicationProperties.getStorage().getS3().getBucket();
+        this.keyPrefix = applicationProperties.getStorage().getS3().getKeyPrefix();
+    }
+
+    @Override
+    public Path stagingDirectory() {
+        return staging;
+    }
+
+    @Override
+    public void commit(StagedPhoto staged) throws IOException {
+        String key = key(staged.hash());
+        try {
+            if (head(key).isEmpty()) {
+                s3.putObject(request -> request.bucket(bucket).key(key).contentLength(staged.size()),
+                        RequestBody.fromFile(staged.tempFile()));
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Failed to store photo " + staged.hash() + " in S3", e);
+        } finally {
+            discard(staged);
+        }
+    }
+
+    @Override
+    public void commitVariant(String hash, PhotoVariant variant, Path file) throws IOException {
+        String key = keyPrefix + PhotoStorage.shardedPath(hash, variant);
+        try {
+            s3.putObject(request -> request.bucket(bucket).key(key).contentType("image/jpeg"),
+                    RequestBody.fromFile(file));
+        } catch (S3Exception e) {
+            throw new IOException("Failed to store " + variant + " variant of " + hash + " in S3", e);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public Optional<Resource> open(String hash) {
+        return openKey(key(hash));
+    }
+
+    @Override
+    public Optional<Resource> openVariant(String hash, PhotoVariant variant) {
+        return openKey(keyPrefix + PhotoStorage.shardedPath(hash, variant));
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        try {
+            for (PhotoVariant variant : PhotoVariant.values()) {
+                String variantKey = keyPrefix + PhotoStorage.shardedPath(hash, variant);
+                s3.deleteObject(request -> request.bucket(bucket).key(variantKey));
+            }
+            s3.deleteObject(request -> request.bucket(bucket).key(key(hash)));
+        } catch (S3Exception e) {
+            throw new IOException("Failed to delete photo " + hash + " from S3", e);
+        }
+    }
+
+    @Override
+    public Stream<StoredObject> listObjects() {
+        // The paginator fetches the next page of 1000 keys only as the stream reaches it
+        return s3.listObjectsV2Paginator(request -> request.bucket(bucket).prefix(keyPrefix))
+                .contents()
+                .stream()
+                .flatMap(object -> PhotoStorage.hashOf(object.key().substring(object.key().lastIndexOf('/') + 1))
+                        .map(hash -> new StoredObject(hash, object.lastModified()))
+                        .stream());
+    }
+
+    private Optional<Resource> openKey(String key) {
+        return head(key).map(head -> new S3ObjectResource(key, head));
+    }
+
+    private Optional<HeadObjectResponse> head(String key) {
+        try {
+            return Optional.of(s3.headObject(request -> request.bucket(bucket).key(key)));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private String key(String hash) {
+        return keyPrefix + PhotoStorage.shardedPath(hash);
+    }
+
+    /**
+     * An S3 object as a Spring resource. Each {@link #getInputStream()} is a fresh
+     * GET, so Range requests can re-open and skip as with a file.
+     */
+    private final class S3ObjectResource extends AbstractResource {
+
+        private final String key;
+        private final HeadObjectResponse head;
+
+        private S3ObjectResource(String key, HeadObjectResponse head) {
+            this.key = key;
+            this.head = head;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            try {
+                return s3.getObject(request -> request.bucket(bucket).key(key));
+            } catch (S3Exception e) {
+                throw new IOException("Failed to read " + key + " from S3", e);
+            }
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return head.contentLength();
+        }
+
+        @Override
+        public long lastModified() {
+            return head.lastModified().toEpochMilli();
+        }
+
+        @Override
+        public String getFilename() {
+            return key.substring(key.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "S3 object [s3://" + bucket + "/" + key + "]";
+        }
+    }
+}
@@ -3,29 +3,50 @@ package com.wpc.servicesync_backend.service;
 import com.wpc.servicesync_backend.dto.QRScanRequest;
 import com.wpc.servicesync_backend.dto.ServiceSessionRequest;
 import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.dto.ServiceSessionView;
+import com.wpc.servicesync_backend.dto.SessionEventRequest;
+import com.wpc.servicesync_backend.dto.SessionEventResult;
+import com.wpc.servicesync_backend.exception.ServiceException;
 import com.wpc.servicesync_backend.model.dto.ServiceSessionDto;
 import com.wpc.servicesync_backend.model.dto.SessionUpdateRequest;
 import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.PhotoObject;
+import com.wpc.servicesync_backend.model.entity.ProcessedSessionEvent;
 import com.wpc.servicesync_backend.model.entity.QRLocationType;
 import com.wpc.servicesync_backend.model.entity.ServiceSession;
 import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.model.entity.SessionTransition;
+import com.wpc.servicesync_backend.model.entity.SessionTrigger;
 import com.wpc.servicesync_backend.model.entity.Ward;
 import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.ProcessedSessionEventRepository;
 import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.SessionReadRepository;
+import com.wpc.servicesync_backend.repository.SessionTransitionRepository;
 import com.wpc.servicesync_backend.repository.WardRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -35,12 +56,20 @@ import java.util.stream.Collectors;
 @Transactional
 public class ServiceSessionService {
 
+    private static final DateTimeFormatter SESSION_ID_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
+
     private final ServiceSessionRepository sessionRepository;
     private final EmployeeRepository employeeRepository;
     private final WardRepository wardRepository;
+    private final ProcessedSessionEventRepository processedEventRepository;
+    private final SessionTransitionRepository transitionRepository;
+    private final SessionReadRepository sessionReadRepository;
+    private final PhotoStore photoStore;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @SessionOperation("create")
     public ServiceSessionResponse createSession(ServiceSessionRequest request) {
-        log.info("Creating new service session for employee: {} and ward: {}",
+        log.debug("Creating new service session for employee: {} and ward: {}",
                 request.getEmployeeId(), request.getWardId());
 
         Employee employee = employeeRepository.findById(request.getEmployeeId())
@@ -56,10 +85,12 @@ public class ServiceSessionService {
                 .sessionId(sessionId)
                 .employee(employee)
                 .ward(ward)
+                .hospitalId(ward.getHospital().getId())
                 .mealType(request.getMealType())
                 .mealCount(request.getMealCount())
                 .mealsServed(0)
                 .status(SessionStatus.ACTIVE)
+                .step(SessionStep.AWAITING_KITCHEN_EXIT)
                 .comments(request.getComments())
                 .dietSheetDocumented(false)
                 .build();
@@ -70,8 +101,10 @@ public class ServiceSessionService {
         return mapToResponse(session);
     }
 
+    @SessionOperation("scan_qr")
+    @RetryOnConflict
     public ServiceSessionResponse scanQR(QRScanRequest request) {
-        log.info("Processing QR scan for session: {} at location: {}",
+        log.debug("Processing QR scan for session: {} at location: {}",
                 request.getSessionId(), request.getLocationType());
 
         ServiceSession session = sessionRepository.findById(request.getSessionId())
@@ -82,58 +115,49 @@ public class ServiceSessionService {
             throw new RuntimeException("Invalid QR code for location type: " + request.getLocationType());
         }
 
-        LocalDateTime now = LocalDateTime.now();
+        SessionTransition transition = applyQrScan(session, request.getLocationType(), LocalDateTime.now());
 
-        // Update session based on location type
-        switch (request.getLocationType()) {
-            case KITCHEN_EXIT -> {
-                session.setKitchenExitTime(now);
-                session.setStatus(SessionStatus.IN_TRANSIT);
-                log.info("Kitchen exit recorded for session: {}", session.getSessionId());
-            }
-            case WARD_ARRIVAL -> {
-                session.setWardArrivalTime(now);
-                log.info("Ward arrival recorded for session: {}", session.getSessionId());
-            }
-            case NURSE_STATION -> {
-                session.setServiceStartTime(now);
-                log.info("Service start recorded for session: {}", session.getSessionId());
-            }
-        }
-
-        session = sessionRepository.save(session);
+        session = saveSession(session);
+        transitionRepository.save(transition);
         return mapToResponse(session);
     }
 
+    @SessionOperation("alert_nurse")
+    @RetryOnConflict
     public ServiceSessionResponse alertNurse(UUID sessionId) {
-        log.info("Sending nurse alert for session: {}", sessionId);
+        log.debug("Sending nurse alert for session: {}", sessionId);
 
         ServiceSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
 
-        session.setNurseAlertTime(LocalDateTime.now());
-        session = sessionRepository.save(session);
+        SessionTransition transition = applyNurseAlert(session, LocalDateTime.now());
+        session = saveSession(session);
+        transitionRepository.save(transition);
 
         log.info("Nurse alert sent for session: {}", session.getSessionId());
         return mapToResponse(session);
     }
 
+    @SessionOperation("nurse_response")
+    @RetryOnConflict
     public ServiceSessionResponse nurseResponse(UUID sessionId, String nurseName) {
-        log.info("Recording nurse response for session: {} by nurse: {}", sessionId, nurseName);
+        log.debug("Recording nurse response for session: {} by nurse: {}", sessionId, nurseName);
 
         ServiceSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
 
-        session.setNurseResponseTime(LocalDateTime.now());
-        session.setNurseName(nurseName);
-        session = sessionRepository.save(session);
+        SessionTransition transition = applyNurseResponse(session, nurseName, LocalDateTime.now());
+        session = saveSession(session);
+        transitionRepository.save(transition);
 
         log.info("Nurse response recorded for session: {}", session.getSessionId());
         return mapToResponse(session);
     }
 
+    @SessionOperation("update")
+    @RetryOnConflict
     public ServiceSessionResponse updateSession(SessionUpdateRequest request) {
-        log.info("Updating session: {}", request.getSessionId());
+        log.debug("Updating session: {}", request.getSessionId());
 
         ServiceSession session = sessionRepository.findById(request.getSessionId())
                 .orElseThrow(() -> new RuntimeException("Session not found"));
@@ -153,32 +177,161 @@ public class ServiceSessionService {
         if (request.getDietSheetNotes() != null) {
             session.setDietSheetNotes(request.getDietSheetNotes());
         }
-        if (request.getDietSheetPhotoPath() != null) {
-            session.setDietSheetPhotoPath(request.getDietSheetPhotoPath());
+
+        SessionTransition transition = null;
+        if (session.getStep() == SessionStep.DIET_SHEET_DOCUMENTATION && session.isDocumentationComplete()) {
+            transition = SessionStateMachine.fire(session, SessionTrigger.DIET_SHEET_DOCUMENTED, LocalDateTime.now());
         }
 
-        session = sessionRepository.save(session);
+        session = saveSession(session);
+        if (transition != null) {
+            transitionRepository.save(transition);
+        }
         log.info("Session updated: {}", session.getSessionId());
 
         return mapToResponse(session);
     }
 
+    /**
+     * Attaches an uploaded diet sheet photo to a session and marks the diet sheet
+     * documented, in the same transaction that adds the photo's reference; a photo it
+     * replaces is released. The session row is flushed first so a version conflict
+     * surfaces before any blob is touched. Retried on a version conflict or on a
+     * concurrent first upload of the same content, like {@link RetryOnConflict}.
+     */
+    @SessionOperation("attach_diet_sheet")
+    @Retryable(
+            retryFor = {OptimisticLockingFailureException.class, DataIntegrityViolationException.class},
+            maxAttemptsExpression = "${app.concurrency.max-attempts:4}",
+            backoff = @Backoff(delayExpression = "${app.concurrency.backoff-millis:20}", multiplier = 2, random = true)
+    )
+    public PhotoObject attachDietSheetPhoto(UUID sessionId, PhotoStorage.StagedPhoto staged, ImageFormat format) {
+        ServiceSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> ServiceException.notFound("Session not found"));
+
+        String path = FileUploadService.DIET_SHEET_PATH + staged.hash() + "." + format.getExtension();
+        String previousHash = session.getDietSheetPhotoPath() != null
+                ? PhotoStorage.hashOf(session.getDietSheetPhotoPath()
+                        .substring(session.getDietSheetPhotoPath().lastIndexOf('/') + 1)).orElse(null)
+                : null;
+        session.setDietSheetPhotoPath(path);
+        session.setDietSheetDocumented(true);
+
+        SessionTransition transition = null;
+        if (session.getStep() == SessionStep.DIET_SHEET_DOCUMENTATION && session.isDocumentationComplete()) {
+            transition = SessionStateMachine.fire(session, SessionTrigger.DIET_SHEET_DOCUMENTED, LocalDateTime.now());
+        }
+        saveSession(session);
+        if (transition != null) {
+            transitionRepository.save(transition);
+        }
+        sessionRepository.flush();
+
+        PhotoObject photo = photoStore.addReferenceInTransaction(staged, format.getContentType());
+        if (previousHash != null) {
+            // After the add, so uploading the same content again never drops its blob
+            photoStore.release(previousHash);
+        }
+        log.info("Diet sheet photo {} attached to session: {}", staged.hash(), session.getSessionId());
+        return photo;
+    }
+
+    /**
+     * Detaches a diet sheet photo from the session it is attached to and releases that
+     * session's reference, in one transaction. The same content may be attached to
+     * several sessions under one name; {@code sessionId} then picks which.
+     *
+     * @return false if no session (or not the given one) has the photo attached
+     */
+    @SessionOperation("detach_diet_sheet")
+    @RetryOnConflict
+    public boolean detachDietSheetPhoto(String path, UUID sessionId) {
+        List<ServiceSession> sessions = sessionRepository.findByDietSheetPhotoPath(path).stream()
+                .filter(session -> sessionId == null || session.getId().equals(sessionId))
+                .toList();
+        if (sessions.isEmpty()) {
+            return false;
+        }
+        if (sessions.size() > 1) {
+            throw ServiceException.badRequest(String.format(
+                    "Photo is attached to %d sessions; pass the sessionId to detach it from", sessions.size()));
+        }
+
+        ServiceSession session = sessions.get(0);
+        session.setDietSheetPhotoPath(null);
+        saveSession(session);
+        sessionRepository.flush();
+
+        PhotoStorage.hashOf(path.substring(path.lastIndexOf('/') + 1)).ifPresent(photoStore::release);
+        log.info("Diet sheet photo {} detached from session: {}", path, session.getSessionId());
+        return true;
+    }
+
+    @SessionOperation("complete")
+    @RetryOnConflict
     public ServiceSessionResponse completeSession(UUID sessionId) {
-        log.info("Completing session: {}", sessionId);
+        log.debug("Completing session: {}", sessionId);
 
         ServiceSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
 
-        session.setServiceCompleteTime(LocalDateTime.now());
-        session.setStatus(SessionStatus.COMPLETED);
+        SessionTransition transition = applyCompletion(session, LocalDateTime.now());
+        session = saveSession(session);
+        transitionRepository.save(transition);
+        log.info("Session completed: {}", session.getSessionId());
 
-        // Set meals served to meal count if not already set
-        if (session.getMealsServed() < session.getMealCount()) {
-            session.setMealsServed(session.getMealCount());
+        return mapToResponse(session);
+    }
+
+    /**
+     * Applies a replayed run of offline events to a single session in one transaction.
+     * Events already recorded under their client event ID are skipped, and device
+     * timestamps are used for the workflow times. {@code results} is reset on each
+     * attempt so a conflict retry does not report events twice.
+     */
+    @SessionOperation("apply_events")
+    @RetryOnConflict
+    public ServiceSessionResponse applyEvents(UUID sessionId, List<SessionEventRequest> events,
+                                              List<SessionEventResult> results) {
+        results.clear();
+        ServiceSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> ServiceException.notFound("Session not found"));
+
+        Set<String> seen = new HashSet<>(processedEventRepository.findExistingClientEventIds(
+                events.stream().map(SessionEventRequest::getClientEventId).toList()));
+        List<ProcessedSessionEvent> processed = new ArrayList<>();
+        List<SessionTransition> transitions = new ArrayList<>();
+
+        for (SessionEventRequest event : events) {
+            if (!seen.add(event.getClientEventId())) {
+                results.add(SessionEventResult.duplicate(event));
+                continue;
+            }
+
+            LocalDateTime occurredAt = event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now();
+            try {
+                transitions.add(applyEvent(session, event, occurredAt));
+            } catch (ServiceException e) {
+                log.warn("Rejected event {} for session {}: {}", event.getClientEventId(), sessionId, e.getMessage());
+                results.add(SessionEventResult.rejected(event, e.getMessage()));
+                continue;
+            }
+
+            processed.add(ProcessedSessionEvent.builder()
+                    .clientEventId(event.getClientEventId())
+                    .serviceSessionId(sessionId)
+                    .eventType(event.getType())
+                    .occurredAt(occurredAt)
+                    .build());
+            results.add(SessionEventResult.applied(event));
         }
 
-        session = sessionRepository.save(session);
-        log.info("Session completed: {}", session.getSessionId());
+        if (!processed.isEmpty()) {
+            session = saveSession(session);
+            processedEventRepository.saveAll(processed);
+            transitionRepository.saveAll(transitions);
+            log.info("Applied {} replayed events to session: {}", processed.size(), session.getSessionId());
+        }
 
         return mapToResponse(session);
     }
@@ -186,37 +339,31 @@ public class ServiceSessionService {
     @Transactional(readOnly = true)
     public Optional<ServiceSessionResponse> findBySessionId(String sessionId) {
         return sessionRepository.findBySessionId(sessionId)
-                .map(this::mapToResponse);
+                .map(ServiceSessionService::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public List<ServiceSessionResponse> findActiveSessionsByEmployee(UUID employeeId) {
         return sessionRepository.findByEmployeeIdAndStatus(employeeId, SessionStatus.ACTIVE)
                 .stream()
-                .map(this::mapToResponse)
+                .map(ServiceSessionService::mapToResponse)
                 .toList();
     }
 
     @Transactional(readOnly = true)
-    public List<ServiceSessionResponse> findRecentSessionsByEmployee(UUID employeeId, LocalDateTime since) {
-        return sessionRepository.findRecentSessionsByEmployee(employeeId, since)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+    public List<ServiceSessionView> findRecentSessionsByEmployee(UUID employeeId, LocalDateTime since) {
+        return sessionReadRepository.findRecentSessionsByEmployee(employeeId, since);
     }
 
     @Transactional(readOnly = true)
     public Page<ServiceSessionResponse> findCompletedSessions(Pageable pageable) {
         return sessionRepository.findByStatusOrderByCreatedAtDesc(SessionStatus.COMPLETED, pageable)
-                .map(this::mapToResponse);
+                .map(ServiceSessionService::mapToResponse);
     }
 
     @Transactional(readOnly = true)
-    public List<ServiceSessionResponse> findAllActiveSessions() {
-        return sessionRepository.findAllActiveSessions()
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+    public List<ServiceSessionView> findAllActiveSessions() {
+        return sessionReadRepository.findAllActiveSessions();
     }
 
     // Additional methods for cleanup and advanced features
@@ -228,17 +375,32 @@ public class ServiceSessionService {
         List<ServiceSession> staleSessions = sessionRepository.findStaleActiveSessions(cutoff);
 
         if (!staleSessions.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<SessionTransition> transitions = new ArrayList<>();
             staleSessions.forEach(session -> {
-                session.setStatus(SessionStatus.CANCELLED);
+                transitions.add(SessionStateMachine.fire(session, SessionTrigger.CANCEL, now));
                 String existingComments = session.getComments() != null ? session.getComments() : "";
                 session.setComments(existingComments + " [Auto-cancelled due to inactivity]");
             });
 
             sessionRepository.saveAll(staleSessions);
+            transitionRepository.saveAll(transitions);
+            staleSessions.forEach(session -> eventPublisher.publishEvent(SessionStepChangedEvent.of(session)));
             log.info("Cancelled {} stale sessions", staleSessions.size());
         }
     }
 
+    /**
+     * Materialises derived metrics for one batch of sessions written before the
+     * metric columns existed. Returns the number of sessions updated, so callers
+     * can loop until it reaches zero.
+     */
+    public int backfillDerivedMetrics(int batchSize) {
+        List<ServiceSession> batch = sessionRepository.findByCompletionRateIsNull(PageRequest.of(0, batchSize));
+        batch.forEach(ServiceSession::refreshDerivedMetrics);
+        return batch.size();
+    }
+
     @Transactional(readOnly = true)
     public List<ServiceSessionDto> getSessionsByWard(UUID wardId) {
         return sessionRepository.findByWardIdAndStatus(wardId, SessionStatus.ACTIVE)
@@ -255,9 +417,105 @@ public class ServiceSessionService {
                 .collect(Collectors.toList());
     }
 
+    private SessionTransition applyEvent(ServiceSession session, SessionEventRequest event, LocalDateTime occurredAt) {
+        return switch (event.getType()) {
+            case QR_SCAN -> {
+                if (event.getLocationType() == null || event.getQrCodeContent() == null) {
+                    throw ServiceException.badRequest("QR scan events require a location type and QR code content");
+                }
+                if (!validateQRCode(event.getQrCodeContent(), event.getLocationType())) {
+                    throw ServiceException.badRequest("Invalid QR code for location type: " + event.getLocationType());
+                }
+                yield applyQrScan(session, event.getLocationType(), occurredAt);
+            }
+            case ALERT_NURSE -> applyNurseAlert(session, occurredAt);
+            case NURSE_RESPONSE -> {
+                if (event.getNurseName() == null || event.getNurseName().isBlank()) {
+                    throw ServiceException.badRequest("Nurse response events require a nurse name");
+                }
+                yield applyNurseResponse(session, event.getNurseName(), occurredAt);
+            }
+            case COMPLETE -> applyCompletion(session, occurredAt);
+        };
+    }
+
+    // Each step is checked against the transition table before any field is touched
+
+    private SessionTransition applyQrScan(ServiceSession session, QRLocationType locationType, LocalDateTime at) {
+        // Update session based on location type
+        return switch (locationType) {
+            case KITCHEN_EXIT -> {
+                SessionTransition transition = SessionStateMachine.fire(session, SessionTrigger.KITCHEN_EXIT, at);
+                session.setKitchenExitTime(at);
+                log.info("Kitchen exit recorded for session: {}", session.getSessionId());
+                yield transition;
+            }
+            case WARD_ARRIVAL -> {
+                SessionTransition transition = SessionStateMachine.fire(session, SessionTrigger.WARD_ARRIVAL, at);
+                session.setWardArrivalTime(at);
+                publishLatency(session, BusinessLatencyMetrics.Latency.TRAVEL, session.getKitchenExitTime(), at);
+                log.info("Ward arrival recorded for session: {}", session.getSessionId());
+                yield transition;
+            }
+            case NURSE_STATION -> {
+                SessionTransition transition = SessionStateMachine.fire(session, SessionTrigger.SERVICE_STARTED, at);
+                session.setServiceStartTime(at);
+                log.info("Service start recorded for session: {}", session.getSessionId());
+                yield transition;
+            }
+        };
+    }
+
+    private SessionTransition applyNurseAlert(ServiceSession session, LocalDateTime at) {
+        SessionTransition transition = SessionStateMachine.fire(session, SessionTrigger.NURSE_ALERTED, at);
+        session.setNurseAlertTime(at);
+        return transition;
+    }
+
+    private SessionTransition applyNurseResponse(ServiceSession session, String nurseName, LocalDateTime at) {
+        SessionTransition transition = SessionStateMachine.fire(session, SessionTrigger.NURSE_RESPONDED, at);
+        session.setNurseResponseTime(at);
+        publishLatency(session, BusinessLatencyMetrics.Latency.NURSE_RESPONSE, session.getNurseAlertTime(), at);
+        session.setNurseName(nurseName);
+        return transition;
+    }
+
+    private SessionTransition applyCompletion(ServiceSession session, LocalDateTime at) {
+        SessionTransition transition = SessionStateMachine.fire(session, SessionTrigger.COMPLETE, at);
+        session.setServiceCompleteTime(at);
+        publishLatency(session, BusinessLatencyMetrics.Latency.SERVING, session.getServiceStartTime(), at);
+
+        // Set meals served to meal count if not already set
+        if (session.getMealsServed() < session.getMealCount()) {
+            session.setMealsServed(session.getMealCount());
+        }
+        return transition;
+    }
+
+    // Replayed device timestamps can be missing or out of order; such spans are not recorded
+    private void publishLatency(ServiceSession session, BusinessLatencyMetrics.Latency latency,
+                                LocalDateTime from, LocalDateTime to) {
+        if (from == null || to.isBefore(from)) {
+            return;
+        }
+        Ward ward = session.getWard();
+        eventPublisher.publishEvent(new SessionLatencyEvent(latency, ward.getHospital().getName(), ward.getName(),
+                Duration.between(from, to)));
+    }
+
+    private ServiceSession saveSession(ServiceSession session) {
+        // Refresh now rather than at flush so the response maps the new metric values
+        session.refreshDerivedMetrics();
+        ServiceSession saved = sessionRepository.save(session);
+        eventPublisher.publishEvent(SessionStepChangedEvent.of(session));
+        return saved;
+    }
+
     private String generateSessionId(Employee employee, Ward ward) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
-        return "SS-" + employee.getEmployeeId() + "-" + ward.getName() + "-" + timestamp;
+        // Millisecond timestamp plus a random suffix: two creates in the same second must not collide
+        String timestamp = LocalDateTime.now().format(SESSION_ID_TIMESTAMP);
+        String suffix = UUID.randomUUID().toString().substring(0, 4);
+        return "SS-" + employee.getEmployeeId() + "-" + ward.getName() + "-" + timestamp + "-" + suffix;
     }
 
     private boolean validateQRCode(String qrCode, QRLocationType locationType) {
@@ -265,7 +523,8 @@ public class ServiceSessionService {
         return qrCode.startsWith(locationType.getPrefix());
     }
 
-    private ServiceSessionResponse mapToResponse(ServiceSession session) {
+    // Package-private and static for the benchmarks module
+    static ServiceSessionResponse mapToResponse(ServiceSession session) {
         return ServiceSessionResponse.builder()
                 .id(session.getId())
                 .sessionId(session.getSessionId())
@@ -283,6 +542,7 @@ public class ServiceSessionService {
                 .kitchenExitTime(session.getKitchenExitTime())
                 .wardArrivalTime(session.getWardArrivalTime())
                 .nurseAlertTime(session.getNurseAlertTime())
+                .nurseResponseTime(session.getNurseRespondedAt())
                 .serviceStartTime(session.getServiceStartTime())
                 .serviceCompleteTime(session.getServiceCompleteTime())
                 // Fixed: Convert milliseconds to seconds properly
@@ -0,0 +1,28 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@link ServiceSession} that turns every flushed change
+ * into a {@link SessionChangedEvent}, whichever service made it. Hibernate obtains
+ * it from the Spring context, so it can publish application events.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(ServiceSession session) {
+        eventPublisher.publishEvent(new SessionChangedEvent(session.getId()));
+    }
+}
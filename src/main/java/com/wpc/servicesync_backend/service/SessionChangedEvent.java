@@ -0,0 +1,11 @@
+package com.wpc.servicesync_backend.service;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a {@code ServiceSession} row is inserted, updated or deleted.
+ * Carries only the id: listeners reload current state, so duplicate or reordered
+ * events are harmless.
+ */
+public record SessionChangedEvent(UUID sessionId) {
+}
@@ -0,0 +1,72 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.dto.SessionEventBatchRequest;
+import com.wpc.servicesync_backend.dto.SessionEventBatchResponse;
+import com.wpc.servicesync_backend.dto.SessionEventRequest;
+import com.wpc.servicesync_backend.dto.SessionEventResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batch ingestion of offline session events replayed by hostess tablets.
+ * Events are grouped per session in the order the client sent them and each
+ * group is applied in its own transaction, so one bad session does not fail
+ * the rest of the batch. Results come back in the order the events were sent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionEventIngestService {
+
+    private final ServiceSessionService sessionService;
+
+    public SessionEventBatchResponse ingest(SessionEventBatchRequest request) {
+        List<SessionEventRequest> events = request.getEvents();
+        Map<UUID, List<Integer>> positionsBySession = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            positionsBySession.computeIfAbsent(events.get(i).getSessionId(), id -> new ArrayList<>()).add(i);
+        }
+
+        log.info("Ingesting {} events across {} sessions", events.size(), positionsBySession.size());
+
+        SessionEventResult[] results = new SessionEventResult[events.size()];
+        List<ServiceSessionResponse> sessions = new ArrayList<>(positionsBySession.size());
+
+        positionsBySession.forEach((sessionId, positions) -> {
+            List<SessionEventRequest> sessionEvents = positions.stream().map(events::get).toList();
+            // One result per event, in the order given
+            List<SessionEventResult> sessionResults = new ArrayList<>(positions.size());
+            try {
+                sessions.add(sessionService.applyEvents(sessionId, sessionEvents, sessionResults));
+                for (int i = 0; i < positions.size(); i++) {
+                    results[positions.get(i)] = sessionResults.get(i);
+                }
+            } catch (Exception e) {
+                log.error("Failed to apply events for session: {}", sessionId, e);
+                positions.forEach(position -> results[position] = SessionEventResult.rejected(events.get(position),
+                        e.getMessage()));
+            }
+        });
+
+        return SessionEventBatchResponse.builder()
+                .applied(count(results, SessionEventResult.Outcome.APPLIED))
+                .duplicates(count(results, SessionEventResult.Outcome.DUPLICATE))
+                .rejected(count(results, SessionEventResult.Outcome.REJECTED))
+                .results(List.of(results))
+                .sessions(sessions)
+                .build();
+    }
+
+    private int count(SessionEventResult[] results, SessionEventResult.Outcome outcome) {
+        return (int) Arrays.stream(results).filter(result -> result.getOutcome() == outcome).count();
+    }
+}
@@ -0,0 +1,12 @@
+package com.wpc.servicesync_backend.service;
+
+import java.time.Duration;
+
+/**
+ * Published by {@link ServiceSessionService} when a workflow step completes one of
+ * the business latencies, so {@link BusinessLatencyMetrics} records it once the
+ * transition commits.
+ */
+public record SessionLatencyEvent(BusinessLatencyMetrics.Latency latency, String hospital, String ward,
+                                  Duration duration) {
+}
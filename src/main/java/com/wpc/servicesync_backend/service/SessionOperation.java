@@ -0,0 +1,19 @@
+package com.wpc.servicesync_backend.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a session workflow step to be timed by {@link SessionOperationMetrics}
+ * under the given operation name.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SessionOperation {
+
+    String value();
+}
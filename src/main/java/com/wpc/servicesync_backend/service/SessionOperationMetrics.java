@@ -0,0 +1,102 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.dto.QRScanRequest;
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.exception.ServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@link SessionOperation} as {@code servicesync.session.operation},
+ * tagged with the operation, the session's hospital and meal type, the QR location
+ * type for scans, and the outcome. Runs outside the retry and transaction advice,
+ * so one call is one sample and conflict retries count towards its latency.
+ * Percentiles, histogram buckets and SLO boundaries are configured under
+ * {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SessionOperationMetrics {
+
+    static final String OPERATION_TIMER = "servicesync.session.operation";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(com.wpc.servicesync_backend.service.SessionOperation)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        SessionOperation operation = ((MethodSignature) joinPoint.getSignature()).getMethod()
+                .getAnnotation(SessionOperation.class);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(OPERATION_TIMER)
+                    .description("Session workflow operations, including conflict retries")
+                    .tags(tags(operation.value(), joinPoint.getArgs(), result, failure))
+                    .register(meterRegistry));
+        }
+    }
+
+    // Every sample carries the same tag keys, as Prometheus requires per metric name
+    private static Tags tags(String operation, Object[] args, Object result, Throwable failure) {
+        String hospital = NONE;
+        String mealType = NONE;
+        if (result instanceof ServiceSessionResponse response) {
+            hospital = response.getHospitalName() != null ? response.getHospitalName() : NONE;
+            mealType = response.getMealType() != null ? response.getMealType().name() : NONE;
+        }
+
+        String locationType = NONE;
+        for (Object arg : args) {
+            if (arg instanceof QRScanRequest scan && scan.getLocationType() != null) {
+                locationType = scan.getLocationType().name();
+            }
+        }
+
+        return Tags.of(
+                "operation", operation,
+                "hospital", hospital,
+                "meal_type", mealType,
+                "location_type", locationType,
+                "outcome", outcome(failure),
+                "exception", failure != null ? failure.getClass().getSimpleName() : NONE);
+    }
+
+    private static String outcome(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (failure instanceof ServiceException e) {
+            if (e.getStatus() == HttpStatus.NOT_FOUND) {
+                return "not_found";
+            }
+            if (e.getStatus().is4xxClientError()) {
+                return "rejected";
+            }
+        }
+        return "error";
+    }
+}
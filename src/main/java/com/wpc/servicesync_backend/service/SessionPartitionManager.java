@@ -0,0 +1,246 @@
+package com.wpc.servicesync_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.repository.SessionPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps {@code service_sessions} range partitioned by month on PostgreSQL. Dashboard
+ * and report queries all bound {@code created_at}, so they prune to the newest
+ * partitions and each partition's indexes stay small. Partitions are created ahead
+ * of time, with a default partition for rows outside them; those past the retention
+ * window are detached, exported to a columnar archive on local disk and dropped,
+ * releasing their sessions' diet sheet photos. Maintenance runs under an advisory
+ * lock, so only one instance at a time changes the table.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.partitioning", name = "enabled", havingValue = "true")
+@Slf4j
+public class SessionPartitionManager {
+
+    private static final String ARCHIVE_SUFFIX = ".sscol.gz";
+
+    private final SessionPartitionRepository partitionRepository;
+    private final ApplicationProperties.Partitioning properties;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final PhotoStore photoStore;
+    private final TransactionTemplate transactionTemplate;
+
+    public SessionPartitionManager(SessionPartitionRepository partitionRepository,
+                                   ApplicationProperties applicationProperties,
+                                   DataSource dataSource,
+                                   ObjectMapper objectMapper,
+                                   PhotoStore photoStore,
+                                   PlatformTransactionManager transactionManager) {
+        this.partitionRepository = partitionRepository;
+        this.properties = applicationProperties.getPartitioning();
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.photoStore = photoStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "0 30 2 * * *") // Nightly, outside meal service hours
+    public void maintainPartitions() {
+        if (!isPostgres()) {
+            log.warn("Session partitioning is enabled but the database is not PostgreSQL; skipping");
+            return;
+        }
+
+        partitionRepository.withMaintenanceLock(this::maintainLocked);
+    }
+
+    private void maintainLocked() {
+        YearMonth lastMonth = YearMonth.now().plusMonths(properties.getMonthsAhead());
+        Character kind = partitionRepository.findTableKind().orElse(null);
+        if (kind == null) {
+            log.warn("Table {} does not exist yet; skipping partition maintenance",
+                    SessionPartitionRepository.PARENT_TABLE);
+            return;
+        }
+        if (kind == 'r') {
+            log.info("Converting {} to a partitioned table", SessionPartitionRepository.PARENT_TABLE);
+            partitionRepository.convertToPartitioned(lastMonth);
+        }
+        // Both are no-ops once present; tables converted by earlier releases lack them
+        partitionRepository.ensureDefaultPartition();
+        partitionRepository.ensureSessionKeys();
+
+        for (YearMonth month = YearMonth.now(); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            partitionRepository.createPartition(month);
+        }
+
+        YearMonth oldestRetained = YearMonth.now().minusMonths(properties.getRetainMonths());
+        for (String partition : partitionRepository.findAttachedPartitions()) {
+            if (SessionPartitionRepository.partitionMonth(partition).isBefore(oldestRetained)) {
+                partitionRepository.detachPartition(partition);
+                log.info("Detached cold partition {}", partition);
+            }
+        }
+
+        // Includes partitions left detached by an earlier run that failed to export
+        for (String partition : partitionRepository.findDetachedPartitions()) {
+            try {
+                archivePartition(partition);
+            } catch (RuntimeException e) {
+                log.error("Failed to archive partition {}; it stays detached and will be retried", partition, e);
+            }
+        }
+    }
+
+    /**
+     * Exports a detached partition and drops it once the archive's row count has
+     * been checked against the table. The archive is written under a temporary
+     * name and moved into place, so a crash never leaves a partial file that looks
+     * complete. The archived sessions' photo references and keys are released in
+     * the transaction that drops the partition, so they go exactly once.
+     */
+    void archivePartition(String partition) {
+        Path directory = Path.of(properties.getArchiveDir());
+        Path archive = directory.resolve(partition + ARCHIVE_SUFFIX);
+        Path temp = directory.resolve(partition + ARCHIVE_SUFFIX + ".tmp");
+
+        try {
+            Files.createDirectories(directory);
+            ColumnarArchive.Writer writer = partitionRepository.streamPartition(partition,
+                    rs -> writeArchive(rs, temp));
+
+            long expected = partitionRepository.countRows(partition);
+            if (writer.getRowCount() != expected) {
+                Files.deleteIfExists(temp);
+                throw new IllegalStateException(String.format("Archive of %s has %d rows, table has %d",
+                        partition, writer.getRowCount(), expected));
+            }
+
+            Files.move(temp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writeManifest(partition, archive, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive partition " + partition, e);
+        }
+
+        int released = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (String path : partitionRepository.findDietSheetPhotoPaths(partition)) {
+                Optional<String> hash = PhotoStorage.hashOf(path.substring(path.lastIndexOf('/') + 1));
+                if (hash.isPresent() && photoStore.release(hash.get())) {
+                    count++;
+                }
+            }
+            partitionRepository.deleteSessionKeys(partition);
+            partitionRepository.dropPartition(partition);
+            return count;
+        });
+        log.info("Archived partition {} to {}, releasing {} diet sheet photos", partition, archive, released);
+    }
+
+    private ColumnarArchive.Writer writeArchive(ResultSet rs, Path file) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<ColumnarArchive.Column> columns = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(new ColumnarArchive.Column(metaData.getColumnName(i), columnType(metaData, i)));
+        }
+
+        try (ColumnarArchive.Writer writer = ColumnarArchive.writer(file, columns, properties.getArchiveRowGroupSize())) {
+            while (rs.next()) {
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = readValue(rs, i + 1, columns.get(i).type());
+                }
+                writer.append(row);
+            }
+            return writer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeManifest(String partition, Path archive, ColumnarArchive.Writer writer) throws IOException {
+        YearMonth month = SessionPartitionRepository.partitionMonth(partition);
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("table", SessionPartitionRepository.PARENT_TABLE);
+        manifest.put("partition", partition);
+        manifest.put("rangeStart", month.atDay(1).toString());
+        manifest.put("rangeEnd", month.plusMonths(1).atDay(1).toString());
+        manifest.put("file", archive.getFileName().toString());
+        manifest.put("format", "sscol1+gzip");
+        manifest.put("rowCount", writer.getRowCount());
+        manifest.put("rowGroups", writer.getRowGroups());
+        manifest.put("sizeBytes", Files.size(archive));
+        manifest.put("sha256", writer.getSha256());
+        manifest.put("archivedAt", LocalDateTime.now().toString());
+
+        Path path = archive.resolveSibling(partition + ".manifest.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), manifest);
+    }
+
+    private static ColumnarArchive.ColumnType columnType(ResultSetMetaData metaData, int column) throws SQLException {
+        return switch (metaData.getColumnType(column)) {
+            case Types.SMALLINT, Types.INTEGER, Types.BIGINT -> ColumnarArchive.ColumnType.LONG;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> ColumnarArchive.ColumnType.DOUBLE;
+            case Types.NUMERIC, Types.DECIMAL -> ColumnarArchive.ColumnType.DECIMAL;
+            case Types.BOOLEAN, Types.BIT -> ColumnarArchive.ColumnType.BOOLEAN;
+            case Types.TIMESTAMP -> ColumnarArchive.ColumnType.TIMESTAMP;
+            default -> "uuid".equalsIgnoreCase(metaData.getColumnTypeName(column))
+                    ? ColumnarArchive.ColumnType.UUID
+                    : ColumnarArchive.ColumnType.STRING;
+        };
+    }
+
+    private static Object readValue(ResultSet rs, int column, ColumnarArchive.ColumnType type) throws SQLException {
+        Object value = switch (type) {
+            case LONG -> rs.getLong(column);
+            case DOUBLE -> rs.getDouble(column);
+            case DECIMAL -> rs.getBigDecimal(column);
+            case BOOLEAN -> rs.getBoolean(column);
+            case TIMESTAMP -> rs.getObject(column, LocalDateTime.class);
+            case UUID -> rs.getObject(column, UUID.class);
+            case STRING -> rs.getString(column);
+        };
+        return rs.wasNull() ? null : value;
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("Could not determine database product", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.exception.ServiceException;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.model.entity.SessionTransition;
+import com.wpc.servicesync_backend.model.entity.SessionTrigger;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Meal delivery workflow as an enum-indexed transition table. The table is built
+ * once; checking a transition is two array lookups against the session's persisted
+ * step, so invalid requests are rejected before anything on the session changes.
+ */
+public final class SessionStateMachine {
+
+    private static final Map<SessionStep, Map<SessionTrigger, SessionStep>> TRANSITIONS = compile();
+
+    private SessionStateMachine() {
+    }
+
+    public static boolean canFire(SessionStep from, SessionTrigger trigger) {
+        return TRANSITIONS.get(from).containsKey(trigger);
+    }
+
+    /**
+     * Moves the session to its next step and keeps {@code status} in line with it.
+     * Timestamps are left to the caller, which only sets them once this succeeds.
+     *
+     * @return the transition to append to the session's event log
+     * @throws ServiceException if the trigger is not valid for the current step
+     */
+    public static SessionTransition fire(ServiceSession session, SessionTrigger trigger, LocalDateTime at) {
+        SessionStep from = session.getStep();
+        SessionStep to = TRANSITIONS.get(from).get(trigger);
+        if (to == null) {
+            throw ServiceException.conflict(String.format("Cannot apply %s while session %s is at step %s",
+                    trigger.getDisplayName(), session.getSessionId(), from.getDisplayName()));
+        }
+
+        // Guard: a diet sheet captured before arrival means there is nothing left to document
+        if (to == SessionStep.DIET_SHEET_DOCUMENTATION && session.isDocumentationComplete()) {
+            to = SessionStep.NURSE_ALERT;
+        }
+
+        session.setStep(to);
+        session.setStatus(to.getStatus());
+
+        return SessionTransition.builder()
+                .serviceSessionId(session.getId())
+                .fromStep(from)
+                .toStep(to)
+                .trigger(trigger)
+                .occurredAt(at)
+                .build();
+    }
+
+    private static Map<SessionStep, Map<SessionTrigger, SessionStep>> compile() {
+        Map<SessionStep, Map<SessionTrigger, SessionStep>> table = new EnumMap<>(SessionStep.class);
+        for (SessionStep step : SessionStep.values()) {
+            Map<SessionTrigger, SessionStep> row = new EnumMap<>(SessionTrigger.class);
+            if (!step.isTerminal()) {
+                row.put(SessionTrigger.COMPLETE, SessionStep.COMPLETED);
+                row.put(SessionTrigger.CANCEL, SessionStep.CANCELLED);
+            }
+            table.put(step, row);
+        }
+
+        table.get(SessionStep.AWAITING_KITCHEN_EXIT).put(SessionTrigger.KITCHEN_EXIT, SessionStep.IN_TRANSIT);
+        table.get(SessionStep.IN_TRANSIT).put(SessionTrigger.WARD_ARRIVAL, SessionStep.DIET_SHEET_DOCUMENTATION);
+        table.get(SessionStep.DIET_SHEET_DOCUMENTATION).put(SessionTrigger.DIET_SHEET_DOCUMENTED, SessionStep.NURSE_ALERT);
+        table.get(SessionStep.NURSE_ALERT).put(SessionTrigger.NURSE_ALERTED, SessionStep.AWAITING_NURSE_RESPONSE);
+        table.get(SessionStep.AWAITING_NURSE_RESPONSE).put(SessionTrigger.NURSE_RESPONDED, SessionStep.NURSE_STATION);
+        table.get(SessionStep.NURSE_STATION).put(SessionTrigger.SERVICE_STARTED, SessionStep.SERVICE_IN_PROGRESS);
+
+        return table;
+    }
+}
@@ -0,0 +1,30 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by {@link ServiceSessionService} whenever it saves a session, with what
+ * {@link SlaBreachDetector} needs to arm or cancel the session's deadline without
+ * reading it back.
+ */
+public record SessionStepChangedEvent(UUID sessionId, SessionStep step, LocalDateTime stepStartedAt, int mealCount) {
+
+    public static SessionStepChangedEvent of(ServiceSession session) {
+        return new SessionStepChangedEvent(session.getId(), session.getStep(), stepStartedAt(session),
+                session.getMealCount() != null ? session.getMealCount() : 0);
+    }
+
+    // Only the steps with a deadline need their start time
+    static LocalDateTime stepStartedAt(ServiceSession session) {
+        return switch (session.getStep()) {
+            case IN_TRANSIT -> session.getKitchenExitTime();
+            case AWAITING_NURSE_RESPONSE -> session.getNurseAlertTime();
+            case SERVICE_IN_PROGRESS -> session.getServiceStartTime();
+            default -> null;
+        };
+    }
+}
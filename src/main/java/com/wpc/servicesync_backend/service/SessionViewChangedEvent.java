@@ -0,0 +1,25 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionView;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by {@link SessionViewProjector} for every {@code session_view} row it
+ * writes or deletes, with the figures that feed the per-hospital counters before
+ * and after the change. {@code before} is null for a new row, {@code after} for a
+ * deleted one.
+ */
+public record SessionViewChangedEvent(Tally before, Tally after) {
+
+    public record Tally(UUID hospitalId, LocalDateTime createdAt, boolean completed, int mealsServed,
+                        double completionRate) {
+
+        public static Tally of(SessionView view) {
+            return new Tally(view.getHospitalId(), view.getCreatedAt(), view.getStatus() == SessionStatus.COMPLETED,
+                    view.getMealsServed(), view.getCompletionRate());
+        }
+    }
+}
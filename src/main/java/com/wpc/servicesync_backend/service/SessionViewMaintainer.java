@@ -0,0 +1,112 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps {@code session_view} in step with {@code service_sessions}. Every entry
+ * point runs on the single-threaded {@code sessionViewExecutor}, so projections
+ * never race each other and session writes only pay for publishing an event.
+ * Changes are projected after their transaction commits, as are renamed employees,
+ * wards and hospitals, whose names the rows carry; a periodic reconcile
+ * repairs recent rows the event path missed (a full queue, a crash, bulk updates).
+ * A catch-up pass walks sessions from a stored high-water mark, one batch per
+ * task so live projections run in between: on first deployment it fills the
+ * table, after that it only checks sessions created since it last ran.
+ * {@code app.read-model.rebuild-on-startup} sends it back to the first session.
+ */
+@Component
+@Slf4j
+public class SessionViewMaintainer {
+
+    private final SessionViewProjector projector;
+    private final ApplicationProperties.ReadModel properties;
+    private final Executor executor;
+
+    public SessionViewMaintainer(SessionViewProjector projector, ApplicationProperties applicationProperties,
+                                 @Qualifier("sessionViewExecutor") Executor executor) {
+        this.projector = projector;
+        this.properties = applicationProperties.getReadModel();
+        this.executor = executor;
+    }
+
+    @Async("sessionViewExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        projector.project(List.of(event.sessionId()));
+    }
+
+    // On the same thread as projections, so a row projected with the old name is renamed after it
+    @Async("sessionViewExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNameChanged(NameChangedEvent event) {
+        int renamed = projector.rename(event);
+        log.debug("Renamed {} {} in {} session_view rows", event.source(), event.id(), renamed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        if (properties.isRebuildOnStartup()) {
+            executor.execute(() -> {
+                projector.resetCatchUp();
+                log.info("Re-checking session_view against every session");
+            });
+        }
+        executor.execute(this::catchUp);
+    }
+
+    @Async("sessionViewExecutor")
+    @Scheduled(initialDelayString = "${app.read-model.reconcile-interval-millis:60000}",
+            fixedDelayString = "${app.read-model.reconcile-interval-millis:60000}")
+    public void reconcileRecent() {
+        int projected = reconcileSince(LocalDateTime.now().minus(ServiceSessionRepository.OPEN_SESSION_WINDOW));
+        if (projected > 0) {
+            log.warn("Reconciled {} session_view rows the event path missed", projected);
+        }
+        catchUp();
+    }
+
+    @Async("sessionViewExecutor")
+    @Scheduled(cron = "0 45 2 * * *") // After partition maintenance has dropped archived months
+    public void deleteOrphanedRows() {
+        int deleted = projector.deleteOrphanedRows();
+        if (deleted > 0) {
+            log.info("Deleted {} session_view rows whose sessions no longer exist", deleted);
+        }
+    }
+
+    // One batch per task, so projections queued meanwhile run between batches instead of after the whole pass.
+    // A batch that fails or is dropped from a full queue resumes from the mark on the next reconcile
+    private void catchUp() {
+        try {
+            if (projector.catchUp(properties.getBatchSize()) == properties.getBatchSize()) {
+                executor.execute(this::catchUp);
+            }
+        } catch (RuntimeException e) {
+            log.warn("session_view catch-up stopped; it resumes on the next reconcile", e);
+        }
+    }
+
+    private int reconcileSince(LocalDateTime since) {
+        int total = 0;
+        int projected;
+        do {
+            projected = projector.reconcile(since, properties.getBatchSize());
+            total += projected;
+        } while (projected == properties.getBatchSize());
+        return total;
+    }
+}
@@ -0,0 +1,184 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.ReadModelMark;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionView;
+import com.wpc.servicesync_backend.repository.ReadModelMarkRepository;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.SessionViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes {@code session_view} rows from the current state of their sessions. Each
+ * call reloads sessions from the primary and skips rows already projected from the
+ * same version, so replaying an id is always safe. Callers run it off the request
+ * path; see {@link SessionViewMaintainer}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SessionViewProjector {
+
+    static final String CATCH_UP_MARK = "session_view";
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID LOWEST_ID = new UUID(0, 0);
+
+    private final ServiceSessionRepository sessionRepository;
+    private final SessionViewRepository viewRepository;
+    private final ReadModelMarkRepository markRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Projects the given sessions, deleting the rows of any that no longer exist.
+     */
+    public void project(Collection<UUID> sessionIds) {
+        Map<UUID, SessionView> existing = viewRepository.findAllById(sessionIds).stream()
+                .collect(Collectors.toMap(SessionView::getId, Function.identity()));
+        List<ServiceSession> sessions = sessionRepository.findWithAssociationsByIdIn(sessionIds);
+
+        for (ServiceSession session : sessions) {
+            SessionView current = existing.get(session.getId());
+            if (current == null || !current.getSourceVersion().equals(session.getVersion())) {
+                // Tally before saving: the merge copies the new state onto the managed row
+                SessionViewChangedEvent.Tally before = current != null ? SessionViewChangedEvent.Tally.of(current) : null;
+                SessionView saved = viewRepository.save(toView(session));
+                eventPublisher.publishEvent(new SessionViewChangedEvent(before, SessionViewChangedEvent.Tally.of(saved)));
+            }
+        }
+
+        Set<UUID> found = sessions.stream().map(ServiceSession::getId).collect(Collectors.toSet());
+        existing.values().stream()
+                .filter(view -> !found.contains(view.getId()))
+                .forEach(view -> {
+                    viewRepository.delete(view);
+                    eventPublisher.publishEvent(new SessionViewChangedEvent(SessionViewChangedEvent.Tally.of(view), null));
+                });
+    }
+
+    /**
+     * Projects one batch of sessions created since {@code since} whose row is missing
+     * or stale. Returns the batch size, so callers can loop until it drops below
+     * {@code batchSize}.
+     */
+    public int reconcile(LocalDateTime since, int batchSize) {
+        List<UUID> outOfDate = viewRepository.findOutOfDateSessionIds(since, PageRequest.of(0, batchSize));
+        if (!outOfDate.isEmpty()) {
+            project(outOfDate);
+        }
+        return outOfDate.size();
+    }
+
+    /**
+     * Checks the next {@code batchSize} sessions after the catch-up mark, projects
+     * those whose row is missing or stale, and moves the mark past them in the same
+     * transaction. Returns how many were checked, so callers can continue until it
+     * drops below {@code batchSize}.
+     */
+    public int catchUp(int batchSize) {
+        ReadModelMark mark = markRepository.findById(CATCH_UP_MARK).orElseGet(() -> ReadModelMark.builder()
+                .name(CATCH_UP_MARK)
+                .lastCreatedAt(BEGINNING)
+                .lastSessionId(LOWEST_ID)
+                .build());
+        List<Object[]> keys = viewRepository.findSessionKeysAfter(mark.getLastCreatedAt(), mark.getLastSessionId(),
+                PageRequest.of(0, batchSize));
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, Long> projectedVersions = viewRepository.findSourceVersions(
+                        keys.stream().map(key -> (UUID) key[0]).toList()).stream()
+                .collect(Collectors.toMap(row -> (UUID) row[0], row -> (Long) row[1]));
+        List<UUID> outOfDate = keys.stream()
+                .filter(key -> !key[2].equals(projectedVersions.get((UUID) key[0])))
+                .map(key -> (UUID) key[0])
+                .toList();
+        if (!outOfDate.isEmpty()) {
+            project(outOfDate);
+            log.info("Projected {} sessions into session_view", outOfDate.size());
+        }
+
+        Object[] last = keys.get(keys.size() - 1);
+        mark.setLastCreatedAt((LocalDateTime) last[1]);
+        mark.setLastSessionId((UUID) last[0]);
+        mark.setUpdatedAt(LocalDateTime.now());
+        markRepository.save(mark);
+        return keys.size();
+    }
+
+    /** Sends the next catch-up pass back to the first session. */
+    public void resetCatchUp() {
+        markRepository.deleteById(CATCH_UP_MARK);
+    }
+
+    /**
+     * Copies a new employee, ward or hospital name into the rows that carry it.
+     * Names do not feed the per-hospital counters, so no change events follow.
+     */
+    public int rename(NameChangedEvent event) {
+        return switch (event.source()) {
+            case EMPLOYEE -> viewRepository.renameEmployee(event.id(), event.name());
+            case WARD -> viewRepository.renameWard(event.id(), event.name());
+            case HOSPITAL -> viewRepository.renameHospital(event.id(), event.name());
+        };
+    }
+
+    public int deleteOrphanedRows() {
+        return viewRepository.deleteOrphanedRows();
+    }
+
+    static SessionView toView(ServiceSession session) {
+        return SessionView.builder()
+                .id(session.getId())
+                .sessionId(session.getSessionId())
+                .hospitalId(session.getHospitalId())
+                .hospitalName(session.getWard().getHospital().getName())
+                .wardId(session.getWard().getId())
+                .wardName(session.getWard().getName())
+                .employeeId(session.getEmployee().getId())
+                .employeeCode(session.getEmployee().getEmployeeId())
+                .employeeName(session.getEmployee().getName())
+                .mealType(session.getMealType())
+                .mealCount(session.getMealCount())
+                .mealsServed(session.getMealsServed())
+                .status(session.getStatus())
+                .step(session.getStep())
+                .kitchenExitTime(session.getKitchenExitTime())
+                .wardArrivalTime(session.getWardArrivalTime())
+                .nurseAlertTime(session.getNurseAlertTime())
+                .nurseResponseTime(session.getNurseRespondedAt())
+                .serviceStartTime(session.getServiceStartTime())
+                .serviceCompleteTime(session.getServiceCompleteTime())
+                .travelTimeMillis(session.getTravelTimeMillis())
+                .nurseResponseMillis(session.getNurseResponseMillis())
+                .servingTimeMillis(session.getServingTimeMillis())
+                .totalDurationMillis(session.getTotalDurationMillis())
+                .completionRate(session.getCompletionRate())
+                .servingRate(session.getAverageServingRate())
+                .efficiencyRating(session.getEfficiencyRating())
+                .comments(session.getComments())
+                .nurseName(session.getNurseName())
+                .dietSheetDocumented(session.getDietSheetDocumented())
+                .dietSheetNotes(session.getDietSheetNotes())
+                .createdAt(session.getCreatedAt())
+                .updatedAt(session.getUpdatedAt())
+                .sourceVersion(session.getVersion())
+                .projectedAt(LocalDateTime.now())
+                .build();
+    }
+}
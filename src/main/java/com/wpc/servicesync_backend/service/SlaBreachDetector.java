@@ -0,0 +1,194 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends {@link NotificationService#sendPerformanceAlert} the moment an in-flight
+ * session overruns its current step: travel past the travel threshold, a nurse
+ * alert unanswered past the response threshold, or serving slower than the target
+ * serving rate for its meal count.
+ * <p>
+ * Each session has at most one deadline on a {@link DeadlineWheel}, armed or
+ * replaced from the {@link SessionStepChangedEvent} of every committed save, so
+ * the cost is O(1) per transition and nothing polls. At the deadline the session
+ * is read once by id: if it has moved on the deadline is re-armed for where it is
+ * now, otherwise the alert is sent. Deadlines live in memory and are rebuilt from
+ * the open sessions on startup; one already past fires straight away.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.business.alerts.detector", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@Slf4j
+public class SlaBreachDetector {
+
+    private static final Set<SessionStep> TIMED_STEPS = EnumSet.of(
+            SessionStep.IN_TRANSIT, SessionStep.AWAITING_NURSE_RESPONSE, SessionStep.SERVICE_IN_PROGRESS);
+    private static final Duration SAME_START_TOLERANCE = Duration.ofMillis(1); // Database rounds to microseconds
+
+    public enum Breach {
+        TRAVEL_TIME_EXCEEDED("travel_time_exceeded", "In transit for over %d minutes"),
+        NURSE_RESPONSE_TIMEOUT("nurse_response_timeout", "Nurse alert unanswered for over %d minutes"),
+        SLOW_SERVING_RATE("slow_serving_rate", "Serving has taken over %d minutes");
+
+        private final String alertType;
+        private final String messageFormat;
+
+        Breach(String alertType, String messageFormat) {
+            this.alertType = alertType;
+            this.messageFormat = messageFormat;
+        }
+
+        public String getAlertType() {
+            return alertType;
+        }
+    }
+
+    record Deadline(SessionStep step, Breach breach, LocalDateTime startedAt, LocalDateTime dueAt) {
+
+        boolean sameSpan(Deadline other) {
+            return other != null && step == other.step
+                    && Duration.between(startedAt, other.startedAt).abs().compareTo(SAME_START_TOLERANCE) < 0;
+        }
+
+        String message() {
+            return String.format(breach.messageFormat, Duration.between(startedAt, dueAt).toMinutes());
+        }
+    }
+
+    private record Armed(Deadline deadline, DeadlineWheel.Timeout timeout) {
+    }
+
+    private final ServiceSessionRepository sessionRepository;
+    private final NotificationService notificationService;
+    private final Executor alertExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.Business business;
+    private final DeadlineWheel wheel;
+    private final Map<UUID, Armed> armed = new ConcurrentHashMap<>();
+
+    public SlaBreachDetector(ServiceSessionRepository sessionRepository, NotificationService notificationService,
+                             @Qualifier("slaAlertExecutor") Executor alertExecutor,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationProperties applicationProperties) {
+        this.sessionRepository = sessionRepository;
+        this.notificationService = notificationService;
+        this.alertExecutor = alertExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager); // Read-write, so the primary answers
+        this.business = applicationProperties.getBusiness();
+        ApplicationProperties.Business.Alerts.Detector detector = business.getAlerts().getDetector();
+        this.wheel = new DeadlineWheel("SlaDeadlines", Duration.ofMillis(detector.getTickMillis()),
+                detector.getTicksPerWheel());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStepChanged(SessionStepChangedEvent event) {
+        arm(event.sessionId(), deadlineFor(event.step(), event.stepStartedAt(), event.mealCount()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ServiceSession> open = transactionTemplate.execute(status -> sessionRepository.findOpenSessionsByStep(
+                TIMED_STEPS, LocalDateTime.now().minus(ServiceSessionRepository.OPEN_SESSION_WINDOW)));
+        open.forEach(session -> arm(session.getId(), deadlineFor(session)));
+        log.info("Armed SLA deadlines for {} in-flight sessions", open.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.close();
+    }
+
+    int armedCount() {
+        return armed.size();
+    }
+
+    Deadline deadlineFor(ServiceSession session) {
+        return deadlineFor(session.getStep(), SessionStepChangedEvent.stepStartedAt(session),
+                session.getMealCount() != null ? session.getMealCount() : 0);
+    }
+
+    Deadline deadlineFor(SessionStep step, LocalDateTime startedAt, int mealCount) {
+        if (startedAt == null || !TIMED_STEPS.contains(step)) {
+            return null;
+        }
+        ApplicationProperties.Business.Alerts alerts = business.getAlerts();
+        return switch (step) {
+            case IN_TRANSIT -> new Deadline(step, Breach.TRAVEL_TIME_EXCEEDED, startedAt,
+                    startedAt.plusSeconds(alerts.getTravelTimeThreshold()));
+            case AWAITING_NURSE_RESPONSE -> new Deadline(step, Breach.NURSE_RESPONSE_TIMEOUT, startedAt,
+                    startedAt.plusSeconds(alerts.getNurseResponseThreshold()));
+            default -> {
+                // Meals per minute, so a larger round is allowed proportionally longer
+                double rate = business.getPerformance().getTargetServingRate();
+                if (rate <= 0 || mealCount <= 0) {
+                    yield null;
+                }
+                yield new Deadline(step, Breach.SLOW_SERVING_RATE, startedAt,
+                        startedAt.plusSeconds((long) Math.ceil(mealCount * 60 / rate)));
+            }
+        };
+    }
+
+    // Replaces whatever the session had armed; a null deadline just cancels it
+    private void arm(UUID sessionId, Deadline deadline) {
+        armed.compute(sessionId, (id, previous) -> {
+            if (previous != null) {
+                previous.timeout().cancel();
+            }
+            if (deadline == null) {
+                return null;
+            }
+            Duration delay = Duration.between(LocalDateTime.now(), deadline.dueAt());
+            return new Armed(deadline, wheel.schedule(() -> onDeadline(id, deadline), delay));
+        });
+    }
+
+    // Runs on the wheel thread, so the database read is handed off
+    private void onDeadline(UUID sessionId, Deadline deadline) {
+        armed.computeIfPresent(sessionId, (id, current) -> current.deadline() == deadline ? null : current);
+        alertExecutor.execute(() -> checkBreach(sessionId, deadline));
+    }
+
+    void checkBreach(UUID sessionId, Deadline deadline) {
+        ServiceSession session = transactionTemplate.execute(status ->
+                sessionRepository.findWithAssociationsByIdIn(List.of(sessionId)).stream().findFirst().orElse(null));
+        if (session == null) {
+            return;
+        }
+
+        Deadline current = deadlineFor(session);
+        if (!deadline.sameSpan(current) || current.dueAt().isAfter(LocalDateTime.now())) {
+            // Moved on, or its meal count changed, since this was armed; follow the session as it is now
+            arm(sessionId, current);
+            return;
+        }
+
+        log.warn("Session {} breached {} at {}", session.getSessionId(), deadline.breach().getAlertType(),
+                deadline.dueAt());
+        notificationService.sendPerformanceAlert(session, deadline.breach().getAlertType(), deadline.message());
+    }
+}
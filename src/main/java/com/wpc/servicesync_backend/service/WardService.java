@@ -1,12 +1,13 @@
 // src/main/java/com/wpc/servicesync_backend/service/WardService.java
 package com.wpc.servicesync_backend.service;
 
-import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.dto.ServiceSessionView;
 import com.wpc.servicesync_backend.dto.WardResponse;
 import com.wpc.servicesync_backend.exception.ServiceException;
 import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionView;
 import com.wpc.servicesync_backend.model.entity.Ward;
-import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.SessionViewRepository;
 import com.wpc.servicesync_backend.repository.WardRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,12 +27,12 @@ import java.util.stream.Collectors;
 public class WardService {
 
     private final WardRepository wardRepository;
-    private final ServiceSessionRepository sessionRepository;
+    private final SessionViewRepository sessionViewRepository;
     private final ServiceSessionService sessionService;
 
     @Cacheable(value = "wards", key = "#hospitalId")
     public List<WardResponse> getWardsByHospital(UUID hospitalId) {
-        log.info("Fetching wards for hospital: {}", hospitalId);
+        log.debug("Fetching wards for hospital: {}", hospitalId);
         return wardRepository.findByHospital_IdAndIsActiveTrue(hospitalId)
                 .stream()
                 .map(this::mapToResponse)
@@ -39,7 +40,7 @@ public class WardService {
     }
 
     public WardResponse getWardById(UUID id) {
-        log.info("Fetching ward by ID: {}", id);
+        log.debug("Fetching ward by ID: {}", id);
         Ward ward = wardRepository.findById(id)
                 .orElseThrow(() -> ServiceException.notFound("Ward not found with id: " + id));
         return mapToResponse(ward);
@@ -47,7 +48,7 @@ public class WardService {
 
     @Cacheable("wards")
     public List<WardResponse> getAllActiveWards() {
-        log.info("Fetching all active wards");
+        log.debug("Fetching all active wards");
         return wardRepository.findAllActiveWardsOrderByHospitalAndName()
                 .stream()
                 .map(this::mapToResponse)
@@ -55,47 +56,19 @@ public class WardService {
     }
 
     public Map<String, Object> getWardSessions(UUID wardId) {
-        log.info("Fetching sessions for ward: {}", wardId);
+        log.debug("Fetching sessions for ward: {}", wardId);
 
         Ward ward = wardRepository.findById(wardId)
                 .orElseThrow(() -> ServiceException.notFound("Ward not found with id: " + wardId));
 
-        // Get active sessions for this ward
-        List<ServiceSessionResponse> activeSessions = sessionRepository.findByWardIdAndStatus(wardId, SessionStatus.ACTIVE)
+        List<ServiceSessionView> activeSessions = sessionViewRepository.findByWardIdAndStatus(wardId, SessionStatus.ACTIVE)
                 .stream()
-                .map(session -> ServiceSessionResponse.builder()
-                        .id(session.getId())
-                        .sessionId(session.getSessionId())
-                        .employeeName(session.getEmployee().getName())
-                        .employeeId(session.getEmployee().getEmployeeId())
-                        .wardName(session.getWard().getName())
-                        .hospitalName(session.getWard().getHospital().getName())
-                        .mealType(session.getMealType())
-                        .mealCount(session.getMealCount())
-                        .mealsServed(session.getMealsServed())
-                        .status(session.getStatus())
-                        .completionRate(session.getCompletionRate())
-                        .currentStep(session.getCurrentStep())
-                        .efficiencyRating(session.getEfficiencyRating())
-                        .createdAt(session.getCreatedAt())
-                        .build())
-                .collect(Collectors.toList());
-
-        // Get sessions awaiting nurse response
-        List<ServiceSessionResponse> awaitingNurse = sessionRepository.findSessionsAwaitingNurseResponse()
+                .map(WardService::toSessionView)
+                .toList();
+        List<ServiceSessionView> awaitingNurse = sessionViewRepository.findSessionsAwaitingNurseResponseByWard(wardId)
                 .stream()
-                .filter(session -> session.getWard().getId().equals(wardId))
-                .map(session -> ServiceSessionResponse.builder()
-                        .id(session.getId())
-                        .sessionId(session.getSessionId())
-                        .employeeName(session.getEmployee().getName())
-                        .wardName(session.getWard().getName())
-                        .mealType(session.getMealType())
-                        .mealCount(session.getMealCount())
-                        .nurseAlertTime(session.getNurseAlertTime())
-                        .currentStep(session.getCurrentStep())
-                        .build())
-                .collect(Collectors.toList());
+                .map(WardService::toSessionView)
+                .toList();
 
         return Map.of(
                 "wardName", ward.getName(),
@@ -110,7 +83,7 @@ public class WardService {
 
     private WardResponse mapToResponse(Ward ward) {
         // Calculate active sessions count
-        int activeSessionsCount = sessionRepository.findByWardIdAndStatus(ward.getId(), SessionStatus.ACTIVE).size();
+        int activeSessionsCount = (int) sessionViewRepository.countByWardIdAndStatus(ward.getId(), SessionStatus.ACTIVE);
 
         return WardResponse.builder()
                 .id(ward.getId())
@@ -124,4 +97,41 @@ public class WardService {
                 .activeSessionsCount(activeSessionsCount)
                 .build();
     }
-}
\ No newline at end of file
+
+    private static ServiceSessionView toSessionView(SessionView session) {
+        return new ServiceSessionView(
+                session.getId(),
+                session.getSessionId(),
+                session.getEmployeeName(),
+                session.getEmployeeCode(),
+                session.getWardName(),
+                session.getHospitalName(),
+                session.getMealType(),
+                session.getMealCount(),
+                session.getMealsServed(),
+                session.getStatus(),
+                session.getCompletionRate(),
+                session.getCurrentStep(),
+                session.getEfficiencyRating(),
+                session.getKitchenExitTime(),
+                session.getWardArrivalTime(),
+                session.getNurseAlertTime(),
+                session.getNurseResponseTime(),
+                session.getServiceStartTime(),
+                session.getServiceCompleteTime(),
+                orZero(session.getTravelTimeMillis()) / 1000,
+                orZero(session.getNurseResponseMillis()) / 1000,
+                orZero(session.getServingTimeMillis()) / 1000,
+                session.getElapsedTime() / 1000,
+                session.getComments(),
+                session.getNurseName(),
+                session.getDietSheetDocumented(),
+                session.getDietSheetNotes(),
+                session.getCreatedAt(),
+                session.getUpdatedAt());
+    }
+
+    private static long orZero(Long millis) {
+        return millis != null ? millis : 0L;
+    }
+}
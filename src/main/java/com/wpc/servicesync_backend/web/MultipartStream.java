@@ -0,0 +1,290 @@
+package com.wpc.servicesync_backend.web;
+
+import com.wpc.servicesync_backend.exception.ServiceException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Reads a multipart/form-data body part by part straight off the request, for uploads
+ * that should not be spooled to memory or disk by the container first. Each part's
+ * content is an {@link InputStream} that ends at the next boundary; only one part is
+ * open at a time, and {@link #next()} skips whatever is left of the previous one.
+ * Memory use is one read buffer and the headers of the current part, whatever the
+ * size of the body. The body as a whole is limited to {@code maxRequestSize}.
+ */
+public final class MultipartStream {
+
+    /** One part: its form field name, the file name if it is a file, and its content. */
+    public record Part(String name, String fileName, String contentType, InputStream content) {
+
+        public boolean isFile() {
+            return fileName != null;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_HEADER_SIZE = 8192;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final InputStream in;
+    // CRLF + "--" + boundary: the CRLF before a boundary belongs to it, not to the content
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+    private boolean eof;
+
+    private PartInputStream current;
+    private boolean finished;
+
+    MultipartStream(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+        // The first boundary has no CRLF before it; supplying one lets the preamble
+        // be skipped like any other part
+        System.arraycopy(CRLF, 0, buffer, 0, CRLF.length);
+        this.tail = CRLF.length;
+        this.current = new PartInputStream();
+    }
+
+    /**
+     * Opens the request body, failing with {@link MaxUploadSizeExceededException} up
+     * front when the declared length is over {@code maxRequestSize} and on the read
+     * that crosses it when the body is chunked.
+     */
+    public static MultipartStream of(HttpServletRequest request, long maxRequestSize) throws IOException {
+        MediaType contentType;
+        try {
+            contentType = MediaType.parseMediaType(request.getContentType());
+        } catch (RuntimeException e) {
+            throw ServiceException.badRequest("Expected a multipart/form-data request");
+        }
+        String boundary = contentType.getParameter("boundary");
+        if (!MediaType.MULTIPART_FORM_DATA.includes(contentType) || boundary == null || boundary.isEmpty()) {
+            throw ServiceException.badRequest("Expected a multipart/form-data request");
+        }
+        if (request.getContentLengthLong() > maxRequestSize) {
+            throw new MaxUploadSizeExceededException(maxRequestSize);
+        }
+        return new MultipartStream(new LimitedInputStream(request.getInputStream(), maxRequestSize),
+                unquote(boundary));
+    }
+
+    /**
+     * @return the next part, or empty after the closing boundary
+     */
+    public Optional<Part> next() throws IOException {
+        if (finished) {
+            return Optional.empty();
+        }
+        current.skipRest();
+
+        byte[] after = new byte[2];
+        after[0] = (byte) readByte();
+        after[1] = (byte) readByte();
+        if (after[0] == '-' && after[1] == '-') {
+            finished = true;
+            return Optional.empty();
+        }
+        // Transport padding may follow a boundary before its CRLF
+        if (after[0] != '\r' || after[1] != '\n') {
+            readLine(after);
+        }
+
+        String name = null;
+        String fileName = null;
+        String contentType = null;
+        int headerBytes = 0;
+        for (String line = readLine(null); !line.isEmpty(); line = readLine(null)) {
+            headerBytes += line.length() + CRLF.length;
+            if (headerBytes > MAX_HEADER_SIZE) {
+                throw malformed("part headers too large");
+            }
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String header = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (header.equalsIgnoreCase(HttpHeaders.CONTENT_DISPOSITION)) {
+                ContentDisposition disposition = ContentDisposition.parse(value);
+                name = disposition.getName();
+                fileName = disposition.getFilename();
+            } else if (header.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)) {
+                contentType = value;
+            }
+        }
+
+        current = new PartInputStream();
+        return Optional.of(new Part(name, fileName, contentType, current));
+    }
+
+    private int readByte() throws IOException {
+        if (!fill(1)) {
+            throw malformed("unexpected end of body");
+        }
+        return buffer[head++] & 0xFF;
+    }
+
+    // Header lines are ISO-8859-1 per RFC 7230; a non-ASCII file name arrives percent- or RFC 2047-encoded
+    private String readLine(byte[] prefix) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int previous = -1;
+        if (prefix != null) {
+            line.writeBytes(prefix);
+            previous = prefix[prefix.length - 1];
+        }
+        while (true) {
+            int b = readByte();
+            if (previous == '\r' && b == '\n') {
+                return new String(line.toByteArray(), 0, line.size() - 1, StandardCharsets.ISO_8859_1);
+            }
+            if (line.size() >= MAX_HEADER_SIZE) {
+                throw malformed("part headers too large");
+            }
+            line.write(b);
+            previous = b;
+        }
+    }
+
+    /**
+     * Reads until at least {@code count} bytes are buffered or the body ends.
+     *
+     * @return false if the body ended first
+     */
+    private boolean fill(int count) throws IOException {
+        if (tail - head >= count) {
+            return true;
+        }
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        while (tail < count && !eof) {
+            int read = in.read(buffer, tail, buffer.length - tail);
+            if (read < 0) {
+                eof = true;
+            } else {
+                tail += read;
+            }
+        }
+        return tail >= count;
+    }
+
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        for (int i = head; i <= last; i++) {
+            int j = 0;
+            while (j < delimiter.length && buffer[i + j] == delimiter[j]) {
+                j++;
+            }
+            if (j == delimiter.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ServiceException malformed(String reason) {
+        return ServiceException.badRequest("Malformed multipart request: " + reason);
+    }
+
+    private static String unquote(String value) {
+        return value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1)
+                : value;
+    }
+
+    /** A part's content, up to the next delimiter, which it consumes at the end. */
+    private final class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            fill(Math.min(buffer.length, delimiter.length + len));
+            int found = indexOfDelimiter();
+            if (found == head) {
+                head += delimiter.length;
+                done = true;
+                return -1;
+            }
+            if (found < 0 && tail - head < delimiter.length) {
+                throw malformed("unexpected end of body");
+            }
+            // Without a match, the last delimiter.length - 1 bytes may start one
+            int available = found >= 0 ? found - head : tail - head - (delimiter.length - 1);
+            int count = Math.min(len, available);
+            System.arraycopy(buffer, head, b, off, count);
+            head += count;
+            return count;
+        }
+
+        void skipRest() throws IOException {
+            byte[] discard = new byte[BUFFER_SIZE];
+            while (read(discard, 0, discard.length) >= 0) {
+                // drain
+            }
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxSize;
+        private long count;
+
+        LimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) {
+            count += read;
+            if (count > maxSize) {
+                throw new MaxUploadSizeExceededException(maxSize);
+            }
+        }
+    }
+}
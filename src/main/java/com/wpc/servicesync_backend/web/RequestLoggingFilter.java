@@ -0,0 +1,63 @@
+package com.wpc.servicesync_backend.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Puts the request id into the MDC, so every line a request writes carries it and
+ * messages need not repeat who or what they are about. The id is taken from the
+ * X-Request-Id header when the caller sent a usable one, and echoed back either way.
+ * Log sampling draws from a separate value generated here, so a caller cannot pick an
+ * id whose lines are dropped. JwtAuthenticationFilter adds the employee and hospital
+ * once the token checks out.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID = "requestId";
+    public static final String SAMPLE = "sample";
+    public static final String EMPLOYEE = "employee";
+    public static final String HOSPITAL = "hospital";
+
+    // Anything else could forge log fields or lines
+    private static final Pattern USABLE_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !USABLE_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+        }
+        MDC.put(REQUEST_ID, requestId);
+        MDC.put(SAMPLE, Integer.toHexString(ThreadLocalRandom.current().nextInt()));
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(SAMPLE);
+            MDC.remove(EMPLOYEE);
+            MDC.remove(HOSPITAL);
+        }
+    }
+}
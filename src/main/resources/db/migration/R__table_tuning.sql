@@ -0,0 +1,17 @@
+-- Planner and autovacuum settings, reapplied whenever this file changes.
+-- Every statement must be safe to run again.
+
+-- Open sessions are a percent or two of service_sessions; a larger sample keeps their
+-- share visible to the planner so the partial open-session indexes get picked.
+ALTER TABLE service_sessions ALTER COLUMN status SET STATISTICS 1000;
+ALTER TABLE service_sessions ALTER COLUMN current_step SET STATISTICS 1000;
+
+-- Insert-then-expire tables: vacuum and analyze them on small churn rather than
+-- the default 20% of the table.
+ALTER TABLE idempotency_records SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_analyze_scale_factor = 0.02);
+ALTER TABLE processed_session_events SET (autovacuum_vacuum_scale_factor = 0.05, autovacuum_analyze_scale_factor = 0.05);
+
+-- session_view rows are rewritten on every session change; leave room on each page
+-- so updates that do not touch indexed columns stay heap-only.
+ALTER TABLE session_view SET (fillfactor = 80, autovacuum_vacuum_scale_factor = 0.05);
+ALTER TABLE session_view ALTER COLUMN status SET STATISTICS 1000;
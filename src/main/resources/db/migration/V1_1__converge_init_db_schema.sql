@@ -0,0 +1,125 @@
+-- Databases created by the old docker/init-scripts/init-db.sql, before migrations,
+-- are baselined at V1 but do not match it: PG enum types for role, meal_type and
+-- status, nullable columns the entities treat as required, no diet sheet columns,
+-- and init-db's own index and foreign key names. This brings them to V1. On a
+-- database V1 created, every step finds nothing to do.
+--
+-- Converting the enum columns rewrites employees and service_sessions under an
+-- exclusive lock, so run the upgrade of such a database outside meal service.
+-- Column defaults init-db added are left in place; the application sets those
+-- columns itself.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'employees'
+                 AND column_name = 'role' AND data_type = 'USER-DEFINED') THEN
+        ALTER TABLE employees ALTER COLUMN role TYPE VARCHAR(50) USING role::text;
+        ALTER TABLE employees ADD CONSTRAINT employees_role_check
+            CHECK (role IN ('HOSTESS', 'NURSE', 'SUPERVISOR', 'ADMIN'));
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'service_sessions'
+                 AND column_name = 'meal_type' AND data_type = 'USER-DEFINED') THEN
+        -- The status default is typed as the enum, so it cannot follow the column
+        ALTER TABLE service_sessions ALTER COLUMN status DROP DEFAULT;
+        UPDATE service_sessions SET meals_served = 0 WHERE meals_served IS NULL;
+        UPDATE service_sessions SET status = 'ACTIVE' WHERE status IS NULL;
+        ALTER TABLE service_sessions
+            ALTER COLUMN meal_type TYPE VARCHAR(255) USING meal_type::text,
+            ALTER COLUMN status TYPE VARCHAR(255) USING status::text,
+            ADD CONSTRAINT service_sessions_meal_type_check
+                CHECK (meal_type IN ('BREAKFAST', 'LUNCH', 'SUPPER', 'BEVERAGES')),
+            ADD CONSTRAINT service_sessions_meal_count_check CHECK (meal_count >= 1 AND meal_count <= 100),
+            ADD CONSTRAINT service_sessions_meals_served_check CHECK (meals_served >= 0),
+            ADD CONSTRAINT service_sessions_status_check
+                CHECK (status IN ('ACTIVE', 'IN_TRANSIT', 'COMPLETED', 'CANCELLED'));
+    END IF;
+END
+$$;
+
+DROP TYPE IF EXISTS employee_role;
+DROP TYPE IF EXISTS meal_type;
+DROP TYPE IF EXISTS session_status;
+DROP TYPE IF EXISTS qr_location_type;
+
+ALTER TABLE service_sessions
+    ADD COLUMN IF NOT EXISTS diet_sheet_photo_path VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS diet_sheet_notes      TEXT,
+    ADD COLUMN IF NOT EXISTS diet_sheet_documented BOOLEAN DEFAULT false NOT NULL;
+
+-- Required columns init-db left nullable. A ward, employee or session without its
+-- hospital, employee or ward fails here and has to be fixed or removed by hand.
+UPDATE hospitals SET is_active = true WHERE is_active IS NULL;
+UPDATE hospitals SET created_at = now() WHERE created_at IS NULL;
+UPDATE hospitals SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE hospitals
+    ALTER COLUMN is_active SET NOT NULL,
+    ALTER COLUMN created_at SET NOT NULL,
+    ALTER COLUMN updated_at SET NOT NULL;
+
+UPDATE wards SET is_active = true WHERE is_active IS NULL;
+UPDATE wards SET created_at = now() WHERE created_at IS NULL;
+UPDATE wards SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE wards
+    ALTER COLUMN hospital_id SET NOT NULL,
+    ALTER COLUMN is_active SET NOT NULL,
+    ALTER COLUMN created_at SET NOT NULL,
+    ALTER COLUMN updated_at SET NOT NULL;
+
+UPDATE employees SET is_active = true WHERE is_active IS NULL;
+UPDATE employees SET created_at = now() WHERE created_at IS NULL;
+UPDATE employees SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE employees
+    ALTER COLUMN hospital_id SET NOT NULL,
+    ALTER COLUMN is_active SET NOT NULL,
+    ALTER COLUMN created_at SET NOT NULL,
+    ALTER COLUMN updated_at SET NOT NULL;
+
+UPDATE service_sessions SET created_at = now() WHERE created_at IS NULL;
+UPDATE service_sessions SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE service_sessions
+    ALTER COLUMN employee_id SET NOT NULL,
+    ALTER COLUMN ward_id SET NOT NULL,
+    ALTER COLUMN meals_served SET NOT NULL,
+    ALTER COLUMN status SET NOT NULL,
+    ALTER COLUMN created_at SET NOT NULL,
+    ALTER COLUMN updated_at SET NOT NULL;
+
+-- Foreign keys under V1's names, which the partition conversion carries over
+DO $$
+DECLARE
+    renames CONSTANT TEXT[][] := ARRAY[
+        ['wards', 'wards_hospital_id_fkey', 'fk_wards_hospital'],
+        ['employees', 'employees_hospital_id_fkey', 'fk_employees_hospital'],
+        ['service_sessions', 'service_sessions_employee_id_fkey', 'fk_sessions_employee'],
+        ['service_sessions', 'service_sessions_ward_id_fkey', 'fk_sessions_ward']];
+    i INTEGER;
+BEGIN
+    FOR i IN 1 .. array_length(renames, 1) LOOP
+        IF EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = renames[i][1]::regclass AND conname = renames[i][2]) THEN
+            EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', renames[i][1], renames[i][2], renames[i][3]);
+        END IF;
+    END LOOP;
+END
+$$;
+
+-- init-db's indexes: the status one under V1's name, the rest duplicate unique
+-- constraints or are superseded by V3_3 and V4
+DO $$
+BEGIN
+    IF to_regclass('idx_sessions_status_created') IS NOT NULL THEN
+        IF to_regclass('idx_status_created') IS NULL THEN
+            ALTER INDEX idx_sessions_status_created RENAME TO idx_status_created;
+        ELSE
+            DROP INDEX idx_sessions_status_created;
+        END IF;
+    END IF;
+END
+$$;
+DROP INDEX IF EXISTS idx_sessions_session_id;
+DROP INDEX IF EXISTS idx_sessions_employee_ward;
+DROP INDEX IF EXISTS idx_employees_employee_id;
+DROP INDEX IF EXISTS idx_employees_hospital_id;
@@ -0,0 +1,76 @@
+-- Baseline: the schema as managed by Hibernate before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE hospitals (
+    id              UUID         NOT NULL,
+    code            VARCHAR(50)  NOT NULL UNIQUE,
+    name            VARCHAR(255) NOT NULL,
+    address         TEXT,
+    contact_email   VARCHAR(255),
+    contact_phone   VARCHAR(50),
+    is_active       BOOLEAN      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE wards (
+    id              UUID         NOT NULL,
+    hospital_id     UUID         NOT NULL,
+    name            VARCHAR(100) NOT NULL,
+    floor_number    INTEGER,
+    capacity        INTEGER,
+    is_active       BOOLEAN      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_wards_hospital FOREIGN KEY (hospital_id) REFERENCES hospitals
+);
+
+CREATE TABLE employees (
+    id              UUID         NOT NULL,
+    employee_id     VARCHAR(50)  NOT NULL UNIQUE,
+    name            VARCHAR(255) NOT NULL,
+    email           VARCHAR(255) UNIQUE,
+    password_hash   VARCHAR(255) NOT NULL,
+    role            VARCHAR(50)  NOT NULL CHECK (role IN ('HOSTESS', 'NURSE', 'SUPERVISOR', 'ADMIN')),
+    hospital_id     UUID         NOT NULL,
+    shift_schedule  JSONB,
+    is_active       BOOLEAN      NOT NULL,
+    last_login      TIMESTAMP(6),
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_employees_hospital FOREIGN KEY (hospital_id) REFERENCES hospitals
+);
+
+CREATE TABLE service_sessions (
+    id                      UUID         NOT NULL,
+    session_id              VARCHAR(100) NOT NULL UNIQUE,
+    employee_id             UUID         NOT NULL,
+    ward_id                 UUID         NOT NULL,
+    meal_type               VARCHAR(255) NOT NULL CHECK (meal_type IN ('BREAKFAST', 'LUNCH', 'SUPPER', 'BEVERAGES')),
+    meal_count              INTEGER      NOT NULL CHECK (meal_count >= 1 AND meal_count <= 100),
+    meals_served            INTEGER      NOT NULL CHECK (meals_served >= 0),
+    status                  VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'IN_TRANSIT', 'COMPLETED', 'CANCELLED')),
+    kitchen_exit_time       TIMESTAMP(6),
+    ward_arrival_time       TIMESTAMP(6),
+    nurse_alert_time        TIMESTAMP(6),
+    nurse_response_time     TIMESTAMP(6),
+    service_start_time      TIMESTAMP(6),
+    service_complete_time   TIMESTAMP(6),
+    comments                TEXT,
+    nurse_name              VARCHAR(255),
+    diet_sheet_photo_path   VARCHAR(255),
+    diet_sheet_notes        TEXT,
+    diet_sheet_documented   BOOLEAN      NOT NULL,
+    created_at              TIMESTAMP(6) NOT NULL,
+    updated_at              TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_sessions_employee FOREIGN KEY (employee_id) REFERENCES employees,
+    CONSTRAINT fk_sessions_ward FOREIGN KEY (ward_id) REFERENCES wards
+);
+
+CREATE INDEX idx_session_id ON service_sessions (session_id);
+CREATE INDEX idx_employee_ward ON service_sessions (employee_id, ward_id);
+CREATE INDEX idx_status_created ON service_sessions (status, created_at);
@@ -0,0 +1,7 @@
+-- Report filters and sorts on the materialised session metrics added by V2. Built
+-- CONCURRENTLY, outside a transaction (see the .conf file), so service_sessions keeps
+-- taking writes; a failed build leaves an INVALID index to drop before migrating again.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_completion_rate ON service_sessions (completion_rate);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_travel_time ON service_sessions (travel_time_ms);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_nurse_response_time ON service_sessions (nurse_response_ms);
@@ -0,0 +1,50 @@
+-- Offline event ingestion, idempotency keys, optimistic locking, the workflow
+-- state machine and materialised session metrics. Written with IF NOT EXISTS so
+-- it also applies cleanly to baselined databases where Hibernate already added them.
+
+CREATE TABLE IF NOT EXISTS processed_session_events (
+    client_event_id     VARCHAR(100) NOT NULL,
+    service_session_id  UUID         NOT NULL,
+    event_type          VARCHAR(50)  NOT NULL CHECK (event_type IN ('QR_SCAN', 'ALERT_NURSE', 'NURSE_RESPONSE', 'COMPLETE')),
+    occurred_at         TIMESTAMP(6) NOT NULL,
+    processed_at        TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (client_event_id)
+);
+CREATE INDEX IF NOT EXISTS idx_processed_event_session ON processed_session_events (service_session_id, occurred_at);
+
+CREATE TABLE IF NOT EXISTS idempotency_records (
+    scope_key           VARCHAR(320) NOT NULL,
+    request_fingerprint VARCHAR(64)  NOT NULL,
+    response_status     INTEGER      NOT NULL,
+    content_type        VARCHAR(100),
+    response_body       TEXT,
+    created_at          TIMESTAMP(6) NOT NULL,
+    expires_at          TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (scope_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires ON idempotency_records (expires_at);
+
+CREATE TABLE IF NOT EXISTS session_transitions (
+    id                  UUID         NOT NULL,
+    service_session_id  UUID         NOT NULL,
+    from_step           VARCHAR(50)  NOT NULL,
+    to_step             VARCHAR(50)  NOT NULL,
+    trigger_type        VARCHAR(50)  NOT NULL,
+    occurred_at         TIMESTAMP(6) NOT NULL,
+    recorded_at         TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_transition_session ON session_transitions (service_session_id, occurred_at);
+
+ALTER TABLE service_sessions
+    ADD COLUMN IF NOT EXISTS version            BIGINT DEFAULT 0 NOT NULL,
+    ADD COLUMN IF NOT EXISTS current_step       VARCHAR(50),
+    ADD COLUMN IF NOT EXISTS travel_time_ms     BIGINT,
+    ADD COLUMN IF NOT EXISTS nurse_response_ms  BIGINT,
+    ADD COLUMN IF NOT EXISTS serving_time_ms    BIGINT,
+    ADD COLUMN IF NOT EXISTS total_duration_ms  BIGINT,
+    ADD COLUMN IF NOT EXISTS completion_rate    FLOAT(53),
+    ADD COLUMN IF NOT EXISTS serving_rate       FLOAT(53),
+    ADD COLUMN IF NOT EXISTS efficiency_rating  VARCHAR(20);
+
+-- Their indexes are built concurrently by V2_1
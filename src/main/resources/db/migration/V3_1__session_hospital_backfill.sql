@@ -0,0 +1,26 @@
+-- Copies each session's hospital from its ward, 10,000 rows at a time in primary key
+-- order, committing after each batch (see the .conf file) so no lock is held for long
+-- and a failure keeps the batches already done. Safe to run again: filled rows are
+-- skipped.
+DO $$
+DECLARE
+    last_id   UUID := '00000000-0000-0000-0000-000000000000';
+    batch_end UUID;
+BEGIN
+    LOOP
+        SELECT id INTO batch_end
+        FROM (SELECT id FROM service_sessions WHERE id > last_id ORDER BY id LIMIT 10000) batch
+        ORDER BY id DESC
+        LIMIT 1;
+        EXIT WHEN batch_end IS NULL;
+
+        UPDATE service_sessions s
+        SET hospital_id = w.hospital_id
+        FROM wards w
+        WHERE w.id = s.ward_id AND s.id > last_id AND s.id <= batch_end AND s.hospital_id IS NULL;
+
+        last_id := batch_end;
+        COMMIT;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,18 @@
+-- Makes hospital_id required once V3_1 has filled it. VALIDATE CONSTRAINT scans the
+-- table without blocking writes, and SET NOT NULL then skips its own scan because
+-- the validated CHECK already proves it, so the exclusive lock is only held briefly
+-- at the end.
+
+-- Sessions created by instances still on the previous release while V3_1 ran
+UPDATE service_sessions s
+SET hospital_id = w.hospital_id
+FROM wards w
+WHERE w.id = s.ward_id AND s.hospital_id IS NULL;
+
+ALTER TABLE service_sessions VALIDATE CONSTRAINT fk_sessions_hospital;
+
+ALTER TABLE service_sessions
+    ADD CONSTRAINT chk_sessions_hospital_not_null CHECK (hospital_id IS NOT NULL) NOT VALID;
+ALTER TABLE service_sessions VALIDATE CONSTRAINT chk_sessions_hospital_not_null;
+ALTER TABLE service_sessions ALTER COLUMN hospital_id SET NOT NULL;
+ALTER TABLE service_sessions DROP CONSTRAINT chk_sessions_hospital_not_null;
@@ -0,0 +1,39 @@
+-- Indexes shaped after the predicates and sort order of ServiceSessionRepository's
+-- queries, built once V3_2 has made hospital_id required. SessionQueryPlanTest
+-- checks each repository method against these.
+--
+-- Built and dropped CONCURRENTLY, outside a transaction (see the .conf file), as
+-- service_sessions takes writes throughout meal service. If a build fails it leaves
+-- an INVALID index behind: drop it, run flyway repair and migrate again.
+
+-- findRecentSessionsByHospital
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sessions_hospital_created ON service_sessions (hospital_id, created_at DESC);
+
+-- findByWardIdAndStatus, findCompletedSessionsByWard
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sessions_ward_status_created ON service_sessions (ward_id, status, created_at DESC);
+
+-- findByEmployeeIdAndStatus, findRecentSessionsByEmployee, findCompletedSessionsByEmployee
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sessions_employee_created ON service_sessions (employee_id, created_at DESC);
+
+-- getMealTypeStatisticsSince, getWardActivityStatisticsSince, and getCompletedSessionsCountSince
+-- (COMPLETED is most of the table, so created_at alone is the selective column)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sessions_created ON service_sessions (created_at);
+
+-- Open sessions are a small, hot slice of the table. Time-window queries over them
+-- (findAllActiveSessions, findStaleActiveSessions) are already served by
+-- idx_status_created; step lookups get partial indexes holding only ACTIVE/IN_TRANSIT
+-- rows, used by queries that repeat the same status predicate.
+
+-- findOpenSessionsByStep (nurse response queue)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sessions_open_step ON service_sessions (current_step, created_at)
+    WHERE status IN ('ACTIVE', 'IN_TRANSIT');
+
+-- findOpenSessionsByStepAndWard
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sessions_open_ward_step ON service_sessions (ward_id, current_step)
+    WHERE status IN ('ACTIVE', 'IN_TRANSIT');
+
+-- Superseded: the unique constraint on session_id already indexes it, the open-step
+-- indexes replace the step/ward one, and employee lookups never filter on ward alone
+DROP INDEX CONCURRENTLY IF EXISTS idx_session_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_current_step_ward;
+DROP INDEX CONCURRENTLY IF EXISTS idx_employee_ward;
@@ -0,0 +1,11 @@
+-- Hospital dashboards and reports filtered through wards -> hospitals; carry the
+-- hospital on the session so they become a single range scan. The indexes shaped
+-- after ServiceSessionRepository's queries are built concurrently by V3_3.
+--
+-- service_sessions is large and written throughout meal service, so nothing here
+-- scans it under a lock: the column and its foreign key are added without checking
+-- existing rows (NOT VALID), V3_1 backfills in batches, and V3_2 validates.
+ALTER TABLE service_sessions ADD COLUMN IF NOT EXISTS hospital_id UUID;
+
+ALTER TABLE service_sessions
+    ADD CONSTRAINT fk_sessions_hospital FOREIGN KEY (hospital_id) REFERENCES hospitals NOT VALID;
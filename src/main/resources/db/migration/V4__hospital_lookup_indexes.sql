@@ -0,0 +1,15 @@
+-- Ward and employee lookups by hospital (WardRepository.findByHospital_IdAndIsActiveTrue,
+-- EmployeeRepository.findByHospitalAndRole). PostgreSQL does not index foreign keys
+-- on its own, so these filtered on hospital_id with a scan.
+--
+-- Built CONCURRENTLY so they don't block writes on a live database; this migration
+-- therefore runs outside a transaction (see the .conf file). If a build fails it
+-- leaves an INVALID index behind: drop it, run flyway repair and migrate again.
+-- Partitioned tables (service_sessions) cannot be indexed concurrently; index each
+-- partition concurrently, then CREATE INDEX ON ONLY the parent and ATTACH them.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wards_hospital_active
+    ON wards (hospital_id, name) WHERE is_active;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_hospital_role
+    ON employees (hospital_id, role) WHERE is_active;
@@ -0,0 +1,53 @@
+-- Denormalised read model for supervisor screens, maintained asynchronously from
+-- session change events. Rows are filled in by the application's reconciler on
+-- first start, so this only creates the empty table.
+
+CREATE TABLE session_view (
+    id                      UUID         NOT NULL,
+    session_id              VARCHAR(100) NOT NULL,
+    hospital_id             UUID         NOT NULL,
+    hospital_name           VARCHAR(255) NOT NULL,
+    ward_id                 UUID         NOT NULL,
+    ward_name               VARCHAR(100) NOT NULL,
+    employee_id             UUID         NOT NULL,
+    employee_code           VARCHAR(50)  NOT NULL,
+    employee_name           VARCHAR(255) NOT NULL,
+    meal_type               VARCHAR(255) NOT NULL,
+    meal_count              INTEGER      NOT NULL,
+    meals_served            INTEGER      NOT NULL,
+    status                  VARCHAR(255) NOT NULL,
+    current_step            VARCHAR(50)  NOT NULL,
+    kitchen_exit_time       TIMESTAMP(6),
+    ward_arrival_time       TIMESTAMP(6),
+    nurse_alert_time        TIMESTAMP(6),
+    nurse_response_time     TIMESTAMP(6),
+    service_start_time      TIMESTAMP(6),
+    service_complete_time   TIMESTAMP(6),
+    travel_time_ms          BIGINT,
+    nurse_response_ms       BIGINT,
+    serving_time_ms         BIGINT,
+    total_duration_ms       BIGINT,
+    completion_rate         FLOAT(53)    NOT NULL,
+    serving_rate            FLOAT(53)    NOT NULL,
+    efficiency_rating       VARCHAR(20)  NOT NULL,
+    comments                TEXT,
+    nurse_name              VARCHAR(255),
+    diet_sheet_documented   BOOLEAN      NOT NULL,
+    diet_sheet_notes        TEXT,
+    created_at              TIMESTAMP(6) NOT NULL,
+    updated_at              TIMESTAMP(6) NOT NULL,
+    source_version          BIGINT       NOT NULL,
+    projected_at            TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- No foreign keys: the view is rebuilt from service_sessions and must not block
+-- partition archiving or slow down session writes
+CREATE INDEX idx_session_view_status_created ON session_view (status, created_at);
+CREATE INDEX idx_session_view_created ON session_view (created_at);
+CREATE INDEX idx_session_view_step_created ON session_view (current_step, created_at)
+    WHERE status IN ('ACTIVE', 'IN_TRANSIT');
+CREATE INDEX idx_session_view_ward_status_created ON session_view (ward_id, status, created_at DESC);
+CREATE INDEX idx_session_view_ward_step ON session_view (ward_id, current_step)
+    WHERE status IN ('ACTIVE', 'IN_TRANSIT');
+CREATE INDEX idx_session_view_hospital_created ON session_view (hospital_id, created_at);
@@ -0,0 +1,14 @@
+-- Content-addressed photo objects. Each row is one stored blob, keyed by the
+-- SHA-256 of its bytes; ref_count is the number of uploads that resolved to it.
+-- The blob itself lives in the configured PhotoStorage backend.
+
+CREATE TABLE photo_objects (
+    content_hash    VARCHAR(64)  NOT NULL,
+    content_type    VARCHAR(100) NOT NULL,
+    size_bytes      BIGINT       NOT NULL,
+    ref_count       INTEGER      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT photo_objects_pkey PRIMARY KEY (content_hash),
+    CONSTRAINT ck_photo_objects_ref_count CHECK (ref_count >= 0)
+);
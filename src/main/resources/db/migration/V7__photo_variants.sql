@@ -0,0 +1,8 @@
+-- Background generation of downscaled photo variants (thumbnail, web). NULL
+-- variants_processed_at means the object still has to be processed; has_variants
+-- is false when the original could not be decoded and only it is served.
+
+ALTER TABLE photo_objects ADD COLUMN variants_processed_at TIMESTAMP(6);
+ALTER TABLE photo_objects ADD COLUMN has_variants BOOLEAN NOT NULL DEFAULT false;
+
+CREATE INDEX idx_photo_objects_unprocessed ON photo_objects (created_at) WHERE variants_processed_at IS NULL;
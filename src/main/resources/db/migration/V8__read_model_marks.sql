@@ -0,0 +1,12 @@
+-- How far the session_view catch-up pass has got: every session up to
+-- (last_created_at, last_session_id), in that key order, has been checked
+-- against its row at least once, so a restart resumes from there instead of
+-- re-scanning service_sessions.
+
+CREATE TABLE read_model_marks (
+    name            VARCHAR(50)  NOT NULL,
+    last_created_at TIMESTAMP(6) NOT NULL,
+    last_session_id UUID         NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT read_model_marks_pkey PRIMARY KEY (name)
+);
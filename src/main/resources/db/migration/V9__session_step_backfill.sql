@@ -0,0 +1,46 @@
+-- Persists current_step on sessions created before the column existed, so the
+-- step-based queries and partial indexes see them. Finished sessions take their
+-- status as the step; open ones derive it from the workflow timestamps as
+-- ServiceSession.getStep() does, and their status is realigned with the step (a
+-- version bump lets the read model notice). Runs 10,000 rows at a time in primary
+-- key order, committing after each batch (see the .conf file) like V3_1. Safe to run
+-- again: rows that already have a step are skipped.
+DO $$
+DECLARE
+    last_id   UUID := '00000000-0000-0000-0000-000000000000';
+    batch_end UUID;
+BEGIN
+    LOOP
+        SELECT id INTO batch_end
+        FROM (SELECT id FROM service_sessions WHERE id > last_id ORDER BY id LIMIT 10000) batch
+        ORDER BY id DESC
+        LIMIT 1;
+        EXIT WHEN batch_end IS NULL;
+
+        UPDATE service_sessions s
+        SET current_step = d.step,
+            status       = d.status,
+            version      = s.version + CASE WHEN d.status <> s.status THEN 1 ELSE 0 END
+        FROM (SELECT id, step,
+                     CASE WHEN step IN ('COMPLETED', 'CANCELLED', 'IN_TRANSIT') THEN step ELSE 'ACTIVE' END AS status
+              FROM (SELECT id,
+                           CASE
+                               WHEN status IN ('COMPLETED', 'CANCELLED') THEN status
+                               WHEN kitchen_exit_time IS NULL THEN 'AWAITING_KITCHEN_EXIT'
+                               WHEN ward_arrival_time IS NULL THEN 'IN_TRANSIT'
+                               WHEN NOT (diet_sheet_documented OR btrim(coalesce(diet_sheet_photo_path, '')) <> '')
+                                   THEN 'DIET_SHEET_DOCUMENTATION'
+                               WHEN nurse_alert_time IS NULL THEN 'NURSE_ALERT'
+                               WHEN nurse_response_time IS NULL THEN 'AWAITING_NURSE_RESPONSE'
+                               WHEN service_start_time IS NULL THEN 'NURSE_STATION'
+                               ELSE 'SERVICE_IN_PROGRESS'
+                           END AS step
+                    FROM service_sessions
+                    WHERE id > last_id AND id <= batch_end AND current_step IS NULL) derived) d
+        WHERE s.id = d.id AND s.id > last_id AND s.id <= batch_end;
+
+        last_id := batch_end;
+        COMMIT;
+    END LOOP;
+END
+$$;
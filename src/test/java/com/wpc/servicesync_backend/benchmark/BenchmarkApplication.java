@@ -0,0 +1,56 @@
+package com.wpc.servicesync_backend.benchmark;
+
+import com.wpc.servicesync_backend.ServicesyncBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts the whole application for benchmarks and load tests that need several
+ * differently configured contexts, or one outside the test context cache. It listens
+ * on a random port, leaves Docker Compose alone and signs tokens with a fixed test
+ * secret. {@code -Dservicesync.test.postgres-url} (with {@code .postgres-username} and
+ * {@code .postgres-password}) points runs at a local PostgreSQL database.
+ */
+public final class BenchmarkApplication {
+
+    public static final String POSTGRES_URL = System.getProperty("servicesync.test.postgres-url");
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "server.port", "0",
+            "spring.docker.compose.enabled", "false",
+            "spring.security.jwt.secret", "c2VydmljZXN5bmMtc2VjcmV0LWtleS1mb3ItcHJvZHVjdGlvbi11c2U=",
+            "spring.security.jwt.expiration", "3600000",
+            "spring.security.jwt.refresh-expiration", "86400000");
+
+    private BenchmarkApplication() {
+    }
+
+    /** Datasource properties for {@link #POSTGRES_URL}. */
+    public static Map<String, String> postgresProperties() {
+        return datasourceProperties(POSTGRES_URL,
+                System.getProperty("servicesync.test.postgres-username", "postgres"),
+                System.getProperty("servicesync.test.postgres-password", ""));
+    }
+
+    public static Map<String, String> datasourceProperties(String url, String username, String password) {
+        return Map.of(
+                "spring.datasource.url", url,
+                "spring.datasource.username", username,
+                "spring.datasource.password", password);
+    }
+
+    /** Starts the application; {@code properties} override the defaults above and application.yml. */
+    public static ConfigurableApplicationContext start(Map<String, String> properties) {
+        Map<String, String> merged = new LinkedHashMap<>(DEFAULTS);
+        merged.putAll(properties);
+
+        // Passed as arguments so they take precedence over application.yml
+        String[] args = merged.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ServicesyncBackendApplication.class).run(args);
+    }
+}
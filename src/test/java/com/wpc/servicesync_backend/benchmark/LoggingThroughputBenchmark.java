@@ -0,0 +1,208 @@
+package com.wpc.servicesync_backend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.wpc.servicesync_backend.logging.PackageSamplingTurboFilter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Logs what a session create request logged before and after structured logging,
+ * from several request threads at once, into a file flushed per line as the console
+ * is. Before: the controller and the service both announce the request and the
+ * service reports the result, three plain INFO lines written on the request thread.
+ * After: one INFO line carrying the request's MDC as JSON, written synchronously with
+ * Boot's ECS encoder and with the encoder logback-spring.xml uses, then from a
+ * background thread, with and without sampling the service package. Throughput
+ * includes draining the queue. Nothing but logging runs, so the writer is flooded; the
+ * shedding run shows how many lines production settings would drop under that flood.
+ */
+@Tag("benchmark")
+class LoggingThroughputBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 20_000;
+    private static final int REQUESTS = THREADS * REQUESTS_PER_THREAD;
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n";
+
+    enum Format { PLAIN, ECS, JSON }
+
+    // Lossless waits for room in the queue, so its throughput is what the writer sustains;
+    // shedding is logback-spring.xml's setting, dropping INFO once the queue is 80% full
+    enum Mode { SYNC, ASYNC_LOSSLESS, ASYNC_SHEDDING }
+
+    @TempDir
+    Path logDir;
+
+    record Result(String name, double requestsPerSecond, long lines) {
+    }
+
+    @Test
+    void structuredAsyncLoggingAgainstPlainSynchronous() throws Exception {
+        List<Result> results = List.of(
+                run("plain sync", Format.PLAIN, Mode.SYNC, false),
+                run("ecs sync", Format.ECS, Mode.SYNC, false),
+                run("json sync", Format.JSON, Mode.SYNC, false),
+                run("json async", Format.JSON, Mode.ASYNC_LOSSLESS, false),
+                run("json async, 1 in 4", Format.JSON, Mode.ASYNC_LOSSLESS, true),
+                run("json async, shedding", Format.JSON, Mode.ASYNC_SHEDDING, false));
+
+        for (Result result : results) {
+            System.out.printf("%-22s %,10.0f requests/s | %,9d lines%n",
+                    result.name(), result.requestsPerSecond(), result.lines());
+        }
+
+        assertEquals(3L * REQUESTS, results.get(0).lines());
+        assertEquals(REQUESTS, results.get(2).lines());
+        assertEquals(REQUESTS, results.get(3).lines());
+        assertTrue(results.get(4).lines() < REQUESTS / 2, "sampling kept too many lines");
+    }
+
+    private Result run(String name, Format format, Mode mode, boolean sampled) throws Exception {
+        Path file = logDir.resolve(name.replaceAll("\\W+", "-") + ".log");
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        context.start();
+        if (sampled) {
+            PackageSamplingTurboFilter filter = new PackageSamplingTurboFilter();
+            filter.setRates("com.wpc.servicesync_backend.service=4");
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(switch (format) {
+            case PLAIN -> patternEncoder(context);
+            case ECS -> ecsEncoder(context);
+            case JSON -> jsonEncoder(context);
+        });
+        fileAppender.setImmediateFlush(true);
+        fileAppender.start();
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (mode != Mode.SYNC) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setIncludeCallerData(false);
+            if (mode == Mode.ASYNC_LOSSLESS) {
+                asyncAppender.setDiscardingThreshold(0);
+            }
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        Logger controller = context.getLogger("com.wpc.servicesync_backend.controller.ServiceSessionController");
+        Logger service = context.getLogger("com.wpc.servicesync_backend.service.ServiceSessionService");
+        UUID employeeId = UUID.randomUUID();
+        UUID wardId = UUID.randomUUID();
+
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(threads.submit(() -> {
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    String sessionId = "SS-" + thread + "-" + i;
+                    if (format != Format.PLAIN) {
+                        MDC.put("requestId", Integer.toHexString(thread * REQUESTS_PER_THREAD + i));
+                        MDC.put("sample", Integer.toHexString(ThreadLocalRandom.current().nextInt()));
+                        MDC.put("employee", "HOST001");
+                        MDC.put("hospital", "General");
+                        service.debug("Creating new service session for employee: {} and ward: {}", employeeId, wardId);
+                        service.info("Service session created with ID: {}", sessionId);
+                        MDC.clear();
+                    } else {
+                        controller.info("Creating new service session for employee: {} and ward: {}", employeeId, wardId);
+                        service.info("Creating new service session for employee: {} and ward: {}", employeeId, wardId);
+                        service.info("Service session created with ID: {}", sessionId);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        appender.stop(); // Waits for the async queue to drain
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        threads.shutdown();
+        context.stop();
+
+        long lines;
+        try (var stream = Files.lines(file)) {
+            lines = stream.count();
+        }
+        return new Result(name, REQUESTS / seconds, lines);
+    }
+
+    private static Encoder<ILoggingEvent> patternEncoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private static Encoder<ILoggingEvent> ecsEncoder(LoggerContext context) {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.start();
+        return encoder;
+    }
+
+    // As configured in logback-spring.xml
+    private static Encoder<ILoggingEvent> jsonEncoder(LoggerContext context) {
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(context);
+        encoder.setWithSequenceNumber(false);
+        encoder.setWithNanoseconds(false);
+        encoder.setWithContext(false);
+        encoder.setWithMessage(false);
+        encoder.setWithArguments(false);
+        encoder.setWithFormattedMessage(true);
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,137 @@
+package com.wpc.servicesync_backend.benchmark;
+
+import com.wpc.servicesync_backend.dto.ServiceSessionRequest;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.WardRepository;
+import com.wpc.servicesync_backend.service.ServiceSessionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same workload against the persistence settings the application had before
+ * (SQL comments and formatting on, no batching) and against the jdbc-tuning profile:
+ * creating sessions one request at a time, the hourly stale-session cleanup as one
+ * large transaction, and point reads by session id. Uses in-memory H2 unless
+ * {@code -Dservicesync.test.postgres-url} points at a PostgreSQL database, where the
+ * statement cache and round-trip savings actually show.
+ */
+@Tag("benchmark")
+@Slf4j
+class PersistenceTuningBenchmark {
+
+    private static final int SESSIONS = 2000;
+
+    record Result(String name, long createMillis, long cleanupMillis, long cleanupStatements, long readMillis) {
+    }
+
+    @Test
+    void jdbcTuningAgainstDefaults() {
+        Result defaults = run("defaults", Map.of(
+                "spring.jpa.properties.hibernate.format_sql", "true",
+                "spring.jpa.properties.hibernate.use_sql_comments", "true"));
+        Result tuned = run("jdbc-tuning", Map.of());
+
+        for (Result result : List.of(defaults, tuned)) {
+            log.info(String.format("%-12s create %5d ms | cleanup %5d ms, %5d statements prepared | %d point reads %5d ms",
+                    result.name(), result.createMillis(), result.cleanupMillis(), result.cleanupStatements(),
+                    SESSIONS, result.readMillis()));
+        }
+
+        // Transition inserts batch; session updates do not, since Hibernate never batches @DynamicUpdate rows
+        assertTrue(tuned.cleanupStatements() < defaults.cleanupStatements() * 3 / 4,
+                "cleanup transition inserts should be batched");
+    }
+
+    private Result run(String name, Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>(databaseProperties(name));
+        properties.put("spring.profiles.active", String.join(",", profiles(name)));
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+        properties.putAll(overrides);
+
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(properties)) {
+            return workload(name, context);
+        }
+    }
+
+    private Result workload(String name, ConfigurableApplicationContext context) {
+        ServiceSessionService sessionService = context.getBean(ServiceSessionService.class);
+        ServiceSessionRepository sessionRepository = context.getBean(ServiceSessionRepository.class);
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        ServiceSessionRequest request = new ServiceSessionRequest();
+        request.setEmployeeId(context.getBean(EmployeeRepository.class).findByEmployeeId("HOST001").orElseThrow().getId());
+        request.setWardId(context.getBean(WardRepository.class).findAll().get(0).getId());
+        request.setMealType(MealType.LUNCH);
+        request.setMealCount(20);
+
+        LocalDateTime runStart = LocalDateTime.now().minusSeconds(1);
+        List<String> sessionIds = new ArrayList<>(SESSIONS);
+        long start = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i++) {
+            sessionIds.add(sessionService.createSession(request).getSessionId());
+        }
+        long createMillis = elapsedMillis(start);
+
+        // Age this run's sessions past the cleanup cutoff
+        transactionTemplate.executeWithoutResult(status -> context.getBean(EntityManager.class)
+                .createQuery("UPDATE ServiceSession s SET s.createdAt = :aged WHERE s.createdAt >= :runStart")
+                .setParameter("aged", LocalDateTime.now().minusHours(30))
+                .setParameter("runStart", runStart)
+                .executeUpdate());
+
+        statistics.clear();
+        start = System.nanoTime();
+        sessionService.cleanupStaleSessions();
+        long cleanupMillis = elapsedMillis(start);
+        long cleanupStatements = statistics.getPrepareStatementCount();
+
+        start = System.nanoTime();
+        for (String sessionId : sessionIds) {
+            sessionRepository.findBySessionId(sessionId).orElseThrow();
+        }
+        return new Result(name, createMillis, cleanupMillis, cleanupStatements, elapsedMillis(start));
+    }
+
+    private static List<String> profiles(String name) {
+        List<String> profiles = new ArrayList<>();
+        if (BenchmarkApplication.POSTGRES_URL == null) {
+            profiles.add("h2");
+        }
+        if (!"defaults".equals(name)) {
+            profiles.add(name);
+        }
+        return profiles;
+    }
+
+    private static Map<String, String> databaseProperties(String name) {
+        if (BenchmarkApplication.POSTGRES_URL == null) {
+            return Map.of("spring.datasource.url", "jdbc:h2:mem:bench-" + name + "-" + UUID.randomUUID()
+                    + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        }
+        return BenchmarkApplication.postgresProperties();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,157 @@
+package com.wpc.servicesync_backend.benchmark;
+
+import com.wpc.servicesync_backend.dto.QRScanRequest;
+import com.wpc.servicesync_backend.dto.ServiceSessionRequest;
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.model.dto.SessionUpdateRequest;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.QRLocationType;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.WardRepository;
+import com.wpc.servicesync_backend.service.ServiceSessionService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hostess and nurse writers hammering the same session row while the nurse
+ * answers its alert. Every successful operation changes at least one column, so
+ * with versioned updates the final version must equal the number of successful
+ * writes: any lost update shows up as a mismatch. The nurse's response must also
+ * survive the hostess updates racing it.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+@Slf4j
+class SessionContentionBenchmark {
+
+    private static final int WRITERS = 8;
+    private static final int OPERATIONS_PER_WRITER = 50;
+    private static final int RESPONDING_WRITER = 1;
+    private static final String RESPONDING_NURSE = "Nurse Responder";
+
+    @Autowired
+    private ServiceSessionService sessionService;
+
+    @Autowired
+    private ServiceSessionRepository sessionRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Test
+    void concurrentHostessAndNurseWritersOnOneSession() throws Exception {
+        ServiceSessionRequest request = new ServiceSessionRequest();
+        request.setEmployeeId(employeeRepository.findByEmployeeId("HOST001").orElseThrow().getId());
+        request.setWardId(wardRepository.findAll().get(0).getId());
+        request.setMealType(MealType.LUNCH);
+        request.setMealCount(100);
+        ServiceSessionResponse created = sessionService.createSession(request);
+        awaitNurseResponse(created.getId());
+        long initialVersion = sessionRepository.findById(created.getId()).orElseThrow().getVersion();
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean responded = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+                    try {
+                        if (writer == RESPONDING_WRITER && i >= OPERATIONS_PER_WRITER / 2 && !responded.get()) {
+                            // Mid-run, and again on the next turn if it gave up, as the nurse's tablet would
+                            sessionService.nurseResponse(created.getId(), RESPONDING_NURSE);
+                            responded.set(true);
+                        } else if (writer % 2 == 0) {
+                            SessionUpdateRequest update = new SessionUpdateRequest();
+                            update.setSessionId(created.getId());
+                            update.setMealsServed((writer * OPERATIONS_PER_WRITER + i) % 100);
+                            update.setComments("hostess-" + writer + "-" + i);
+                            sessionService.updateSession(update);
+                        } else {
+                            SessionUpdateRequest update = new SessionUpdateRequest();
+                            update.setSessionId(created.getId());
+                            update.setDietSheetNotes("checked by nurse " + writer + "-" + i);
+                            sessionService.updateSession(update);
+                        }
+                        successes.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        pool.shutdown();
+
+        ServiceSession finalState = sessionRepository.findById(created.getId()).orElseThrow();
+        int attempted = WRITERS * OPERATIONS_PER_WRITER;
+        log.info("Contention benchmark: {} writers, {} ops, {} succeeded, {} gave up after retries, {} ops/s",
+                WRITERS, attempted, successes.get(), failures.get(),
+                String.format("%.1f", successes.get() / (elapsedNanos / 1_000_000_000.0)));
+
+        assertEquals(attempted, successes.get() + failures.get());
+        assertEquals(successes.get(), finalState.getVersion() - initialVersion, "lost update detected");
+        assertTrue(responded.get(), "nurse response gave up on every turn");
+        assertEquals(SessionStep.NURSE_STATION, finalState.getStep(), "nurse response lost");
+        assertEquals(RESPONDING_NURSE, finalState.getNurseName(), "nurse name lost");
+        assertNotNull(finalState.getComments());
+        assertNotNull(finalState.getDietSheetNotes());
+    }
+
+    // Kitchen exit, ward arrival, diet sheet and nurse alert, so the nurse can respond mid-run
+    private void awaitNurseResponse(UUID sessionId) {
+        sessionService.scanQR(scan(sessionId, QRLocationType.KITCHEN_EXIT));
+        sessionService.scanQR(scan(sessionId, QRLocationType.WARD_ARRIVAL));
+        SessionUpdateRequest dietSheet = new SessionUpdateRequest();
+        dietSheet.setSessionId(sessionId);
+        dietSheet.setDietSheetDocumented(true);
+        sessionService.updateSession(dietSheet);
+        sessionService.alertNurse(sessionId);
+    }
+
+    private static QRScanRequest scan(UUID sessionId, QRLocationType locationType) {
+        QRScanRequest scan = new QRScanRequest();
+        scan.setSessionId(sessionId);
+        scan.setLocationType(locationType);
+        scan.setQrCodeContent(locationType.getPrefix() + "BENCH");
+        return scan;
+    }
+}
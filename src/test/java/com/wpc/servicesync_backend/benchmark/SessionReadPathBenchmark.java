@@ -0,0 +1,145 @@
+package com.wpc.servicesync_backend.benchmark;
+
+import com.wpc.servicesync_backend.dto.ServiceSessionRequest;
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.SessionReadRepository;
+import com.wpc.servicesync_backend.repository.WardRepository;
+import com.wpc.servicesync_backend.service.ServiceSessionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the record-based JDBC read path with the previous entity path
+ * (hydrate sessions in a read-only transaction, then map to responses) for the
+ * active-sessions list. Each variant gets warm-up iterations before measurement,
+ * JMH style, and reports mean latency and bytes allocated per call on this thread.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+class SessionReadPathBenchmark {
+
+    private static final int SESSIONS = 300;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    @Autowired
+    private ServiceSessionService sessionService;
+
+    @Autowired
+    private ServiceSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionReadRepository sessionReadRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    record Measurement(String name, double micros, long bytes) {
+    }
+
+    @Test
+    void activeSessionsThroughRecordsAgainstEntities() {
+        ServiceSessionRequest request = new ServiceSessionRequest();
+        request.setEmployeeId(employeeRepository.findByEmployeeId("HOST001").orElseThrow().getId());
+        request.setWardId(wardRepository.findAll().get(0).getId());
+        request.setMealType(MealType.LUNCH);
+        request.setMealCount(20);
+        for (int i = 0; i < SESSIONS; i++) {
+            sessionService.createSession(request);
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Supplier<List<?>> entities = () -> readOnly.execute(status -> sessionRepository.findAllActiveSessions()
+                .stream()
+                .map(SessionReadPathBenchmark::toResponse)
+                .toList());
+        Supplier<List<?>> records = sessionReadRepository::findAllActiveSessions;
+
+        assertEquals(entities.get().size(), records.get().size());
+
+        Measurement entityPath = measure("entities", entities);
+        Measurement recordPath = measure("records", records);
+        for (Measurement m : List.of(entityPath, recordPath)) {
+            System.out.printf("%-9s %d rows: %8.1f us/op, %,12d bytes/op%n", m.name(), SESSIONS, m.micros(), m.bytes());
+        }
+
+        assertTrue(recordPath.bytes() < entityPath.bytes(), "record path should allocate less per call");
+    }
+
+    private static Measurement measure(String name, Supplier<List<?>> operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.get();
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        return new Measurement(name, elapsed / 1000.0 / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+    }
+
+    // What ServiceSessionService returned for this endpoint before the read path existed
+    private static ServiceSessionResponse toResponse(ServiceSession session) {
+        return ServiceSessionResponse.builder()
+                .id(session.getId())
+                .sessionId(session.getSessionId())
+                .employeeName(session.getEmployee().getName())
+                .employeeId(session.getEmployee().getEmployeeId())
+                .wardName(session.getWard().getName())
+                .hospitalName(session.getWard().getHospital().getName())
+                .mealType(session.getMealType())
+                .mealCount(session.getMealCount())
+                .mealsServed(session.getMealsServed())
+                .status(session.getStatus())
+                .completionRate(session.getCompletionRate())
+                .currentStep(session.getCurrentStep())
+                .efficiencyRating(session.getEfficiencyRating())
+                .kitchenExitTime(session.getKitchenExitTime())
+                .wardArrivalTime(session.getWardArrivalTime())
+                .nurseAlertTime(session.getNurseAlertTime())
+                .nurseResponseTime(session.getNurseRespondedAt())
+                .serviceStartTime(session.getServiceStartTime())
+                .serviceCompleteTime(session.getServiceCompleteTime())
+                .travelTimeSeconds(session.getTravelTime() / 1000)
+                .nurseResponseTimeSeconds(session.getNurseResponseDuration() / 1000)
+                .servingTimeSeconds(session.getServingTime() / 1000)
+                .totalDurationSeconds(session.getElapsedTime() / 1000)
+                .comments(session.getComments())
+                .nurseName(session.getNurseName())
+                .dietSheetDocumented(session.getDietSheetDocumented())
+                .dietSheetNotes(session.getDietSheetNotes())
+                .createdAt(session.getCreatedAt())
+                .updatedAt(session.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.wpc.servicesync_backend.config;
+
+import com.wpc.servicesync_backend.service.ServiceSessionService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LayerObservationAspectTest {
+
+    private final List<String> observed = new ArrayList<>();
+    private final Tracer tracer = mock(Tracer.class);
+    private LayerObservationAspect aspect;
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStart(Observation.Context context) {
+                observed.add(context.getContextualName());
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("tracer", tracer);
+        ObjectProvider<Tracer> tracerProvider = beans.getBeanProvider(Tracer.class);
+        aspect = new LayerObservationAspect(registry, tracerProvider);
+
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("getSession");
+        when(signature.getDeclaringType()).thenReturn(ServiceSessionService.class);
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenReturn("session");
+    }
+
+    @Test
+    void observeService_UnderSampledSpan_IsObserved() throws Throwable {
+        currentSpan(true);
+
+        assertEquals("session", aspect.observeService(joinPoint));
+
+        assertEquals(List.of("ServiceSessionService.getSession"), observed);
+    }
+
+    @Test
+    void observeService_UnsampledOrWithoutSpan_RunsUnobserved() throws Throwable {
+        currentSpan(false);
+        assertEquals("session", aspect.observeService(joinPoint));
+
+        when(tracer.currentSpan()).thenReturn(null);
+        assertEquals("session", aspect.observeService(joinPoint));
+
+        assertEquals(List.of(), observed);
+    }
+
+    private void currentSpan(boolean sampled) {
+        TraceContext context = mock(TraceContext.class);
+        when(context.sampled()).thenReturn(sampled);
+        Span span = mock(Span.class);
+        when(span.context()).thenReturn(context);
+        when(tracer.currentSpan()).thenReturn(span);
+    }
+}
@@ -0,0 +1,143 @@
+package com.wpc.servicesync_backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each holds a
+ * single row naming itself, so a query shows which one served the transaction.
+ */
+class ReplicaRoutingConfigurationTest {
+
+    private final ReplicaRoutingConfiguration configuration = new ReplicaRoutingConfiguration();
+
+    private FailingDataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("primary");
+        replica = new FailingDataSource(node("replica"));
+        lagMonitor = new ReplicaLagMonitor(replica, 5000);
+        lagMonitor.checkLag();
+
+        DataSource dataSource = configuration.dataSource(primary, replica, lagMonitor,
+                new ReadYourWritesTracker(Duration.ofSeconds(5)));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_RoutesToReplica() {
+        assertEquals("replica", servedBy(true));
+    }
+
+    @Test
+    void readWriteTransaction_RoutesToPrimary() {
+        assertEquals("primary", servedBy(false));
+    }
+
+    @Test
+    void replicaUnavailable_FallsBackToPrimary() {
+        replica.down = true;
+        lagMonitor.checkLag();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", servedBy(true));
+
+        replica.down = false;
+        lagMonitor.checkLag();
+
+        assertEquals("replica", servedBy(true));
+    }
+
+    @Test
+    void committedWrite_PinsThatUsersReadsToPrimary() {
+        signIn("H001");
+        write(false);
+
+        assertEquals("primary", servedBy(true));
+
+        signIn("N001");
+        assertEquals("replica", servedBy(true));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotPin() {
+        signIn("H001");
+        write(true);
+
+        assertEquals("replica", servedBy(true));
+    }
+
+    private String servedBy(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void write(boolean rollback) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private static void signIn(String employeeId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(employeeId, null, List.of()));
+    }
+
+    private static DataSource node(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static class FailingDataSource extends DelegatingDataSource {
+
+        volatile boolean down;
+
+        FailingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Replica unreachable");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.wpc.servicesync_backend.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.observation.tracing.QueryContext;
+import net.ttddyy.observation.tracing.ResultSetContext;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestDatabaseStatsTest {
+
+    private ObservationRegistry registry;
+    private RequestDatabaseStats.EntityLoadCounter entityLoadCounter;
+
+    @BeforeEach
+    void setUp() {
+        registry = ObservationRegistry.create();
+        RequestDatabaseStats.Recorder recorder = new RequestDatabaseStats.Recorder();
+        registry.observationConfig().observationHandler(recorder).observationFilter(recorder);
+        entityLoadCounter = new RequestDatabaseStats.EntityLoadCounter(registry);
+    }
+
+    @Test
+    void requestSpanCarriesTheStatementsRowsAndEntitiesBeneathIt() {
+        ServerRequestObservationContext request = new ServerRequestObservationContext(
+                new MockHttpServletRequest("GET", "/api/dashboard/stats"), new MockHttpServletResponse());
+
+        Observation.createNotStarted("http.server.requests", () -> request, registry).observe(() ->
+                Observation.createNotStarted("servicesync.repository", registry).observe(() -> {
+                    query();
+                    fetch(3);
+                    entityLoadCounter.onPostLoad(new PostLoadEvent(null));
+                    entityLoadCounter.onPostLoad(new PostLoadEvent(null));
+                    query();
+                }));
+        query(); // After the request, so not counted
+
+        assertEquals("2", request.getHighCardinalityKeyValue(RequestDatabaseStats.STATEMENTS).getValue());
+        assertEquals("3", request.getHighCardinalityKeyValue(RequestDatabaseStats.ROWS).getValue());
+        assertEquals("2", request.getHighCardinalityKeyValue(RequestDatabaseStats.ENTITIES_LOADED).getValue());
+    }
+
+    private void query() {
+        Observation.createNotStarted("jdbc.query", QueryContext::new, registry).start().stop();
+    }
+
+    private void fetch(int rows) {
+        ResultSetContext context = new ResultSetContext();
+        context.setCount(rows);
+        Observation.createNotStarted("jdbc.result-set", () -> context, registry).start().stop();
+    }
+}
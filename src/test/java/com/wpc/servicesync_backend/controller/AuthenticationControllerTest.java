@@ -6,6 +6,7 @@ import com.wpc.servicesync_backend.model.dto.AuthenticationResponse;
 import com.wpc.servicesync_backend.model.dto.EmployeeDto;
 import com.wpc.servicesync_backend.model.entity.EmployeeRole;
 import com.wpc.servicesync_backend.service.AuthenticationService;
+import com.wpc.servicesync_backend.service.IdempotencyService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -29,6 +30,9 @@ class AuthControllerTest {
     @MockitoBean
     private AuthenticationService authenticationService;
 
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,244 @@
+package com.wpc.servicesync_backend.controller;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.exception.GlobalExceptionHandler;
+import com.wpc.servicesync_backend.model.entity.PhotoObject;
+import com.wpc.servicesync_backend.service.FileUploadService;
+import com.wpc.servicesync_backend.service.ImageFormat;
+import com.wpc.servicesync_backend.service.LocalPhotoStorage;
+import com.wpc.servicesync_backend.service.PhotoStorage;
+import com.wpc.servicesync_backend.service.PhotoStore;
+import com.wpc.servicesync_backend.service.ServiceSessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FileUploadControllerTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private static final UUID SESSION_ID = UUID.randomUUID();
+    private static final String BOUNDARY = "----servicesync-test-boundary";
+
+    private MockMvc mockMvc;
+    private byte[] photo;
+    private PhotoStore photoStore;
+    private ServiceSessionService sessionService;
+    private LocalPhotoStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getStorage().getLocal().setDietSheetDir(uploadDir.toString());
+        properties.getStorage().getLocal().setObjectDir(uploadDir.resolve("objects").toString());
+        properties.getStorage().setMaxUploadSize(DataSize.ofKilobytes(128));
+        properties.getStorage().setMaxRequestSize(DataSize.ofKilobytes(512));
+        photoStore = mock(PhotoStore.class);
+        storage = new LocalPhotoStorage(properties);
+        sessionService = mock(ServiceSessionService.class);
+        FileUploadService service = new FileUploadService(properties, photoStore, storage, sessionService);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileUploadController(service, properties))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        photo = new byte[64 * 1024];
+        for (int i = 0; i < photo.length; i++) {
+            photo[i] = (byte) i;
+        }
+        Files.write(uploadDir.resolve("diet_sheet_S1.png"), photo);
+    }
+
+    @Test
+    void getFile_StreamsWithContentTypeAndCacheHeaders() throws Exception {
+        mockMvc.perform(get("/api/files/diet-sheet/diet_sheet_S1.png"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(photo))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    void getFile_MatchingETag_ReturnsNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/files/diet-sheet/diet_sheet_S1.png")).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/files/diet-sheet/diet_sheet_S1.png").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getFile_Range_ReturnsPartialContent() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/files/diet-sheet/diet_sheet_S1.png")
+                        .header(HttpHeaders.RANGE, "bytes=1000-1999"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1000-1999/" + photo.length))
+                .andReturn();
+
+        byte[] expected = new byte[1000];
+        System.arraycopy(photo, 1000, expected, 0, expected.length);
+        assertArrayEquals(expected, result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void getFile_PathTraversal_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/files/diet-sheet/..%2Fsecret.txt"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getFile_Missing_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/files/diet-sheet/diet_sheet_S2.png"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getFile_InvalidVariant_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/files/diet-sheet/diet_sheet_S1.png").param("variant", "huge"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getFile_InvalidFileType_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/files/invoices/diet_sheet_S1.png"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void upload_StreamsFilePartAndNamesItByDetectedFormat() throws Exception {
+        when(photoStore.stage(any())).thenAnswer(invocation -> storage.stage(invocation.getArgument(0, InputStream.class)));
+        when(sessionService.attachDietSheetPhoto(eq(SESSION_ID), any(), any())).thenAnswer(invocation -> {
+            PhotoStorage.StagedPhoto staged = invocation.getArgument(1);
+            return PhotoObject.builder().contentHash(staged.hash()).sizeBytes(staged.size()).refCount(1).build();
+        });
+        byte[] png = withHeader(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, 4096);
+
+        // Declared as JPEG with a misleading name; the stored name follows the content
+        mockMvc.perform(multipart("/api/files/diet-sheet/" + SESSION_ID, png, "image/jpeg", "sheet.jpg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.contentHash").value(
+                        HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png))))
+                .andExpect(jsonPath("$.data.contentType").value("image/png"))
+                .andExpect(jsonPath("$.data.fileSize").value(png.length))
+                .andExpect(jsonPath("$.data.fileName").value(endsWith(".png")));
+
+        verify(sessionService).attachDietSheetPhoto(eq(SESSION_ID), any(), eq(ImageFormat.PNG));
+    }
+
+    @Test
+    void upload_NonImageContent_IsRejectedFromFirstBytes() throws Exception {
+        byte[] script = "#!/bin/sh\necho not a photo\n".getBytes(StandardCharsets.US_ASCII);
+
+        mockMvc.perform(multipart("/api/files/diet-sheet/" + SESSION_ID, script, "image/jpeg", "sheet.jpg"))
+                .andExpect(status().isBadRequest());
+
+        verify(photoStore, never()).stage(any());
+    }
+
+    @Test
+    void upload_OverLimit_IsRejectedAndStagingFileRemoved() throws Exception {
+        when(photoStore.stage(any())).thenAnswer(invocation -> storage.stage(invocation.getArgument(0, InputStream.class)));
+        byte[] jpeg = withHeader(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}, 256 * 1024);
+
+        mockMvc.perform(multipart("/api/files/diet-sheet/" + SESSION_ID, jpeg, "image/jpeg", "sheet.jpg"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("maximum allowed size")));
+
+        verify(sessionService, never()).attachDietSheetPhoto(any(), any(), any());
+        assertEquals(0, countStagingFiles());
+    }
+
+    @Test
+    void upload_DeclaredBodyOverRequestLimit_IsRefusedBeforeReading() throws Exception {
+        byte[] jpeg = withHeader(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}, 600 * 1024);
+
+        mockMvc.perform(multipart("/api/files/diet-sheet/" + SESSION_ID, jpeg, "image/jpeg", "sheet.jpg"))
+                .andExpect(status().isPayloadTooLarge());
+
+        verify(photoStore, never()).stage(any());
+    }
+
+    @Test
+    void deleteFile_DetachesFromTheSessionInsteadOfReleasingByName() throws Exception {
+        String fileName = "e".repeat(64) + ".jpg";
+        when(sessionService.detachDietSheetPhoto("/api/files/diet-sheet/" + fileName, SESSION_ID))
+                .thenReturn(true, false);
+
+        mockMvc.perform(delete("/api/files/diet-sheet/" + fileName).param("sessionId", SESSION_ID.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/files/diet-sheet/" + fileName).param("sessionId", SESSION_ID.toString()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/files/profile/" + fileName))
+                .andExpect(status().isBadRequest());
+
+        verify(photoStore, never()).release(any());
+    }
+
+    private static RequestBuilder multipart(
+            String url, byte[] content, String contentType, String fileName) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(content);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return post(url).contentType("multipart/form-data; boundary=" + BOUNDARY).content(body.toByteArray());
+    }
+
+    private static byte[] withHeader(byte[] header, int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        System.arraycopy(header, 0, content, 0, header.length);
+        return content;
+    }
+
+    private long countStagingFiles() throws Exception {
+        Path staging = storage.stagingDirectory();
+        if (!Files.exists(staging)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(staging)) {
+            return files.count();
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wpc.servicesync_backend.dto.*;
 import com.wpc.servicesync_backend.model.entity.MealType;
 import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.service.IdempotencyService;
 import com.wpc.servicesync_backend.service.ServiceSessionService;
+import com.wpc.servicesync_backend.service.SessionEventIngestService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -33,6 +35,12 @@ class ServiceSessionControllerTest {
     @MockitoBean
     private ServiceSessionService sessionService;
 
+    @MockitoBean
+    private SessionEventIngestService eventIngestService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,109 @@
+package com.wpc.servicesync_backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Client-side latency of every request, by endpoint. Samples are kept whole, so the
+ * percentiles are exact rather than estimated; a day of rounds is a few thousand
+ * requests per endpoint.
+ */
+class EndpointStats {
+
+    record Summary(String endpoint, int requests, int errors, double requestsPerSecond,
+                   double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Samples {
+        private long[] startNanos = new long[1024];
+        private long[] latencyNanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long start, long latency, boolean ok) {
+            if (count == latencyNanos.length) {
+                startNanos = Arrays.copyOf(startNanos, count * 2);
+                latencyNanos = Arrays.copyOf(latencyNanos, count * 2);
+            }
+            startNanos[count] = start;
+            latencyNanos[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+
+    // In first-use order, which follows the workflow
+    private final Map<String, Samples> byEndpoint = new LinkedHashMap<>();
+
+    void record(String endpoint, long startNanos, long latencyNanos, boolean ok) {
+        samplesFor(endpoint).add(startNanos, latencyNanos, ok);
+    }
+
+    private synchronized Samples samplesFor(String endpoint) {
+        return byEndpoint.computeIfAbsent(endpoint, name -> new Samples());
+    }
+
+    synchronized List<Summary> summaries(long elapsedNanos) {
+        List<Summary> summaries = new ArrayList<>();
+        List<long[]> all = new ArrayList<>();
+        int errors = 0;
+        for (Map.Entry<String, Samples> entry : byEndpoint.entrySet()) {
+            Samples samples = entry.getValue();
+            synchronized (samples) {
+                long[] latencies = Arrays.copyOf(samples.latencyNanos, samples.count);
+                summaries.add(summarise(entry.getKey(), latencies, samples.errors, elapsedNanos));
+                all.add(latencies);
+                errors += samples.errors;
+            }
+        }
+        long[] overall = all.stream().flatMapToLong(LongStream::of).toArray();
+        summaries.add(summarise("all", overall, errors, elapsedNanos));
+        return summaries;
+    }
+
+    /** The most requests started within any one second of the run. */
+    synchronized int peakRequestsPerSecond() {
+        Map<Long, Integer> perSecond = new HashMap<>();
+        for (Samples samples : byEndpoint.values()) {
+            synchronized (samples) {
+                for (int i = 0; i < samples.count; i++) {
+                    perSecond.merge(samples.startNanos[i] / 1_000_000_000L, 1, Integer::sum);
+                }
+            }
+        }
+        return perSecond.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    static String table(List<Summary> summaries) {
+        StringBuilder table = new StringBuilder(String.format("%-44s %8s %7s %8s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Summary summary : summaries) {
+            table.append(String.format("%n%-44s %,8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f",
+                    summary.endpoint(), summary.requests(), summary.errors(), summary.requestsPerSecond(),
+                    summary.p50Millis(), summary.p95Millis(), summary.p99Millis(), summary.maxMillis()));
+        }
+        return table.toString();
+    }
+
+    private static Summary summarise(String endpoint, long[] latencies, int errors, long elapsedNanos) {
+        Arrays.sort(latencies);
+        return new Summary(endpoint, latencies.length, errors, latencies.length / (elapsedNanos / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                percentile(latencies, 1.0));
+    }
+
+    // Nearest rank
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,103 @@
+package com.wpc.servicesync_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wpc.servicesync_backend.web.IdempotencyKeyFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Calls the API over HTTP as a tablet does, and records each call's latency under
+ * the given endpoint name. Mutations carry a fresh Idempotency-Key, as the tablets
+ * send one so a retry after a dropped response is not applied twice.
+ */
+class LoadClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUri;
+    private final EndpointStats stats;
+
+    LoadClient(URI baseUri, EndpointStats stats) {
+        this.baseUri = baseUri;
+        this.stats = stats;
+    }
+
+    /** Logs in and returns the access token. */
+    String login(String employeeId, String password) {
+        JsonNode data = send("POST /api/auth/login", null, "POST", "/api/auth/login",
+                Map.of("employeeId", employeeId, "password", password));
+        return data.path("accessToken").asText();
+    }
+
+    /**
+     * Sends one request and returns the {@code data} of its ApiResponse. A non-2xx
+     * status or an unsuccessful response counts as an error and throws, ending the round.
+     */
+    JsonNode send(String endpoint, String token, String method, String path, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(toJson(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        if (!"GET".equals(method) && token != null) {
+            request.header(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            stats.record(endpoint, start, System.nanoTime() - start, false);
+            throw new UncheckedIOException(endpoint + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(endpoint + " interrupted", e);
+        }
+        long latency = System.nanoTime() - start;
+
+        JsonNode json = readJson(response.body());
+        boolean ok = response.statusCode() / 100 == 2 && json.path("success").asBoolean(false);
+        stats.record(endpoint, start, latency, ok);
+        if (!ok) {
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return json.path("data");
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readJson(byte[] body) {
+        try {
+            return body.length > 0 ? objectMapper.readTree(body) : objectMapper.missingNode();
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.wpc.servicesync_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wpc.servicesync_backend.benchmark.BenchmarkApplication;
+import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.EmployeeRole;
+import com.wpc.servicesync_backend.model.entity.Hospital;
+import com.wpc.servicesync_backend.model.entity.QRLocationType;
+import com.wpc.servicesync_backend.model.entity.Ward;
+import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.HospitalRepository;
+import com.wpc.servicesync_backend.repository.WardRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the running application over HTTP the way a hospital day does: each hostess
+ * works through her wards' meal rounds (create, kitchen exit, ward arrival, diet sheet,
+ * nurse alert, the nurse's response, nurse station, serving updates, complete), and
+ * rounds start on {@link MealRoundSchedule}'s breakfast, lunch and supper peaks.
+ * The service day is compressed into {@code servicesync.loadtest.day-seconds}, and the
+ * pauses between steps by the same factor. Runs against
+ * {@code -Dservicesync.test.postgres-url} when given, otherwise an embedded PostgreSQL,
+ * and logs throughput and latency percentiles per endpoint.
+ */
+@Tag("benchmark")
+@Slf4j
+class MealRoundLoadTest {
+
+    private static final String PASSWORD = "loadtest123";
+
+    private static final int HOSPITALS = Integer.getInteger("servicesync.loadtest.hospitals", 3);
+    private static final int WARDS_PER_HOSPITAL = Integer.getInteger("servicesync.loadtest.wards-per-hospital", 16);
+    private static final int HOSTESSES_PER_HOSPITAL = Integer.getInteger("servicesync.loadtest.hostesses-per-hospital", 4);
+    private static final int BEVERAGE_ROUNDS_PER_WARD = Integer.getInteger("servicesync.loadtest.beverage-rounds", 2);
+    private static final int DAY_SECONDS = Integer.getInteger("servicesync.loadtest.day-seconds", 90);
+    private static final long SEED = Long.getLong("servicesync.loadtest.seed", 42L);
+
+    record Hostess(String employeeId, UUID id, String hospitalCode) {
+    }
+
+    record Site(Hospital hospital, List<UUID> wardIds, List<Hostess> hostesses, String nurseId) {
+    }
+
+    @Test
+    void mealRoundDay() throws IOException {
+        if (BenchmarkApplication.POSTGRES_URL != null) {
+            run(BenchmarkApplication.postgresProperties());
+            return;
+        }
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            run(BenchmarkApplication.datasourceProperties(postgres.getJdbcUrl("postgres", "postgres"), "postgres", ""));
+        }
+    }
+
+    private void run(Map<String, String> databaseProperties) {
+        Map<String, String> properties = new LinkedHashMap<>(databaseProperties);
+        properties.put("spring.profiles.active", "jdbc-tuning");
+        // Every request is logged otherwise, which the run would mostly measure
+        properties.put("logging.level.com.wpc.servicesync_backend", "WARN");
+        properties.put("logging.level.com.wpc.servicesync_backend.loadtest", "INFO");
+        properties.put("logging.level.org.hibernate", "WARN");
+
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(properties)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            workload(URI.create("http://localhost:" + port), seed(context));
+        }
+    }
+
+    // Find-or-create, so a local database can be reused between runs
+    private List<Site> seed(ConfigurableApplicationContext context) {
+        HospitalRepository hospitalRepository = context.getBean(HospitalRepository.class);
+        WardRepository wardRepository = context.getBean(WardRepository.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<Site> sites = new ArrayList<>();
+        for (int h = 0; h < HOSPITALS; h++) {
+            String code = String.format("LT%02d", h + 1);
+            Hospital hospital = hospitalRepository.findByCode(code).orElseGet(() -> hospitalRepository.save(
+                    Hospital.builder().code(code).name("Load Test Hospital " + code).build()));
+
+            List<UUID> wardIds = new ArrayList<>();
+            for (int w = 0; w < WARDS_PER_HOSPITAL; w++) {
+                String name = "Ward " + (w + 1);
+                int floor = w / 4 + 1;
+                wardIds.add(wardRepository.findByNameAndHospital(name, hospital).orElseGet(() -> wardRepository.save(
+                        Ward.builder().hospital(hospital).name(name).floorNumber(floor).capacity(30).build())).getId());
+            }
+
+            List<Hostess> hostesses = new ArrayList<>();
+            for (int s = 0; s < HOSTESSES_PER_HOSPITAL; s++) {
+                String employeeId = String.format("H%03d", h * HOSTESSES_PER_HOSPITAL + s + 1);
+                Employee employee = employee(employeeRepository, hospital, employeeId, EmployeeRole.HOSTESS, passwordHash);
+                hostesses.add(new Hostess(employeeId, employee.getId(), code));
+            }
+            String nurseId = String.format("N%03d", h + 1);
+            employee(employeeRepository, hospital, nurseId, EmployeeRole.NURSE, passwordHash);
+            sites.add(new Site(hospital, wardIds, hostesses, nurseId));
+        }
+        return sites;
+    }
+
+    private static Employee employee(EmployeeRepository repository, Hospital hospital, String employeeId,
+                                     EmployeeRole role, String passwordHash) {
+        return repository.findByEmployeeId(employeeId).orElseGet(() -> repository.save(Employee.builder()
+                .employeeId(employeeId)
+                .name(role.getDisplayName() + " " + employeeId)
+                .passwordHash(passwordHash)
+                .role(role)
+                .hospital(hospital)
+                .build()));
+    }
+
+    private void workload(URI baseUri, List<Site> sites) {
+        MealRoundSchedule schedule = new MealRoundSchedule();
+        List<MealRoundSchedule.Round> rounds = schedule.rounds(HOSPITALS, WARDS_PER_HOSPITAL, HOSTESSES_PER_HOSPITAL,
+                BEVERAGE_ROUNDS_PER_WARD, SEED);
+        // Simulated seconds per real second
+        double compression = (double) schedule.serviceDay().length().toSeconds() / DAY_SECONDS;
+
+        EndpointStats stats = new EndpointStats();
+        LoadClient client = new LoadClient(baseUri, stats);
+        List<String> nurseTokens = sites.stream().map(site -> client.login(site.nurseId(), PASSWORD)).toList();
+
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int h = 0; h < sites.size(); h++) {
+                Site site = sites.get(h);
+                for (int s = 0; s < site.hostesses().size(); s++) {
+                    int hospital = h;
+                    int hostessIndex = s;
+                    List<MealRoundSchedule.Round> own = rounds.stream()
+                            .filter(round -> round.hospital() == hospital && round.hostess() == hostessIndex)
+                            .toList();
+                    Shift shift = new Shift(client, site, site.hostesses().get(s), nurseTokens.get(h), compression,
+                            new SplittableRandom(SEED + h * 1000L + s));
+                    executor.submit(() -> shift.work(own, schedule.serviceDay().start(), start, completed, failed));
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<EndpointStats.Summary> summaries = stats.summaries(elapsed);
+        EndpointStats.Summary all = summaries.get(summaries.size() - 1);
+        log.info(String.format("%d hospitals, %d wards, %d hostesses: %d rounds completed, %d failed in %.1f s "
+                        + "(day compressed %.0fx) | %,d requests, %.1f req/s, peak %d req/s%n%s",
+                HOSPITALS, HOSPITALS * WARDS_PER_HOSPITAL, HOSPITALS * HOSTESSES_PER_HOSPITAL, completed.get(),
+                failed.get(), elapsed / 1e9, compression, all.requests(), all.requestsPerSecond(),
+                stats.peakRequestsPerSecond(), EndpointStats.table(summaries)));
+
+        assertEquals(0, failed.get(), "every round should complete");
+        assertEquals(rounds.size(), completed.get());
+    }
+
+    /** One hostess's day, on her own virtual thread. */
+    private static final class Shift {
+
+        private final LoadClient client;
+        private final Site site;
+        private final Hostess hostess;
+        private final String nurseToken;
+        private final double compression;
+        private final SplittableRandom random;
+
+        Shift(LoadClient client, Site site, Hostess hostess, String nurseToken, double compression,
+              SplittableRandom random) {
+            this.client = client;
+            this.site = site;
+            this.hostess = hostess;
+            this.nurseToken = nurseToken;
+            this.compression = compression;
+            this.random = random;
+        }
+
+        void work(List<MealRoundSchedule.Round> rounds, LocalTime dayStart, long startNanos,
+                  AtomicInteger completed, AtomicInteger failed) {
+            String token;
+            try {
+                token = client.login(hostess.employeeId(), PASSWORD);
+            } catch (RuntimeException e) {
+                log.warn("{} could not log in: {}", hostess.employeeId(), e.getMessage());
+                failed.addAndGet(rounds.size());
+                return;
+            }
+            for (MealRoundSchedule.Round round : rounds) {
+                // A hostess running late starts her next round straight away
+                long due = startNanos + (long) (Duration.between(dayStart, round.start()).toNanos() / compression);
+                sleepNanos(due - System.nanoTime());
+                try {
+                    round(token, round);
+                    completed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                    log.warn("{} {}: {}", hostess.employeeId(), round, e.getMessage());
+                }
+            }
+        }
+
+        private void round(String token, MealRoundSchedule.Round round) {
+            String ward = "W" + (round.ward() + 1);
+            int mealCount = random.nextInt(10, 31);
+
+            JsonNode session = client.send("POST /api/sessions", token, "POST", "/api/sessions", Map.of(
+                    "employeeId", hostess.id(),
+                    "wardId", site.wardIds().get(round.ward()),
+                    "mealType", round.mealType(),
+                    "mealCount", mealCount));
+            String id = session.path("id").asText();
+            String path = "/api/sessions/" + id;
+
+            pause(1, 5);
+            scan(token, id, QRLocationType.KITCHEN_EXIT, hostess.hospitalCode());
+            pause(3, 15);
+            scan(token, id, QRLocationType.WARD_ARRIVAL, hostess.hospitalCode() + "_" + ward);
+            pause(1, 3);
+            client.send("PUT /api/sessions/{id} (diet sheet)", token, "PUT", path, Map.of(
+                    "dietSheetDocumented", true,
+                    "dietSheetNotes", "Checked against " + round.mealType() + " orders"));
+            client.send("POST /api/sessions/{id}/alert-nurse", token, "POST", path + "/alert-nurse", null);
+            pause(1, 5);
+            String nurse = URLEncoder.encode("Nurse " + site.nurseId(), StandardCharsets.UTF_8);
+            client.send("POST /api/sessions/{id}/nurse-response", nurseToken, "POST",
+                    path + "/nurse-response?nurseName=" + nurse, null);
+            scan(token, id, QRLocationType.NURSE_STATION, hostess.hospitalCode() + "_" + ward);
+
+            int updates = random.nextInt(2, 5);
+            int servingMinutes = random.nextInt(10, 31);
+            for (int i = 1; i <= updates; i++) {
+                pauseMinutes((double) servingMinutes / (updates + 1));
+                client.send("PUT /api/sessions/{id} (progress)", token, "PUT", path,
+                        Map.of("mealsServed", mealCount * i / (updates + 1)));
+            }
+            pauseMinutes((double) servingMinutes / (updates + 1));
+            client.send("POST /api/sessions/{id}/complete", token, "POST", path + "/complete", null);
+        }
+
+        private void scan(String token, String id, QRLocationType locationType, String location) {
+            client.send("POST /api/sessions/{id}/qr-scan " + locationType, token, "POST",
+                    "/api/sessions/" + id + "/qr-scan", Map.of(
+                            "sessionId", id,
+                            "qrCodeContent", locationType.getPrefix() + location,
+                            "locationType", locationType));
+        }
+
+        private void pause(int minMinutes, int maxMinutes) {
+            pauseMinutes(minMinutes + random.nextDouble() * (maxMinutes - minMinutes));
+        }
+
+        private void pauseMinutes(double minutes) {
+            sleepNanos((long) (minutes * 60e9 / compression));
+        }
+
+        private static void sleepNanos(long nanos) {
+            if (nanos <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(Duration.ofNanos(nanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("load test interrupted", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wpc.servicesync_backend.loadtest;
+
+import com.wpc.servicesync_backend.model.entity.MealType;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A hospital day of meal rounds: every ward gets a breakfast, lunch and supper round
+ * within that meal's {@link MealType#getTimeRange()}, starts crowding towards the
+ * middle of the window as kitchens release trolleys in waves, plus beverage rounds
+ * spread over the whole service day. Each ward's rounds are done by the same hostess,
+ * who works through hers one after another.
+ */
+class MealRoundSchedule {
+
+    record Window(LocalTime start, LocalTime end) {
+
+        Duration length() {
+            return Duration.between(start, end);
+        }
+    }
+
+    record Round(LocalTime start, MealType mealType, int hospital, int ward, int hostess) {
+    }
+
+    private final Map<MealType, Window> windows;
+    private final Window serviceDay;
+
+    MealRoundSchedule() {
+        windows = new EnumMap<>(MealType.class);
+        LocalTime first = LocalTime.MAX;
+        LocalTime last = LocalTime.MIN;
+        for (MealType mealType : MealType.values()) {
+            String[] range = mealType.getTimeRange().split("\\s*-\\s*");
+            if (range.length == 2) {
+                Window window = new Window(LocalTime.parse(range[0]), LocalTime.parse(range[1]));
+                windows.put(mealType, window);
+                first = first.isBefore(window.start()) ? first : window.start();
+                last = last.isAfter(window.end()) ? last : window.end();
+            }
+        }
+        serviceDay = new Window(first, last);
+        // "All Day" meals run from the first service to the last
+        for (MealType mealType : MealType.values()) {
+            windows.putIfAbsent(mealType, serviceDay);
+        }
+    }
+
+    Window window(MealType mealType) {
+        return windows.get(mealType);
+    }
+
+    Window serviceDay() {
+        return serviceDay;
+    }
+
+    /** Rounds for every ward of every hospital, ordered by start time. */
+    List<Round> rounds(int hospitals, int wardsPerHospital, int hostessesPerHospital, int beverageRoundsPerWard,
+                       long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Round> rounds = new ArrayList<>();
+        for (int hospital = 0; hospital < hospitals; hospital++) {
+            for (int ward = 0; ward < wardsPerHospital; ward++) {
+                int hostess = ward % hostessesPerHospital;
+                for (MealType mealType : MealType.values()) {
+                    if (mealType == MealType.BEVERAGES) {
+                        for (int i = 0; i < beverageRoundsPerWard; i++) {
+                            rounds.add(new Round(uniform(serviceDay, random), mealType, hospital, ward, hostess));
+                        }
+                    } else {
+                        rounds.add(new Round(peaked(windows.get(mealType), random), mealType, hospital, ward, hostess));
+                    }
+                }
+            }
+        }
+        rounds.sort(Comparator.comparing(Round::start));
+        return rounds;
+    }
+
+    // Mean of two uniform draws: triangular, peaking mid-window
+    private static LocalTime peaked(Window window, SplittableRandom random) {
+        double fraction = (random.nextDouble() + random.nextDouble()) / 2;
+        return window.start().plusSeconds((long) (window.length().toSeconds() * fraction));
+    }
+
+    private static LocalTime uniform(Window window, SplittableRandom random) {
+        return window.start().plusSeconds((long) (window.length().toSeconds() * random.nextDouble()));
+    }
+}
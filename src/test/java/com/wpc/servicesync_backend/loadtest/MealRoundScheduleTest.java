@@ -0,0 +1,53 @@
+package com.wpc.servicesync_backend.loadtest;
+
+import com.wpc.servicesync_backend.model.entity.MealType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MealRoundScheduleTest {
+
+    private final MealRoundSchedule schedule = new MealRoundSchedule();
+
+    @Test
+    void windows_FollowMealTypeTimeRanges() {
+        assertEquals(new MealRoundSchedule.Window(LocalTime.of(11, 30), LocalTime.of(14, 0)),
+                schedule.window(MealType.LUNCH));
+        assertEquals(new MealRoundSchedule.Window(LocalTime.of(6, 0), LocalTime.of(19, 30)),
+                schedule.serviceDay());
+        assertEquals(schedule.serviceDay(), schedule.window(MealType.BEVERAGES));
+    }
+
+    @Test
+    void rounds_StartWithinTheirWindowAndCrowdMidWindow() {
+        List<MealRoundSchedule.Round> rounds = schedule.rounds(10, 20, 5, 2, 7L);
+
+        // Three meals and two beverage rounds per ward
+        assertEquals(10 * 20 * 5, rounds.size());
+        for (int i = 1; i < rounds.size(); i++) {
+            assertFalse(rounds.get(i).start().isBefore(rounds.get(i - 1).start()), "rounds are ordered by start");
+        }
+
+        for (MealType mealType : List.of(MealType.BREAKFAST, MealType.LUNCH, MealType.SUPPER)) {
+            MealRoundSchedule.Window window = schedule.window(mealType);
+            Duration quarter = window.length().dividedBy(4);
+            LocalTime middleStart = window.start().plus(quarter);
+            LocalTime middleEnd = window.end().minus(quarter);
+
+            List<MealRoundSchedule.Round> meals = rounds.stream().filter(r -> r.mealType() == mealType).toList();
+            long middle = meals.stream()
+                    .filter(r -> !r.start().isBefore(middleStart) && r.start().isBefore(middleEnd))
+                    .count();
+            assertTrue(meals.stream().allMatch(r -> !r.start().isBefore(window.start())
+                    && r.start().isBefore(window.end())), mealType + " rounds start within the window");
+            // Triangular starts put 75% in the middle half of the window, uniform ones 50%
+            assertTrue(middle > meals.size() * 0.65, mealType + " rounds should peak mid-window");
+        }
+    }
+}
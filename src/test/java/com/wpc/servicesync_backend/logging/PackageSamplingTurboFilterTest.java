@@ -0,0 +1,106 @@
+package com.wpc.servicesync_backend.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackageSamplingTurboFilterTest {
+
+    private static final int REQUESTS = 400;
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        PackageSamplingTurboFilter filter = new PackageSamplingTurboFilter();
+        filter.setRates("com.example.web=4, com.example.web.admin=1");
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                event.prepareForDeferredProcessing(); // Events read the MDC lazily otherwise
+                super.append(event);
+            }
+        };
+        appender.setContext(context);
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        context.stop();
+    }
+
+    @Test
+    void keepsWholeRequestsAtTheConfiguredRate() {
+        Logger web = context.getLogger("com.example.web.SessionController");
+        for (int i = 0; i < REQUESTS; i++) {
+            MDC.put("requestId", "request-" + i);
+            MDC.put("sample", Integer.toHexString(i * 7919));
+            web.info("received");
+            web.info("processed");
+            web.info("responded");
+        }
+
+        Map<String, Long> linesPerRequest = appender.list.stream()
+                .collect(Collectors.groupingBy(event -> event.getMDCPropertyMap().get("requestId"),
+                        Collectors.counting()));
+        assertTrue(linesPerRequest.values().stream().allMatch(lines -> lines == 3), "requests are kept whole");
+        assertTrue(linesPerRequest.size() > REQUESTS / 8 && linesPerRequest.size() < REQUESTS / 2,
+                "about one request in four is kept, got " + linesPerRequest.size());
+    }
+
+    @Test
+    void passesWarningsUnlistedPackagesAndMoreSpecificOverrides() {
+        for (int i = 0; i < REQUESTS; i++) {
+            MDC.put("sample", Integer.toHexString(i * 7919));
+            context.getLogger("com.example.web.SessionController").warn("slow");
+            context.getLogger("com.example.web.admin.AuditController").info("audited");
+            context.getLogger("com.example.webhooks.Dispatcher").info("dispatched"); // Not under com.example.web
+        }
+
+        assertEquals(3 * REQUESTS, appender.list.size());
+    }
+
+    @Test
+    void ignoresTheRequestIdTheCallerChose() {
+        Logger web = context.getLogger("com.example.web.SessionController");
+        for (int i = 0; i < REQUESTS; i++) {
+            MDC.put("requestId", "same-id-every-time");
+            MDC.put("sample", Integer.toHexString(i * 7919));
+            web.info("received");
+        }
+
+        assertTrue(appender.list.size() > REQUESTS / 8 && appender.list.size() < REQUESTS / 2,
+                "about one request in four is kept, got " + appender.list.size());
+    }
+
+    @Test
+    void passesEverythingLoggedOutsideARequest() {
+        Logger web = context.getLogger("com.example.web.SessionController");
+        for (int i = 0; i < REQUESTS; i++) {
+            web.info("scheduled sweep");
+        }
+
+        assertEquals(REQUESTS, appender.list.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.wpc.servicesync_backend.model.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceSessionTest {
+
+    private ServiceSession session;
+    private LocalDateTime kitchenExit;
+
+    @BeforeEach
+    void setUp() {
+        kitchenExit = LocalDateTime.of(2025, 3, 1, 12, 0);
+        session = ServiceSession.builder()
+                .id(UUID.randomUUID())
+                .sessionId("TEST-SESSION-001")
+                .mealType(MealType.LUNCH)
+                .mealCount(20)
+                .mealsServed(10)
+                .kitchenExitTime(kitchenExit)
+                .wardArrivalTime(kitchenExit.plusMinutes(16))
+                .build();
+    }
+
+    @Test
+    void refreshDerivedMetrics_LeavesIncompleteDurationsNull() {
+        // When
+        session.refreshDerivedMetrics();
+
+        // Then
+        assertEquals(16 * 60_000L, session.getTravelTimeMillis());
+        assertNull(session.getServingTimeMillis());
+        assertNull(session.getTotalDurationMillis());
+        assertEquals(50.0, session.getCompletionRate());
+        assertEquals("Below Average", session.getEfficiencyRating());
+    }
+
+    @Test
+    void getters_PreferStoredMetricsOverTimestamps() {
+        // Given
+        session.refreshDerivedMetrics();
+        session.setMealsServed(20);
+
+        // Then - stored value wins until the next refresh
+        assertEquals(50.0, session.getCompletionRate());
+        session.refreshDerivedMetrics();
+        assertEquals(100.0, session.getCompletionRate());
+    }
+}
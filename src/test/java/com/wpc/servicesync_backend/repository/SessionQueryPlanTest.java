@@ -0,0 +1,370 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the indexes in db/migration against query drift. Each repository method is
+ * executed once to capture the SQL Hibernate generates, which is then explained as a
+ * generic prepared plan (so it holds for any bind values) with sequential scans
+ * disabled. If the expected index cannot serve the query the planner falls back to
+ * another index or a seq scan and the test fails.
+ *
+ * <p>Runs against an embedded PostgreSQL 16, as SessionPartitionManagerTest does,
+ * which Flyway migrates first. To check the plans of another server version, point
+ * it at an empty database instead:
+ * {@code mvn test -Dtest=SessionQueryPlanTest -Dservicesync.test.postgres-url=jdbc:postgresql://localhost:5432/servicesync_plan}
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.use_sql_comments=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.wpc.servicesync_backend.repository.SessionQueryPlanTest$CapturingInspector",
+        "spring.security.jwt.secret=c2VydmljZXN5bmMtc2VjcmV0LWtleS1mb3ItcHJvZHVjdGlvbi11c2U=",
+        "spring.security.jwt.expiration=3600000",
+        "spring.security.jwt.refresh-expiration=86400000"
+})
+@DirtiesContext
+class SessionQueryPlanTest {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\?");
+
+    // A year of sessions for a small hospital group, with only the last two days open, so
+    // the planner costs indexes against realistic selectivities rather than an empty table.
+    // Rows go in in a scrambled order: a heap already sorted by created_at makes the planner
+    // favour idx_sessions_created for anything ordered by it, which would hide whether the
+    // composite indexes can serve their queries (and the order INSERT ... SELECT happens to
+    // produce differs between server versions)
+    private static final String[] SEED_DATA = {
+            "INSERT INTO hospitals (id, code, name, is_active, created_at, updated_at) " +
+                    "SELECT gen_random_uuid(), 'H' || h, 'Hospital ' || h, true, now(), now() FROM generate_series(1, 4) h",
+            "INSERT INTO wards (id, hospital_id, name, is_active, created_at, updated_at) " +
+                    "SELECT gen_random_uuid(), h.id, 'Ward ' || w, true, now(), now() " +
+                    "FROM hospitals h CROSS JOIN generate_series(1, 10) w",
+            "INSERT INTO employees (id, employee_id, name, password_hash, role, hospital_id, is_active, created_at, updated_at) " +
+                    "SELECT gen_random_uuid(), h.code || '-E' || e, 'Employee ' || e, 'x', 'HOSTESS', h.id, true, now(), now() " +
+                    "FROM hospitals h CROSS JOIN generate_series(1, 50) e",
+            "INSERT INTO service_sessions (id, session_id, employee_id, ward_id, hospital_id, meal_type, meal_count, " +
+                    "meals_served, status, current_step, diet_sheet_documented, completion_rate, created_at, updated_at) " +
+                    "SELECT gen_random_uuid(), 'SS-' || n, e.id, w.id, w.hospital_id, 'LUNCH', 20, 18, " +
+                    "CASE WHEN n <= 400 THEN 'IN_TRANSIT' WHEN n % 12 = 0 THEN 'CANCELLED' ELSE 'COMPLETED' END, " +
+                    "CASE WHEN n <= 400 THEN (ARRAY['IN_TRANSIT', 'NURSE_ALERT', 'AWAITING_NURSE_RESPONSE', 'SERVICE_IN_PROGRESS'])[n % 4 + 1] " +
+                    "WHEN n % 12 = 0 THEN 'CANCELLED' ELSE 'COMPLETED' END, " +
+                    "true, 90.0, now() - n * interval '10 minutes', now() " +
+                    "FROM generate_series(1, 50000) n " +
+                    "JOIN (SELECT id, hospital_id, row_number() OVER () - 1 AS k FROM wards) w ON w.k = n % 40 " +
+                    "JOIN (SELECT id, row_number() OVER () - 1 AS k FROM employees) e ON e.k = n % 200 " +
+                    "ORDER BY md5(n::text)",
+            "INSERT INTO session_view (id, session_id, hospital_id, hospital_name, ward_id, ward_name, employee_id, " +
+                    "employee_code, employee_name, meal_type, meal_count, meals_served, status, current_step, " +
+                    "completion_rate, serving_rate, efficiency_rating, diet_sheet_documented, created_at, updated_at, " +
+                    "source_version, projected_at) " +
+                    "SELECT s.id, s.session_id, s.hospital_id, h.name, w.id, w.name, e.id, e.employee_id, e.name, " +
+                    "s.meal_type, s.meal_count, s.meals_served, s.status, s.current_step, s.completion_rate, 0, 'Good', " +
+                    "s.diet_sheet_documented, s.created_at, s.updated_at, s.version, now() FROM service_sessions s " +
+                    "JOIN wards w ON w.id = s.ward_id JOIN hospitals h ON h.id = s.hospital_id " +
+                    "JOIN employees e ON e.id = s.employee_id ORDER BY md5(s.session_id)",
+            "ANALYZE hospitals, wards, employees, service_sessions, session_view"
+    };
+
+    // Stopped by its own shutdown hook, after the context that uses it has closed
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private ServiceSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionViewRepository sessionViewRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final UUID id = UUID.randomUUID();
+    private final LocalDateTime since = LocalDateTime.now().minusDays(1);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        String url = System.getProperty("servicesync.test.postgres-url");
+        if (url != null && !url.isBlank()) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username",
+                    () -> System.getProperty("servicesync.test.postgres-username", "postgres"));
+            registry.add("spring.datasource.password",
+                    () -> System.getProperty("servicesync.test.postgres-password", ""));
+            return;
+        }
+        if (postgres == null) {
+            postgres = EmbeddedPostgres.builder().start();
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM service_sessions)")) {
+                rs.next();
+                if (!rs.getBoolean(1)) {
+                    for (String sql : SEED_DATA) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+        }
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findBySessionId_UsesUniqueKey() throws SQLException {
+        sessionRepository.findBySessionId("SS-1");
+        assertPlanUses("service_sessions_session_id_key");
+    }
+
+    @Test
+    void findByWardIdAndStatus_UsesWardStatusIndex() throws SQLException {
+        sessionRepository.findByWardIdAndStatus(id, SessionStatus.ACTIVE);
+        assertPlanUses("idx_sessions_ward_status_created");
+    }
+
+    @Test
+    void findCompletedSessionsByWard_UsesWardStatusIndex() throws SQLException {
+        sessionRepository.findCompletedSessionsByWard(id, PageRequest.of(0, 20));
+        assertPlanUses("idx_sessions_ward_status_created");
+    }
+
+    @Test
+    void findByEmployeeIdAndStatus_UsesEmployeeIndex() throws SQLException {
+        sessionRepository.findByEmployeeIdAndStatus(id, SessionStatus.ACTIVE);
+        assertPlanUses("idx_sessions_employee_created");
+    }
+
+    @Test
+    void findRecentSessionsByEmployee_UsesEmployeeIndex() throws SQLException {
+        sessionRepository.findRecentSessionsByEmployee(id, since);
+        assertPlanUses("idx_sessions_employee_created");
+    }
+
+    @Test
+    void findRecentSessionsByHospital_UsesHospitalIndex() throws SQLException {
+        sessionRepository.findRecentSessionsByHospital(id, since);
+        assertPlanUses("idx_sessions_hospital_created");
+    }
+
+    @Test
+    void findAllActiveSessions_UsesStatusIndex() throws SQLException {
+        sessionRepository.findAllActiveSessions();
+        assertPlanUses("idx_status_created");
+    }
+
+    @Test
+    void findStaleActiveSessions_UsesStatusIndex() throws SQLException {
+        sessionRepository.findStaleActiveSessions(since);
+        assertPlanUses("idx_status_created");
+    }
+
+    @Test
+    void findSessionsAwaitingNurseResponse_UsesOpenStepIndex() throws SQLException {
+        sessionRepository.findSessionsAwaitingNurseResponse();
+        assertPlanUses("idx_sessions_open_step");
+    }
+
+    @Test
+    void findSessionsInProgress_UsesStatusIndex() throws SQLException {
+        sessionRepository.findSessionsInProgress();
+        assertPlanUses("idx_status_created");
+    }
+
+    @Test
+    void findSessionsAwaitingNurseResponseByWard_UsesOpenWardStepIndex() throws SQLException {
+        sessionRepository.findSessionsAwaitingNurseResponseByWard(id);
+        assertPlanUses("idx_sessions_open_ward_step");
+    }
+
+    @Test
+    void findByStatusOrderByCreatedAtDesc_UsesStatusIndex() throws SQLException {
+        sessionRepository.findByStatusOrderByCreatedAtDesc(SessionStatus.COMPLETED, PageRequest.of(0, 20));
+        assertPlanUses("idx_status_created");
+    }
+
+    @Test
+    void findCompletedSessionsBetween_UsesStatusIndex() throws SQLException {
+        sessionRepository.findCompletedSessionsBetween(since, LocalDateTime.now());
+        assertPlanUses("idx_status_created");
+    }
+
+    @Test
+    void getCompletedSessionMetricsBetween_UsesStatusIndex() throws SQLException {
+        sessionRepository.getCompletedSessionMetricsBetween(since, LocalDateTime.now());
+        assertPlanUses("idx_status_created");
+    }
+
+    @Test
+    void getCompletedSessionsCountSince_UsesCreatedIndex() throws SQLException {
+        sessionRepository.getCompletedSessionsCountSince(since);
+        assertPlanUses("idx_sessions_created");
+    }
+
+    @Test
+    void findProblematicSessionsBetween_UsesCompletionRateIndex() throws SQLException {
+        sessionRepository.findProblematicSessionsBetween(since, LocalDateTime.now(), 75.0, 900_000L, 300_000L,
+                PageRequest.of(0, 10));
+        assertPlanUses("idx_completion_rate");
+    }
+
+    @Test
+    void getMealTypeStatisticsSince_UsesCreatedIndex() throws SQLException {
+        sessionRepository.getMealTypeStatisticsSince(since);
+        assertPlanUses("idx_sessions_created");
+    }
+
+    @Test
+    void findOpenSessionsByStep_FewSteps_UsesOpenStepIndex() throws SQLException {
+        sessionRepository.findOpenSessionsByStep(EnumSet.of(SessionStep.NURSE_ALERT, SessionStep.NURSE_STATION), since);
+        assertPlanUses("idx_sessions_open_step");
+    }
+
+    @Test
+    void sessionView_CountAllActiveSessions_UsesStatusIndex() throws SQLException {
+        sessionViewRepository.countAllActiveSessions();
+        assertPlanUses("idx_session_view_status_created");
+    }
+
+    @Test
+    void sessionView_FindSessionsAwaitingNurseResponse_UsesOpenStepIndex() throws SQLException {
+        sessionViewRepository.findSessionsAwaitingNurseResponse();
+        assertPlanUses("idx_session_view_step_created");
+    }
+
+    @Test
+    void sessionView_FindSessionsAwaitingNurseResponseByWard_UsesWardStepIndex() throws SQLException {
+        sessionViewRepository.findSessionsAwaitingNurseResponseByWard(id);
+        assertPlanUses("idx_session_view_ward_step");
+    }
+
+    @Test
+    void sessionView_FindByWardIdAndStatus_UsesWardStatusIndex() throws SQLException {
+        sessionViewRepository.findByWardIdAndStatus(id, SessionStatus.ACTIVE);
+        assertPlanUses("idx_session_view_ward_status_created");
+    }
+
+    @Test
+    void sessionView_CountByWardIdAndStatus_UsesWardStatusIndex() throws SQLException {
+        sessionViewRepository.countByWardIdAndStatus(id, SessionStatus.ACTIVE);
+        assertPlanUses("idx_session_view_ward_status_created");
+    }
+
+    @Test
+    void sessionView_GetHospitalStatsSince_UsesHospitalIndex() throws SQLException {
+        sessionViewRepository.getHospitalStatsSince(List.of(id), since);
+        assertPlanUses("idx_session_view_hospital_created");
+    }
+
+    @Test
+    void sessionView_GetWardActivityStatisticsSince_UsesCreatedIndex() throws SQLException {
+        sessionViewRepository.getWardActivityStatisticsSince(since);
+        assertPlanUses("idx_session_view_created");
+    }
+
+    @Test
+    void sessionView_GetCompletedSessionsCountSince_UsesCreatedIndex() throws SQLException {
+        sessionViewRepository.getCompletedSessionsCountSince(since);
+        assertPlanUses("idx_session_view_created");
+    }
+
+    @Test
+    void sessionView_FindSessionKeysAfter_UsesCreatedIndex() throws SQLException {
+        sessionViewRepository.findSessionKeysAfter(since, id, PageRequest.of(0, 500));
+        assertPlanUses("idx_sessions_created");
+    }
+
+    private void assertPlanUses(String index) throws SQLException {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.stripLeading().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No query captured"));
+        String plan = explainGenericPlan(sql);
+
+        assertTrue(Pattern.compile("(Index Scan|Index Only Scan)( Backward)? using " + index + " |Bitmap Index Scan on "
+                        + index + " ").matcher(plan).find(),
+                () -> "Expected " + index + " for:\n" + sql + "\n" + plan);
+        assertFalse(plan.contains("Seq Scan on service_sessions") || plan.contains("Seq Scan on session_view"),
+                () -> "Sequential scan for:\n" + sql + "\n" + plan);
+    }
+
+    private String explainGenericPlan(String sql) throws SQLException {
+        int parameters = 0;
+        StringBuilder numbered = new StringBuilder();
+        var matcher = PLACEHOLDER.matcher(sql);
+        while (matcher.find()) {
+            matcher.appendReplacement(numbered, "\\$" + ++parameters);
+        }
+        matcher.appendTail(numbered);
+
+        StringJoiner nulls = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < parameters; i++) {
+            nulls.add("NULL");
+        }
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            try {
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                statement.execute("SET LOCAL enable_seqscan = off");
+                statement.execute("PREPARE plan_check AS " + numbered);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery(
+                        "EXPLAIN EXECUTE plan_check" + (parameters > 0 ? nulls.toString() : ""))) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("DEALLOCATE plan_check");
+                return plan.toString();
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.wpc.servicesync_backend.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wpc.servicesync_backend.dto.ServiceSessionRequest;
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.dto.ServiceSessionView;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.service.ServiceSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Maps the same persisted session through the JDBC read path and through the
+ * entity path ({@code ServiceSessionService.mapToResponse}), and checks the two
+ * serialise to the same JSON, so a field added to one mapping cannot be missed in
+ * the other.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class SessionReadRepositoryTest {
+
+    @Autowired
+    private SessionReadRepository sessionReadRepository;
+
+    @Autowired
+    private ServiceSessionService sessionService;
+
+    @Autowired
+    private ServiceSessionRepository sessionRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private WardRepository wardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mapRow_MatchesEntityMapping() {
+        ServiceSessionResponse created = createCompletedSession();
+
+        assertSamePayload(created);
+    }
+
+    @Test
+    void mapRow_RowWithoutMaterialisedColumns_MatchesEntityMapping() {
+        ServiceSessionResponse created = createCompletedSession();
+        jdbcTemplate.update("UPDATE service_sessions SET current_step = NULL, travel_time_ms = NULL, " +
+                "nurse_response_ms = NULL, serving_time_ms = NULL, total_duration_ms = NULL, completion_rate = NULL, " +
+                "serving_rate = NULL, efficiency_rating = NULL WHERE id = ?", created.getId());
+
+        assertSamePayload(created);
+    }
+
+    private ServiceSessionResponse createCompletedSession() {
+        ServiceSessionRequest request = new ServiceSessionRequest();
+        request.setEmployeeId(employeeRepository.findByEmployeeId("HOST001").orElseThrow().getId());
+        request.setWardId(wardRepository.findAll().get(0).getId());
+        request.setMealType(MealType.LUNCH);
+        request.setMealCount(20);
+        ServiceSessionResponse created = sessionService.createSession(request);
+
+        LocalDateTime exit = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ServiceSession session = sessionRepository.findById(created.getId()).orElseThrow();
+            session.setKitchenExitTime(exit);
+            session.setWardArrivalTime(exit.plusMinutes(7));
+            session.setDietSheetDocumented(true);
+            session.setDietSheetNotes("Two soft diets");
+            session.setNurseAlertTime(exit.plusMinutes(9));
+            session.setNurseResponseTime(exit.plusMinutes(12));
+            session.setNurseName("Sister Dlamini");
+            session.setServiceStartTime(exit.plusMinutes(13));
+            session.setServiceCompleteTime(exit.plusMinutes(38));
+            session.setMealsServed(18);
+            session.setComments("Two patients in theatre");
+            session.setStep(SessionStep.COMPLETED);
+            session.setStatus(SessionStatus.COMPLETED);
+        });
+        return created;
+    }
+
+    private void assertSamePayload(ServiceSessionResponse created) {
+        ServiceSessionResponse entityPath = sessionService.findBySessionId(created.getSessionId()).orElseThrow();
+        ServiceSessionView readPath = sessionReadRepository
+                .findRecentSessionsByEmployee(employeeId(created), LocalDateTime.now().minusDays(1))
+                .stream()
+                .filter(view -> view.id().equals(created.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(objectMapper.valueToTree(entityPath), objectMapper.valueToTree(readPath));
+    }
+
+    private UUID employeeId(ServiceSessionResponse created) {
+        return employeeRepository.findByEmployeeId(created.getEmployeeId()).orElseThrow().getId();
+    }
+}
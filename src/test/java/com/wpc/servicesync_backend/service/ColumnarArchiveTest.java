@@ -0,0 +1,61 @@
+package com.wpc.servicesync_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ColumnarArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndRead_RoundTripsAcrossRowGroups() throws Exception {
+        // Given
+        List<ColumnarArchive.Column> columns = List.of(
+                new ColumnarArchive.Column("id", ColumnarArchive.ColumnType.UUID),
+                new ColumnarArchive.Column("status", ColumnarArchive.ColumnType.STRING),
+                new ColumnarArchive.Column("meals_served", ColumnarArchive.ColumnType.LONG),
+                new ColumnarArchive.Column("completion_rate", ColumnarArchive.ColumnType.DOUBLE),
+                new ColumnarArchive.Column("diet_sheet_documented", ColumnarArchive.ColumnType.BOOLEAN),
+                new ColumnarArchive.Column("created_at", ColumnarArchive.ColumnType.TIMESTAMP));
+        Path file = tempDir.resolve("sessions.sscol.gz");
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 7, 30, 0, 123_456_000);
+        UUID firstId = UUID.randomUUID();
+
+        // When
+        ColumnarArchive.Writer writer = ColumnarArchive.writer(file, columns, 3);
+        try (writer) {
+            for (int i = 0; i < 7; i++) {
+                writer.append(new Object[]{
+                        i == 0 ? firstId : UUID.randomUUID(),
+                        i % 2 == 0 ? "COMPLETED" : "CANCELLED",
+                        i == 4 ? null : (long) i,
+                        i * 12.5,
+                        i % 3 == 0,
+                        start.plusMinutes(i * 17L)});
+            }
+        }
+        List<Map<String, Object>> rows = ColumnarArchive.read(file);
+
+        // Then
+        assertEquals(7, writer.getRowCount());
+        assertEquals(3, writer.getRowGroups());
+        assertEquals(7, rows.size());
+        assertEquals(firstId, rows.get(0).get("id"));
+        assertEquals("CANCELLED", rows.get(5).get("status"));
+        assertEquals(6L, rows.get(6).get("meals_served"));
+        assertNull(rows.get(4).get("meals_served"));
+        assertEquals(75.0, rows.get(6).get("completion_rate"));
+        assertEquals(true, rows.get(3).get("diet_sheet_documented"));
+        assertEquals(start.plusMinutes(6 * 17L), rows.get(6).get("created_at"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.wpc.servicesync_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineWheelTest {
+
+    // Four 10ms buckets, so the 100ms timeout has to wait out extra revolutions
+    private final DeadlineWheel wheel = new DeadlineWheel("test-wheel", Duration.ofMillis(10), 4);
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void schedule_FiresInDeadlineOrderAndNeverEarly() throws Exception {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        long[] lateFiredAt = new long[1];
+
+        wheel.schedule(() -> {
+            lateFiredAt[0] = System.nanoTime();
+            fired.add("late");
+            done.countDown();
+        }, Duration.ofMillis(100));
+        wheel.schedule(() -> {
+            fired.add("soon");
+            done.countDown();
+        }, Duration.ofMillis(20));
+        wheel.schedule(() -> {
+            fired.add("overdue");
+            done.countDown();
+        }, Duration.ofMillis(-50));
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("overdue", "soon", "late"), fired);
+        assertTrue(Duration.ofNanos(lateFiredAt[0] - start).toMillis() >= 100);
+    }
+
+    @Test
+    void cancel_PreventsTheTaskFromRunning() throws Exception {
+        CountDownLatch cancelledRan = new CountDownLatch(1);
+        CountDownLatch keptRan = new CountDownLatch(1);
+
+        DeadlineWheel.Timeout cancelled = wheel.schedule(cancelledRan::countDown, Duration.ofMillis(30));
+        wheel.schedule(keptRan::countDown, Duration.ofMillis(60));
+        assertTrue(cancelled.cancel());
+
+        assertTrue(keptRan.await(2, TimeUnit.SECONDS));
+        assertFalse(cancelledRan.await(50, TimeUnit.MILLISECONDS));
+        assertFalse(cancelled.cancel());
+    }
+}
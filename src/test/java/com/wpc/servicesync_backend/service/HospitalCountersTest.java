@@ -0,0 +1,77 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.SessionViewRepository;
+import com.wpc.servicesync_backend.repository.WardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HospitalCountersTest {
+
+    @Mock
+    private WardRepository wardRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private SessionViewRepository sessionViewRepository;
+
+    @InjectMocks
+    private HospitalCounters counters;
+
+    private final UUID hospitalId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(wardRepository.countActiveWardsByHospitalIn(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{hospitalId, 4L}));
+        when(employeeRepository.countActiveEmployeesByHospitalIn(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{hospitalId, 12L}));
+        when(sessionViewRepository.getHospitalStatsSince(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void sessionChanges_AreAppliedWithoutReloading() {
+        assertEquals(0, counters.get(hospitalId).sessionsToday());
+
+        LocalDateTime now = LocalDateTime.now();
+        SessionViewChangedEvent.Tally open = new SessionViewChangedEvent.Tally(hospitalId, now, false, 0, 0.0);
+        SessionViewChangedEvent.Tally completed = new SessionViewChangedEvent.Tally(hospitalId, now, true, 18, 90.0);
+        counters.onSessionViewChanged(new SessionViewChangedEvent(null, open));
+        counters.onSessionViewChanged(new SessionViewChangedEvent(open, completed));
+
+        HospitalCounters.HospitalCounts counts = counters.get(hospitalId);
+        assertEquals(4, counts.activeWards());
+        assertEquals(12, counts.activeEmployees());
+        assertEquals(1, counts.sessionsToday());
+        assertEquals(1, counts.completedToday());
+        assertEquals(18, counts.mealsServedToday());
+        assertEquals(90.0, counts.averageCompletionRate());
+        verify(wardRepository, times(1)).countActiveWardsByHospitalIn(any());
+    }
+
+    @Test
+    void membershipChange_ReloadsCounts() {
+        counters.get(hospitalId);
+        counters.onMembershipChanged(new HospitalMembershipChangedEvent(hospitalId));
+        counters.get(hospitalId);
+
+        verify(employeeRepository, times(2)).countActiveEmployeesByHospitalIn(any());
+    }
+}
@@ -0,0 +1,78 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.Hospital;
+import com.wpc.servicesync_backend.model.entity.Ward;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class HospitalMembershipListenerTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private HospitalMembershipListener listener;
+    private Hospital hospital;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        listener = new HospitalMembershipListener(eventPublisher);
+        hospital = Hospital.builder().id(UUID.randomUUID()).code("H1").name("Hospital 1").build();
+        employee = Employee.builder().employeeId("H001").hospital(hospital).isActive(true).build();
+        listener.onLoad(employee);
+    }
+
+    @Test
+    void onUpdate_LastLogin_PublishesNothing() {
+        employee.setLastLogin(LocalDateTime.now());
+
+        listener.onUpdate(employee);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void onUpdate_Deactivated_PublishesOnce() {
+        employee.setIsActive(false);
+
+        listener.onUpdate(employee);
+        listener.onUpdate(employee);
+
+        verify(eventPublisher).publishEvent(new HospitalMembershipChangedEvent(hospital.getId()));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void onUpdate_MovedHospital_PublishesForBoth() {
+        Hospital other = Hospital.builder().id(UUID.randomUUID()).code("H2").name("Hospital 2").build();
+        employee.setHospital(other);
+
+        listener.onUpdate(employee);
+
+        verify(eventPublisher).publishEvent(new HospitalMembershipChangedEvent(other.getId()));
+        verify(eventPublisher).publishEvent(new HospitalMembershipChangedEvent(hospital.getId()));
+    }
+
+    @Test
+    void onAddOrRemove_Ward_Publishes() {
+        Ward ward = Ward.builder().name("Ward 1").hospital(hospital).build();
+
+        listener.onAddOrRemove(ward);
+
+        verify(eventPublisher).publishEvent(new HospitalMembershipChangedEvent(hospital.getId()));
+    }
+}
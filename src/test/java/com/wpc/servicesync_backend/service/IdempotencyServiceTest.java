@@ -0,0 +1,102 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.model.entity.IdempotencyRecord;
+import com.wpc.servicesync_backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getIdempotency().setCacheSize(2);
+        idempotencyService = new IdempotencyService(recordRepository, properties);
+    }
+
+    @Test
+    void find_ServesStoredResponseFromMemory() {
+        // Given
+        idempotencyService.store("H001:key-1", "abc", 200, "application/json", "{}");
+
+        // When
+        Optional<IdempotencyRecord> result = idempotencyService.find("H001:key-1");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(200, result.get().getResponseStatus());
+        verify(recordRepository).save(any(IdempotencyRecord.class));
+        verify(recordRepository, never()).findById(any());
+    }
+
+    @Test
+    void find_FallsBackToDatabaseAfterEviction() {
+        // Given
+        idempotencyService.store("H001:key-1", "abc", 200, "application/json", "{}");
+        idempotencyService.store("H001:key-2", "abc", 200, "application/json", "{}");
+        idempotencyService.store("H001:key-3", "abc", 200, "application/json", "{}");
+        when(recordRepository.findById("H001:key-1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .scopeKey("H001:key-1")
+                .requestFingerprint("abc")
+                .responseStatus(201)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+
+        // When
+        idempotencyService.find("H001:key-1");
+        Optional<IdempotencyRecord> result = idempotencyService.find("H001:key-1");
+
+        // Then
+        assertEquals(201, result.get().getResponseStatus());
+        verify(recordRepository, times(1)).findById("H001:key-1");
+    }
+
+    @Test
+    void claim_RejectsConcurrentRequestWithSameKey() {
+        assertTrue(idempotencyService.claim("H001:key-1").acquired());
+        assertTrue(idempotencyService.claim("H001:key-1").isInFlight());
+
+        idempotencyService.release("H001:key-1");
+
+        assertTrue(idempotencyService.claim("H001:key-1").acquired());
+    }
+
+    @Test
+    void claim_AfterStoreReturnsStoredResponse() {
+        // Given
+        assertTrue(idempotencyService.claim("H001:key-1").acquired());
+        idempotencyService.store("H001:key-1", "abc", 200, "application/json", "{}");
+        idempotencyService.release("H001:key-1");
+
+        // When
+        IdempotencyService.Claim claim = idempotencyService.claim("H001:key-1");
+
+        // Then
+        assertFalse(claim.acquired());
+        assertEquals(200, claim.stored().getResponseStatus());
+        // The lookup gave the claim back, so the next retry is not reported as in flight
+        assertFalse(idempotencyService.claim("H001:key-1").isInFlight());
+    }
+}
@@ -0,0 +1,57 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.Hospital;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class NameChangeListenerTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private NameChangeListener listener;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        listener = new NameChangeListener(eventPublisher);
+        Hospital hospital = Hospital.builder().id(UUID.randomUUID()).code("H1").name("Hospital 1").build();
+        employee = Employee.builder().id(UUID.randomUUID()).employeeId("H001").name("Jane Doe").hospital(hospital).build();
+        listener.onLoad(employee);
+    }
+
+    @Test
+    void onUpdate_LastLogin_PublishesNothing() {
+        employee.setLastLogin(LocalDateTime.now());
+
+        listener.onUpdate(employee);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void onUpdate_Renamed_PublishesNewNameOnce() {
+        employee.setName("Jane Smith");
+
+        listener.onUpdate(employee);
+        listener.onUpdate(employee);
+
+        verify(eventPublisher).publishEvent(
+                new NameChangedEvent(NameChangedEvent.Source.EMPLOYEE, employee.getId(), "Jane Smith"));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,101 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.repository.PhotoObjectRepository;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PhotoOrphanSweeperTest {
+
+    @TempDir
+    Path storageDir;
+
+    @Mock
+    private PhotoStore photoStore;
+
+    @Mock
+    private PhotoObjectRepository photoObjectRepository;
+
+    @Mock
+    private ServiceSessionRepository sessionRepository;
+
+    private PhotoOrphanSweeper sweeper;
+    private LocalPhotoStorage storage;
+    private Path legacyDir;
+
+    private final String referenced = "a".repeat(64);
+    private final String orphan = "b".repeat(64);
+    private final String recent = "c".repeat(64);
+    private final FileTime lastWeek = FileTime.from(Instant.now().minus(Duration.ofDays(7)));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getStorage().getLocal().setObjectDir(storageDir.resolve("objects").toString());
+        legacyDir = storageDir.resolve("diet-sheets");
+        properties.getStorage().getLocal().setDietSheetDir(legacyDir.toString());
+        storage = new LocalPhotoStorage(properties);
+        sweeper = new PhotoOrphanSweeper(storage, photoStore, photoObjectRepository, sessionRepository, properties);
+
+        when(photoObjectRepository.count()).thenReturn(1L);
+        when(photoObjectRepository.findContentHashesAfter(eq(""), any())).thenReturn(List.of(referenced));
+        when(sessionRepository.countByDietSheetPhotoPathIsNotNull()).thenReturn(1L);
+        when(sessionRepository.findDietSheetPhotoPathsAfter(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{UUID.randomUUID(), "/api/files/diet-sheet/kept.jpg"}));
+    }
+
+    @Test
+    void sweep_DeletesOnlyUnreferencedFilesPastTheGracePeriod() throws Exception {
+        writeObject(PhotoStorage.shardedPath(referenced), lastWeek);
+        writeObject(PhotoStorage.shardedPath(orphan), lastWeek);
+        writeObject(PhotoStorage.shardedPath(orphan, PhotoVariant.THUMBNAIL), lastWeek);
+        writeObject(PhotoStorage.shardedPath(recent), FileTime.from(Instant.now()));
+        Path abandoned = write(storage.stagingDirectory().resolve("upload-1.tmp"), lastWeek);
+        Path kept = write(legacyDir.resolve("kept.jpg"), lastWeek);
+        Path stray = write(legacyDir.resolve("stray.jpg"), lastWeek);
+        when(photoStore.deleteOrphan(orphan)).thenReturn(true);
+
+        PhotoOrphanSweeper.SweepResult result = sweeper.sweep();
+
+        assertEquals(new PhotoOrphanSweeper.SweepResult(1, 1, 1), result);
+        verify(photoStore, times(1)).deleteOrphan(anyString()); // the blob and its variant once, nothing else
+        assertTrue(Files.exists(kept));
+        assertFalse(Files.exists(stray));
+        assertFalse(Files.exists(abandoned));
+    }
+
+    private void writeObject(String relativePath, FileTime modified) throws Exception {
+        write(storageDir.resolve("objects").resolve(relativePath), modified);
+    }
+
+    private static Path write(Path file, FileTime modified) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+        Files.setLastModifiedTime(file, modified);
+        return file;
+    }
+}
@@ -0,0 +1,76 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhotoStorageTest {
+
+    @TempDir
+    Path storageDir;
+
+    private final byte[] photo = "diet sheet photo".getBytes(StandardCharsets.UTF_8);
+    private final InMemoryS3Client s3 = new InMemoryS3Client();
+
+    private PhotoStorage storage(String type) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getStorage().getLocal().setObjectDir(storageDir.toString());
+        properties.getStorage().getS3().setBucket("photos-test");
+        return type.equals("s3") ? new S3PhotoStorage(s3, properties) : new LocalPhotoStorage(properties);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"local", "s3"})
+    void identicalContent_IsStoredOnceUnderItsHash(String type) throws Exception {
+        PhotoStorage storage = storage(type);
+
+        PhotoStorage.StagedPhoto first = storage.stage(new ByteArrayInputStream(photo));
+        storage.commit(first);
+        PhotoStorage.StagedPhoto second = storage.stage(new ByteArrayInputStream(photo));
+        storage.commit(second);
+
+        assertEquals(first.hash(), second.hash());
+        assertEquals(photo.length, first.size());
+        assertFalse(Files.exists(first.tempFile()));
+        assertFalse(Files.exists(second.tempFile()));
+
+        Resource resource = storage.open(first.hash()).orElseThrow();
+        assertEquals(photo.length, resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals(photo, in.readAllBytes());
+        }
+
+        if (type.equals("s3")) {
+            assertEquals(1, s3.objects.size());
+            assertTrue(s3.objects.containsKey("photos-test/photos/" + PhotoStorage.shardedPath(first.hash())));
+        } else {
+            assertTrue(Files.isRegularFile(storageDir.resolve(PhotoStorage.shardedPath(first.hash()))));
+            try (Stream<Path> staging = Files.list(storageDir.resolve("tmp"))) {
+                assertEquals(0, staging.count());
+            }
+        }
+
+        Path variant = Files.write(storage.stagingDirectory().resolve("variant.jpg"), photo);
+        storage.commitVariant(first.hash(), PhotoVariant.THUMBNAIL, variant);
+        assertTrue(storage.openVariant(first.hash(), PhotoVariant.THUMBNAIL).isPresent());
+        assertTrue(storage.openVariant(first.hash(), PhotoVariant.WEB).isEmpty());
+
+        storage.delete(first.hash());
+        assertTrue(storage.open(first.hash()).isEmpty());
+        assertTrue(storage.openVariant(first.hash(), PhotoVariant.THUMBNAIL).isEmpty());
+    }
+}
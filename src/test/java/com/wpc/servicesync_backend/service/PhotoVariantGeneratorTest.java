@@ -0,0 +1,107 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class PhotoVariantGeneratorTest {
+
+    @TempDir
+    Path storageDir;
+
+    private LocalPhotoStorage storage;
+    private PhotoStore photoStore;
+    private PhotoVariantGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getStorage().getLocal().setObjectDir(storageDir.toString());
+        storage = new LocalPhotoStorage(properties);
+        photoStore = mock(PhotoStore.class);
+        generator = new PhotoVariantGenerator(storage, photoStore, properties);
+    }
+
+    @Test
+    void generate_WritesUprightDownscaledVariants() throws Exception {
+        // Landscape pixels tagged "rotate 90 clockwise", as a phone held upright writes them
+        String hash = store(withOrientation(jpeg(4000, 3000), 6));
+
+        generator.generate(hash);
+
+        BufferedImage thumbnail = read(storage.openVariant(hash, PhotoVariant.THUMBNAIL).orElseThrow());
+        BufferedImage web = read(storage.openVariant(hash, PhotoVariant.WEB).orElseThrow());
+        assertEquals(240, thumbnail.getWidth());
+        assertEquals(320, thumbnail.getHeight());
+        assertEquals(1200, web.getWidth());
+        assertEquals(1600, web.getHeight());
+        verify(photoStore).markVariantsProcessed(hash, true);
+    }
+
+    @Test
+    void generate_UndecodableContent_IsMarkedWithoutVariants() throws Exception {
+        String hash = store("not an image".getBytes(StandardCharsets.UTF_8));
+
+        generator.generate(hash);
+
+        assertTrue(storage.openVariant(hash, PhotoVariant.THUMBNAIL).isEmpty());
+        verify(photoStore).markVariantsProcessed(hash, false);
+    }
+
+    @Test
+    void exifOrientation_ReadsTagOrDefaultsToUpright() throws Exception {
+        assertEquals(6, PhotoVariantGenerator.exifOrientation(withOrientation(jpeg(8, 8), 6)));
+        assertEquals(1, PhotoVariantGenerator.exifOrientation(jpeg(8, 8)));
+        assertEquals(1, PhotoVariantGenerator.exifOrientation(new byte[]{(byte) 0xFF, (byte) 0xD8}));
+    }
+
+    private String store(byte[] content) throws Exception {
+        PhotoStorage.StagedPhoto staged = storage.stage(new ByteArrayInputStream(content));
+        storage.commit(staged);
+        return staged.hash();
+    }
+
+    private static BufferedImage read(Resource resource) throws Exception {
+        try (InputStream in = resource.getInputStream()) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private static byte[] jpeg(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpeg", out);
+        return out.toByteArray();
+    }
+
+    // Splices a big-endian EXIF block with a single orientation entry in after SOI
+    private static byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26);
+        tiff.put("MM".getBytes(StandardCharsets.US_ASCII)).putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1).putShort((short) 0x0112).putShort((short) 3).putInt(1)
+                .putShort((short) orientation).putShort((short) 0).putInt(0);
+
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer result = ByteBuffer.allocate(jpeg.length + 4 + exif.length + tiff.capacity());
+        result.put(jpeg, 0, 2)
+                .put((byte) 0xFF).put((byte) 0xE1).putShort((short) (2 + exif.length + tiff.capacity()))
+                .put(exif).put(tiff.array())
+                .put(jpeg, 2, jpeg.length - 2);
+        return result.array();
+    }
+}
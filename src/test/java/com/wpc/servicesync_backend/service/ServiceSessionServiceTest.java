@@ -2,37 +2,60 @@ package com.wpc.servicesync_backend.service;
 
 import com.wpc.servicesync_backend.dto.ServiceSessionRequest;
 import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.dto.SessionEventRequest;
+import com.wpc.servicesync_backend.dto.SessionEventResult;
+import com.wpc.servicesync_backend.exception.ServiceException;
 import com.wpc.servicesync_backend.model.dto.SessionUpdateRequest;
 import com.wpc.servicesync_backend.model.entity.Employee;
 import com.wpc.servicesync_backend.model.entity.EmployeeRole;
 import com.wpc.servicesync_backend.model.entity.Hospital;
+import com.wpc.servicesync_backend.model.entity.PhotoObject;
 import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.QRLocationType;
 import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionEventType;
 import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.model.entity.SessionTransition;
 import com.wpc.servicesync_backend.model.entity.Ward;
 import com.wpc.servicesync_backend.repository.EmployeeRepository;
+import com.wpc.servicesync_backend.repository.ProcessedSessionEventRepository;
 import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.SessionTransitionRepository;
 import com.wpc.servicesync_backend.repository.WardRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,6 +71,18 @@ class ServiceSessionServiceTest {
     @Mock
     private WardRepository wardRepository;
 
+    @Mock
+    private ProcessedSessionEventRepository processedEventRepository;
+
+    @Mock
+    private SessionTransitionRepository transitionRepository;
+
+    @Mock
+    private PhotoStore photoStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ServiceSessionService serviceSessionService;
 
@@ -227,6 +262,154 @@ class ServiceSessionServiceTest {
         assertEquals("Session not found", exception.getMessage());
     }
 
+    @Test
+    void applyEvents_SkipsDuplicatesAndUsesDeviceTimestamps() {
+        // Given
+        LocalDateTime exitTime = LocalDateTime.now().minusMinutes(20);
+        LocalDateTime arrivalTime = exitTime.plusMinutes(7);
+
+        SessionEventRequest replayed = event("evt-1", SessionEventType.QR_SCAN, exitTime);
+        replayed.setLocationType(QRLocationType.KITCHEN_EXIT);
+        replayed.setQrCodeContent("KITCHEN_EXIT_001");
+
+        SessionEventRequest arrival = event("evt-2", SessionEventType.QR_SCAN, arrivalTime);
+        arrival.setLocationType(QRLocationType.WARD_ARRIVAL);
+        arrival.setQrCodeContent("WARD_3A");
+
+        SessionEventRequest repeatedInBatch = event("evt-2", SessionEventType.QR_SCAN, arrivalTime);
+
+        // evt-1 was applied on an earlier upload whose response never reached the tablet
+        testSession.setKitchenExitTime(exitTime);
+        testSession.setStep(SessionStep.IN_TRANSIT);
+        testSession.setStatus(SessionStatus.IN_TRANSIT);
+
+        when(sessionRepository.findById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(processedEventRepository.findExistingClientEventIds(anyCollection())).thenReturn(Set.of("evt-1"));
+        when(sessionRepository.save(any(ServiceSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<SessionEventResult> results = new ArrayList<>();
+        ServiceSessionResponse result = serviceSessionService.applyEvents(
+                testSession.getId(), List.of(replayed, arrival, repeatedInBatch), results);
+
+        // Then
+        assertEquals(List.of(SessionEventResult.Outcome.DUPLICATE, SessionEventResult.Outcome.APPLIED,
+                        SessionEventResult.Outcome.DUPLICATE),
+                results.stream().map(SessionEventResult::getOutcome).toList());
+        assertEquals(arrivalTime, result.getWardArrivalTime());
+        assertEquals(exitTime, testSession.getKitchenExitTime());
+        assertEquals(SessionStep.DIET_SHEET_DOCUMENTATION, testSession.getStep());
+        assertEquals(SessionStatus.ACTIVE, result.getStatus());
+        verify(sessionRepository).save(testSession);
+        verify(processedEventRepository).saveAll(argThat(events -> events.iterator().hasNext()));
+    }
+
+    @Test
+    void attachDietSheetPhoto_ReferencesNewPhotoReleasesOldAndDocumentsDietSheet() {
+        String oldHash = "a".repeat(64);
+        String newHash = "b".repeat(64);
+        testSession.setStep(SessionStep.DIET_SHEET_DOCUMENTATION);
+        testSession.setDietSheetPhotoPath("/api/files/diet-sheet/" + oldHash + ".jpg");
+        PhotoStorage.StagedPhoto staged = new PhotoStorage.StagedPhoto(newHash, 1024, Path.of("upload.tmp"));
+        when(sessionRepository.findById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(sessionRepository.save(any(ServiceSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(photoStore.addReferenceInTransaction(staged, "image/png"))
+                .thenReturn(PhotoObject.builder().contentHash(newHash).refCount(1).build());
+
+        serviceSessionService.attachDietSheetPhoto(testSession.getId(), staged, ImageFormat.PNG);
+
+        assertEquals("/api/files/diet-sheet/" + newHash + ".png", testSession.getDietSheetPhotoPath());
+        assertTrue(testSession.getDietSheetDocumented());
+        assertEquals(SessionStep.NURSE_ALERT, testSession.getStep());
+        var order = inOrder(sessionRepository, photoStore);
+        order.verify(sessionRepository).flush();
+        order.verify(photoStore).addReferenceInTransaction(staged, "image/png");
+        order.verify(photoStore).release(oldHash);
+    }
+
+    @Test
+    void detachDietSheetPhoto_ClearsPathAndReleasesOnlyThatSessionsReference() {
+        String hash = "c".repeat(64);
+        String path = "/api/files/diet-sheet/" + hash + ".jpg";
+        testSession.setDietSheetPhotoPath(path);
+        when(sessionRepository.findByDietSheetPhotoPath(path)).thenReturn(List.of(testSession), List.of());
+        when(sessionRepository.save(any(ServiceSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertTrue(serviceSessionService.detachDietSheetPhoto(path, null));
+        // Deleting again finds no session holding the photo, so nothing more is released
+        assertFalse(serviceSessionService.detachDietSheetPhoto(path, null));
+
+        assertNull(testSession.getDietSheetPhotoPath());
+        var order = inOrder(sessionRepository, photoStore);
+        order.verify(sessionRepository).flush();
+        order.verify(photoStore, times(1)).release(hash);
+    }
+
+    @Test
+    void detachDietSheetPhoto_SharedContent_NeedsTheSession() {
+        String path = "/api/files/diet-sheet/" + "d".repeat(64) + ".jpg";
+        ServiceSession other = ServiceSession.builder().id(UUID.randomUUID()).dietSheetPhotoPath(path).build();
+        testSession.setDietSheetPhotoPath(path);
+        when(sessionRepository.findByDietSheetPhotoPath(path)).thenReturn(List.of(testSession, other));
+        when(sessionRepository.save(any(ServiceSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(ServiceException.class, () -> serviceSessionService.detachDietSheetPhoto(path, null));
+        verify(photoStore, never()).release(anyString());
+
+        assertTrue(serviceSessionService.detachDietSheetPhoto(path, other.getId()));
+        assertNull(other.getDietSheetPhotoPath());
+        assertEquals(path, testSession.getDietSheetPhotoPath());
+    }
+
+    @Test
+    void alertNurse_RejectsOutOfOrderTransitionWithoutMutating() {
+        // Given
+        when(sessionRepository.findById(testSession.getId())).thenReturn(Optional.of(testSession));
+
+        // When
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> serviceSessionService.alertNurse(testSession.getId()));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertNull(testSession.getNurseAlertTime());
+        assertEquals(SessionStep.AWAITING_KITCHEN_EXIT, testSession.getStep());
+        verify(sessionRepository, never()).save(any(ServiceSession.class));
+        verify(transitionRepository, never()).save(any(SessionTransition.class));
+    }
+
+    @Test
+    void applyEvents_RejectsInvalidEventWithoutFailingBatch() {
+        // Given
+        SessionEventRequest badScan = event("evt-1", SessionEventType.QR_SCAN, LocalDateTime.now());
+        badScan.setLocationType(QRLocationType.WARD_ARRIVAL);
+        badScan.setQrCodeContent("KITCHEN_EXIT_001");
+
+        SessionEventRequest complete = event("evt-2", SessionEventType.COMPLETE, LocalDateTime.now());
+
+        when(sessionRepository.findById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(processedEventRepository.findExistingClientEventIds(anyCollection())).thenReturn(Set.of());
+        when(sessionRepository.save(any(ServiceSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<SessionEventResult> results = new ArrayList<>();
+        serviceSessionService.applyEvents(testSession.getId(), List.of(badScan, complete), results);
+
+        // Then
+        assertEquals(SessionEventResult.Outcome.REJECTED, results.get(0).getOutcome());
+        assertEquals(SessionEventResult.Outcome.APPLIED, results.get(1).getOutcome());
+        assertEquals(SessionStatus.COMPLETED, testSession.getStatus());
+    }
+
+    private SessionEventRequest event(String clientEventId, SessionEventType type, LocalDateTime occurredAt) {
+        SessionEventRequest event = new SessionEventRequest();
+        event.setClientEventId(clientEventId);
+        event.setSessionId(testSession.getId());
+        event.setType(type);
+        event.setOccurredAt(occurredAt);
+        return event;
+    }
+
     @Test
     void getSessionBySessionId_Success() { // Fixed: Renamed test method
         // Given
@@ -272,6 +455,26 @@ class ServiceSessionServiceTest {
         ));
     }
 
+    @Test
+    void completeSession_PublishesServingTime() {
+        LocalDateTime serviceStart = LocalDateTime.now().minusMinutes(10);
+        testSession.setServiceStartTime(serviceStart);
+        when(sessionRepository.findById(testSession.getId())).thenReturn(Optional.of(testSession));
+        when(sessionRepository.save(any(ServiceSession.class))).thenReturn(testSession);
+
+        serviceSessionService.completeSession(testSession.getId());
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        SessionLatencyEvent latency = (SessionLatencyEvent) events.getAllValues().get(0);
+        assertEquals(BusinessLatencyMetrics.Latency.SERVING, latency.latency());
+        assertEquals("Test Hospital", latency.hospital());
+        assertEquals("Test Ward", latency.ward());
+        assertEquals(Duration.between(serviceStart, testSession.getServiceCompleteTime()), latency.duration());
+        // Completion cancels whatever deadline the session had armed
+        assertEquals(SessionStep.COMPLETED, ((SessionStepChangedEvent) events.getAllValues().get(1)).step());
+    }
+
     @Test
     void completeSession_NotFound() {
         // Given
@@ -0,0 +1,86 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.dto.SessionEventBatchRequest;
+import com.wpc.servicesync_backend.dto.SessionEventBatchResponse;
+import com.wpc.servicesync_backend.dto.SessionEventRequest;
+import com.wpc.servicesync_backend.dto.SessionEventResult;
+import com.wpc.servicesync_backend.exception.ServiceException;
+import com.wpc.servicesync_backend.model.entity.SessionEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class SessionEventIngestServiceTest {
+
+    @Mock
+    private ServiceSessionService sessionService;
+
+    @InjectMocks
+    private SessionEventIngestService ingestService;
+
+    @Test
+    void ingest_InterleavedSessions_ReturnsResultsInInputOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID failing = UUID.randomUUID();
+
+        doAnswer(invocation -> {
+            List<SessionEventRequest> events = invocation.getArgument(1);
+            List<SessionEventResult> results = invocation.getArgument(2);
+            results.clear();
+            events.forEach(event -> results.add(SessionEventResult.applied(event)));
+            return ServiceSessionResponse.builder().id(invocation.getArgument(0)).build();
+        }).when(sessionService).applyEvents(any(UUID.class), anyList(), anyList());
+        doThrow(ServiceException.notFound("Session not found"))
+                .when(sessionService).applyEvents(eq(failing), anyList(), anyList());
+
+        SessionEventBatchRequest request = new SessionEventBatchRequest();
+        request.setEvents(List.of(
+                event("a1", first),
+                event("b1", second),
+                event("c1", failing),
+                event("a2", first),
+                event("c2", failing),
+                event("b2", second)));
+
+        SessionEventBatchResponse response = ingestService.ingest(request);
+
+        assertEquals(List.of("a1", "b1", "c1", "a2", "c2", "b2"),
+                response.getResults().stream().map(SessionEventResult::getClientEventId).toList());
+        assertEquals(List.of(
+                        SessionEventResult.Outcome.APPLIED,
+                        SessionEventResult.Outcome.APPLIED,
+                        SessionEventResult.Outcome.REJECTED,
+                        SessionEventResult.Outcome.APPLIED,
+                        SessionEventResult.Outcome.REJECTED,
+                        SessionEventResult.Outcome.APPLIED),
+                response.getResults().stream().map(SessionEventResult::getOutcome).toList());
+        assertEquals(4, response.getApplied());
+        assertEquals(2, response.getRejected());
+        assertEquals(2, response.getSessions().size());
+    }
+
+    private SessionEventRequest event(String clientEventId, UUID sessionId) {
+        SessionEventRequest event = new SessionEventRequest();
+        event.setClientEventId(clientEventId);
+        event.setSessionId(sessionId);
+        event.setType(SessionEventType.QR_SCAN);
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+}
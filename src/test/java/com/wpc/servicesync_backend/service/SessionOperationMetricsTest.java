@@ -0,0 +1,71 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.dto.QRScanRequest;
+import com.wpc.servicesync_backend.dto.ServiceSessionResponse;
+import com.wpc.servicesync_backend.exception.ServiceException;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.QRLocationType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionOperationMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private Workflow workflow;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Workflow());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SessionOperationMetrics(registry));
+        workflow = factory.getProxy();
+    }
+
+    @Test
+    void time_TagsSuccessfulScanWithHospitalMealAndLocation() {
+        QRScanRequest request = new QRScanRequest();
+        request.setLocationType(QRLocationType.WARD_ARRIVAL);
+
+        workflow.scanQR(request);
+
+        Timer timer = registry.find(SessionOperationMetrics.OPERATION_TIMER)
+                .tags("operation", "scan_qr", "hospital", "General", "meal_type", "LUNCH",
+                        "location_type", "WARD_ARRIVAL", "outcome", "success", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void time_RecordsFailureOutcomeAndRethrows() {
+        assertThrows(ServiceException.class, () -> workflow.completeSession());
+
+        Timer timer = registry.find(SessionOperationMetrics.OPERATION_TIMER)
+                .tags("operation", "complete", "hospital", "none", "outcome", "not_found",
+                        "exception", "ServiceException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    static class Workflow {
+
+        @SessionOperation("scan_qr")
+        public ServiceSessionResponse scanQR(QRScanRequest request) {
+            return ServiceSessionResponse.builder().hospitalName("General").mealType(MealType.LUNCH).build();
+        }
+
+        @SessionOperation("complete")
+        public ServiceSessionResponse completeSession() {
+            throw ServiceException.notFound("Session not found");
+        }
+    }
+}
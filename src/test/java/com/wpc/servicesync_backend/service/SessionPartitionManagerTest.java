@@ -0,0 +1,285 @@
+package com.wpc.servicesync_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.repository.SessionPartitionRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs partition maintenance against an embedded PostgreSQL 16, on a schema
+ * migrated by Flyway, so the conversion, detach and archive DDL is exercised for
+ * real. Each test starts from a freshly migrated, unpartitioned table.
+ */
+@SpringJUnitConfig(SessionPartitionManagerTest.Config.class)
+class SessionPartitionManagerTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @TempDir
+    Path archiveDir;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SessionPartitionRepository partitionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ApplicationProperties properties = new ApplicationProperties();
+    private final PhotoStore photoStore = mock(PhotoStore.class);
+    private SessionPartitionManager manager;
+    private UUID employeeId;
+    private UUID wardId;
+    private UUID hospitalId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA public");
+        // As in application.yml, so the CONCURRENTLY index builds do not wait on the lock's transaction
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load().migrate();
+
+        hospitalId = UUID.randomUUID();
+        wardId = UUID.randomUUID();
+        employeeId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO hospitals (id, code, name, is_active, created_at, updated_at) " +
+                "VALUES (?, 'H1', 'Hospital 1', true, now(), now())", hospitalId);
+        jdbcTemplate.update("INSERT INTO wards (id, hospital_id, name, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, 'Ward 1', true, now(), now())", wardId, hospitalId);
+        jdbcTemplate.update("INSERT INTO employees (id, employee_id, name, password_hash, role, hospital_id, " +
+                "is_active, created_at, updated_at) VALUES (?, 'H001', 'Hostess', 'x', 'HOSTESS', ?, true, now(), now())",
+                employeeId, hospitalId);
+
+        properties.getPartitioning().setArchiveDir(archiveDir.toString());
+        properties.getPartitioning().setRetainMonths(12);
+        manager = new SessionPartitionManager(partitionRepository, properties, dataSource, new ObjectMapper(),
+                photoStore, transactionManager);
+    }
+
+    @Test
+    void maintainPartitions_ConvertsToMonthlyPartitionsWithGlobalKeys() {
+        // Given
+        LocalDateTime lastMonth = LocalDateTime.now().minusMonths(1);
+        UUID recent = insertSession("SS-1", lastMonth, null);
+        insertSession("SS-2", LocalDateTime.now(), null);
+
+        // When
+        manager.maintainPartitions();
+
+        // Then
+        assertEquals('p', partitionRepository.findTableKind().orElseThrow());
+        assertTrue(partitionRepository.findAttachedPartitions()
+                .contains(SessionPartitionRepository.partitionName(YearMonth.from(lastMonth))));
+        assertTrue(tableExists(SessionPartitionRepository.DEFAULT_PARTITION));
+        assertEquals(2, count("service_sessions"));
+        assertEquals(2, count(SessionPartitionRepository.KEY_TABLE));
+        assertTrue(partitionRepository.isSessionKeysReady());
+
+        // session_id stays unique across partitions, which a per-partition key cannot enforce
+        assertThrows(DuplicateKeyException.class, () -> insertSession("SS-1", LocalDateTime.now(), null));
+
+        // A lookup by id plus the created_at held in the key table reads one partition
+        LocalDateTime createdAt = partitionRepository.findCreatedAt(recent).orElseThrow();
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT * FROM service_sessions WHERE id = '"
+                + recent + "' AND created_at = '" + createdAt + "'", String.class);
+        assertEquals(1, plan.stream().filter(line -> line.contains("service_sessions_")).count(), String.join("\n", plan));
+    }
+
+    @Test
+    void maintainPartitions_FromTwoInstancesAtOnceConvertsOnce() {
+        // Given
+        insertSession("SS-1", LocalDateTime.now(), null);
+        SessionPartitionManager other = new SessionPartitionManager(partitionRepository, properties, dataSource,
+                new ObjectMapper(), photoStore, transactionManager);
+
+        // When
+        CompletableFuture<Void> first = CompletableFuture.runAsync(manager::maintainPartitions);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(other::maintainPartitions);
+
+        // Then
+        CompletableFuture.allOf(first, second).join();
+        assertEquals('p', partitionRepository.findTableKind().orElseThrow());
+        assertEquals(1, count("service_sessions"));
+        assertEquals(1, count(SessionPartitionRepository.KEY_TABLE));
+    }
+
+    @Test
+    void maintainPartitions_ArchivesColdPartitionsAndReleasesTheirPhotos() throws IOException {
+        // Given
+        LocalDateTime cold = LocalDateTime.now().minusMonths(14);
+        String partition = SessionPartitionRepository.partitionName(YearMonth.from(cold));
+        UUID archived = insertSession("SS-1", cold, "ab/ab/" + HASH + ".jpg");
+        insertSession("SS-2", cold.plusMinutes(5), "legacy-diet-sheet.jpg");
+        insertSession("SS-3", LocalDateTime.now(), null);
+        when(photoStore.release(anyString())).thenReturn(true);
+
+        // When
+        manager.maintainPartitions();
+
+        // Then
+        assertFalse(tableExists(partition));
+        assertEquals(1, count("service_sessions"));
+        assertEquals(1, count(SessionPartitionRepository.KEY_TABLE));
+        assertTrue(partitionRepository.findCreatedAt(archived).isEmpty());
+        verify(photoStore).release(HASH);
+        verify(photoStore, never()).release("legacy-diet-sheet");
+
+        List<Map<String, Object>> rows = ColumnarArchive.read(archiveDir.resolve(partition + ".sscol.gz"));
+        assertEquals(2, rows.size());
+        assertEquals(archived, rows.get(0).get("id"));
+        assertEquals("SS-1", rows.get(0).get("session_id"));
+        assertTrue(Files.exists(archiveDir.resolve(partition + ".manifest.json")));
+    }
+
+    @Test
+    void detachPartition_LeavesItForTheNextArchiveRun() {
+        // Given
+        LocalDateTime lastMonth = LocalDateTime.now().minusMonths(1);
+        String partition = SessionPartitionRepository.partitionName(YearMonth.from(lastMonth));
+        insertSession("SS-1", lastMonth, null);
+        properties.getPartitioning().setRetainMonths(24);
+        manager.maintainPartitions();
+
+        // When
+        partitionRepository.detachPartition(partition);
+
+        // Then
+        assertFalse(partitionRepository.findAttachedPartitions().contains(partition));
+        assertEquals(List.of(partition), partitionRepository.findDetachedPartitions());
+        assertEquals(0, count("service_sessions"));
+        assertEquals(1, partitionRepository.countRows(partition));
+    }
+
+    @Test
+    void createPartition_MovesRowsOutOfTheDefaultPartition() {
+        // Given
+        manager.maintainPartitions();
+        YearMonth farAhead = YearMonth.now().plusMonths(6);
+        UUID stranded = insertSession("SS-1", farAhead.atDay(3).atTime(12, 0), null);
+        assertEquals(1, count(SessionPartitionRepository.DEFAULT_PARTITION));
+
+        // When
+        partitionRepository.createPartition(farAhead);
+
+        // Then
+        assertEquals(0, count(SessionPartitionRepository.DEFAULT_PARTITION));
+        assertEquals(1, count(SessionPartitionRepository.partitionName(farAhead)));
+        assertTrue(partitionRepository.findAttachedPartitions().contains(SessionPartitionRepository.partitionName(farAhead)));
+        assertTrue(partitionRepository.findCreatedAt(stranded).isPresent());
+    }
+
+    @Test
+    void archive_KeepsNumericValuesExact() throws IOException {
+        // Given
+        Path file = archiveDir.resolve("numeric.sscol.gz");
+        List<ColumnarArchive.Column> columns = List.of(
+                new ColumnarArchive.Column("amount", ColumnarArchive.ColumnType.DECIMAL));
+
+        // When
+        try (ColumnarArchive.Writer writer = ColumnarArchive.writer(file, columns, 2)) {
+            writer.append(new Object[]{new BigDecimal("0.10")});
+            writer.append(new Object[]{null});
+            writer.append(new Object[]{new BigDecimal("-12345678901234567890.123456789")});
+        }
+        List<Map<String, Object>> rows = ColumnarArchive.read(file);
+
+        // Then
+        assertEquals(new BigDecimal("0.10"), rows.get(0).get("amount"));
+        assertEquals(null, rows.get(1).get("amount"));
+        assertEquals(new BigDecimal("-12345678901234567890.123456789"), rows.get(2).get("amount"));
+    }
+
+    private UUID insertSession(String sessionId, LocalDateTime createdAt, String photoPath) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO service_sessions (id, session_id, employee_id, ward_id, hospital_id, " +
+                        "meal_type, meal_count, meals_served, status, current_step, diet_sheet_documented, " +
+                        "diet_sheet_photo_path, completion_rate, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, 'LUNCH', 20, 18, 'COMPLETED', 'COMPLETED', true, ?, 90.0, ?, ?)",
+                id, sessionId, employeeId, wardId, hospitalId, photoPath, createdAt, createdAt);
+        return id;
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import(SessionPartitionRepository.class)
+    static class Config {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            return postgres.getPostgresDatabase();
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate(JdbcTemplate jdbcTemplate) {
+            return new NamedParameterJdbcTemplate(jdbcTemplate);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.model.entity.Employee;
+import com.wpc.servicesync_backend.model.entity.EmployeeRole;
+import com.wpc.servicesync_backend.model.entity.Hospital;
+import com.wpc.servicesync_backend.model.entity.MealType;
+import com.wpc.servicesync_backend.model.entity.ReadModelMark;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStatus;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.model.entity.SessionView;
+import com.wpc.servicesync_backend.model.entity.Ward;
+import com.wpc.servicesync_backend.repository.ReadModelMarkRepository;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import com.wpc.servicesync_backend.repository.SessionViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionViewProjectorTest {
+
+    @Mock
+    private ServiceSessionRepository sessionRepository;
+
+    @Mock
+    private SessionViewRepository viewRepository;
+
+    @Mock
+    private ReadModelMarkRepository markRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SessionViewProjector projector;
+
+    private ServiceSession session;
+
+    @BeforeEach
+    void setUp() {
+        Hospital hospital = Hospital.builder().id(UUID.randomUUID()).code("H1").name("Test Hospital").build();
+        Ward ward = Ward.builder().id(UUID.randomUUID()).hospital(hospital).name("Test Ward").build();
+        Employee employee = Employee.builder()
+                .id(UUID.randomUUID())
+                .employeeId("H001")
+                .name("Test Employee")
+                .role(EmployeeRole.HOSTESS)
+                .hospital(hospital)
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+
+        session = ServiceSession.builder()
+                .id(UUID.randomUUID())
+                .sessionId("SS-1")
+                .employee(employee)
+                .ward(ward)
+                .hospitalId(hospital.getId())
+                .mealType(MealType.LUNCH)
+                .mealCount(20)
+                .mealsServed(15)
+                .status(SessionStatus.ACTIVE)
+                .step(SessionStep.AWAITING_NURSE_RESPONSE)
+                .kitchenExitTime(now.minusMinutes(20))
+                .wardArrivalTime(now.minusMinutes(10))
+                .nurseAlertTime(now.minusMinutes(5))
+                .version(3L)
+                .createdAt(now.minusMinutes(30))
+                .updatedAt(now)
+                .build();
+        session.refreshDerivedMetrics();
+    }
+
+    @Test
+    void project_WritesDenormalisedRow() {
+        // Given
+        when(viewRepository.findAllById(List.of(session.getId()))).thenReturn(List.of());
+        when(sessionRepository.findWithAssociationsByIdIn(List.of(session.getId()))).thenReturn(List.of(session));
+        when(viewRepository.save(any(SessionView.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        projector.project(List.of(session.getId()));
+
+        // Then
+        verify(eventPublisher).publishEvent(any(SessionViewChangedEvent.class));
+        ArgumentCaptor<SessionView> saved = ArgumentCaptor.forClass(SessionView.class);
+        verify(viewRepository).save(saved.capture());
+        SessionView view = saved.getValue();
+        assertEquals("Test Hospital", view.getHospitalName());
+        assertEquals("Test Ward", view.getWardName());
+        assertEquals("H001", view.getEmployeeCode());
+        assertEquals(SessionStep.AWAITING_NURSE_RESPONSE, view.getStep());
+        assertEquals(75.0, view.getCompletionRate());
+        assertEquals(600_000L, view.getTravelTimeMillis());
+        assertEquals(3L, view.getSourceVersion());
+    }
+
+    @Test
+    void project_SkipsRowAlreadyAtSessionVersion() {
+        // Given
+        SessionView current = SessionView.builder().id(session.getId()).sourceVersion(3L).build();
+        when(viewRepository.findAllById(List.of(session.getId()))).thenReturn(List.of(current));
+        when(sessionRepository.findWithAssociationsByIdIn(List.of(session.getId()))).thenReturn(List.of(session));
+
+        // When
+        projector.project(List.of(session.getId()));
+
+        // Then
+        verify(viewRepository, never()).save(any());
+    }
+
+    @Test
+    void project_DeletesRowOfRemovedSession() {
+        // Given
+        SessionView orphan = SessionViewProjector.toView(session);
+        when(viewRepository.findAllById(List.of(session.getId()))).thenReturn(List.of(orphan));
+        when(sessionRepository.findWithAssociationsByIdIn(List.of(session.getId()))).thenReturn(List.of());
+
+        // When
+        projector.project(List.of(session.getId()));
+
+        // Then
+        verify(viewRepository).delete(orphan);
+        verify(viewRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new SessionViewChangedEvent(SessionViewChangedEvent.Tally.of(orphan), null));
+    }
+
+    @Test
+    void rename_UpdatesTheCopiedNameWithoutTallying() {
+        // Given
+        UUID wardId = session.getWard().getId();
+        when(viewRepository.renameWard(wardId, "Ward 7B")).thenReturn(4);
+
+        // When
+        int renamed = projector.rename(new NameChangedEvent(NameChangedEvent.Source.WARD, wardId, "Ward 7B"));
+
+        // Then
+        assertEquals(4, renamed);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void catchUp_ProjectsOnlyStaleRowsAndAdvancesTheMark() {
+        // Given
+        LocalDateTime markedAt = session.getCreatedAt().minusHours(1);
+        UUID markedId = UUID.randomUUID();
+        ReadModelMark mark = ReadModelMark.builder().name("session_view").lastCreatedAt(markedAt)
+                .lastSessionId(markedId).build();
+        UUID upToDate = UUID.randomUUID();
+        LocalDateTime upToDateCreatedAt = session.getCreatedAt().plusMinutes(1);
+        when(markRepository.findById("session_view")).thenReturn(Optional.of(mark));
+        when(viewRepository.findSessionKeysAfter(eq(markedAt), eq(markedId), any())).thenReturn(List.of(
+                new Object[]{session.getId(), session.getCreatedAt(), 3L},
+                new Object[]{upToDate, upToDateCreatedAt, 1L}));
+        when(viewRepository.findSourceVersions(List.of(session.getId(), upToDate)))
+                .thenReturn(List.<Object[]>of(new Object[]{session.getId(), 2L}, new Object[]{upToDate, 1L}));
+        when(viewRepository.findAllById(List.of(session.getId()))).thenReturn(List.of());
+        when(sessionRepository.findWithAssociationsByIdIn(List.of(session.getId()))).thenReturn(List.of(session));
+        when(viewRepository.save(any(SessionView.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        int checked = projector.catchUp(2);
+
+        // Then
+        assertEquals(2, checked);
+        verify(viewRepository).save(any(SessionView.class));
+        assertEquals(upToDateCreatedAt, mark.getLastCreatedAt());
+        assertEquals(upToDate, mark.getLastSessionId());
+        verify(markRepository).save(mark);
+    }
+}
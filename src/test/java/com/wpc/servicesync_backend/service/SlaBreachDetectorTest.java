@@ -0,0 +1,107 @@
+package com.wpc.servicesync_backend.service;
+
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.model.entity.ServiceSession;
+import com.wpc.servicesync_backend.model.entity.SessionStep;
+import com.wpc.servicesync_backend.repository.ServiceSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SlaBreachDetectorTest {
+
+    @Mock
+    private ServiceSessionRepository sessionRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SlaBreachDetector detector;
+    private final UUID sessionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getBusiness().getAlerts().getDetector().setTickMillis(10);
+        detector = new SlaBreachDetector(sessionRepository, notificationService, Runnable::run,
+                transactionManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        detector.stop();
+    }
+
+    @Test
+    void onStepChanged_AlertsOnceTheNurseResponseDeadlinePasses() {
+        LocalDateTime alertedAt = LocalDateTime.now().minusMinutes(6);
+        ServiceSession session = session(SessionStep.AWAITING_NURSE_RESPONSE, alertedAt);
+        when(sessionRepository.findWithAssociationsByIdIn(List.of(sessionId))).thenReturn(List.of(session));
+
+        detector.onStepChanged(SessionStepChangedEvent.of(session));
+
+        verify(notificationService, timeout(2000)).sendPerformanceAlert(session, "nurse_response_timeout",
+                "Nurse alert unanswered for over 5 minutes");
+        assertEquals(0, detector.armedCount());
+    }
+
+    @Test
+    void onStepChanged_LeavingTheStepCancelsItsDeadline() {
+        ServiceSession session = session(SessionStep.IN_TRANSIT, LocalDateTime.now().minusMinutes(14).minusSeconds(59));
+        detector.onStepChanged(SessionStepChangedEvent.of(session));
+        assertEquals(1, detector.armedCount());
+
+        session.setWardArrivalTime(LocalDateTime.now());
+        session.setStep(SessionStep.DIET_SHEET_DOCUMENTATION);
+        detector.onStepChanged(SessionStepChangedEvent.of(session));
+
+        assertEquals(0, detector.armedCount());
+        verify(notificationService, after(1500).never()).sendPerformanceAlert(any(), anyString(), anyString());
+    }
+
+    @Test
+    void deadlineFor_AllowsServingTimeInProportionToMealCount() {
+        LocalDateTime start = LocalDateTime.now();
+
+        SlaBreachDetector.Deadline deadline = detector.deadlineFor(SessionStep.SERVICE_IN_PROGRESS, start, 12);
+
+        assertEquals(SlaBreachDetector.Breach.SLOW_SERVING_RATE, deadline.breach());
+        assertEquals(Duration.ofMinutes(20), Duration.between(start, deadline.dueAt())); // 12 meals at 0.6 a minute
+    }
+
+    private ServiceSession session(SessionStep step, LocalDateTime stepStartedAt) {
+        ServiceSession session = ServiceSession.builder()
+                .id(sessionId)
+                .sessionId("TEST-SESSION-001")
+                .mealCount(12)
+                .step(step)
+                .kitchenExitTime(step == SessionStep.IN_TRANSIT ? stepStartedAt : stepStartedAt.minusMinutes(20))
+                .build();
+        if (step == SessionStep.AWAITING_NURSE_RESPONSE) {
+            session.setNurseAlertTime(stepStartedAt);
+        }
+        return session;
+    }
+}
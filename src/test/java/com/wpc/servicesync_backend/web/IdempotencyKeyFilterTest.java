@@ -0,0 +1,153 @@
+package com.wpc.servicesync_backend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wpc.servicesync_backend.config.ApplicationProperties;
+import com.wpc.servicesync_backend.repository.IdempotencyRecordRepository;
+import com.wpc.servicesync_backend.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyFilterTest {
+
+    private static final String PATH = "/api/sessions/8f14e45f-ceea-4e7a-9a3c-0d5f4bd2c9a1/qr-scan";
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    private IdempotencyKeyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        IdempotencyService idempotencyService = new IdempotencyService(recordRepository, properties);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        filter = new IdempotencyKeyFilter(idempotencyService, properties, objectMapper);
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("H001", null, "ROLE_HOSTESS"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryWithSameKey_ReplaysStoredResponseWithoutRunningAgain() throws Exception {
+        // Given
+        MockHttpServletResponse first = send("key-1", "{\"qrCode\":\"WARD-3A\"}", respondWith(200, "{\"success\":true}"));
+
+        // When
+        MockHttpServletResponse retry = send("key-1", "{\"qrCode\":\"WARD-3A\"}", respondWith(200, "{\"success\":false}"));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(200, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+    }
+
+    @Test
+    void retryWhileFirstIsRunning_IsRejectedAsConflict() throws Exception {
+        // Given
+        MockHttpServletResponse[] concurrent = new MockHttpServletResponse[1];
+        FilterChain slowChain = (request, response) -> {
+            executions.incrementAndGet();
+            concurrent[0] = send("key-1", "{\"qrCode\":\"WARD-3A\"}", respondWith(200, "{}"));
+            ((HttpServletResponse) response).setStatus(200);
+        };
+
+        // When
+        send("key-1", "{\"qrCode\":\"WARD-3A\"}", slowChain);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(409, concurrent[0].getStatus());
+    }
+
+    @Test
+    void sameKeyWithDifferentBody_IsRejected() throws Exception {
+        // Given
+        send("key-1", "{\"qrCode\":\"WARD-3A\"}", respondWith(200, "{\"success\":true}"));
+
+        // When
+        MockHttpServletResponse reused = send("key-1", "{\"qrCode\":\"WARD-4B\"}", respondWith(200, "{}"));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(422, reused.getStatus());
+        assertNull(reused.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void conflictResponse_IsNotStoredSoRetryRunsAgain() throws Exception {
+        // Given
+        send("key-1", "{\"qrCode\":\"WARD-3A\"}", respondWith(409, "{\"success\":false}"));
+
+        // When
+        MockHttpServletResponse retry = send("key-1", "{\"qrCode\":\"WARD-3A\"}", respondWith(200, "{\"success\":true}"));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(200, retry.getStatus());
+    }
+
+    @Test
+    void chain_CanReadTheBodyAgain() throws Exception {
+        // Given
+        String[] seen = new String[1];
+        FilterChain readingChain = (request, response) -> {
+            seen[0] = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            ((HttpServletResponse) response).setStatus(200);
+        };
+
+        // When
+        send("key-1", "{\"qrCode\":\"WARD-3A\"}", readingChain);
+
+        // Then
+        assertEquals("{\"qrCode\":\"WARD-3A\"}", seen[0]);
+    }
+
+    private FilterChain respondWith(int status, String body) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.setServletPath(PATH);
+        request.addHeader(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,123 @@
+package com.wpc.servicesync_backend.web;
+
+import com.wpc.servicesync_backend.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultipartStreamTest {
+
+    private static final String BOUNDARY = "XyZ123";
+
+    @Test
+    void next_ReadsFieldThenFile_EvenWhenTheBodyTricklesIn() throws IOException {
+        // Content that starts a delimiter without finishing it must come through intact
+        byte[] file = ("\r\n--XyZ12 not quite a boundary \r\n--" + "x".repeat(20_000)).getBytes(StandardCharsets.US_ASCII);
+        byte[] body = body("preamble to ignore\r\n", file);
+
+        MultipartStream parts = new MultipartStream(new OneByteAtATime(body), BOUNDARY);
+
+        MultipartStream.Part field = parts.next().orElseThrow();
+        assertEquals("note", field.name());
+        assertFalse(field.isFile());
+        assertEquals("left at the nurse station", new String(field.content().readAllBytes(), StandardCharsets.UTF_8));
+
+        MultipartStream.Part photo = parts.next().orElseThrow();
+        assertEquals("file", photo.name());
+        assertEquals("sheet.jpg", photo.fileName());
+        assertEquals("image/jpeg", photo.contentType());
+        assertArrayEquals(file, photo.content().readAllBytes());
+
+        assertTrue(parts.next().isEmpty());
+    }
+
+    @Test
+    void next_SkipsTheUnreadRestOfAPart() throws IOException {
+        MultipartStream parts = new MultipartStream(new ByteArrayInputStream(body("", new byte[50_000])), BOUNDARY);
+
+        parts.next().orElseThrow();
+        MultipartStream.Part photo = parts.next().orElseThrow();
+        assertEquals(12, photo.content().readNBytes(12).length);
+
+        assertTrue(parts.next().isEmpty());
+    }
+
+    @Test
+    void read_TruncatedBody_IsMalformed() throws IOException {
+        byte[] body = body("", new byte[1000]);
+        byte[] truncated = new byte[body.length - 20];
+        System.arraycopy(body, 0, truncated, 0, truncated.length);
+
+        MultipartStream parts = new MultipartStream(new ByteArrayInputStream(truncated), BOUNDARY);
+        parts.next().orElseThrow();
+        InputStream content = parts.next().orElseThrow().content();
+
+        ServiceException thrown = assertThrows(ServiceException.class, content::readAllBytes);
+        assertTrue(thrown.getMessage().startsWith("Malformed multipart request"));
+    }
+
+    @Test
+    void of_ChunkedBodyOverTheLimit_FailsOnTheReadThatCrossesIt() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=\"" + BOUNDARY + "\"");
+        request.setContent(body("", new byte[20_000]));
+
+        MultipartStream parts = MultipartStream.of(request, 10_000);
+        parts.next().orElseThrow();
+        InputStream content = parts.next().orElseThrow().content();
+
+        assertThrows(MaxUploadSizeExceededException.class, content::readAllBytes);
+    }
+
+    @Test
+    void of_NotMultipart_IsRejected() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/json");
+
+        assertThrows(ServiceException.class, () -> MultipartStream.of(request, 10_000));
+    }
+
+    private static byte[] body(String preamble, byte[] file) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write((preamble
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"note\"\r\n\r\n"
+                + "left at the nurse station\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"sheet.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(file);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private static final class OneByteAtATime extends FilterInputStream {
+
+        OneByteAtATime(byte[] content) {
+            super(new ByteArrayInputStream(content));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1));
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- H2 has no JSONB type; map it onto H2's JSON so the Postgres column definitions still apply
+CREATE DOMAIN IF NOT EXISTS JSONB AS JSON;